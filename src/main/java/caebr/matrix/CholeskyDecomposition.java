@@ -0,0 +1,255 @@
+package caebr.matrix;
+
+import caebr.util.DoubleKernels;
+
+// Cholesky decomposition of a symmetric positive-definite matrix: A = L * L^T.
+//
+// L is computed in place on a private row-major copy, only the lower triangle is read and the
+// upper one is cleared. The factorization goes over BLOCK columns at a time and computes those
+// columns for every row below, so the BLOCK rows of L it reads back stay in cache.
+// Costs (1/3) n^3 flops, half of LUDecomposition, after which the determinant is O(n), a solve
+// O(n^2) per column and the inverse O(n^3).
+// If a diagonal value is not positive the matrix is not positive definite, isPositiveDefinite()
+// returns false and determinant, solve and inverse throw.
+public class CholeskyDecomposition {
+
+    private static final String MATRIX_CANNOT_BE_NULL = "Matrix cannot be null";
+    private static final String MATRIX_CANNOT_BE_EMPTY = "Matrix cannot be empty";
+    private static final String MATRIX_MUST_BE_SQUARE = "Matrix must be square";
+    static final String MATRIX_IS_NOT_POSITIVE_DEFINITE = "Matrix is not positive definite";
+    private static final String DIMENSIONS_DO_NOT_MATCH = "Right hand side must have %d rows, but has %d";
+
+    private static final int BLOCK = 64;
+
+    private final double[] l;
+    private final int n;
+    private final boolean positiveDefinite;
+
+    public CholeskyDecomposition(Number[][] matrix) {
+        this(MatrixMultiplication.toRowMajor(checkMatrix(matrix)), matrix.length);
+    }
+
+    public CholeskyDecomposition(IMatrix<?> iMatrix) {
+        this(toRowMajor(iMatrix), iMatrix.getRowNumber());
+    }
+
+    // Factorizes a copy of the given n x n row-major buffer, the upper triangle is ignored
+    public CholeskyDecomposition(double[] matrix, int n) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (n <= 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        if (matrix.length != n * n)
+            throw new IllegalArgumentException(MATRIX_MUST_BE_SQUARE);
+
+        this.l = matrix.clone();
+        this.n = n;
+        this.positiveDefinite = factorize(l, n);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                l[i * n + j] = 0d;
+            }
+        }
+    }
+
+    private static Number[][] checkMatrix(Number[][] matrix) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length == 0 || matrix[0].length == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        for (Number[] row : matrix) {
+            if (row.length != matrix.length)
+                throw new IllegalArgumentException(MATRIX_MUST_BE_SQUARE);
+        }
+
+        return matrix;
+    }
+
+    private static double[] toRowMajor(IMatrix<?> iMatrix) {
+
+        if (iMatrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (iMatrix.getRowNumber() != iMatrix.getColumnNumber())
+            throw new IllegalArgumentException(MATRIX_MUST_BE_SQUARE);
+
+        if (iMatrix instanceof DenseDoubleMatrix<?> dense)
+            return dense.toDoubleArray();
+
+        return MatrixMultiplication.toRowMajor(iMatrix.toMatrix());
+    }
+
+    // l[i][j] = (a[i][j] - dot(row i, row j over k < j)) / l[j][j], l[j][j] = sqrt(a[j][j] - dot(row j, row j)).
+    // Every entry only needs entries to its left and rows above it, so the columns can be
+    // computed block by block for all rows.
+    private static boolean factorize(double[] l, int n) {
+
+        for (int blockStart = 0; blockStart < n; blockStart += BLOCK) {
+            int blockEnd = Math.min(blockStart + BLOCK, n);
+
+            for (int i = blockStart; i < n; i++) {
+                int rowI = i * n;
+                int columnEnd = Math.min(i + 1, blockEnd);
+
+                for (int j = blockStart; j < columnEnd; j++) {
+                    int rowJ = j * n;
+
+                    double value = l[rowI + j] - DoubleKernels.dot(l, rowI, l, rowJ, j);
+
+                    if (i == j) {
+                        if (!(value > 0d))
+                            return false;
+
+                        l[rowI + i] = Math.sqrt(value);
+                    }
+                    else {
+                        l[rowI + j] = value / l[rowJ + j];
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    public int getDimension() {
+        return n;
+    }
+
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    private void checkPositiveDefinite() {
+        if (!positiveDefinite)
+            throw new IllegalArgumentException(MATRIX_IS_NOT_POSITIVE_DEFINITE);
+    }
+
+    public Double[][] getLower() {
+
+        checkPositiveDefinite();
+
+        return MatrixMultiplication.toDoubleMatrix(l, n, n);
+    }
+
+    // det(A) = det(L)^2
+    public double determinant() {
+
+        checkPositiveDefinite();
+
+        double result = 1d;
+
+        for (int i = 0; i < n; i++) {
+            double diagonal = l[i * n + i];
+
+            result *= diagonal * diagonal;
+        }
+
+        return result;
+    }
+
+    // Solves A * x = b for one right hand side
+    public double[] solve(double[] b) {
+        return solve(b, 1);
+    }
+
+    // Solves A * X = B, where B is an n x columns row-major buffer, and returns X in the same layout
+    public double[] solve(double[] b, int columns) {
+
+        if (b == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (columns <= 0 || b.length != n * columns)
+            throw new IllegalArgumentException(String.format(DIMENSIONS_DO_NOT_MATCH, n,
+                    columns <= 0 ? 0 : b.length / columns));
+
+        checkPositiveDefinite();
+
+        double[] x = b.clone();
+
+        // L * Y = B
+        for (int k = 0; k < n; k++) {
+            int rowK = k * columns;
+
+            DoubleKernels.scale(x, rowK, columns, 1d / l[k * n + k]);
+
+            for (int i = k + 1; i < n; i++) {
+                double factor = l[i * n + k];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, x, rowK, x, i * columns, columns);
+            }
+        }
+
+        // L^T * X = Y, the transpose is read as columns of L
+        for (int k = n - 1; k >= 0; k--) {
+            int rowK = k * columns;
+
+            DoubleKernels.scale(x, rowK, columns, 1d / l[k * n + k]);
+
+            for (int i = 0; i < k; i++) {
+                double factor = l[k * n + i];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, x, rowK, x, i * columns, columns);
+            }
+        }
+
+        return x;
+    }
+
+    // A^-1 = L^-T * L^-1 as an n x n row-major buffer. Only the lower half of the symmetric
+    // product is computed, from dot products of rows of L^-1, and mirrored.
+    public double[] inverse() {
+
+        checkPositiveDefinite();
+
+        // Rows of L^-1 from the top down: row i = (e_i - sum over k < i of l[i][k] * row k) / l[i][i]
+        double[] lowerInverse = new double[n * n];
+
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+
+            lowerInverse[row + i] = 1d;
+
+            for (int k = 0; k < i; k++) {
+                double factor = l[row + k];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, lowerInverse, k * n, lowerInverse, row, k + 1);
+            }
+
+            DoubleKernels.scale(lowerInverse, row, i + 1, 1d / l[row + i]);
+        }
+
+        // (L^-T * L^-1)[i][j] is the dot product of columns i and j of L^-1, so work on its transpose
+        double[] upperInverse = new double[n * n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                upperInverse[j * n + i] = lowerInverse[i * n + j];
+            }
+        }
+
+        double[] inverse = new double[n * n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                // Column i of L^-1 is zero above row i, so the dot product starts at i
+                double value = DoubleKernels.dot(upperInverse, i * n + i, upperInverse, j * n + i, n - i);
+
+                inverse[i * n + j] = value;
+                inverse[j * n + i] = value;
+            }
+        }
+
+        return inverse;
+    }
+}
@@ -0,0 +1,109 @@
+package caebr.matrix;
+
+import java.util.Arrays;
+
+// Compressed sparse column (CSC) form of a matrix, the column-major counterpart of the compressed
+// rows a SparseMatrix is stored in.
+//
+// The row indexes and values of column j are at [columnPointers[j], columnPointers[j + 1]) of
+// rowIndexes and values, sorted by row. Entries that are not listed are 0. Reading a column is
+// O(entries of the column) here, while a SparseMatrix reads rows that fast.
+// Getters return copies, changing them does not change this object.
+public final class CompressedColumns {
+
+    final int rowNumber;
+    final int columnNumber;
+    final int[] columnPointers;
+    final int[] rowIndexes;
+    final double[] values;
+
+    public CompressedColumns(int rowNumber, int columnNumber, int[] columnPointers, int[] rowIndexes, double[] values) {
+
+        if (rowNumber <= 0 || columnNumber <= 0)
+            throw new IllegalArgumentException("Matrix cannot be empty");
+
+        if (columnPointers.length != columnNumber + 1 || columnPointers[0] != 0)
+            throw new IllegalArgumentException("Column pointers must start with 0 and have columnNumber + 1 elements");
+
+        int size = columnPointers[columnNumber];
+
+        if (rowIndexes.length != size || values.length != size)
+            throw new IllegalArgumentException("Row indexes and values must have as many elements as the last column pointer");
+
+        for (int j = 0; j < columnNumber; j++) {
+            if (columnPointers[j] > columnPointers[j + 1])
+                throw new IllegalArgumentException("Column pointers cannot decrease");
+
+            for (int k = columnPointers[j]; k < columnPointers[j + 1]; k++) {
+                if (rowIndexes[k] < 0 || rowIndexes[k] >= rowNumber)
+                    throw new IllegalArgumentException("Row index must be between 0 and " + (rowNumber - 1));
+
+                if (k > columnPointers[j] && rowIndexes[k] <= rowIndexes[k - 1])
+                    throw new IllegalArgumentException("Row indexes of a column must be increasing");
+            }
+        }
+
+        this.rowNumber = rowNumber;
+        this.columnNumber = columnNumber;
+        this.columnPointers = columnPointers.clone();
+        this.rowIndexes = rowIndexes.clone();
+        this.values = values.clone();
+    }
+
+    // Takes the arrays without checking or copying them
+    CompressedColumns(int[] columnPointers, int[] rowIndexes, double[] values, int rowNumber, int columnNumber) {
+        this.rowNumber = rowNumber;
+        this.columnNumber = columnNumber;
+        this.columnPointers = columnPointers;
+        this.rowIndexes = rowIndexes;
+        this.values = values;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public int getColumnNumber() {
+        return columnNumber;
+    }
+
+    // Number of stored entries
+    public int getNonZeroCount() {
+        return columnPointers[columnNumber];
+    }
+
+    public int[] getColumnPointers() {
+        return columnPointers.clone();
+    }
+
+    public int[] getRowIndexes() {
+        return rowIndexes.clone();
+    }
+
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    // Value at (row, column), found by binary search in the column
+    public double get(int row, int column) {
+
+        if (row < 0 || row >= rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (rowNumber - 1));
+
+        if (column < 0 || column >= columnNumber)
+            throw new IllegalArgumentException("Column index must be between 0 and " + (columnNumber - 1));
+
+        int index = Arrays.binarySearch(rowIndexes, columnPointers[column], columnPointers[column + 1], row);
+
+        return index >= 0 ? values[index] : 0d;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedColumns{" +
+                "rowNumber=" + rowNumber +
+                ", columnNumber=" + columnNumber +
+                ", nonZeroCount=" + getNonZeroCount() +
+                '}';
+    }
+}
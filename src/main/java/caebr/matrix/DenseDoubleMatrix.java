@@ -0,0 +1,2061 @@
+package caebr.matrix;
+
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.HyperLogLog;
+import caebr.statistics.Quantiles;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
+import caebr.util.DoubleCountMap;
+import caebr.util.DoubleHashSet;
+import caebr.util.DoubleKernels;
+import caebr.util.NumberUtils;
+import caebr.util.ParallelReduction;
+import caebr.vector.IVector;
+import caebr.vector.StandardVector;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+// Row-major matrix backed by one contiguous primitive buffer.
+// Element (i, j) is stored at data[offset + i * rowStride + j].
+//
+// A view shares the buffer of the matrix it was created from, so each side sees the writes of
+// the other. Operations that keep the dimensions, of a view or of its parent, write their result
+// into the shared buffer. A view throws IllegalArgumentException for operations that would change
+// its dimensions. The parent gets a new buffer when its dimensions change, and every view created
+// before then throws IllegalArgumentException on use instead of reading the old buffer.
+public class DenseDoubleMatrix<T extends Number> implements IMatrix<T> {
+
+    private static final String MATRIX_DIMENSIONS_MUST_BE_EQUAL = "Matrix dimensions must be equal";
+    private static final String CURRENT_MATRIX_COLUMN_NUMBER_FORMAT = "Current matrix column number must be equal to the given matrix row number. " +
+            "Current matrix column number: %d, given matrix row number: %d";
+    public static final String COLUMN_INDEX_MUST_BE_BETWEEN_0_AND = "Column index must be between 0 and ";
+    private static final String MATRIX_CANNOT_BE_NULL = "Matrix cannot be null";
+    private static final String MATRIX_CANNOT_BE_EMPTY = "Matrix cannot be empty";
+    private static final String MATRIX_CANNOT_BE_JAGGED = "Matrix cannot be jagged";
+    private static final String COLUMN_INDEX_IS_OUT_OF_BOUNDS = "Column index is out of bounds";
+    private static final String A_VIEW_CANNOT_CHANGE_ITS_DIMENSIONS = "A view cannot change its dimensions";
+    private static final String THE_VIEW_IS_STALE = "The dimensions of the matrix changed after the view was created";
+
+    private double[] data;
+
+    private int rowNumber;
+    private int columnNumber;
+
+    // Distance between the first elements of two consecutive rows
+    private int rowStride;
+
+    // Index of element (0, 0), only views start past the beginning of the buffer
+    private int offset;
+
+    private boolean isView;
+
+    // Matrix that owns the buffer of a view, null for a matrix that is not a view
+    private DenseDoubleMatrix<T> owner;
+
+    // Incremented by the owner each time it takes a new buffer. A view keeps the value it was created with.
+    private int generation;
+
+    // Factorization reused by solve while the matrix values stay the same
+    private LinearSolver linearSolver;
+
+    // Default epsilon value. Used for comparing doubles.
+    private static double epsilon = 0.000001;
+
+    public DenseDoubleMatrix(T[][] matrix) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length == 0 || matrix[0].length == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        checkJagged(matrix);
+
+        allocate(matrix.length, matrix[0].length);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = i * rowStride;
+
+            for (int j = 0; j < columnNumber; j++) {
+                data[base + j] = matrix[i][j].doubleValue();
+            }
+        }
+    }
+
+    public DenseDoubleMatrix(double[][] matrix) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length == 0 || matrix[0].length == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        for (double[] row : matrix) {
+            if (row.length != matrix[0].length)
+                throw new IllegalArgumentException(MATRIX_CANNOT_BE_JAGGED);
+        }
+
+        allocate(matrix.length, matrix[0].length);
+
+        for (int i = 0; i < rowNumber; i++) {
+            System.arraycopy(matrix[i], 0, data, i * rowStride, columnNumber);
+        }
+    }
+
+    // Copies a row-major buffer of rowNumber * columnNumber elements
+    public DenseDoubleMatrix(double[] data, int rowNumber, int columnNumber) {
+
+        if (data == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (rowNumber <= 0 || columnNumber <= 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        if (data.length != rowNumber * columnNumber)
+            throw new IllegalArgumentException("Data length must be equal to rowNumber * columnNumber");
+
+        allocate(rowNumber, columnNumber);
+
+        System.arraycopy(data, 0, this.data, 0, data.length);
+    }
+
+    // Creates a zero matrix
+    public DenseDoubleMatrix(int rowNumber, int columnNumber) {
+
+        if (rowNumber <= 0 || columnNumber <= 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        allocate(rowNumber, columnNumber);
+    }
+
+    // View of the given block of parent
+    private DenseDoubleMatrix(DenseDoubleMatrix<T> parent, int fromRow, int toRow, int fromColumn, int toColumn) {
+        this.owner = parent.isView ? parent.owner : parent;
+        this.generation = owner.generation;
+        this.data = parent.data;
+        this.rowNumber = toRow - fromRow;
+        this.columnNumber = toColumn - fromColumn;
+        this.rowStride = parent.rowStride;
+        this.offset = parent.offset + fromRow * parent.rowStride + fromColumn;
+        this.isView = true;
+    }
+
+    private void allocate(int rowNumber, int columnNumber) {
+        this.rowNumber = rowNumber;
+        this.columnNumber = columnNumber;
+        this.rowStride = columnNumber;
+        this.data = new double[rowNumber * columnNumber];
+    }
+
+    // Throws IllegalArgumentException for a view whose owner took a new buffer after it was created
+    private void checkLive() {
+        if (isView && owner.generation != generation)
+            throw new IllegalArgumentException(THE_VIEW_IS_STALE);
+    }
+
+    // Takes a row-major result. With the same dimensions it is copied into the current buffer, so
+    // that views keep seeing the values, otherwise it becomes the new buffer and the views go stale.
+    private void replaceData(double[] data, int rowNumber, int columnNumber) {
+
+        if (rowNumber == this.rowNumber && columnNumber == this.columnNumber) {
+            for (int i = 0; i < rowNumber; i++) {
+                System.arraycopy(data, i * columnNumber, this.data, offset + i * rowStride, columnNumber);
+            }
+
+            return;
+        }
+
+        if (isView)
+            throw new IllegalArgumentException(A_VIEW_CANNOT_CHANGE_ITS_DIMENSIONS);
+
+        this.data = data;
+        this.rowNumber = rowNumber;
+        this.columnNumber = columnNumber;
+        this.rowStride = columnNumber;
+        this.generation++;
+    }
+
+    private void checkJagged(T[][] matrix) {
+        for (T[] row : matrix) {
+            if (row == null || row.length != matrix[0].length)
+                throw new IllegalArgumentException(MATRIX_CANNOT_BE_JAGGED);
+        }
+    }
+
+    private void checkMatrix(T[][] matrix) {
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length == 0 || matrix[0].length == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        checkJagged(matrix);
+    }
+
+    private void checkMatrix(IMatrix<T> iMatrix) {
+        if (iMatrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (iMatrix.getRowNumber() == 0 || iMatrix.getColumnNumber() == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+    }
+
+    private void checkMatrixDimensionsForSymmetricity(int otherRowNumber, int otherColumnNumber) {
+        if (this.rowNumber != otherRowNumber || this.columnNumber != otherColumnNumber)
+            throw new IllegalArgumentException(MATRIX_DIMENSIONS_MUST_BE_EQUAL);
+    }
+
+    private void checkMatrixDimensionsForMultiplication(int otherRowNumber) {
+        if (this.columnNumber != otherRowNumber)
+            throw new IllegalArgumentException(String
+                    .format(CURRENT_MATRIX_COLUMN_NUMBER_FORMAT,
+                            this.columnNumber, otherRowNumber));
+    }
+
+    private void checkColumnIndexes(int fromColumn, int toColumn) {
+        if (fromColumn < 0 || toColumn < 0)
+            throw new IllegalArgumentException("Column indexes cannot be negative");
+
+        if (fromColumn > toColumn)
+            throw new IllegalArgumentException("fromColumn index cannot be greater than toColumn index");
+
+        if (fromColumn > this.columnNumber || toColumn > this.columnNumber)
+            throw new IllegalArgumentException("Column indexes cannot be greater than the number of columns");
+    }
+
+    private void checkColumnIndex(int column) {
+        if (column < 0)
+            throw new IllegalArgumentException("Column index cannot be negative");
+
+        if (column >= this.columnNumber)
+            throw new IllegalArgumentException("Column index cannot be greater than the number of columns");
+    }
+
+    private void checkRow(int firstRow, int secondRow) {
+
+        if (firstRow < 0 || firstRow >= this.rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (this.rowNumber - 1));
+
+        if (secondRow < 0 || secondRow >= this.rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (this.rowNumber - 1));
+    }
+
+    private void checkRowFromTo(int fromRow, int toRow) {
+
+        if (fromRow > toRow)
+            throw new IllegalArgumentException("From row index cannot be greater than to row index");
+
+        checkRow(fromRow, toRow - 1);
+    }
+
+    private void checkRow(T[] row) {
+
+        Objects.requireNonNull(row);
+
+        if (row.length != this.columnNumber)
+            throw new IllegalArgumentException("Row length must be equal to matrix column number.");
+    }
+
+    private void checkColumn(T[] column, int index) {
+        if (column.length != this.rowNumber)
+            throw new IllegalArgumentException("Column length must be equal to matrix column number.");
+
+        if (index < 0 || index >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_MUST_BE_BETWEEN_0_AND + (this.columnNumber - 1));
+    }
+
+    // Returns the row-major contents of any IMatrix without going through the boxed Double[][]
+    // when the other matrix is also dense.
+    private static double[] toRowMajor(IMatrix<?> iMatrix) {
+
+        if (iMatrix instanceof DenseDoubleMatrix<?> dense)
+            return dense.toDoubleArray();
+
+        return MatrixMultiplication.toRowMajor(iMatrix.toMatrix());
+    }
+
+    public double get(int row, int column) {
+        checkLive();
+
+        checkRow(row, row);
+        checkColumnIndex(column);
+
+        return data[offset + row * rowStride + column];
+    }
+
+    public DenseDoubleMatrix<T> set(int row, int column, double value) {
+        checkLive();
+
+        checkRow(row, row);
+        checkColumnIndex(column);
+
+        data[offset + row * rowStride + column] = value;
+
+        return this;
+    }
+
+    // Live view of rows [fromRow, toRow) and columns [fromColumn, toColumn) that shares this buffer
+    @Override
+    public DenseDoubleMatrix<T> view(int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkRowFromTo(fromRow, toRow);
+        checkColumnIndexes(fromColumn, toColumn);
+
+        if (fromRow == toRow || fromColumn == toColumn)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        return new DenseDoubleMatrix<>(this, fromRow, toRow, fromColumn, toColumn);
+    }
+
+    public boolean isView() {
+        return isView;
+    }
+
+    // Returns a row-major copy of the matrix
+    public double[] toDoubleArray() {
+        checkLive();
+
+        double[] result = new double[rowNumber * columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            System.arraycopy(data, offset + i * rowStride, result, i * columnNumber, columnNumber);
+        }
+
+        return result;
+    }
+
+    @Override
+    public IMatrix<T> add(T[][] matrix) {
+
+        checkLive();
+
+        checkMatrix(matrix);
+
+        checkMatrixDimensionsForSymmetricity(matrix.length, matrix[0].length);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = 0; j < columnNumber; j++) {
+                data[base + j] += matrix[i][j].doubleValue();
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> subtract(T[][] matrix) {
+
+        checkLive();
+
+        checkMatrix(matrix);
+
+        checkMatrixDimensionsForSymmetricity(matrix.length, matrix[0].length);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = 0; j < columnNumber; j++) {
+                data[base + j] -= matrix[i][j].doubleValue();
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> add(IMatrix<T> iMatrix) {
+
+        checkLive();
+
+        checkMatrix(iMatrix);
+
+        checkMatrixDimensionsForSymmetricity(iMatrix.getRowNumber(), iMatrix.getColumnNumber());
+
+        double[] other = toRowMajor(iMatrix);
+
+        for (int i = 0; i < rowNumber; i++) {
+            DoubleKernels.add(data, offset + i * rowStride, other, i * columnNumber, columnNumber);
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> subtract(IMatrix<T> iMatrix) {
+
+        checkLive();
+
+        checkMatrix(iMatrix);
+
+        checkMatrixDimensionsForSymmetricity(iMatrix.getRowNumber(), iMatrix.getColumnNumber());
+
+        double[] other = toRowMajor(iMatrix);
+
+        for (int i = 0; i < rowNumber; i++) {
+            DoubleKernels.subtract(data, offset + i * rowStride, other, i * columnNumber, columnNumber);
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> transpose() {
+
+        checkLive();
+
+        double[] result = new double[rowNumber * columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = 0; j < columnNumber; j++) {
+                result[j * rowNumber + i] = data[base + j];
+            }
+        }
+
+        replaceData(result, columnNumber, rowNumber);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> multiply(T[][] matrix) {
+
+        checkMatrix(matrix);
+
+        checkMatrixDimensionsForMultiplication(matrix.length);
+
+        return multiplyInternal(MatrixMultiplication.toRowMajor(matrix), matrix[0].length);
+    }
+
+    @Override
+    public IMatrix<T> multiply(IMatrix<T> iMatrix) {
+
+        checkMatrix(iMatrix);
+
+        checkMatrixDimensionsForMultiplication(iMatrix.getRowNumber());
+
+        return multiplyInternal(toRowMajor(iMatrix), iMatrix.getColumnNumber());
+    }
+
+    @Override
+    public IMatrix<T> multiplyParallel(IMatrix<T> iMatrix) {
+        return multiplyParallel(iMatrix, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public IMatrix<T> multiplyParallel(IMatrix<T> iMatrix, ForkJoinPool pool) {
+
+        checkMatrix(iMatrix);
+
+        checkMatrixDimensionsForMultiplication(iMatrix.getRowNumber());
+
+        Objects.requireNonNull(pool);
+
+        int otherColumnNumber = iMatrix.getColumnNumber();
+
+        double[] result = MatrixMultiplication.multiplyParallel(toDoubleArray(), toRowMajor(iMatrix),
+                rowNumber, columnNumber, otherColumnNumber, pool);
+
+        replaceData(result, rowNumber, otherColumnNumber);
+
+        return this;
+    }
+
+    private IMatrix<T> multiplyInternal(double[] other, int otherColumnNumber) {
+
+        double[] result = MatrixMultiplication.multiply(toDoubleArray(), other, rowNumber, columnNumber, otherColumnNumber);
+
+        replaceData(result, rowNumber, otherColumnNumber);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> multiply(T number) {
+
+        checkLive();
+
+        double factor = number.doubleValue();
+
+        for (int i = 0; i < rowNumber; i++) {
+            DoubleKernels.scale(data, offset + i * rowStride, columnNumber, factor);
+        }
+
+        return this;
+    }
+
+    @Override
+    public Double sum() {
+        return sum(0, this.columnNumber);
+    }
+
+    @Override
+    public Double sum(int column) {
+        return sum(column, column + 1);
+    }
+
+    @Override
+    public Double sum(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double sum = 0.0;
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                sum += data[base + j];
+            }
+        }
+
+        return sum;
+    }
+
+    @Override
+    public Double mean() {
+        return mean(0, this.columnNumber);
+    }
+
+    @Override
+    public Double mean(int column) {
+        return mean(column, column + 1);
+    }
+
+    @Override
+    public Double mean(int fromColumn, int toColumn) {
+
+        return sum(fromColumn, toColumn) / ((double) rowNumber * (toColumn - fromColumn));
+    }
+
+    @Override
+    public Double max() {
+        return max(0, this.columnNumber);
+    }
+
+    @Override
+    public Double max(int column) {
+        return max(column, column + 1);
+    }
+
+    @Override
+    public Double max(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                if (data[base + j] > max)
+                    max = data[base + j];
+            }
+        }
+
+        return max;
+    }
+
+    @Override
+    public Double min() {
+        return min(0, this.columnNumber);
+    }
+
+    @Override
+    public Double min(int column) {
+        return min(column, column + 1);
+    }
+
+    @Override
+    public Double min(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double min = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                if (data[base + j] < min)
+                    min = data[base + j];
+            }
+        }
+
+        return min;
+    }
+
+    @Override
+    public Double median() {
+        return median(0, this.columnNumber);
+    }
+
+    @Override
+    public Double median(int column) {
+        return median(column, column + 1);
+    }
+
+    @Override
+    public Double median(int fromColumn, int toColumn) {
+        return quantiles(fromColumn, toColumn, 0.5)[0];
+    }
+
+    @Override
+    public double[] quantiles(double... ps) {
+        return quantiles(0, this.columnNumber, ps);
+    }
+
+    @Override
+    public double[] quantiles(int column, double... ps) {
+        return quantiles(column, column + 1, ps);
+    }
+
+    @Override
+    public double[] quantiles(int fromColumn, int toColumn, double... ps) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        return Quantiles.quantiles(values, values.length, ps);
+    }
+
+    @Override
+    public List<Double> mode() {
+        return mode(0, this.columnNumber);
+    }
+
+    @Override
+    public List<Double> mode(int column) {
+        return mode(column, column + 1);
+    }
+
+    @Override
+    public List<Double> mode(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        DoubleCountMap counts = new DoubleCountMap();
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                counts.increment(data[offset + i * rowStride + j]);
+            }
+        }
+
+        if (counts.getMaxCount() <= 1)
+            return new ArrayList<>();
+
+        return counts.keysWithMaxCount();
+    }
+
+    @Override
+    public Double variance() {
+        return variance(0, this.columnNumber);
+    }
+
+    @Override
+    public Double variance(int column) {
+        return variance(column, column + 1);
+    }
+
+    @Override
+    public Double variance(int fromColumn, int toColumn) {
+        return summaryStatistics(fromColumn, toColumn).getVariance();
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics() {
+        return summaryStatistics(0, this.columnNumber);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int column) {
+        return summaryStatistics(column, column + 1);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                statistics.accept(data[base + j]);
+            }
+        }
+
+        return statistics;
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries() {
+        return columnSummaries(0, this.columnNumber);
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        ColumnSummaries summaries = new ColumnSummaries(fromColumn, toColumn);
+
+        for (int i = 0; i < rowNumber; i++) {
+            summaries.acceptRow(data, offset + i * rowStride + fromColumn);
+        }
+
+        return summaries;
+    }
+
+    @Override
+    public TDigest tDigest(double compression) {
+        return tDigest(0, this.columnNumber, compression);
+    }
+
+    @Override
+    public TDigest tDigest(int column, double compression) {
+        return tDigest(column, column + 1, compression);
+    }
+
+    @Override
+    public TDigest tDigest(int fromColumn, int toColumn, double compression) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        TDigest digest = new TDigest(compression);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                digest.accept(data[base + j]);
+            }
+        }
+
+        return digest;
+    }
+
+    @Override
+    public Double standardDeviation() {
+        return standardDeviation(0, this.columnNumber);
+    }
+
+    @Override
+    public Double standardDeviation(int column) {
+        return standardDeviation(column, column + 1);
+    }
+
+    @Override
+    public Double standardDeviation(int fromColumn, int toColumn) {
+        return Math.sqrt(variance(fromColumn, toColumn));
+    }
+
+    @Override
+    public Double range() {
+        return range(0, this.columnNumber);
+    }
+
+    @Override
+    public Double range(int column) {
+        return range(column, column + 1);
+    }
+
+    @Override
+    public Double range(int fromColumn, int toColumn) {
+        return max(fromColumn, toColumn) - min(fromColumn, toColumn);
+    }
+
+    @Override
+    public IMatrix<T> sort(int column) {
+        return sort(column, true);
+    }
+
+    @Override
+    public IMatrix<T> sort(int column, boolean ascending) {
+
+        checkLive();
+
+        if (column < 0 || column >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_IS_OUT_OF_BOUNDS);
+
+        double[] values = toPrimitiveArray(column, column + 1);
+
+        Arrays.sort(values);
+
+        for (int i = 0; i < rowNumber; i++) {
+            data[offset + i * rowStride + column] = ascending ? values[i] : values[rowNumber - 1 - i];
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> sort(int fromColumn, int toColumn) {
+        return sort(fromColumn, toColumn, true);
+    }
+
+    @Override
+    public IMatrix<T> sort(int fromColumn, int toColumn, boolean ascending) {
+
+        if (fromColumn < 0 || fromColumn >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_IS_OUT_OF_BOUNDS);
+
+        if (toColumn < 0 || toColumn > this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_IS_OUT_OF_BOUNDS);
+
+        if (fromColumn > toColumn)
+            throw new IllegalArgumentException("From column index is greater than to column index");
+
+        for (int i = fromColumn; i < toColumn; i++) {
+            sort(i, ascending);
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> sort() {
+        return sort(0, this.columnNumber, true);
+    }
+
+    // Stable sort of the rows by the given column, same order as a bubble sort with row swaps
+    @Override
+    public IMatrix<T> sortWithRowSwap(int column, boolean ascending) {
+
+        checkLive();
+
+        checkColumnIndex(column);
+
+        if (rowNumber == 1)
+            return this;
+
+        Integer[] order = new Integer[rowNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            order[i] = i;
+        }
+
+        Comparator<Integer> comparator = Comparator.comparingDouble(i -> data[offset + i * rowStride + column]);
+
+        Arrays.sort(order, ascending ? comparator : comparator.reversed());
+
+        double[] result = new double[rowNumber * columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            System.arraycopy(data, offset + order[i] * rowStride, result, i * columnNumber, columnNumber);
+        }
+
+        replaceData(result, rowNumber, columnNumber);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(long min, long max, int column) {
+        return minMaxNormalization(min, max, column, column + 1);
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(long min, long max, int fromColumn, int toColumn) {
+
+        checkLive();
+
+        if (min > max)
+            throw new IllegalArgumentException("Min value is greater than max value");
+
+        if (min == max)
+            throw new IllegalArgumentException("Min value is equal to max value");
+
+        ColumnSummaries summaries = columnSummaries(fromColumn, toColumn);
+
+        double[] minOfColumns = summaries.getMin();
+        double[] scales = summaries.getRange();
+
+        for (int k = 0; k < scales.length; k++) {
+            if (scales[k] == 0)
+                throw new IllegalArgumentException("Min value is equal to max value");
+
+            scales[k] = (max - min) / scales[k];
+        }
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride + fromColumn;
+
+            for (int k = 0; k < scales.length; k++) {
+                data[base + k] = (data[base + k] - minOfColumns[k]) * scales[k] + min;
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization() {
+        return minMaxNormalization(0, 1, 0, this.columnNumber);
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(int column) {
+        return minMaxNormalization(0, 1, column, column + 1);
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(int fromColumn, int toColumn) {
+        return minMaxNormalization(0, 1, fromColumn, toColumn);
+    }
+
+    @Override
+    public IMatrix<T> zScoreStandardization() {
+        return zScoreStandardization(0, this.columnNumber);
+    }
+
+    @Override
+    public IMatrix<T> zScoreStandardization(int column) {
+        return zScoreStandardization(column, column + 1);
+    }
+
+    @Override
+    public IMatrix<T> zScoreStandardization(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        ColumnSummaries summaries = columnSummaries(fromColumn, toColumn);
+
+        double[] meanOfColumns = summaries.getMean();
+        double[] sdOfColumns = summaries.getStandardDeviation();
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride + fromColumn;
+
+            for (int k = 0; k < meanOfColumns.length; k++) {
+                data[base + k] = (data[base + k] - meanOfColumns[k]) / sdOfColumns[k];
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Integer l0Norm(int column) {
+
+        checkLive();
+
+        checkColumnIndex(column);
+
+        int count = 0;
+
+        for (int i = 0; i < rowNumber; i++) {
+            if (Math.abs(data[offset + i * rowStride + column]) >= epsilon)
+                count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public Double l1Norm(int column) {
+
+        checkLive();
+
+        checkColumnIndex(column);
+
+        double absSum = 0d;
+
+        for (int i = 0; i < rowNumber; i++)
+            absSum += Math.abs(data[offset + i * rowStride + column]);
+
+        return absSum;
+    }
+
+    @Override
+    public Double l2Norm(int column) {
+
+        checkLive();
+
+        checkColumnIndex(column);
+
+        double sumOfSquares = 0d;
+
+        for (int i = 0; i < rowNumber; i++) {
+            double d = data[offset + i * rowStride + column];
+            sumOfSquares += d * d;
+        }
+
+        return Math.sqrt(sumOfSquares);
+    }
+
+    @Override
+    public Double lInfinityNorm(int column) {
+
+        checkLive();
+
+        checkColumnIndex(column);
+
+        double absMax = 0d;
+
+        for (int i = 0; i < rowNumber; i++) {
+            double abs = Math.abs(data[offset + i * rowStride + column]);
+
+            if (abs > absMax)
+                absMax = abs;
+        }
+
+        return absMax;
+    }
+
+    @Override
+    public int getRowNumber() {
+        return this.rowNumber;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return this.columnNumber;
+    }
+
+    @Override
+    public boolean isSquare() {
+        return this.rowNumber == this.columnNumber;
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        checkLive();
+
+        if (!isSquare())
+            return false;
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = i + 1; j < columnNumber; j++) {
+                if (Double.compare(data[offset + i * rowStride + j], data[offset + j * rowStride + i]) != 0)
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isIdentity() {
+        checkLive();
+
+        if (!isSquare())
+            return false;
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                double d = data[offset + i * rowStride + j];
+
+                if (i == j && d != 1) return false;
+                if (i != j && !NumberUtils.approximatelyZero(d, epsilon)) return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isDiagonal() {
+        checkLive();
+
+        if (!isSquare())
+            return false;
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                if (i != j && !NumberUtils.approximatelyZero(data[offset + i * rowStride + j], epsilon))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isAntiDiagonal() {
+        checkLive();
+
+        if (!isSquare())
+            return false;
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                if (i + j != columnNumber - 1 && !NumberUtils.approximatelyZero(data[offset + i * rowStride + j], epsilon))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isUpperTriangular() {
+        checkLive();
+
+        if (!isSquare())
+            return false;
+
+        for (int i = 1; i < rowNumber; i++) {
+            for (int j = 0; j < i; j++) {
+                if (!NumberUtils.approximatelyZero(data[offset + i * rowStride + j], epsilon))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isLowerTriangular() {
+        checkLive();
+
+        if (!isSquare())
+            return false;
+
+        for (int i = 0; i < rowNumber - 1; i++) {
+            for (int j = i + 1; j < columnNumber; j++) {
+                if (!NumberUtils.approximatelyZero(data[offset + i * rowStride + j], epsilon))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Double determinant() {
+
+        checkLive();
+
+        if (!isSquare())
+            throw new IllegalArgumentException("Matrix must be square to have a determinant");
+
+        // The structure is checked exactly, a triangular test with epsilon would drop small entries
+        return MatrixInversion.determinantByStructure(toDoubleArray(), rowNumber);
+    }
+
+    // Throws IllegalArgumentException if the matrix is not square, singular or ill-conditioned
+    @Override
+    public IMatrix<T> inverse() {
+
+        if (!isSquare())
+            throw new IllegalArgumentException("Matrix must be square to have an inverse");
+
+        int n = rowNumber;
+
+        double[] buffer = toDoubleArray();
+
+        if (MatrixInversion.isIdentity(buffer, n))
+            return this;
+
+        double[] inverse = MatrixInversion.invertByStructure(buffer, n);
+
+        replaceData(inverse, n, n);
+
+        return this;
+    }
+
+    @Override
+    public IVector<Double> solve(IVector<T> iVector) {
+
+        if (iVector == null)
+            throw new IllegalArgumentException("Vector cannot be null");
+
+        Double[] b = iVector.toArray();
+
+        double[] values = new double[b.length];
+
+        for (int i = 0; i < b.length; i++) {
+            values[i] = b[i];
+        }
+
+        double[] x = linearSolver().solve(values, b.length, 1);
+
+        Double[] result = new Double[x.length];
+
+        for (int i = 0; i < x.length; i++) {
+            result[i] = x[i];
+        }
+
+        return new StandardVector<>(result);
+    }
+
+    @Override
+    public IMatrix<Double> solve(IMatrix<T> iMatrix) {
+
+        checkMatrix(iMatrix);
+
+        int columns = iMatrix.getColumnNumber();
+
+        double[] x = linearSolver().solve(toRowMajor(iMatrix), iMatrix.getRowNumber(), columns);
+
+        return new DenseDoubleMatrix<>(x, rowNumber, columns);
+    }
+
+    private LinearSolver linearSolver() {
+
+        double[] buffer = toDoubleArray();
+
+        if (!LinearSolver.isBuiltFrom(linearSolver, buffer))
+            linearSolver = new LinearSolver(buffer, rowNumber, columnNumber);
+
+        return linearSolver;
+    }
+
+    @Override
+    public IMatrix<T> dropColumn(int column) {
+
+        popColumn(column);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> dropColumn() {
+
+        popColumn(this.columnNumber - 1);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> setColumn(T[] column, int index) {
+
+        checkLive();
+
+        checkColumn(column, index);
+
+        for (int i = 0; i < rowNumber; i++) {
+            data[offset + i * rowStride + index] = column[i].doubleValue();
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> putColumn(T[] column) {
+
+        checkLive();
+
+        if (column.length != this.rowNumber)
+            throw new IllegalArgumentException("Matrix and column dimensions must be equal");
+
+        int newColumnNumber = columnNumber + 1;
+
+        double[] result = new double[rowNumber * newColumnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            System.arraycopy(data, offset + i * rowStride, result, i * newColumnNumber, columnNumber);
+            result[i * newColumnNumber + columnNumber] = column[i].doubleValue();
+        }
+
+        replaceData(result, rowNumber, newColumnNumber);
+
+        return this;
+    }
+
+    @Override
+    public Double[] popColumn(int index) {
+
+        checkLive();
+
+        if (index < 0 || index >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_MUST_BE_BETWEEN_0_AND + (this.columnNumber - 1));
+
+        if (this.columnNumber < 2)
+            throw new IllegalArgumentException("Matrix must have at least two columns.");
+
+        Double[] column = new Double[rowNumber];
+
+        int newColumnNumber = columnNumber - 1;
+
+        double[] result = new double[rowNumber * newColumnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            column[i] = data[base + index];
+
+            System.arraycopy(data, base, result, i * newColumnNumber, index);
+            System.arraycopy(data, base + index + 1, result, i * newColumnNumber + index, newColumnNumber - index);
+        }
+
+        replaceData(result, rowNumber, newColumnNumber);
+
+        return column;
+    }
+
+    @Override
+    public Double[] popColumn() {
+        return popColumn(this.columnNumber - 1);
+    }
+
+    @Override
+    public IMatrix<T> replaceRow(int index, T[] row) {
+
+        checkLive();
+
+        checkRow(index, index);
+
+        checkRow(row);
+
+        int base = offset + index * rowStride;
+
+        for (int j = 0; j < columnNumber; j++) {
+            data[base + j] = row[j].doubleValue();
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> putRow(T[] row) {
+
+        checkLive();
+
+        checkRow(row);
+
+        double[] result = new double[(rowNumber + 1) * columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            System.arraycopy(data, offset + i * rowStride, result, i * columnNumber, columnNumber);
+        }
+
+        int base = rowNumber * columnNumber;
+
+        for (int j = 0; j < columnNumber; j++) {
+            result[base + j] = row[j].doubleValue();
+        }
+
+        replaceData(result, rowNumber + 1, columnNumber);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> swapRows(int firstIndex, int secondIndex) {
+
+        checkLive();
+
+        checkRow(firstIndex, secondIndex);
+
+        int first = offset + firstIndex * rowStride;
+        int second = offset + secondIndex * rowStride;
+
+        for (int j = 0; j < columnNumber; j++) {
+            double temp = data[first + j];
+            data[first + j] = data[second + j];
+            data[second + j] = temp;
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> map(Function<Double, Double> function) {
+        return map(0, this.columnNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> map(int column, Function<Double, Double> function) {
+        return map(column, column + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> map(int fromColumn, int toColumn, Function<Double, Double> function) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                data[base + j] = function.apply(data[base + j]);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> mapRow(Function<Double, Double> function) {
+        return mapRow(0, this.rowNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> mapRow(int row, Function<Double, Double> function) {
+        return mapRow(row, row + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> mapRow(int fromRow, int toRow, Function<Double, Double> function) {
+
+        checkLive();
+
+        checkRowFromTo(fromRow, toRow);
+
+        Objects.requireNonNull(function);
+
+        for (int i = fromRow; i < toRow; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = 0; j < columnNumber; j++) {
+                data[base + j] = function.apply(data[base + j]);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> addRows(int toRow, int fromRow) {
+
+        checkLive();
+
+        checkRow(toRow, fromRow);
+
+        int to = offset + toRow * rowStride;
+        int from = offset + fromRow * rowStride;
+
+        for (int j = 0; j < columnNumber; j++) {
+            data[to + j] += data[from + j];
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> multiplyRows(int toRow, int fromRow) {
+
+        checkLive();
+
+        checkRow(toRow, fromRow);
+
+        int to = offset + toRow * rowStride;
+        int from = offset + fromRow * rowStride;
+
+        for (int j = 0; j < columnNumber; j++) {
+            data[to + j] *= data[from + j];
+        }
+
+        return this;
+    }
+
+    @Override
+    public Double reduce(int column, BinaryOperator<Double> accumulator) {
+        return reduce(column, column + 1, 0d, accumulator);
+    }
+
+    @Override
+    public Double reduce(int column, Double identity, BinaryOperator<Double> accumulator) {
+        return reduce(column, column + 1, identity, accumulator);
+    }
+
+    @Override
+    public Double reduce(int fromColumn, int toColumn, BinaryOperator<Double> accumulator) {
+        return reduce(fromColumn, toColumn, 0d, accumulator);
+    }
+
+    @Override
+    public Double reduce(int fromColumn, int toColumn, Double identity, BinaryOperator<Double> accumulator) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        double result = identity;
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                result = accumulator.apply(result, data[offset + i * rowStride + j]);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void forEach(int column, Consumer<Double> consumer) {
+
+        checkLive();
+
+        checkColumnIndex(column);
+
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < rowNumber; i++) {
+            consumer.accept(data[offset + i * rowStride + column]);
+        }
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(DoubleUnaryOperator function) {
+        return mapDouble(0, this.columnNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int column, DoubleUnaryOperator function) {
+        return mapDouble(column, column + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int fromColumn, int toColumn, DoubleUnaryOperator function) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                data[base + j] = function.applyAsDouble(data[base + j]);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> mapIndexed(MatrixEntryOperator function) {
+
+        checkLive();
+
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = 0; j < columnNumber; j++) {
+                data[base + j] = function.applyAsDouble(i, j, data[base + j]);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public double reduceDouble(int column, double identity, DoubleBinaryOperator accumulator) {
+        return reduceDouble(column, column + 1, identity, accumulator);
+    }
+
+    @Override
+    public double reduceDouble(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        double result = identity;
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                result = accumulator.applyAsDouble(result, data[offset + i * rowStride + j]);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void forEachDouble(int column, DoubleConsumer consumer) {
+
+        checkLive();
+
+        checkColumnIndex(column);
+
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < rowNumber; i++) {
+            consumer.accept(data[offset + i * rowStride + column]);
+        }
+    }
+
+    @Override
+    public void forEachIndexed(MatrixEntryConsumer consumer) {
+
+        checkLive();
+
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = 0; j < columnNumber; j++) {
+                consumer.accept(i, j, data[base + j]);
+            }
+        }
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(0, this.columnNumber, identity, accumulator, combiner);
+    }
+
+    @Override
+    public double parallelReduce(int fromColumn, int toColumn, double identity,
+                                 DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(fromColumn, toColumn, identity, accumulator, combiner, false, ForkJoinPool.commonPool());
+    }
+
+    // The values are split in the order reduce visits them, column by column
+    @Override
+    public double parallelReduce(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator,
+                                 DoubleBinaryOperator combiner, boolean deterministic, ForkJoinPool pool) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        double[] values = data;
+        int start = offset;
+        int rows = rowNumber;
+        int stride = rowStride;
+
+        return ParallelReduction.reduce(rows * (toColumn - fromColumn), identity, (from, to, result) -> {
+            int column = fromColumn + from / rows;
+            int row = from % rows;
+
+            for (int k = from; k < to; k++) {
+                result = accumulator.applyAsDouble(result, values[start + row * stride + column]);
+
+                if (++row == rows) {
+                    row = 0;
+                    column++;
+                }
+            }
+
+            return result;
+        }, combiner, deterministic, pool);
+    }
+
+    // Column-major copy of the given columns, the same order as toArray
+    private double[] toPrimitiveArray(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        double[] result = new double[rowNumber * (toColumn - fromColumn)];
+
+        int index = 0;
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                result[index++] = data[offset + i * rowStride + j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Double> toList() {
+        return toList(0, this.columnNumber);
+    }
+
+    @Override
+    public List<Double> toList(int column) {
+        return toList(column, column + 1);
+    }
+
+    @Override
+    public List<Double> toList(int fromColumn, int toColumn) {
+        return Arrays.asList(toArray(fromColumn, toColumn));
+    }
+
+    @Override
+    public List<Double> distinct() {
+        return distinct(0, this.columnNumber);
+    }
+
+    @Override
+    public List<Double> distinct(int column) {
+        return distinct(column, column + 1);
+    }
+
+    @Override
+    public List<Double> distinct(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                set.add(data[offset + i * rowStride + j]);
+            }
+        }
+
+        return set.toList();
+    }
+
+    @Override
+    public int distinctCount() {
+        return distinctCount(0, this.columnNumber);
+    }
+
+    @Override
+    public int distinctCount(int column) {
+        return distinctCount(column, column + 1);
+    }
+
+    @Override
+    public int distinctCount(int fromColumn, int toColumn) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                set.add(data[offset + i * rowStride + j]);
+            }
+        }
+
+        return set.size();
+    }
+
+    @Override
+    public long approxDistinctCount(int precision) {
+        return approxDistinctCount(0, this.columnNumber, precision);
+    }
+
+    @Override
+    public long approxDistinctCount(int column, int precision) {
+        return approxDistinctCount(column, column + 1, precision);
+    }
+
+    @Override
+    public long approxDistinctCount(int fromColumn, int toColumn, int precision) {
+
+        checkLive();
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        HyperLogLog sketch = new HyperLogLog(precision);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = fromColumn; j < toColumn; j++) {
+                sketch.accept(data[base + j]);
+            }
+        }
+
+        return sketch.estimate();
+    }
+
+    // Returns a boxed copy, changes to it are not reflected in the matrix
+    @Override
+    public Double[][] toMatrix() {
+
+        checkLive();
+
+        Double[][] result = new Double[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = offset + i * rowStride;
+
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = data[base + j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Double[] toArray(int column) {
+        return toArray(column, column + 1);
+    }
+
+    @Override
+    public Double[] toArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Double[] result = new Double[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Integer[][] toIntegerMatrix() {
+
+        checkLive();
+
+        Integer[][] result = new Integer[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (int) data[offset + i * rowStride + j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Integer[] toIntegerArray(int column) {
+        return toIntegerArray(column, column + 1);
+    }
+
+    @Override
+    public Integer[] toIntegerArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Integer[] result = new Integer[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (int) values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Float[][] toFloatMatrix() {
+
+        checkLive();
+
+        Float[][] result = new Float[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (float) data[offset + i * rowStride + j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Float[] toFloatArray(int column) {
+        return toFloatArray(column, column + 1);
+    }
+
+    @Override
+    public Float[] toFloatArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Float[] result = new Float[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Byte[][] toByteMatrix() {
+
+        checkLive();
+
+        Byte[][] result = new Byte[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (byte) data[offset + i * rowStride + j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Byte[] toByteArray(int column) {
+        return toByteArray(column, column + 1);
+    }
+
+    @Override
+    public Byte[] toByteArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Byte[] result = new Byte[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Short[][] toShortMatrix() {
+
+        checkLive();
+
+        Short[][] result = new Short[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (short) data[offset + i * rowStride + j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Short[] toShortArray(int column) {
+        return toShortArray(column, column + 1);
+    }
+
+    @Override
+    public Short[] toShortArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Short[] result = new Short[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (short) values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long[][] toLongMatrix() {
+
+        checkLive();
+
+        Long[][] result = new Long[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (long) data[offset + i * rowStride + j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long[] toLongArray(int column) {
+        return toLongArray(column, column + 1);
+    }
+
+    @Override
+    public Long[] toLongArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Long[] result = new Long[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (long) values[i];
+        }
+
+        return result;
+    }
+
+    private String content() {
+        checkLive();
+
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("Matrix has ")
+                .append(this.rowNumber == 1 ? "1 row" : this.rowNumber + " rows")
+                .append(" and ")
+                .append(this.columnNumber == 1 ? "1 column" : this.columnNumber + " columns")
+                .append(". Matrix:\n[\n");
+
+        for (int i = 0; i < rowNumber; i++) {
+            sb.append("\t[");
+            for (int j = 0; j < columnNumber; j++) {
+                sb.append(data[offset + i * rowStride + j]);
+
+                if (j < columnNumber - 1)
+                    sb.append(", ");
+            }
+            sb.append("]");
+            sb.append("\n");
+        }
+
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "DenseDoubleMatrix {\n" +
+                content() + "\n" +
+                '}';
+    }
+
+    public static void setEpsilon(double epsilon) {
+        DenseDoubleMatrix.epsilon = epsilon;
+    }
+
+    public static double getEpsilon() {
+        return DenseDoubleMatrix.epsilon;
+    }
+}
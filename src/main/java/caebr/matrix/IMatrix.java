@@ -1,8 +1,17 @@
 package caebr.matrix;
 
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
+import caebr.vector.IVector;
+
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 public interface IMatrix<T extends Number> {
@@ -23,6 +32,11 @@ public interface IMatrix<T extends Number> {
 
     IMatrix<T> multiply(T number);
 
+    // Same as multiply, runs on the common ForkJoinPool for large matrices
+    IMatrix<T> multiplyParallel(IMatrix<T> iMatrix);
+
+    IMatrix<T> multiplyParallel(IMatrix<T> iMatrix, ForkJoinPool pool);
+
     Double sum();
 
     Double sum(int column);
@@ -53,6 +67,13 @@ public interface IMatrix<T extends Number> {
 
     Double median(int fromColumn, int toColumn);
 
+    // Quantiles in the order of ps, each p in [0, 1]. Computed by selection, without sorting.
+    double[] quantiles(double... ps);
+
+    double[] quantiles(int column, double... ps);
+
+    double[] quantiles(int fromColumn, int toColumn, double... ps);
+
     List<Double> mode();
 
     List<Double> mode(int column);
@@ -71,6 +92,25 @@ public interface IMatrix<T extends Number> {
 
     Double standardDeviation(int fromColumn, int toColumn);
 
+    // Count, sum, mean, variance, min and max in one pass
+    SummaryStatistics summaryStatistics();
+
+    SummaryStatistics summaryStatistics(int column);
+
+    SummaryStatistics summaryStatistics(int fromColumn, int toColumn);
+
+    // Statistics of every column separately, all collected in one row-major pass
+    ColumnSummaries columnSummaries();
+
+    ColumnSummaries columnSummaries(int fromColumn, int toColumn);
+
+    // Quantile sketch of the values that can be merged with sketches of other data
+    TDigest tDigest(double compression);
+
+    TDigest tDigest(int column, double compression);
+
+    TDigest tDigest(int fromColumn, int toColumn, double compression);
+
     Double range();
 
     Double range(int column);
@@ -121,6 +161,10 @@ public interface IMatrix<T extends Number> {
 
     int getColumnNumber();
 
+    // Live view of rows [fromRow, toRow) and columns [fromColumn, toColumn) that does not copy the
+    // values. Changes made through the view are seen by this matrix and the other way around.
+    IMatrix<T> view(int fromRow, int toRow, int fromColumn, int toColumn);
+
     boolean isSquare();
 
     boolean isSymmetric();
@@ -139,6 +183,12 @@ public interface IMatrix<T extends Number> {
 
     IMatrix<T> inverse();
 
+    // Solves this * x = b. The factorization is kept and reused while the matrix values stay the same
+    IVector<Double> solve(IVector<T> iVector);
+
+    // Solves this * X = B for every column of B
+    IMatrix<Double> solve(IMatrix<T> iMatrix);
+
     IMatrix<T> dropColumn(int column);
 
     IMatrix<T> dropColumn();
@@ -153,6 +203,9 @@ public interface IMatrix<T extends Number> {
 
     IMatrix<T> replaceRow(int index, T[] row);
 
+    // Appends a row below the last one
+    IMatrix<T> putRow(T[] row);
+
     IMatrix<T> swapRows(int firstIndex, int secondIndex);
 
     // Change all values
@@ -185,6 +238,39 @@ public interface IMatrix<T extends Number> {
 
     void forEach(int column, Consumer<Double> consumer);
 
+    // Primitive versions of map, reduce and forEach, they do not box the values passed to the function.
+    // Named apart from the boxed ones so that a lambda argument is never ambiguous.
+    IMatrix<T> mapDouble(DoubleUnaryOperator function);
+
+    IMatrix<T> mapDouble(int column, DoubleUnaryOperator function);
+
+    IMatrix<T> mapDouble(int fromColumn, int toColumn, DoubleUnaryOperator function);
+
+    // Visits the entries row by row
+    IMatrix<T> mapIndexed(MatrixEntryOperator function);
+
+    double reduceDouble(int column, double identity, DoubleBinaryOperator accumulator);
+
+    // Folds the columns one after another, in the same order as reduce
+    double reduceDouble(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator);
+
+    void forEachDouble(int column, DoubleConsumer consumer);
+
+    // Visits the entries row by row
+    void forEachIndexed(MatrixEntryConsumer consumer);
+
+    // Folds the values on the common ForkJoinPool and merges the partial results with combiner.
+    // identity must be neutral for combiner and combiner associative, as for Stream.reduce.
+    double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner);
+
+    double parallelReduce(int fromColumn, int toColumn, double identity,
+                          DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner);
+
+    // With deterministic set the work is always split at the same places, so floating-point
+    // results are the same on every run and every pool
+    double parallelReduce(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator,
+                          DoubleBinaryOperator combiner, boolean deterministic, ForkJoinPool pool);
+
     List<Double> toList();
 
     List<Double> toList(int column);
@@ -197,6 +283,20 @@ public interface IMatrix<T extends Number> {
 
     List<Double> distinct(int fromColumn, int toColumn);
 
+    // Number of distinct values without building the list
+    int distinctCount();
+
+    int distinctCount(int column);
+
+    int distinctCount(int fromColumn, int toColumn);
+
+    // Estimated number of distinct values in constant memory, precision between 4 and 18
+    long approxDistinctCount(int precision);
+
+    long approxDistinctCount(int column, int precision);
+
+    long approxDistinctCount(int fromColumn, int toColumn, int precision);
+
     Double[][] toMatrix();
 
     Double[] toArray(int column);
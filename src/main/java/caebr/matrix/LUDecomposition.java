@@ -0,0 +1,285 @@
+package caebr.matrix;
+
+import caebr.util.DoubleKernels;
+
+// Doolittle LU decomposition with partial pivoting: P * A = L * U.
+//
+// The factors are computed in place on a private row-major copy of the matrix. L has a unit
+// diagonal and is stored below the diagonal, U on and above it. pivot[i] is the row of the
+// original matrix that ended up in row i, pivotSign is the sign of the permutation.
+// Costs (2/3) n^3 flops once, after which the determinant is O(n), a solve O(n^2) per column
+// and the inverse O(n^3).
+public class LUDecomposition {
+
+    private static final String MATRIX_CANNOT_BE_NULL = "Matrix cannot be null";
+    private static final String MATRIX_CANNOT_BE_EMPTY = "Matrix cannot be empty";
+    private static final String MATRIX_MUST_BE_SQUARE = "Matrix must be square";
+    private static final String MATRIX_IS_SINGULAR = "Matrix is singular";
+    private static final String DIMENSIONS_DO_NOT_MATCH = "Right hand side must have %d rows, but has %d";
+
+    private final double[] lu;
+    private final int[] pivot;
+    private final int n;
+    private final int pivotSign;
+    private final boolean singular;
+
+    public LUDecomposition(Number[][] matrix) {
+        this(MatrixMultiplication.toRowMajor(checkMatrix(matrix)), matrix.length);
+    }
+
+    public LUDecomposition(IMatrix<?> iMatrix) {
+        this(toRowMajor(iMatrix), iMatrix.getRowNumber());
+    }
+
+    // Factorizes a copy of the given n x n row-major buffer
+    public LUDecomposition(double[] matrix, int n) {
+
+        this.lu = checkBuffer(matrix, n).clone();
+        this.n = n;
+        this.pivot = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+
+        // Pivots below this are treated as zero: n ulps of the largest entry
+        double tolerance = n * Math.ulp(maxAbs(lu));
+
+        int sign = 1;
+        boolean isSingular = false;
+
+        for (int k = 0; k < n; k++) {
+
+            int p = k;
+
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(lu[i * n + k]) > Math.abs(lu[p * n + k]))
+                    p = i;
+            }
+
+            if (p != k) {
+                swapRows(lu, n, p, k);
+
+                int temp = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = temp;
+
+                sign = -sign;
+            }
+
+            double diagonal = lu[k * n + k];
+
+            if (Math.abs(diagonal) <= tolerance)
+                isSingular = true;
+
+            // An exact zero column below the diagonal needs no elimination
+            if (diagonal == 0d)
+                continue;
+
+            int rowK = k * n;
+
+            for (int i = k + 1; i < n; i++) {
+                int rowI = i * n;
+
+                double factor = lu[rowI + k] / diagonal;
+
+                lu[rowI + k] = factor;
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, lu, rowK + k + 1, lu, rowI + k + 1, n - k - 1);
+            }
+        }
+
+        this.pivotSign = sign;
+        this.singular = isSingular;
+    }
+
+    private static Number[][] checkMatrix(Number[][] matrix) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length == 0 || matrix[0].length == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        for (Number[] row : matrix) {
+            if (row.length != matrix.length)
+                throw new IllegalArgumentException(MATRIX_MUST_BE_SQUARE);
+        }
+
+        return matrix;
+    }
+
+    private static double[] checkBuffer(double[] matrix, int n) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (n <= 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        if (matrix.length != n * n)
+            throw new IllegalArgumentException(MATRIX_MUST_BE_SQUARE);
+
+        return matrix;
+    }
+
+    private static double[] toRowMajor(IMatrix<?> iMatrix) {
+
+        if (iMatrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (iMatrix.getRowNumber() != iMatrix.getColumnNumber())
+            throw new IllegalArgumentException(MATRIX_MUST_BE_SQUARE);
+
+        if (iMatrix instanceof DenseDoubleMatrix<?> dense)
+            return dense.toDoubleArray();
+
+        return MatrixMultiplication.toRowMajor(iMatrix.toMatrix());
+    }
+
+    private static double maxAbs(double[] matrix) {
+
+        double max = 0d;
+
+        for (double value : matrix) {
+            max = Math.max(max, Math.abs(value));
+        }
+
+        return max;
+    }
+
+    private static void swapRows(double[] matrix, int n, int row1, int row2) {
+
+        int base1 = row1 * n;
+        int base2 = row2 * n;
+
+        for (int j = 0; j < n; j++) {
+            double temp = matrix[base1 + j];
+            matrix[base1 + j] = matrix[base2 + j];
+            matrix[base2 + j] = temp;
+        }
+    }
+
+    public int getDimension() {
+        return n;
+    }
+
+    public boolean isSingular() {
+        return singular;
+    }
+
+    public int getPivotSign() {
+        return pivotSign;
+    }
+
+    public int[] getPivot() {
+        return pivot.clone();
+    }
+
+    public double determinant() {
+
+        double result = pivotSign;
+
+        for (int i = 0; i < n; i++) {
+            result *= lu[i * n + i];
+        }
+
+        return result;
+    }
+
+    // Unit lower triangular factor
+    public Double[][] getLower() {
+
+        Double[][] lower = new Double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i > j)
+                    lower[i][j] = lu[i * n + j];
+                else
+                    lower[i][j] = i == j ? 1d : 0d;
+            }
+        }
+
+        return lower;
+    }
+
+    public Double[][] getUpper() {
+
+        Double[][] upper = new Double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                upper[i][j] = i <= j ? lu[i * n + j] : 0d;
+            }
+        }
+
+        return upper;
+    }
+
+    // Solves A * x = b for one right hand side
+    public double[] solve(double[] b) {
+        return solve(b, 1);
+    }
+
+    // Solves A * X = B, where B is an n x columns row-major buffer, and returns X in the same layout
+    public double[] solve(double[] b, int columns) {
+
+        if (b == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (columns <= 0 || b.length != n * columns)
+            throw new IllegalArgumentException(String.format(DIMENSIONS_DO_NOT_MATCH, n,
+                    columns <= 0 ? 0 : b.length / columns));
+
+        if (singular)
+            throw new IllegalArgumentException(MATRIX_IS_SINGULAR);
+
+        double[] x = new double[n * columns];
+
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(b, pivot[i] * columns, x, i * columns, columns);
+        }
+
+        // Forward substitution with the unit lower factor: L * Y = P * B
+        for (int k = 0; k < n; k++) {
+            int rowK = k * columns;
+
+            for (int i = k + 1; i < n; i++) {
+                double factor = lu[i * n + k];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, x, rowK, x, i * columns, columns);
+            }
+        }
+
+        // Back substitution with the upper factor: U * X = Y
+        for (int k = n - 1; k >= 0; k--) {
+            int rowK = k * columns;
+
+            DoubleKernels.scale(x, rowK, columns, 1d / lu[k * n + k]);
+
+            for (int i = 0; i < k; i++) {
+                double factor = lu[i * n + k];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, x, rowK, x, i * columns, columns);
+            }
+        }
+
+        return x;
+    }
+
+    // Inverse as an n x n row-major buffer, by solving against the identity
+    public double[] inverse() {
+
+        double[] identity = new double[n * n];
+
+        for (int i = 0; i < n; i++) {
+            identity[i * n + i] = 1d;
+        }
+
+        return solve(identity, n);
+    }
+}
@@ -0,0 +1,136 @@
+package caebr.matrix;
+
+import caebr.util.DoubleKernels;
+
+import java.util.Arrays;
+
+// Factorization behind IMatrix.solve, cached by the matrix between calls.
+//
+// The solver keeps the row-major values it was built from. A matrix reuses its cached solver
+// as long as its current values are equal to them, which costs O(n^2) per call next to the
+// O(n^3) factorization, and also catches changes made through arrays returned by toMatrix().
+// Triangular matrices are solved by substitution directly, symmetric ones try Cholesky first
+// and fall back to LU when they are not positive definite. The structure is checked exactly on
+// the buffer, a small entry the epsilon IMatrix predicates ignore still rules out substitution.
+final class LinearSolver {
+
+    private static final String MATRIX_MUST_BE_SQUARE = "Matrix must be square to solve a linear system";
+    private static final String DIMENSIONS_DO_NOT_MATCH = "Right hand side must have %d rows, but has %d";
+
+    private enum Method { UPPER_TRIANGULAR, LOWER_TRIANGULAR, CHOLESKY, LU }
+
+    private final double[] matrix;
+    private final int n;
+    private final Method method;
+    private final CholeskyDecomposition cholesky;
+    private final LUDecomposition lu;
+
+    // matrix must be a private row-major copy, it is kept by the solver
+    LinearSolver(double[] matrix, int rowNumber, int columnNumber) {
+
+        if (rowNumber != columnNumber)
+            throw new IllegalArgumentException(MATRIX_MUST_BE_SQUARE);
+
+        this.matrix = matrix;
+        this.n = rowNumber;
+
+        boolean upperTriangular = MatrixInversion.isUpperTriangular(matrix, n);
+
+        if (upperTriangular || MatrixInversion.isLowerTriangular(matrix, n)) {
+            this.method = upperTriangular ? Method.UPPER_TRIANGULAR : Method.LOWER_TRIANGULAR;
+            this.cholesky = null;
+            this.lu = null;
+            return;
+        }
+
+        CholeskyDecomposition choleskyDecomposition = MatrixInversion.isSymmetric(matrix, n)
+                ? new CholeskyDecomposition(matrix, n) : null;
+
+        if (choleskyDecomposition != null && choleskyDecomposition.isPositiveDefinite()) {
+            this.method = Method.CHOLESKY;
+            this.cholesky = choleskyDecomposition;
+            this.lu = null;
+        }
+        else {
+            this.method = Method.LU;
+            this.cholesky = null;
+            this.lu = new LUDecomposition(matrix, n);
+        }
+    }
+
+    // True if cached was built from the same values and can be reused
+    static boolean isBuiltFrom(LinearSolver cached, double[] matrix) {
+        return cached != null && Arrays.equals(cached.matrix, matrix);
+    }
+
+    // Solves A * X = B for an n x columns row-major B
+    double[] solve(double[] b, int rows, int columns) {
+
+        if (rows != n)
+            throw new IllegalArgumentException(String.format(DIMENSIONS_DO_NOT_MATCH, n, rows));
+
+        return switch (method) {
+            case UPPER_TRIANGULAR -> solveUpperTriangular(b, columns);
+            case LOWER_TRIANGULAR -> solveLowerTriangular(b, columns);
+            case CHOLESKY -> cholesky.solve(b, columns);
+            case LU -> {
+                if (lu.isSingular())
+                    throw new IllegalArgumentException(MatrixInversion.MATRIX_IS_SINGULAR);
+
+                yield lu.solve(b, columns);
+            }
+        };
+    }
+
+    private double[] solveUpperTriangular(double[] b, int columns) {
+
+        checkDiagonal();
+
+        double[] x = b.clone();
+
+        for (int k = n - 1; k >= 0; k--) {
+            int rowK = k * columns;
+
+            DoubleKernels.scale(x, rowK, columns, 1d / matrix[k * n + k]);
+
+            for (int i = 0; i < k; i++) {
+                double factor = matrix[i * n + k];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, x, rowK, x, i * columns, columns);
+            }
+        }
+
+        return x;
+    }
+
+    private double[] solveLowerTriangular(double[] b, int columns) {
+
+        checkDiagonal();
+
+        double[] x = b.clone();
+
+        for (int k = 0; k < n; k++) {
+            int rowK = k * columns;
+
+            DoubleKernels.scale(x, rowK, columns, 1d / matrix[k * n + k]);
+
+            for (int i = k + 1; i < n; i++) {
+                double factor = matrix[i * n + k];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, x, rowK, x, i * columns, columns);
+            }
+        }
+
+        return x;
+    }
+
+    private void checkDiagonal() {
+
+        for (int i = 0; i < n; i++) {
+            if (matrix[i * n + i] == 0d)
+                throw new IllegalArgumentException(MatrixInversion.MATRIX_IS_SINGULAR);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package caebr.matrix;
+
+// Receives the entry at (row, column) of a matrix, without boxing
+@FunctionalInterface
+public interface MatrixEntryConsumer {
+
+    void accept(int row, int column, double value);
+}
@@ -0,0 +1,8 @@
+package caebr.matrix;
+
+// Computes a new value for the entry at (row, column) of a matrix, without boxing
+@FunctionalInterface
+public interface MatrixEntryOperator {
+
+    double applyAsDouble(int row, int column, double value);
+}
@@ -0,0 +1,265 @@
+package caebr.matrix;
+
+import caebr.util.DoubleKernels;
+
+// Inverses of square row-major primitive buffers.
+//
+// invertByStructure checks the exact structure of the buffer and picks the matching method: a
+// diagonal inverse is O(n), a triangular one is a substitution that only reads one triangle, a
+// symmetric positive-definite one goes through CholeskyDecomposition and everything else through
+// LUDecomposition. The structure checks compare with == 0d, not with the epsilon of the IMatrix
+// predicates, since dropping a small entry changes the inverse.
+// A zero pivot throws MATRIX_IS_SINGULAR. An inverse whose 1-norm condition number is beyond what
+// doubles can represent (reciprocal condition below the machine epsilon) throws
+// MATRIX_IS_ILL_CONDITIONED instead of returning meaningless values.
+// determinantByStructure makes the same exact checks: the product of the diagonal for a triangular
+// buffer, Cholesky for a symmetric positive-definite one and LU for everything else.
+public final class MatrixInversion {
+
+    static final String MATRIX_IS_SINGULAR = "Matrix is singular";
+    static final String MATRIX_IS_ILL_CONDITIONED = "Matrix is ill-conditioned";
+    private static final String MATRIX_MUST_BE_SQUARE = "Matrix must be square to have an inverse";
+
+    private static final double MACHINE_EPSILON = Math.ulp(1d);
+
+    private MatrixInversion() {}
+
+    public static double[] invertByStructure(double[] matrix, int n) {
+
+        checkSquare(matrix, n);
+
+        if (isDiagonal(matrix, n))
+            return invertDiagonal(matrix, n);
+
+        if (isUpperTriangular(matrix, n))
+            return invertUpperTriangular(matrix, n);
+
+        if (isLowerTriangular(matrix, n))
+            return invertLowerTriangular(matrix, n);
+
+        if (isSymmetric(matrix, n))
+            return invertSymmetric(matrix, n);
+
+        return invert(matrix, n);
+    }
+
+    public static double[] invert(double[] matrix, int n) {
+
+        checkSquare(matrix, n);
+
+        LUDecomposition lu = new LUDecomposition(matrix, n);
+
+        if (lu.isSingular())
+            throw new IllegalArgumentException(MATRIX_IS_SINGULAR);
+
+        return checkCondition(matrix, lu.inverse(), n);
+    }
+
+    // Cholesky when the matrix is positive definite, LU otherwise. Only the lower triangle is
+    // read by Cholesky, so the matrix must be symmetric.
+    public static double[] invertSymmetric(double[] matrix, int n) {
+
+        checkSquare(matrix, n);
+
+        CholeskyDecomposition cholesky = new CholeskyDecomposition(matrix, n);
+
+        if (!cholesky.isPositiveDefinite())
+            return invert(matrix, n);
+
+        return checkCondition(matrix, cholesky.inverse(), n);
+    }
+
+    // Only the diagonal is read
+    public static double[] invertDiagonal(double[] matrix, int n) {
+
+        checkSquare(matrix, n);
+
+        double[] inverse = new double[n * n];
+
+        for (int i = 0; i < n; i++) {
+            double diagonal = matrix[i * n + i];
+
+            if (diagonal == 0d)
+                throw new IllegalArgumentException(MATRIX_IS_SINGULAR);
+
+            inverse[i * n + i] = 1d / diagonal;
+        }
+
+        return checkCondition(matrix, inverse, n);
+    }
+
+    // Only the upper triangle is read. Row i of the inverse is
+    // (e_i - sum over k > i of u[i][k] * row k of the inverse) / u[i][i], built from the bottom up.
+    public static double[] invertUpperTriangular(double[] matrix, int n) {
+
+        checkSquare(matrix, n);
+        checkDiagonal(matrix, n);
+
+        double[] inverse = new double[n * n];
+
+        for (int i = n - 1; i >= 0; i--) {
+            int row = i * n;
+
+            inverse[row + i] = 1d;
+
+            for (int k = i + 1; k < n; k++) {
+                double factor = matrix[row + k];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, inverse, k * n + k, inverse, row + k, n - k);
+            }
+
+            DoubleKernels.scale(inverse, row + i, n - i, 1d / matrix[row + i]);
+        }
+
+        return checkCondition(matrix, inverse, n);
+    }
+
+    // Only the lower triangle is read. Same as the upper case, built from the top down.
+    public static double[] invertLowerTriangular(double[] matrix, int n) {
+
+        checkSquare(matrix, n);
+        checkDiagonal(matrix, n);
+
+        double[] inverse = new double[n * n];
+
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+
+            inverse[row + i] = 1d;
+
+            for (int k = 0; k < i; k++) {
+                double factor = matrix[row + k];
+
+                if (factor != 0d)
+                    DoubleKernels.axpy(-factor, inverse, k * n, inverse, row, k + 1);
+            }
+
+            DoubleKernels.scale(inverse, row, i + 1, 1d / matrix[row + i]);
+        }
+
+        return checkCondition(matrix, inverse, n);
+    }
+
+    private static void checkSquare(double[] matrix, int n) {
+
+        if (n <= 0 || matrix.length != n * n)
+            throw new IllegalArgumentException(MATRIX_MUST_BE_SQUARE);
+    }
+
+    private static void checkDiagonal(double[] matrix, int n) {
+
+        for (int i = 0; i < n; i++) {
+            if (matrix[i * n + i] == 0d)
+                throw new IllegalArgumentException(MATRIX_IS_SINGULAR);
+        }
+    }
+
+    // Both norms are O(n^2), next to the O(n^3) inverse
+    private static double[] checkCondition(double[] matrix, double[] inverse, int n) {
+
+        double condition = norm1(matrix, n) * norm1(inverse, n);
+
+        if (Double.isNaN(condition) || condition * MACHINE_EPSILON >= 1d)
+            throw new IllegalArgumentException(MATRIX_IS_ILL_CONDITIONED);
+
+        return inverse;
+    }
+
+    // Maximum absolute column sum
+    private static double norm1(double[] matrix, int n) {
+
+        double[] columnSums = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            int row = i * n;
+
+            for (int j = 0; j < n; j++) {
+                columnSums[j] += Math.abs(matrix[row + j]);
+            }
+        }
+
+        double max = 0d;
+
+        for (double sum : columnSums) {
+            max = Math.max(max, sum);
+        }
+
+        return max;
+    }
+
+    static double determinantByStructure(double[] matrix, int n) {
+
+        if (isUpperTriangular(matrix, n) || isLowerTriangular(matrix, n)) {
+            double result = 1.0;
+
+            for (int i = 0; i < n; i++) {
+                result *= matrix[i * n + i];
+            }
+
+            return result;
+        }
+
+        // Half the work of LU for symmetric positive-definite matrices
+        if (isSymmetric(matrix, n)) {
+            CholeskyDecomposition cholesky = new CholeskyDecomposition(matrix, n);
+
+            if (cholesky.isPositiveDefinite())
+                return cholesky.determinant();
+        }
+
+        return new LUDecomposition(matrix, n).determinant();
+    }
+
+    // Exact structure checks on a square row-major buffer, a zero is == 0d
+
+    static boolean isIdentity(double[] matrix, int n) {
+
+        for (int i = 0; i < n; i++) {
+            if (matrix[i * n + i] != 1d)
+                return false;
+        }
+
+        return isDiagonal(matrix, n);
+    }
+
+    static boolean isDiagonal(double[] matrix, int n) {
+        return isUpperTriangular(matrix, n) && isLowerTriangular(matrix, n);
+    }
+
+    static boolean isUpperTriangular(double[] matrix, int n) {
+
+        for (int i = 1; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                if (matrix[i * n + j] != 0d)
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    static boolean isLowerTriangular(double[] matrix, int n) {
+
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (matrix[i * n + j] != 0d)
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    static boolean isSymmetric(double[] matrix, int n) {
+
+        for (int i = 1; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                if (Double.compare(matrix[i * n + j], matrix[j * n + i]) != 0)
+                    return false;
+            }
+        }
+
+        return true;
+    }
+}
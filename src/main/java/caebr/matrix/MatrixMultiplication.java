@@ -0,0 +1,367 @@
+package caebr.matrix;
+
+import caebr.util.DoubleKernels;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Matrix multiplication kernels on row-major primitive buffers.
+//
+// Large products are computed in blocks: a KC x NC block of the second matrix is packed into
+// column panels of NR values per k (the transposed layout the micro-kernel reads contiguously),
+// an MC x KC block of the first matrix is packed into row panels of MR values per k, and an
+// MR x NR micro-kernel accumulates each tile of the result in local variables.
+// MC * KC doubles (256 KB) are sized to stay in L2 and one KC x NR panel (8 KB) in L1.
+//
+// With the Vector API available (see DoubleKernels) full tiles and row updates run on SIMD lanes.
+//
+// The parallel variant splits the result into row and column blocks that are computed
+// independently on a ForkJoinPool, each block with its own packing buffers.
+//
+// Either operand can be given as the row-major buffer of its transpose. Element (i, k) of a is
+// read at a[i * aRowStride + k * aColumnStride], so a transposed operand only swaps the strides
+// and the packing step reads it in place instead of copying it first.
+public final class MatrixMultiplication {
+
+    private static final int MR = 4;
+    private static final int NR = 4;
+
+    private static final int MC = 128;
+    private static final int KC = 256;
+    private static final int NC = 1024;
+
+    // Below this number of multiply-adds packing costs more than it saves
+    private static final long BLOCKING_THRESHOLD = 32_768;
+
+    // Below this number of multiply-adds the parallel variant runs sequentially
+    private static final long PARALLEL_THRESHOLD = 1L << 21;
+
+    private static final boolean SIMD_PANELS = DoubleKernels.isSimdPanelsEnabled();
+
+    private MatrixMultiplication() {}
+
+    // Multiplies a (n x m) by b (m x p), both row-major, and returns a new n x p row-major buffer
+    public static double[] multiply(double[] a, double[] b, int n, int m, int p) {
+        return multiply(a, false, b, false, n, m, p);
+    }
+
+    // Same as multiply, a transposed a is stored as m x n and a transposed b as p x m
+    public static double[] multiply(double[] a, boolean transposeA, double[] b, boolean transposeB,
+                                    int n, int m, int p) {
+
+        Operands operands = new Operands(a, transposeA, b, transposeB, n, m, p);
+
+        double[] c = new double[n * p];
+
+        if ((long) n * m * p < BLOCKING_THRESHOLD)
+            multiplySimple(operands, c, n);
+        else
+            multiplyBlocked(operands, c, 0, n, 0, p);
+
+        return c;
+    }
+
+    // i-k-j loop order, so that both the second operand and the result are walked row by row.
+    // A transposed b is walked column by column instead, each entry of the result being one dot product.
+    private static void multiplySimple(Operands operands, double[] c, int n) {
+
+        double[] a = operands.a;
+        double[] b = operands.b;
+        int m = operands.m;
+        int p = operands.p;
+
+        for (int i = 0; i < n; i++) {
+            int cBase = i * p;
+            int aBase = i * operands.aRowStride;
+
+            if (operands.bColumnStride == 1) {
+                for (int k = 0; k < m; k++) {
+                    // No skip for a zero aik, 0 * NaN or 0 * Infinity must still reach the result
+                    DoubleKernels.axpy(a[aBase + k * operands.aColumnStride], b, k * operands.bRowStride, c, cBase, p);
+                }
+            }
+            else if (operands.aColumnStride == 1) {
+                for (int j = 0; j < p; j++) {
+                    c[cBase + j] = DoubleKernels.dot(a, aBase, b, j * operands.bColumnStride, m);
+                }
+            }
+            else {
+                for (int j = 0; j < p; j++) {
+                    double sum = 0d;
+
+                    for (int k = 0; k < m; k++) {
+                        sum += a[aBase + k * operands.aColumnStride] * b[k + j * operands.bColumnStride];
+                    }
+
+                    c[cBase + j] = sum;
+                }
+            }
+        }
+    }
+
+    // Same as multiply, but splits the work across the given pool for large matrices
+    public static double[] multiplyParallel(double[] a, double[] b, int n, int m, int p, ForkJoinPool pool) {
+        return multiplyParallel(a, false, b, false, n, m, p, pool);
+    }
+
+    public static double[] multiplyParallel(double[] a, double[] b, int n, int m, int p) {
+        return multiplyParallel(a, b, n, m, p, ForkJoinPool.commonPool());
+    }
+
+    public static double[] multiplyParallel(double[] a, boolean transposeA, double[] b, boolean transposeB,
+                                            int n, int m, int p, ForkJoinPool pool) {
+
+        if ((long) n * m * p < PARALLEL_THRESHOLD)
+            return multiply(a, transposeA, b, transposeB, n, m, p);
+
+        double[] c = new double[n * p];
+
+        pool.invoke(new MultiplyTask(new Operands(a, transposeA, b, transposeB, n, m, p), c, 0, n, 0, p));
+
+        return c;
+    }
+
+    // The two operands of a product with their strides, a is n x m and b is m x p
+    private static final class Operands {
+
+        final double[] a;
+        final double[] b;
+        final int m;
+        final int p;
+        final int aRowStride;
+        final int aColumnStride;
+        final int bRowStride;
+        final int bColumnStride;
+
+        Operands(double[] a, boolean transposeA, double[] b, boolean transposeB, int n, int m, int p) {
+            this.a = a;
+            this.b = b;
+            this.m = m;
+            this.p = p;
+            this.aRowStride = transposeA ? 1 : m;
+            this.aColumnStride = transposeA ? n : 1;
+            this.bRowStride = transposeB ? 1 : p;
+            this.bColumnStride = transposeB ? m : 1;
+        }
+    }
+
+    // Computes the block [fromRow, toRow) x [fromColumn, toColumn) of the result
+    private static void multiplyBlocked(Operands operands, double[] c,
+                                        int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        int m = operands.m;
+        int p = operands.p;
+
+        double[] packedA = new double[MC * KC];
+        double[] packedB = new double[KC * roundUp(Math.min(NC, toColumn - fromColumn), NR)];
+
+        for (int jc = fromColumn; jc < toColumn; jc += NC) {
+            int nc = Math.min(NC, toColumn - jc);
+
+            for (int pc = 0; pc < m; pc += KC) {
+                int kc = Math.min(KC, m - pc);
+
+                packB(operands, pc, jc, kc, nc, packedB);
+
+                for (int ic = fromRow; ic < toRow; ic += MC) {
+                    int mc = Math.min(MC, toRow - ic);
+
+                    packA(operands, ic, pc, mc, kc, packedA);
+
+                    macroKernel(packedA, packedB, c, p, ic, jc, mc, nc, kc);
+                }
+            }
+        }
+    }
+
+    private static class MultiplyTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Operands operands;
+        private final double[] c;
+        private final int fromRow;
+        private final int toRow;
+        private final int fromColumn;
+        private final int toColumn;
+
+        MultiplyTask(Operands operands, double[] c, int fromRow, int toRow, int fromColumn, int toColumn) {
+            this.operands = operands;
+            this.c = c;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.fromColumn = fromColumn;
+            this.toColumn = toColumn;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = toRow - fromRow;
+            int columns = toColumn - fromColumn;
+
+            // Blocks never go below one MC x NC tile, so each leaf still gets full packed panels
+            if (rows > MC && rows >= columns) {
+                int middle = fromRow + roundUp(rows / 2, MR);
+
+                invokeAll(new MultiplyTask(operands, c, fromRow, middle, fromColumn, toColumn),
+                        new MultiplyTask(operands, c, middle, toRow, fromColumn, toColumn));
+            }
+            else if (columns > NC || (columns > NR * 32 && (long) rows * columns * operands.m > PARALLEL_THRESHOLD)) {
+                int middle = fromColumn + roundUp(columns / 2, NR);
+
+                invokeAll(new MultiplyTask(operands, c, fromRow, toRow, fromColumn, middle),
+                        new MultiplyTask(operands, c, fromRow, toRow, middle, toColumn));
+            }
+            else {
+                multiplyBlocked(operands, c, fromRow, toRow, fromColumn, toColumn);
+            }
+        }
+    }
+
+    private static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+
+    // Row panels of MR rows, k-major inside a panel, zero padded
+    private static void packA(Operands operands, int ic, int pc, int mc, int kc, double[] packed) {
+
+        double[] a = operands.a;
+        int rowStride = operands.aRowStride;
+        int columnStride = operands.aColumnStride;
+
+        int index = 0;
+
+        for (int ir = 0; ir < mc; ir += MR) {
+            for (int k = 0; k < kc; k++) {
+                int aBase = (pc + k) * columnStride;
+
+                for (int ii = 0; ii < MR; ii++) {
+                    packed[index++] = ir + ii < mc ? a[(ic + ir + ii) * rowStride + aBase] : 0d;
+                }
+            }
+        }
+    }
+
+    // Column panels of NR columns, k-major inside a panel, zero padded
+    private static void packB(Operands operands, int pc, int jc, int kc, int nc, double[] packed) {
+
+        double[] b = operands.b;
+        int columnStride = operands.bColumnStride;
+
+        int index = 0;
+
+        for (int jr = 0; jr < nc; jr += NR) {
+            for (int k = 0; k < kc; k++) {
+                int bBase = (pc + k) * operands.bRowStride + (jc + jr) * columnStride;
+
+                for (int jj = 0; jj < NR; jj++) {
+                    packed[index++] = jr + jj < nc ? b[bBase + jj * columnStride] : 0d;
+                }
+            }
+        }
+    }
+
+    private static void macroKernel(double[] packedA, double[] packedB, double[] c, int p,
+                                    int ic, int jc, int mc, int nc, int kc) {
+
+        for (int jr = 0; jr < nc; jr += NR) {
+            int bOffset = jr * kc;
+
+            for (int ir = 0; ir < mc; ir += MR) {
+                int aOffset = ir * kc;
+
+                microKernel(packedA, aOffset, packedB, bOffset, kc, c, p,
+                        ic + ir, jc + jr, Math.min(MR, mc - ir), Math.min(NR, nc - jr));
+            }
+        }
+    }
+
+    // C[row..row+4, column..column+4] += Apanel * Bpanel with the 4 x 4 tile held in registers
+    private static void microKernel(double[] a, int aOffset, double[] b, int bOffset, int kc,
+                                    double[] c, int p, int row, int column, int rows, int columns) {
+
+        if (SIMD_PANELS && rows == MR && columns == NR) {
+            DoubleKernels.multiplyPanels4x4(a, aOffset, b, bOffset, kc, c, row * p + column, p);
+            return;
+        }
+
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        for (int k = 0; k < kc; k++) {
+            int ak = aOffset + k * MR;
+            int bk = bOffset + k * NR;
+
+            double a0 = a[ak];
+            double a1 = a[ak + 1];
+            double a2 = a[ak + 2];
+            double a3 = a[ak + 3];
+
+            double b0 = b[bk];
+            double b1 = b[bk + 1];
+            double b2 = b[bk + 2];
+            double b3 = b[bk + 3];
+
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+        }
+
+        if (rows == MR && columns == NR) {
+            int r0 = row * p + column;
+            int r1 = r0 + p;
+            int r2 = r1 + p;
+            int r3 = r2 + p;
+
+            c[r0] += c00; c[r0 + 1] += c01; c[r0 + 2] += c02; c[r0 + 3] += c03;
+            c[r1] += c10; c[r1 + 1] += c11; c[r1 + 2] += c12; c[r1 + 3] += c13;
+            c[r2] += c20; c[r2 + 1] += c21; c[r2 + 2] += c22; c[r2 + 3] += c23;
+            c[r3] += c30; c[r3 + 1] += c31; c[r3 + 2] += c32; c[r3 + 3] += c33;
+
+            return;
+        }
+
+        double[] tile = {
+                c00, c01, c02, c03,
+                c10, c11, c12, c13,
+                c20, c21, c22, c23,
+                c30, c31, c32, c33
+        };
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                c[(row + i) * p + column + j] += tile[i * NR + j];
+            }
+        }
+    }
+
+    static double[] toRowMajor(Number[][] matrix) {
+        int columns = matrix[0].length;
+
+        double[] result = new double[matrix.length * columns];
+
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < columns; j++) {
+                result[i * columns + j] = matrix[i][j].doubleValue();
+            }
+        }
+
+        return result;
+    }
+
+    static Double[][] toDoubleMatrix(double[] matrix, int n, int p) {
+
+        Double[][] result = new Double[n][p];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < p; j++) {
+                result[i][j] = matrix[i * p + j];
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,820 @@
+package caebr.matrix;
+
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
+import caebr.vector.IVector;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+// Live view of a block of a SparseMatrix, whose storage cannot be shared with a stride the way
+// DenseDoubleMatrix shares its buffer, and the copying base of StandardMatrixView.
+//
+// The view holds no values. Every call copies the block out of the parent into a matrix of the
+// same kind, so its results are exactly those of the parent type, and runs there. Operations that
+// change the values copy the block back, the ones that would change the dimensions throw
+// IllegalArgumentException and leave the parent as it was. A call costs one extra pass over the
+// block, and the view always sees the current values of the parent.
+class MatrixView<T extends Number> implements IMatrix<T> {
+
+    private static final String A_VIEW_CANNOT_CHANGE_ITS_DIMENSIONS = "A view cannot change its dimensions";
+
+    // Copies rows [fromRow, toRow) and columns [fromColumn, toColumn) of the parent
+    @FunctionalInterface
+    interface BlockReader<T extends Number> {
+        IMatrix<T> read(int fromRow, int toRow, int fromColumn, int toColumn);
+    }
+
+    // Copies a block returned by BlockReader back into the parent, starting at (fromRow, fromColumn)
+    @FunctionalInterface
+    interface BlockWriter<T extends Number> {
+        void write(IMatrix<T> block, int fromRow, int fromColumn);
+    }
+
+    private final BlockReader<T> reader;
+    private final BlockWriter<T> writer;
+
+    private final int fromRow;
+    private final int fromColumn;
+    private final int rowNumber;
+    private final int columnNumber;
+
+    MatrixView(BlockReader<T> reader, BlockWriter<T> writer, int fromRow, int toRow, int fromColumn, int toColumn) {
+        this.reader = Objects.requireNonNull(reader);
+        this.writer = Objects.requireNonNull(writer);
+        this.fromRow = fromRow;
+        this.fromColumn = fromColumn;
+        this.rowNumber = toRow - fromRow;
+        this.columnNumber = toColumn - fromColumn;
+    }
+
+    private IMatrix<T> read() {
+        return reader.read(fromRow, fromRow + rowNumber, fromColumn, fromColumn + columnNumber);
+    }
+
+    private <R> R write(Function<IMatrix<T>, R> operation) {
+
+        IMatrix<T> block = read();
+
+        R result = operation.apply(block);
+
+        if (block.getRowNumber() != rowNumber || block.getColumnNumber() != columnNumber)
+            throw new IllegalArgumentException(A_VIEW_CANNOT_CHANGE_ITS_DIMENSIONS);
+
+        writer.write(block, fromRow, fromColumn);
+
+        return result;
+    }
+
+    private IMatrix<T> update(Consumer<IMatrix<T>> operation) {
+
+        write(block -> {
+            operation.accept(block);
+            return null;
+        });
+
+        return this;
+    }
+
+    // A view of a view reads the parent directly
+    @Override
+    public IMatrix<T> view(int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        if (fromRow < 0 || fromRow >= toRow || toRow > rowNumber)
+            throw new IllegalArgumentException("Row indexes must be between 0 and " + rowNumber + " and fromRow less than toRow");
+
+        if (fromColumn < 0 || fromColumn >= toColumn || toColumn > columnNumber)
+            throw new IllegalArgumentException("Column indexes must be between 0 and " + columnNumber + " and fromColumn less than toColumn");
+
+        return new MatrixView<>(reader, writer, this.fromRow + fromRow, this.fromRow + toRow,
+                this.fromColumn + fromColumn, this.fromColumn + toColumn);
+    }
+
+    @Override
+    public IMatrix<T> add(T[][] matrix) {
+        return update(block -> block.add(matrix));
+    }
+
+    @Override
+    public IMatrix<T> subtract(T[][] matrix) {
+        return update(block -> block.subtract(matrix));
+    }
+
+    @Override
+    public IMatrix<T> add(IMatrix<T> iMatrix) {
+        return update(block -> block.add(iMatrix));
+    }
+
+    @Override
+    public IMatrix<T> subtract(IMatrix<T> iMatrix) {
+        return update(block -> block.subtract(iMatrix));
+    }
+
+    @Override
+    public IMatrix<T> transpose() {
+        return update(IMatrix::transpose);
+    }
+
+    @Override
+    public IMatrix<T> multiply(T[][] matrix) {
+        return update(block -> block.multiply(matrix));
+    }
+
+    @Override
+    public IMatrix<T> multiply(IMatrix<T> iMatrix) {
+        return update(block -> block.multiply(iMatrix));
+    }
+
+    @Override
+    public IMatrix<T> multiply(T number) {
+        return update(block -> block.multiply(number));
+    }
+
+    @Override
+    public IMatrix<T> multiplyParallel(IMatrix<T> iMatrix) {
+        return update(block -> block.multiplyParallel(iMatrix));
+    }
+
+    @Override
+    public IMatrix<T> multiplyParallel(IMatrix<T> iMatrix, ForkJoinPool pool) {
+        return update(block -> block.multiplyParallel(iMatrix, pool));
+    }
+
+    @Override
+    public Double sum() {
+        return read().sum();
+    }
+
+    @Override
+    public Double sum(int column) {
+        return read().sum(column);
+    }
+
+    @Override
+    public Double sum(int fromColumn, int toColumn) {
+        return read().sum(fromColumn, toColumn);
+    }
+
+    @Override
+    public Double mean() {
+        return read().mean();
+    }
+
+    @Override
+    public Double mean(int column) {
+        return read().mean(column);
+    }
+
+    @Override
+    public Double mean(int fromColumn, int toColumn) {
+        return read().mean(fromColumn, toColumn);
+    }
+
+    @Override
+    public Double max() {
+        return read().max();
+    }
+
+    @Override
+    public Double max(int column) {
+        return read().max(column);
+    }
+
+    @Override
+    public Double max(int fromColumn, int toColumn) {
+        return read().max(fromColumn, toColumn);
+    }
+
+    @Override
+    public Double min() {
+        return read().min();
+    }
+
+    @Override
+    public Double min(int column) {
+        return read().min(column);
+    }
+
+    @Override
+    public Double min(int fromColumn, int toColumn) {
+        return read().min(fromColumn, toColumn);
+    }
+
+    @Override
+    public Double median() {
+        return read().median();
+    }
+
+    @Override
+    public Double median(int column) {
+        return read().median(column);
+    }
+
+    @Override
+    public Double median(int fromColumn, int toColumn) {
+        return read().median(fromColumn, toColumn);
+    }
+
+    @Override
+    public double[] quantiles(double... ps) {
+        return read().quantiles(ps);
+    }
+
+    @Override
+    public double[] quantiles(int column, double... ps) {
+        return read().quantiles(column, ps);
+    }
+
+    @Override
+    public double[] quantiles(int fromColumn, int toColumn, double... ps) {
+        return read().quantiles(fromColumn, toColumn, ps);
+    }
+
+    @Override
+    public List<Double> mode() {
+        return read().mode();
+    }
+
+    @Override
+    public List<Double> mode(int column) {
+        return read().mode(column);
+    }
+
+    @Override
+    public List<Double> mode(int fromColumn, int toColumn) {
+        return read().mode(fromColumn, toColumn);
+    }
+
+    @Override
+    public Double variance() {
+        return read().variance();
+    }
+
+    @Override
+    public Double variance(int column) {
+        return read().variance(column);
+    }
+
+    @Override
+    public Double variance(int fromColumn, int toColumn) {
+        return read().variance(fromColumn, toColumn);
+    }
+
+    @Override
+    public Double standardDeviation() {
+        return read().standardDeviation();
+    }
+
+    @Override
+    public Double standardDeviation(int column) {
+        return read().standardDeviation(column);
+    }
+
+    @Override
+    public Double standardDeviation(int fromColumn, int toColumn) {
+        return read().standardDeviation(fromColumn, toColumn);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics() {
+        return read().summaryStatistics();
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int column) {
+        return read().summaryStatistics(column);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int fromColumn, int toColumn) {
+        return read().summaryStatistics(fromColumn, toColumn);
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries() {
+        return read().columnSummaries();
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries(int fromColumn, int toColumn) {
+        return read().columnSummaries(fromColumn, toColumn);
+    }
+
+    @Override
+    public TDigest tDigest(double compression) {
+        return read().tDigest(compression);
+    }
+
+    @Override
+    public TDigest tDigest(int column, double compression) {
+        return read().tDigest(column, compression);
+    }
+
+    @Override
+    public TDigest tDigest(int fromColumn, int toColumn, double compression) {
+        return read().tDigest(fromColumn, toColumn, compression);
+    }
+
+    @Override
+    public Double range() {
+        return read().range();
+    }
+
+    @Override
+    public Double range(int column) {
+        return read().range(column);
+    }
+
+    @Override
+    public Double range(int fromColumn, int toColumn) {
+        return read().range(fromColumn, toColumn);
+    }
+
+    @Override
+    public IMatrix<T> sort(int column) {
+        return update(block -> block.sort(column));
+    }
+
+    @Override
+    public IMatrix<T> sort(int column, boolean ascending) {
+        return update(block -> block.sort(column, ascending));
+    }
+
+    @Override
+    public IMatrix<T> sort(int fromColumn, int toColumn) {
+        return update(block -> block.sort(fromColumn, toColumn));
+    }
+
+    @Override
+    public IMatrix<T> sort(int fromColumn, int toColumn, boolean ascending) {
+        return update(block -> block.sort(fromColumn, toColumn, ascending));
+    }
+
+    @Override
+    public IMatrix<T> sort() {
+        return update(IMatrix::sort);
+    }
+
+    @Override
+    public IMatrix<T> sortWithRowSwap(int column, boolean ascending) {
+        return update(block -> block.sortWithRowSwap(column, ascending));
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(long min, long max, int column) {
+        return update(block -> block.minMaxNormalization(min, max, column));
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(long min, long max, int fromColumn, int toColumn) {
+        return update(block -> block.minMaxNormalization(min, max, fromColumn, toColumn));
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization() {
+        return update(IMatrix::minMaxNormalization);
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(int column) {
+        return update(block -> block.minMaxNormalization(column));
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(int fromColumn, int toColumn) {
+        return update(block -> block.minMaxNormalization(fromColumn, toColumn));
+    }
+
+    @Override
+    public IMatrix<T> zScoreStandardization() {
+        return update(IMatrix::zScoreStandardization);
+    }
+
+    @Override
+    public IMatrix<T> zScoreStandardization(int column) {
+        return update(block -> block.zScoreStandardization(column));
+    }
+
+    @Override
+    public IMatrix<T> zScoreStandardization(int fromColumn, int toColumn) {
+        return update(block -> block.zScoreStandardization(fromColumn, toColumn));
+    }
+
+    @Override
+    public Integer l0Norm(int column) {
+        return read().l0Norm(column);
+    }
+
+    @Override
+    public Double l1Norm(int column) {
+        return read().l1Norm(column);
+    }
+
+    @Override
+    public Double l2Norm(int column) {
+        return read().l2Norm(column);
+    }
+
+    @Override
+    public Double lInfinityNorm(int column) {
+        return read().lInfinityNorm(column);
+    }
+
+    @Override
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return columnNumber;
+    }
+
+    @Override
+    public boolean isSquare() {
+        return rowNumber == columnNumber;
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return read().isSymmetric();
+    }
+
+    @Override
+    public boolean isIdentity() {
+        return read().isIdentity();
+    }
+
+    @Override
+    public boolean isDiagonal() {
+        return read().isDiagonal();
+    }
+
+    @Override
+    public boolean isAntiDiagonal() {
+        return read().isAntiDiagonal();
+    }
+
+    @Override
+    public boolean isUpperTriangular() {
+        return read().isUpperTriangular();
+    }
+
+    @Override
+    public boolean isLowerTriangular() {
+        return read().isLowerTriangular();
+    }
+
+    @Override
+    public Double determinant() {
+        return read().determinant();
+    }
+
+    @Override
+    public IMatrix<T> inverse() {
+        return update(IMatrix::inverse);
+    }
+
+    @Override
+    public IVector<Double> solve(IVector<T> iVector) {
+        return read().solve(iVector);
+    }
+
+    @Override
+    public IMatrix<Double> solve(IMatrix<T> iMatrix) {
+        return read().solve(iMatrix);
+    }
+
+    @Override
+    public IMatrix<T> dropColumn(int column) {
+        return update(block -> block.dropColumn(column));
+    }
+
+    @Override
+    public IMatrix<T> dropColumn() {
+        return update(IMatrix::dropColumn);
+    }
+
+    @Override
+    public IMatrix<T> setColumn(T[] column, int index) {
+        return update(block -> block.setColumn(column, index));
+    }
+
+    @Override
+    public IMatrix<T> putColumn(T[] column) {
+        return update(block -> block.putColumn(column));
+    }
+
+    @Override
+    public Double[] popColumn(int index) {
+        return write(block -> block.popColumn(index));
+    }
+
+    @Override
+    public Double[] popColumn() {
+        return write(IMatrix::popColumn);
+    }
+
+    @Override
+    public IMatrix<T> replaceRow(int index, T[] row) {
+        return update(block -> block.replaceRow(index, row));
+    }
+
+    @Override
+    public IMatrix<T> putRow(T[] row) {
+        return update(block -> block.putRow(row));
+    }
+
+    @Override
+    public IMatrix<T> swapRows(int firstIndex, int secondIndex) {
+        return update(block -> block.swapRows(firstIndex, secondIndex));
+    }
+
+    @Override
+    public IMatrix<T> map(Function<Double, Double> function) {
+        return update(block -> block.map(function));
+    }
+
+    @Override
+    public IMatrix<T> map(int column, Function<Double, Double> function) {
+        return update(block -> block.map(column, function));
+    }
+
+    @Override
+    public IMatrix<T> map(int fromColumn, int toColumn, Function<Double, Double> function) {
+        return update(block -> block.map(fromColumn, toColumn, function));
+    }
+
+    @Override
+    public IMatrix<T> mapRow(Function<Double, Double> function) {
+        return update(block -> block.mapRow(function));
+    }
+
+    @Override
+    public IMatrix<T> mapRow(int row, Function<Double, Double> function) {
+        return update(block -> block.mapRow(row, function));
+    }
+
+    @Override
+    public IMatrix<T> addRows(int toRow, int fromRow) {
+        return update(block -> block.addRows(toRow, fromRow));
+    }
+
+    @Override
+    public IMatrix<T> multiplyRows(int toRow, int fromRow) {
+        return update(block -> block.multiplyRows(toRow, fromRow));
+    }
+
+    @Override
+    public IMatrix<T> mapRow(int fromRow, int toRow, Function<Double, Double> function) {
+        return update(block -> block.mapRow(fromRow, toRow, function));
+    }
+
+    @Override
+    public Double reduce(int column, BinaryOperator<Double> accumulator) {
+        return read().reduce(column, accumulator);
+    }
+
+    @Override
+    public Double reduce(int column, Double identity, BinaryOperator<Double> accumulator) {
+        return read().reduce(column, identity, accumulator);
+    }
+
+    @Override
+    public Double reduce(int fromColumn, int toColumn, BinaryOperator<Double> accumulator) {
+        return read().reduce(fromColumn, toColumn, accumulator);
+    }
+
+    @Override
+    public Double reduce(int fromColumn, int toColumn, Double identity, BinaryOperator<Double> accumulator) {
+        return read().reduce(fromColumn, toColumn, identity, accumulator);
+    }
+
+    @Override
+    public void forEach(int column, Consumer<Double> consumer) {
+        read().forEach(column, consumer);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(DoubleUnaryOperator function) {
+        return update(block -> block.mapDouble(function));
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int column, DoubleUnaryOperator function) {
+        return update(block -> block.mapDouble(column, function));
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int fromColumn, int toColumn, DoubleUnaryOperator function) {
+        return update(block -> block.mapDouble(fromColumn, toColumn, function));
+    }
+
+    @Override
+    public IMatrix<T> mapIndexed(MatrixEntryOperator function) {
+        return update(block -> block.mapIndexed(function));
+    }
+
+    @Override
+    public double reduceDouble(int column, double identity, DoubleBinaryOperator accumulator) {
+        return read().reduceDouble(column, identity, accumulator);
+    }
+
+    @Override
+    public double reduceDouble(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator) {
+        return read().reduceDouble(fromColumn, toColumn, identity, accumulator);
+    }
+
+    @Override
+    public void forEachDouble(int column, DoubleConsumer consumer) {
+        read().forEachDouble(column, consumer);
+    }
+
+    @Override
+    public void forEachIndexed(MatrixEntryConsumer consumer) {
+        read().forEachIndexed(consumer);
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return read().parallelReduce(identity, accumulator, combiner);
+    }
+
+    @Override
+    public double parallelReduce(int fromColumn, int toColumn, double identity,
+                                 DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return read().parallelReduce(fromColumn, toColumn, identity, accumulator, combiner);
+    }
+
+    @Override
+    public double parallelReduce(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator,
+                                 DoubleBinaryOperator combiner, boolean deterministic, ForkJoinPool pool) {
+        return read().parallelReduce(fromColumn, toColumn, identity, accumulator, combiner, deterministic, pool);
+    }
+
+    @Override
+    public List<Double> toList() {
+        return read().toList();
+    }
+
+    @Override
+    public List<Double> toList(int column) {
+        return read().toList(column);
+    }
+
+    @Override
+    public List<Double> toList(int fromColumn, int toColumn) {
+        return read().toList(fromColumn, toColumn);
+    }
+
+    @Override
+    public List<Double> distinct() {
+        return read().distinct();
+    }
+
+    @Override
+    public List<Double> distinct(int column) {
+        return read().distinct(column);
+    }
+
+    @Override
+    public List<Double> distinct(int fromColumn, int toColumn) {
+        return read().distinct(fromColumn, toColumn);
+    }
+
+    @Override
+    public int distinctCount() {
+        return read().distinctCount();
+    }
+
+    @Override
+    public int distinctCount(int column) {
+        return read().distinctCount(column);
+    }
+
+    @Override
+    public int distinctCount(int fromColumn, int toColumn) {
+        return read().distinctCount(fromColumn, toColumn);
+    }
+
+    @Override
+    public long approxDistinctCount(int precision) {
+        return read().approxDistinctCount(precision);
+    }
+
+    @Override
+    public long approxDistinctCount(int column, int precision) {
+        return read().approxDistinctCount(column, precision);
+    }
+
+    @Override
+    public long approxDistinctCount(int fromColumn, int toColumn, int precision) {
+        return read().approxDistinctCount(fromColumn, toColumn, precision);
+    }
+
+    @Override
+    public Double[][] toMatrix() {
+        return read().toMatrix();
+    }
+
+    @Override
+    public Double[] toArray(int column) {
+        return read().toArray(column);
+    }
+
+    @Override
+    public Double[] toArray(int fromColumn, int toColumn) {
+        return read().toArray(fromColumn, toColumn);
+    }
+
+    @Override
+    public Integer[][] toIntegerMatrix() {
+        return read().toIntegerMatrix();
+    }
+
+    @Override
+    public Integer[] toIntegerArray(int column) {
+        return read().toIntegerArray(column);
+    }
+
+    @Override
+    public Integer[] toIntegerArray(int fromColumn, int toColumn) {
+        return read().toIntegerArray(fromColumn, toColumn);
+    }
+
+    @Override
+    public Float[][] toFloatMatrix() {
+        return read().toFloatMatrix();
+    }
+
+    @Override
+    public Float[] toFloatArray(int column) {
+        return read().toFloatArray(column);
+    }
+
+    @Override
+    public Float[] toFloatArray(int fromColumn, int toColumn) {
+        return read().toFloatArray(fromColumn, toColumn);
+    }
+
+    @Override
+    public Byte[][] toByteMatrix() {
+        return read().toByteMatrix();
+    }
+
+    @Override
+    public Byte[] toByteArray(int column) {
+        return read().toByteArray(column);
+    }
+
+    @Override
+    public Byte[] toByteArray(int fromColumn, int toColumn) {
+        return read().toByteArray(fromColumn, toColumn);
+    }
+
+    @Override
+    public Short[][] toShortMatrix() {
+        return read().toShortMatrix();
+    }
+
+    @Override
+    public Short[] toShortArray(int column) {
+        return read().toShortArray(column);
+    }
+
+    @Override
+    public Short[] toShortArray(int fromColumn, int toColumn) {
+        return read().toShortArray(fromColumn, toColumn);
+    }
+
+    @Override
+    public Long[][] toLongMatrix() {
+        return read().toLongMatrix();
+    }
+
+    @Override
+    public Long[] toLongArray(int column) {
+        return read().toLongArray(column);
+    }
+
+    @Override
+    public Long[] toLongArray(int fromColumn, int toColumn) {
+        return read().toLongArray(fromColumn, toColumn);
+    }
+
+    @Override
+    public String toString() {
+        return "MatrixView {\n" +
+                "rows [" + fromRow + ", " + (fromRow + rowNumber) + "), columns [" +
+                fromColumn + ", " + (fromColumn + columnNumber) + "):\n" + read() + "\n" +
+                '}';
+    }
+}
@@ -0,0 +1,2707 @@
+package caebr.matrix;
+
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.HyperLogLog;
+import caebr.statistics.Quantiles;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
+import caebr.util.DoubleCountMap;
+import caebr.util.DoubleHashSet;
+import caebr.util.DoubleKernels;
+import caebr.util.NumberUtils;
+import caebr.util.ParallelReduction;
+import caebr.vector.IVector;
+import caebr.vector.StandardVector;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+// Matrix that only stores its non-zero values, in compressed sparse row (CSR) form.
+//
+// The column indexes and values of row i are at [rowPointers[i], rowPointers[i + 1]) of
+// columnIndexes and values, sorted by column. Zeros (also -0.0) are never stored, so memory is
+// O(rows + non-zeros) and a 1M x 100k matrix with 0.1 % non-zeros takes about 1.2 GB instead of
+// 800 GB. Matrices are built with the COO builder (entries in any order, duplicates are summed),
+// from a dense array or from CompressedColumns (CSC).
+//
+// Sums, means, min, max, variance, norms, summaries and distinct counts of columns are O(non-zeros):
+// they aggregate the stored values and account for the zeros of a column range in one step.
+// Products with sparse or dense matrices, transpose, scaling and maps that keep 0 at 0 are
+// O(non-zeros) as well (plus the size of the result). Operations whose result is dense anyway,
+// e.g. adding a dense matrix, mapping 0 to something else, toMatrix, reduce or forEach, visit
+// every entry. determinant, inverse and solve work on a dense copy.
+public class SparseMatrix<T extends Number> implements IMatrix<T> {
+
+    private static final String MATRIX_DIMENSIONS_MUST_BE_EQUAL = "Matrix dimensions must be equal";
+    private static final String CURRENT_MATRIX_COLUMN_NUMBER_FORMAT = "Current matrix column number must be equal to the given matrix row number. " +
+            "Current matrix column number: %d, given matrix row number: %d";
+    public static final String COLUMN_INDEX_MUST_BE_BETWEEN_0_AND = "Column index must be between 0 and ";
+    private static final String MATRIX_CANNOT_BE_NULL = "Matrix cannot be null";
+    private static final String MATRIX_CANNOT_BE_EMPTY = "Matrix cannot be empty";
+    private static final String MATRIX_CANNOT_BE_JAGGED = "Matrix cannot be jagged";
+    private static final String COLUMN_INDEX_IS_OUT_OF_BOUNDS = "Column index is out of bounds";
+
+    // Below this many multiply-adds multiplyParallel runs on the calling thread
+    private static final long PARALLEL_THRESHOLD = 1L << 16;
+
+    private int rowNumber;
+    private int columnNumber;
+
+    private int[] rowPointers;
+    private int[] columnIndexes;
+    private double[] values;
+
+    // Factorization reused by solve while the matrix values stay the same
+    private LinearSolver linearSolver;
+
+    // Default epsilon value. Used for comparing doubles.
+    private static double epsilon = 0.000001;
+
+    public SparseMatrix(T[][] matrix) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length == 0 || matrix[0].length == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        for (T[] row : matrix) {
+            if (row == null || row.length != matrix[0].length)
+                throw new IllegalArgumentException(MATRIX_CANNOT_BE_JAGGED);
+        }
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(matrix.length, 16);
+
+        for (T[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                rows.add(j, row[j].doubleValue());
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, matrix.length, matrix[0].length);
+    }
+
+    public SparseMatrix(double[][] matrix) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length == 0 || matrix[0].length == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        for (double[] row : matrix) {
+            if (row.length != matrix[0].length)
+                throw new IllegalArgumentException(MATRIX_CANNOT_BE_JAGGED);
+        }
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(matrix.length, 16);
+
+        for (double[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                rows.add(j, row[j]);
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, matrix.length, matrix[0].length);
+    }
+
+    // Creates a zero matrix
+    public SparseMatrix(int rowNumber, int columnNumber) {
+
+        if (rowNumber <= 0 || columnNumber <= 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        this.rowNumber = rowNumber;
+        this.columnNumber = columnNumber;
+        this.rowPointers = new int[rowNumber + 1];
+        this.columnIndexes = new int[0];
+        this.values = new double[0];
+    }
+
+    // Converts from CSC, stored zeros are dropped
+    public SparseMatrix(CompressedColumns columns) {
+
+        Objects.requireNonNull(columns);
+
+        CompressedColumns rows = transpose(columns.columnNumber, columns.rowNumber,
+                columns.columnPointers, columns.rowIndexes, columns.values);
+
+        this.rowNumber = columns.rowNumber;
+        this.columnNumber = columns.columnNumber;
+        this.rowPointers = rows.columnPointers;
+        this.columnIndexes = rows.rowIndexes;
+        this.values = rows.values;
+
+        compact();
+    }
+
+    private SparseMatrix(int rowNumber, int columnNumber, int[] rowPointers, int[] columnIndexes, double[] values) {
+        this.rowNumber = rowNumber;
+        this.columnNumber = columnNumber;
+        this.rowPointers = rowPointers;
+        this.columnIndexes = columnIndexes;
+        this.values = values;
+    }
+
+    // Collects entries in coordinate (COO) form, in any order
+    public static <T extends Number> Builder<T> builder(int rowNumber, int columnNumber) {
+        return new Builder<>(rowNumber, columnNumber);
+    }
+
+    // Entries are added as (row, column, value) triples in any order. Values added more than once
+    // for the same position are summed and zeros are dropped, build sorts the entries into
+    // compressed rows in O(entries + rows + columns).
+    public static final class Builder<T extends Number> {
+
+        private final int rowNumber;
+        private final int columnNumber;
+
+        private int[] rows = new int[16];
+        private int[] columns = new int[16];
+        private double[] values = new double[16];
+        private int size;
+
+        private Builder(int rowNumber, int columnNumber) {
+
+            if (rowNumber <= 0 || columnNumber <= 0)
+                throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+            this.rowNumber = rowNumber;
+            this.columnNumber = columnNumber;
+        }
+
+        public Builder<T> add(int row, int column, double value) {
+
+            if (row < 0 || row >= rowNumber)
+                throw new IllegalArgumentException("Row index must be between 0 and " + (rowNumber - 1));
+
+            if (column < 0 || column >= columnNumber)
+                throw new IllegalArgumentException(COLUMN_INDEX_MUST_BE_BETWEEN_0_AND + (columnNumber - 1));
+
+            if (size == rows.length) {
+                int capacity = size + (size >> 1) + 1;
+
+                rows = Arrays.copyOf(rows, capacity);
+                columns = Arrays.copyOf(columns, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+
+            rows[size] = row;
+            columns[size] = column;
+            values[size] = value;
+            size++;
+
+            return this;
+        }
+
+        // Number of entries added so far, duplicates included
+        public int size() {
+            return size;
+        }
+
+        public SparseMatrix<T> build() {
+
+            // Grouped by column first, so that the stable grouping by row below leaves the columns
+            // of every row in order and duplicates next to each other
+            int[] columnPointers = new int[columnNumber + 1];
+
+            for (int k = 0; k < size; k++) {
+                columnPointers[columns[k] + 1]++;
+            }
+
+            for (int j = 0; j < columnNumber; j++) {
+                columnPointers[j + 1] += columnPointers[j];
+            }
+
+            int[] next = Arrays.copyOf(columnPointers, columnNumber);
+            int[] rowIndexes = new int[size];
+            double[] columnValues = new double[size];
+
+            for (int k = 0; k < size; k++) {
+                int position = next[columns[k]]++;
+
+                rowIndexes[position] = rows[k];
+                columnValues[position] = values[k];
+            }
+
+            CompressedColumns byRow = transpose(columnNumber, rowNumber, columnPointers, rowIndexes, columnValues);
+
+            SparseMatrix<T> matrix = new SparseMatrix<>(rowNumber, columnNumber,
+                    byRow.columnPointers, byRow.rowIndexes, byRow.values);
+
+            matrix.compact();
+
+            return matrix;
+        }
+    }
+
+    // Rows of a new compressed matrix, filled row after row with increasing columns in every row.
+    // Zeros are skipped.
+    private static final class CompressedRowsBuilder {
+
+        private final int[] rowPointers;
+        private int[] columnIndexes;
+        private double[] values;
+        private int size;
+        private int row;
+
+        CompressedRowsBuilder(int rowNumber, int capacity) {
+            this.rowPointers = new int[rowNumber + 1];
+            this.columnIndexes = new int[Math.max(capacity, 16)];
+            this.values = new double[Math.max(capacity, 16)];
+        }
+
+        void add(int column, double value) {
+
+            if (value == 0d)
+                return;
+
+            if (size == columnIndexes.length) {
+                int capacity = size + (size >> 1) + 1;
+
+                columnIndexes = Arrays.copyOf(columnIndexes, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+
+            columnIndexes[size] = column;
+            values[size] = value;
+            size++;
+        }
+
+        // Copies a row of a compressed matrix, its values are not zero
+        void copyRow(int[] rowPointers, int[] columnIndexes, double[] values, int row) {
+
+            int from = rowPointers[row];
+            int length = rowPointers[row + 1] - from;
+
+            if (size + length > this.columnIndexes.length) {
+                int capacity = Math.max(size + length, size + (size >> 1) + 1);
+
+                this.columnIndexes = Arrays.copyOf(this.columnIndexes, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+            }
+
+            System.arraycopy(columnIndexes, from, this.columnIndexes, size, length);
+            System.arraycopy(values, from, this.values, size, length);
+
+            size += length;
+        }
+
+        void endRow() {
+            rowPointers[++row] = size;
+        }
+
+        // Appends all rows of other
+        void appendRows(CompressedRowsBuilder other) {
+
+            for (int i = 0; i < other.row; i++) {
+                copyRow(other.rowPointers, other.columnIndexes, other.values, i);
+                endRow();
+            }
+        }
+    }
+
+    private void replaceData(CompressedRowsBuilder rows, int rowNumber, int columnNumber) {
+        this.rowNumber = rowNumber;
+        this.columnNumber = columnNumber;
+        this.rowPointers = rows.rowPointers;
+        this.columnIndexes = Arrays.copyOf(rows.columnIndexes, rows.size);
+        this.values = Arrays.copyOf(rows.values, rows.size);
+    }
+
+    // Sums the entries of a row that have the same column and removes zeros, the columns of every
+    // row must already be in order
+    private void compact() {
+
+        int size = 0;
+        int start = 0;
+
+        for (int i = 0; i < rowNumber; i++) {
+            int end = rowPointers[i + 1];
+            int rowStart = size;
+
+            for (int k = start; k < end; k++) {
+                if (size > rowStart && columnIndexes[size - 1] == columnIndexes[k]) {
+                    values[size - 1] += values[k];
+                }
+                else {
+                    columnIndexes[size] = columnIndexes[k];
+                    values[size] = values[k];
+                    size++;
+                }
+            }
+
+            int kept = rowStart;
+
+            for (int k = rowStart; k < size; k++) {
+                if (values[k] != 0d) {
+                    columnIndexes[kept] = columnIndexes[k];
+                    values[kept] = values[k];
+                    kept++;
+                }
+            }
+
+            size = kept;
+            start = end;
+            rowPointers[i + 1] = size;
+        }
+
+        if (size < columnIndexes.length) {
+            columnIndexes = Arrays.copyOf(columnIndexes, size);
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    // Counting sort of the entries by column. The result holds the compressed columns of the
+    // matrix, which are also the compressed rows of its transpose.
+    private static CompressedColumns transpose(int rowNumber, int columnNumber, int[] rowPointers,
+                                               int[] columnIndexes, double[] values) {
+
+        int size = rowPointers[rowNumber];
+
+        int[] columnPointers = new int[columnNumber + 1];
+
+        for (int k = 0; k < size; k++) {
+            columnPointers[columnIndexes[k] + 1]++;
+        }
+
+        for (int j = 0; j < columnNumber; j++) {
+            columnPointers[j + 1] += columnPointers[j];
+        }
+
+        int[] next = Arrays.copyOf(columnPointers, columnNumber);
+        int[] rowIndexes = new int[size];
+        double[] result = new double[size];
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int position = next[columnIndexes[k]]++;
+
+                rowIndexes[position] = i;
+                result[position] = values[k];
+            }
+        }
+
+        return new CompressedColumns(columnPointers, rowIndexes, result, rowNumber, columnNumber);
+    }
+
+    private void checkMatrix(T[][] matrix) {
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length == 0 || matrix[0].length == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        for (T[] row : matrix) {
+            if (row == null || row.length != matrix[0].length)
+                throw new IllegalArgumentException(MATRIX_CANNOT_BE_JAGGED);
+        }
+    }
+
+    private void checkMatrix(IMatrix<T> iMatrix) {
+        if (iMatrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (iMatrix.getRowNumber() == 0 || iMatrix.getColumnNumber() == 0)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+    }
+
+    private void checkMatrixDimensionsForSymmetricity(int otherRowNumber, int otherColumnNumber) {
+        if (this.rowNumber != otherRowNumber || this.columnNumber != otherColumnNumber)
+            throw new IllegalArgumentException(MATRIX_DIMENSIONS_MUST_BE_EQUAL);
+    }
+
+    private void checkMatrixDimensionsForMultiplication(int otherRowNumber) {
+        if (this.columnNumber != otherRowNumber)
+            throw new IllegalArgumentException(String
+                    .format(CURRENT_MATRIX_COLUMN_NUMBER_FORMAT,
+                            this.columnNumber, otherRowNumber));
+    }
+
+    private void checkColumnIndexes(int fromColumn, int toColumn) {
+        if (fromColumn < 0 || toColumn < 0)
+            throw new IllegalArgumentException("Column indexes cannot be negative");
+
+        if (fromColumn > toColumn)
+            throw new IllegalArgumentException("fromColumn index cannot be greater than toColumn index");
+
+        if (fromColumn > this.columnNumber || toColumn > this.columnNumber)
+            throw new IllegalArgumentException("Column indexes cannot be greater than the number of columns");
+    }
+
+    private void checkColumnIndex(int column) {
+        if (column < 0)
+            throw new IllegalArgumentException("Column index cannot be negative");
+
+        if (column >= this.columnNumber)
+            throw new IllegalArgumentException("Column index cannot be greater than the number of columns");
+    }
+
+    private void checkRow(int firstRow, int secondRow) {
+
+        if (firstRow < 0 || firstRow >= this.rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (this.rowNumber - 1));
+
+        if (secondRow < 0 || secondRow >= this.rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (this.rowNumber - 1));
+    }
+
+    private void checkRowFromTo(int fromRow, int toRow) {
+
+        if (fromRow > toRow)
+            throw new IllegalArgumentException("From row index cannot be greater than to row index");
+
+        checkRow(fromRow, toRow - 1);
+    }
+
+    private void checkRow(T[] row) {
+
+        Objects.requireNonNull(row);
+
+        if (row.length != this.columnNumber)
+            throw new IllegalArgumentException("Row length must be equal to matrix column number.");
+    }
+
+    private void checkColumn(T[] column, int index) {
+        if (column.length != this.rowNumber)
+            throw new IllegalArgumentException("Column length must be equal to matrix column number.");
+
+        if (index < 0 || index >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_MUST_BE_BETWEEN_0_AND + (this.columnNumber - 1));
+    }
+
+    // Returns the row-major contents of a dense IMatrix without going through the boxed Double[][]
+    // when possible
+    private static double[] toRowMajor(IMatrix<?> iMatrix) {
+
+        if (iMatrix instanceof DenseDoubleMatrix<?> dense)
+            return dense.toDoubleArray();
+
+        if (iMatrix instanceof SparseMatrix<?> sparse)
+            return sparse.toDoubleArray();
+
+        return MatrixMultiplication.toRowMajor(iMatrix.toMatrix());
+    }
+
+    public double get(int row, int column) {
+        checkRow(row, row);
+        checkColumnIndex(column);
+
+        int index = Arrays.binarySearch(columnIndexes, rowPointers[row], rowPointers[row + 1], column);
+
+        return index >= 0 ? values[index] : 0d;
+    }
+
+    // O(non-zeros) when a zero becomes a non-zero or the other way round, O(log) otherwise
+    public SparseMatrix<T> set(int row, int column, double value) {
+        checkRow(row, row);
+        checkColumnIndex(column);
+
+        int index = Arrays.binarySearch(columnIndexes, rowPointers[row], rowPointers[row + 1], column);
+
+        if (index >= 0 && value != 0d) {
+            values[index] = value;
+            return this;
+        }
+
+        if (index < 0 && value == 0d)
+            return this;
+
+        int size = getNonZeroCount();
+
+        if (index >= 0) {
+            System.arraycopy(columnIndexes, index + 1, columnIndexes, index, size - index - 1);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+
+            columnIndexes = Arrays.copyOf(columnIndexes, size - 1);
+            values = Arrays.copyOf(values, size - 1);
+
+            for (int i = row + 1; i <= rowNumber; i++) {
+                rowPointers[i]--;
+            }
+        }
+        else {
+            int position = -index - 1;
+
+            int[] newColumnIndexes = new int[size + 1];
+            double[] newValues = new double[size + 1];
+
+            System.arraycopy(columnIndexes, 0, newColumnIndexes, 0, position);
+            System.arraycopy(values, 0, newValues, 0, position);
+
+            newColumnIndexes[position] = column;
+            newValues[position] = value;
+
+            System.arraycopy(columnIndexes, position, newColumnIndexes, position + 1, size - position);
+            System.arraycopy(values, position, newValues, position + 1, size - position);
+
+            columnIndexes = newColumnIndexes;
+            values = newValues;
+
+            for (int i = row + 1; i <= rowNumber; i++) {
+                rowPointers[i]++;
+            }
+        }
+
+        return this;
+    }
+
+    // Every call on the view copies the stored values of the block into a SparseMatrix, O(non-zeros
+    // of its rows), and an operation that changes the values rebuilds this matrix, see MatrixView
+    @Override
+    public IMatrix<T> view(int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        checkRowFromTo(fromRow, toRow);
+        checkColumnIndexes(fromColumn, toColumn);
+
+        if (fromRow == toRow || fromColumn == toColumn)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        return new MatrixView<>(this::readBlock, this::writeBlock, fromRow, toRow, fromColumn, toColumn);
+    }
+
+    private IMatrix<T> readBlock(int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        checkRowFromTo(fromRow, toRow);
+        checkColumnIndexes(fromColumn, toColumn);
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(toRow - fromRow,
+                rowPointers[toRow] - rowPointers[fromRow]);
+
+        for (int i = fromRow; i < toRow; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int column = columnIndexes[k];
+
+                if (column >= fromColumn && column < toColumn)
+                    rows.add(column - fromColumn, values[k]);
+            }
+
+            rows.endRow();
+        }
+
+        SparseMatrix<T> block = new SparseMatrix<>(toRow - fromRow, toColumn - fromColumn);
+
+        block.replaceData(rows, toRow - fromRow, toColumn - fromColumn);
+
+        return block;
+    }
+
+    // Replaces the entries of the block's rows and columns with the stored values of block
+    private void writeBlock(IMatrix<T> block, int fromRow, int fromColumn) {
+
+        SparseMatrix<?> sparse = (SparseMatrix<?>) block;
+
+        int toRow = fromRow + sparse.rowNumber;
+        int toColumn = fromColumn + sparse.columnNumber;
+
+        checkRowFromTo(fromRow, toRow);
+        checkColumnIndexes(fromColumn, toColumn);
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount() + sparse.getNonZeroCount());
+
+        for (int i = 0; i < rowNumber; i++) {
+
+            if (i < fromRow || i >= toRow) {
+                rows.copyRow(rowPointers, columnIndexes, values, i);
+                rows.endRow();
+                continue;
+            }
+
+            int k = rowPointers[i];
+            int end = rowPointers[i + 1];
+
+            for (; k < end && columnIndexes[k] < fromColumn; k++) {
+                rows.add(columnIndexes[k], values[k]);
+            }
+
+            int blockRow = i - fromRow;
+
+            for (int b = sparse.rowPointers[blockRow]; b < sparse.rowPointers[blockRow + 1]; b++) {
+                rows.add(fromColumn + sparse.columnIndexes[b], sparse.values[b]);
+            }
+
+            for (; k < end; k++) {
+                if (columnIndexes[k] >= toColumn)
+                    rows.add(columnIndexes[k], values[k]);
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+    }
+
+    // Number of stored values
+    public int getNonZeroCount() {
+        return rowPointers[rowNumber];
+    }
+
+    // Share of the entries that are stored
+    public double density() {
+        return getNonZeroCount() / ((double) rowNumber * columnNumber);
+    }
+
+    // Returns a row-major dense copy of the matrix
+    public double[] toDoubleArray() {
+
+        double[] result = new double[rowNumber * columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            int base = i * columnNumber;
+
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                result[base + columnIndexes[k]] = values[k];
+            }
+        }
+
+        return result;
+    }
+
+    // Compressed columns (CSC) of the matrix, computed in O(non-zeros + columns)
+    public CompressedColumns toCompressedColumns() {
+        return transpose(rowNumber, columnNumber, rowPointers, columnIndexes, values);
+    }
+
+    // Matrix-vector product this * vector in O(non-zeros)
+    public double[] multiplyVector(double[] vector) {
+
+        Objects.requireNonNull(vector);
+
+        if (vector.length != columnNumber)
+            throw new IllegalArgumentException(String.format(CURRENT_MATRIX_COLUMN_NUMBER_FORMAT,
+                    this.columnNumber, vector.length));
+
+        double[] result = new double[rowNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            double sum = 0d;
+
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                sum += values[k] * vector[columnIndexes[k]];
+            }
+
+            result[i] = sum;
+        }
+
+        return result;
+    }
+
+    @Override
+    public IMatrix<T> add(T[][] matrix) {
+
+        checkMatrix(matrix);
+
+        checkMatrixDimensionsForSymmetricity(matrix.length, matrix[0].length);
+
+        addDense(matrix, 1d);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> subtract(T[][] matrix) {
+
+        checkMatrix(matrix);
+
+        checkMatrixDimensionsForSymmetricity(matrix.length, matrix[0].length);
+
+        addDense(matrix, -1d);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> add(IMatrix<T> iMatrix) {
+
+        checkMatrix(iMatrix);
+
+        checkMatrixDimensionsForSymmetricity(iMatrix.getRowNumber(), iMatrix.getColumnNumber());
+
+        if (iMatrix instanceof SparseMatrix<?> sparse)
+            addSparse(sparse, 1d);
+        else
+            addDense(iMatrix.toMatrix(), 1d);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> subtract(IMatrix<T> iMatrix) {
+
+        checkMatrix(iMatrix);
+
+        checkMatrixDimensionsForSymmetricity(iMatrix.getRowNumber(), iMatrix.getColumnNumber());
+
+        if (iMatrix instanceof SparseMatrix<?> sparse)
+            addSparse(sparse, -1d);
+        else
+            addDense(iMatrix.toMatrix(), -1d);
+
+        return this;
+    }
+
+    // this + sign * other, visits every entry
+    private void addDense(Number[][] other, double sign) {
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount());
+
+        for (int i = 0; i < rowNumber; i++) {
+            int k = rowPointers[i];
+            int end = rowPointers[i + 1];
+
+            for (int j = 0; j < columnNumber; j++) {
+                double value = k < end && columnIndexes[k] == j ? values[k++] : 0d;
+
+                rows.add(j, value + sign * other[i][j].doubleValue());
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+    }
+
+    // this + sign * other, merges the rows of both matrices in O(non-zeros of both)
+    private void addSparse(SparseMatrix<?> other, double sign) {
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount() + other.getNonZeroCount());
+
+        for (int i = 0; i < rowNumber; i++) {
+            int a = rowPointers[i];
+            int aEnd = rowPointers[i + 1];
+            int b = other.rowPointers[i];
+            int bEnd = other.rowPointers[i + 1];
+
+            while (a < aEnd || b < bEnd) {
+                int aColumn = a < aEnd ? columnIndexes[a] : Integer.MAX_VALUE;
+                int bColumn = b < bEnd ? other.columnIndexes[b] : Integer.MAX_VALUE;
+
+                if (aColumn < bColumn)
+                    rows.add(aColumn, values[a++]);
+                else if (bColumn < aColumn)
+                    rows.add(bColumn, 0d + sign * other.values[b++]);
+                else
+                    rows.add(aColumn, values[a++] + sign * other.values[b++]);
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+    }
+
+    @Override
+    public IMatrix<T> transpose() {
+
+        CompressedColumns columns = toCompressedColumns();
+
+        int newRowNumber = columnNumber;
+
+        this.columnNumber = rowNumber;
+        this.rowNumber = newRowNumber;
+        this.rowPointers = columns.columnPointers;
+        this.columnIndexes = columns.rowIndexes;
+        this.values = columns.values;
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> multiply(T[][] matrix) {
+
+        checkMatrix(matrix);
+
+        checkMatrixDimensionsForMultiplication(matrix.length);
+
+        return multiplyInternal(null, MatrixMultiplication.toRowMajor(matrix), matrix[0].length,
+                ForkJoinPool.commonPool(), false);
+    }
+
+    @Override
+    public IMatrix<T> multiply(IMatrix<T> iMatrix) {
+
+        checkMatrix(iMatrix);
+
+        checkMatrixDimensionsForMultiplication(iMatrix.getRowNumber());
+
+        if (iMatrix instanceof SparseMatrix<?> sparse)
+            return multiplyInternal(sparse, null, iMatrix.getColumnNumber(), ForkJoinPool.commonPool(), false);
+
+        return multiplyInternal(null, toRowMajor(iMatrix), iMatrix.getColumnNumber(), ForkJoinPool.commonPool(), false);
+    }
+
+    @Override
+    public IMatrix<T> multiplyParallel(IMatrix<T> iMatrix) {
+        return multiplyParallel(iMatrix, ForkJoinPool.commonPool());
+    }
+
+    // Blocks of rows are multiplied on the pool and concatenated in order
+    @Override
+    public IMatrix<T> multiplyParallel(IMatrix<T> iMatrix, ForkJoinPool pool) {
+
+        checkMatrix(iMatrix);
+
+        checkMatrixDimensionsForMultiplication(iMatrix.getRowNumber());
+
+        Objects.requireNonNull(pool);
+
+        if (iMatrix instanceof SparseMatrix<?> sparse)
+            return multiplyInternal(sparse, null, iMatrix.getColumnNumber(), pool, true);
+
+        return multiplyInternal(null, toRowMajor(iMatrix), iMatrix.getColumnNumber(), pool, true);
+    }
+
+    // Exactly one of sparse and dense (row-major) is the right hand side
+    private IMatrix<T> multiplyInternal(SparseMatrix<?> sparse, double[] dense, int otherColumnNumber,
+                                        ForkJoinPool pool, boolean parallel) {
+
+        long work = sparse != null
+                ? (long) getNonZeroCount() + sparse.getNonZeroCount()
+                : (long) getNonZeroCount() * otherColumnNumber;
+
+        CompressedRowsBuilder rows;
+
+        if (!parallel || work < PARALLEL_THRESHOLD || rowNumber == 1) {
+            rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount());
+
+            multiplyRows(0, rowNumber, sparse, dense, otherColumnNumber, rows);
+        }
+        else {
+            int blocks = Math.min(rowNumber, 4 * pool.getParallelism());
+
+            List<ForkJoinTask<CompressedRowsBuilder>> tasks = new ArrayList<>(blocks);
+
+            for (int b = 0; b < blocks; b++) {
+                int fromRow = (int) ((long) rowNumber * b / blocks);
+                int toRow = (int) ((long) rowNumber * (b + 1) / blocks);
+
+                tasks.add(pool.submit(() -> {
+                    CompressedRowsBuilder block = new CompressedRowsBuilder(toRow - fromRow, 16);
+
+                    multiplyRows(fromRow, toRow, sparse, dense, otherColumnNumber, block);
+
+                    return block;
+                }));
+            }
+
+            rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount());
+
+            for (ForkJoinTask<CompressedRowsBuilder> task : tasks) {
+                rows.appendRows(task.join());
+            }
+        }
+
+        replaceData(rows, rowNumber, otherColumnNumber);
+
+        return this;
+    }
+
+    // Rows [fromRow, toRow) of the product, row by row (Gustavson): every stored a(i, k) adds
+    // a(i, k) times row k of the right hand side to an accumulator for row i
+    private void multiplyRows(int fromRow, int toRow, SparseMatrix<?> sparse, double[] dense,
+                              int otherColumnNumber, CompressedRowsBuilder rows) {
+
+        double[] accumulator = new double[otherColumnNumber];
+
+        if (dense != null) {
+            for (int i = fromRow; i < toRow; i++) {
+                for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                    DoubleKernels.axpy(values[k], dense, columnIndexes[k] * otherColumnNumber,
+                            accumulator, 0, otherColumnNumber);
+                }
+
+                for (int j = 0; j < otherColumnNumber; j++) {
+                    rows.add(j, accumulator[j]);
+                    accumulator[j] = 0d;
+                }
+
+                rows.endRow();
+            }
+
+            return;
+        }
+
+        // Row that last touched a column of the accumulator, and the touched columns of this row
+        int[] marker = new int[otherColumnNumber];
+        int[] touched = new int[otherColumnNumber];
+
+        Arrays.fill(marker, -1);
+
+        for (int i = fromRow; i < toRow; i++) {
+            int touchedCount = 0;
+
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                double a = values[k];
+                int row = columnIndexes[k];
+
+                for (int l = sparse.rowPointers[row]; l < sparse.rowPointers[row + 1]; l++) {
+                    int j = sparse.columnIndexes[l];
+
+                    if (marker[j] != i) {
+                        marker[j] = i;
+                        touched[touchedCount++] = j;
+                        accumulator[j] = a * sparse.values[l];
+                    }
+                    else {
+                        accumulator[j] += a * sparse.values[l];
+                    }
+                }
+            }
+
+            Arrays.sort(touched, 0, touchedCount);
+
+            for (int t = 0; t < touchedCount; t++) {
+                rows.add(touched[t], accumulator[touched[t]]);
+            }
+
+            rows.endRow();
+        }
+    }
+
+    @Override
+    public IMatrix<T> multiply(T number) {
+
+        double factor = number.doubleValue();
+
+        return mapEntries(0, rowNumber, 0, columnNumber, (row, column, value) -> value * factor, 0d * factor == 0d);
+    }
+
+    // Applies function to the entries of the given rows and columns. With zerosStayZero only the
+    // stored values are visited, otherwise every entry in the range.
+    private IMatrix<T> mapEntries(int fromRow, int toRow, int fromColumn, int toColumn,
+                                  MatrixEntryOperator function, boolean zerosStayZero) {
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount());
+
+        for (int i = 0; i < rowNumber; i++) {
+            int start = rowPointers[i];
+            int end = rowPointers[i + 1];
+
+            if (i < fromRow || i >= toRow) {
+                rows.copyRow(rowPointers, columnIndexes, values, i);
+            }
+            else if (zerosStayZero) {
+                for (int k = start; k < end; k++) {
+                    int column = columnIndexes[k];
+
+                    if (column >= fromColumn && column < toColumn)
+                        rows.add(column, function.applyAsDouble(i, column, values[k]));
+                    else
+                        rows.add(column, values[k]);
+                }
+            }
+            else {
+                int k = start;
+
+                for (int j = 0; j < columnNumber; j++) {
+                    double value = k < end && columnIndexes[k] == j ? values[k++] : 0d;
+
+                    if (j >= fromColumn && j < toColumn)
+                        value = function.applyAsDouble(i, j, value);
+
+                    rows.add(j, value);
+                }
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+
+        return this;
+    }
+
+    // Number of entries, stored or not, in the given columns
+    private long entryCount(int fromColumn, int toColumn) {
+        return (long) rowNumber * (toColumn - fromColumn);
+    }
+
+    @Override
+    public Double sum() {
+        return sum(0, this.columnNumber);
+    }
+
+    @Override
+    public Double sum(int column) {
+        return sum(column, column + 1);
+    }
+
+    @Override
+    public Double sum(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        int size = getNonZeroCount();
+
+        double sum = 0.0;
+
+        for (int k = 0; k < size; k++) {
+            int column = columnIndexes[k];
+
+            if (column >= fromColumn && column < toColumn)
+                sum += values[k];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public Double mean() {
+        return mean(0, this.columnNumber);
+    }
+
+    @Override
+    public Double mean(int column) {
+        return mean(column, column + 1);
+    }
+
+    @Override
+    public Double mean(int fromColumn, int toColumn) {
+
+        return sum(fromColumn, toColumn) / entryCount(fromColumn, toColumn);
+    }
+
+    @Override
+    public Double max() {
+        return max(0, this.columnNumber);
+    }
+
+    @Override
+    public Double max(int column) {
+        return max(column, column + 1);
+    }
+
+    @Override
+    public Double max(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        int size = getNonZeroCount();
+
+        double max = Double.NEGATIVE_INFINITY;
+        long stored = 0;
+
+        for (int k = 0; k < size; k++) {
+            int column = columnIndexes[k];
+
+            if (column >= fromColumn && column < toColumn) {
+                stored++;
+
+                if (values[k] > max)
+                    max = values[k];
+            }
+        }
+
+        if (stored < entryCount(fromColumn, toColumn) && 0d > max)
+            max = 0d;
+
+        return max;
+    }
+
+    @Override
+    public Double min() {
+        return min(0, this.columnNumber);
+    }
+
+    @Override
+    public Double min(int column) {
+        return min(column, column + 1);
+    }
+
+    @Override
+    public Double min(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        int size = getNonZeroCount();
+
+        double min = Double.POSITIVE_INFINITY;
+        long stored = 0;
+
+        for (int k = 0; k < size; k++) {
+            int column = columnIndexes[k];
+
+            if (column >= fromColumn && column < toColumn) {
+                stored++;
+
+                if (values[k] < min)
+                    min = values[k];
+            }
+        }
+
+        if (stored < entryCount(fromColumn, toColumn) && 0d < min)
+            min = 0d;
+
+        return min;
+    }
+
+    @Override
+    public Double median() {
+        return median(0, this.columnNumber);
+    }
+
+    @Override
+    public Double median(int column) {
+        return median(column, column + 1);
+    }
+
+    @Override
+    public Double median(int fromColumn, int toColumn) {
+        return quantiles(fromColumn, toColumn, 0.5)[0];
+    }
+
+    @Override
+    public double[] quantiles(double... ps) {
+        return quantiles(0, this.columnNumber, ps);
+    }
+
+    @Override
+    public double[] quantiles(int column, double... ps) {
+        return quantiles(column, column + 1, ps);
+    }
+
+    // Same ranks and interpolation as Quantiles. Only the stored values are sorted, the zeros sit
+    // between the negative and the positive ones.
+    @Override
+    public double[] quantiles(int fromColumn, int toColumn, double... ps) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] stored = storedValues(fromColumn, toColumn);
+
+        return Quantiles.quantilesWithZeros(stored, stored.length, entryCount(fromColumn, toColumn), ps);
+    }
+
+    // Stored values of the given columns, in no particular order
+    private double[] storedValues(int fromColumn, int toColumn) {
+
+        int size = getNonZeroCount();
+
+        if (fromColumn == 0 && toColumn == columnNumber)
+            return Arrays.copyOf(values, size);
+
+        double[] result = new double[size];
+        int count = 0;
+
+        for (int k = 0; k < size; k++) {
+            int column = columnIndexes[k];
+
+            if (column >= fromColumn && column < toColumn)
+                result[count++] = values[k];
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    @FunctionalInterface
+    private interface RunConsumer {
+
+        void accept(double value, int count);
+    }
+
+    // Visits the entries of the given columns column by column, in the order of toArray. Every run
+    // of zeros that are not stored is passed once with its length.
+    private void forEachRun(int fromColumn, int toColumn, RunConsumer consumer) {
+
+        CompressedColumns columns = toCompressedColumns();
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            int row = 0;
+
+            for (int k = columns.columnPointers[j]; k < columns.columnPointers[j + 1]; k++) {
+                int storedRow = columns.rowIndexes[k];
+
+                if (storedRow > row)
+                    consumer.accept(0d, storedRow - row);
+
+                consumer.accept(columns.values[k], 1);
+
+                row = storedRow + 1;
+            }
+
+            if (row < rowNumber)
+                consumer.accept(0d, rowNumber - row);
+        }
+    }
+
+    @Override
+    public List<Double> mode() {
+        return mode(0, this.columnNumber);
+    }
+
+    @Override
+    public List<Double> mode(int column) {
+        return mode(column, column + 1);
+    }
+
+    @Override
+    public List<Double> mode(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        DoubleCountMap counts = new DoubleCountMap();
+
+        forEachRun(fromColumn, toColumn, counts::increment);
+
+        if (counts.getMaxCount() <= 1)
+            return new ArrayList<>();
+
+        return counts.keysWithMaxCount();
+    }
+
+    @Override
+    public Double variance() {
+        return variance(0, this.columnNumber);
+    }
+
+    @Override
+    public Double variance(int column) {
+        return variance(column, column + 1);
+    }
+
+    @Override
+    public Double variance(int fromColumn, int toColumn) {
+        return summaryStatistics(fromColumn, toColumn).getVariance();
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics() {
+        return summaryStatistics(0, this.columnNumber);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int column) {
+        return summaryStatistics(column, column + 1);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        int size = getNonZeroCount();
+
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        for (int k = 0; k < size; k++) {
+            int column = columnIndexes[k];
+
+            if (column >= fromColumn && column < toColumn)
+                statistics.accept(values[k]);
+        }
+
+        statistics.accept(0d, entryCount(fromColumn, toColumn) - statistics.getCount());
+
+        return statistics;
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries() {
+        return columnSummaries(0, this.columnNumber);
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        int size = getNonZeroCount();
+
+        SummaryStatistics[] columns = new SummaryStatistics[toColumn - fromColumn];
+
+        for (int k = 0; k < columns.length; k++) {
+            columns[k] = new SummaryStatistics();
+        }
+
+        for (int k = 0; k < size; k++) {
+            int column = columnIndexes[k];
+
+            if (column >= fromColumn && column < toColumn)
+                columns[column - fromColumn].accept(values[k]);
+        }
+
+        for (SummaryStatistics column : columns) {
+            column.accept(0d, rowNumber - column.getCount());
+        }
+
+        return ColumnSummaries.of(fromColumn, columns);
+    }
+
+    @Override
+    public TDigest tDigest(double compression) {
+        return tDigest(0, this.columnNumber, compression);
+    }
+
+    @Override
+    public TDigest tDigest(int column, double compression) {
+        return tDigest(column, column + 1, compression);
+    }
+
+    // The zeros are added as one centroid
+    @Override
+    public TDigest tDigest(int fromColumn, int toColumn, double compression) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        TDigest digest = new TDigest(compression);
+
+        double[] stored = storedValues(fromColumn, toColumn);
+
+        for (double value : stored) {
+            digest.accept(value);
+        }
+
+        digest.accept(0d, entryCount(fromColumn, toColumn) - stored.length);
+
+        return digest;
+    }
+
+    @Override
+    public Double standardDeviation() {
+        return standardDeviation(0, this.columnNumber);
+    }
+
+    @Override
+    public Double standardDeviation(int column) {
+        return standardDeviation(column, column + 1);
+    }
+
+    @Override
+    public Double standardDeviation(int fromColumn, int toColumn) {
+        return Math.sqrt(variance(fromColumn, toColumn));
+    }
+
+    @Override
+    public Double range() {
+        return range(0, this.columnNumber);
+    }
+
+    @Override
+    public Double range(int column) {
+        return range(column, column + 1);
+    }
+
+    @Override
+    public Double range(int fromColumn, int toColumn) {
+        return max(fromColumn, toColumn) - min(fromColumn, toColumn);
+    }
+
+    @Override
+    public IMatrix<T> sort(int column) {
+        return sort(column, true);
+    }
+
+    // The sorted column is the negative values, the zeros and then the positive values
+    @Override
+    public IMatrix<T> sort(int column, boolean ascending) {
+
+        if (column < 0 || column >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_IS_OUT_OF_BOUNDS);
+
+        double[] stored = storedValues(column, column + 1);
+
+        Arrays.sort(stored);
+
+        int negatives = 0;
+
+        while (negatives < stored.length && stored[negatives] < 0)
+            negatives++;
+
+        double[] sorted = new double[rowNumber];
+
+        System.arraycopy(stored, 0, sorted, 0, negatives);
+        System.arraycopy(stored, negatives, sorted, rowNumber - (stored.length - negatives), stored.length - negatives);
+
+        for (int i = 0; !ascending && i < rowNumber / 2; i++) {
+            double temp = sorted[i];
+            sorted[i] = sorted[rowNumber - 1 - i];
+            sorted[rowNumber - 1 - i] = temp;
+        }
+
+        replaceColumn(column, sorted);
+
+        return this;
+    }
+
+    // Replaces the values of a column, O(non-zeros + rows)
+    private void replaceColumn(int column, double[] columnValues) {
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount() + rowNumber);
+
+        for (int i = 0; i < rowNumber; i++) {
+            boolean added = false;
+
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int storedColumn = columnIndexes[k];
+
+                if (!added && storedColumn >= column) {
+                    rows.add(column, columnValues[i]);
+                    added = true;
+                }
+
+                if (storedColumn != column)
+                    rows.add(storedColumn, values[k]);
+            }
+
+            if (!added)
+                rows.add(column, columnValues[i]);
+
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+    }
+
+    @Override
+    public IMatrix<T> sort(int fromColumn, int toColumn) {
+        return sort(fromColumn, toColumn, true);
+    }
+
+    @Override
+    public IMatrix<T> sort(int fromColumn, int toColumn, boolean ascending) {
+
+        if (fromColumn < 0 || fromColumn >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_IS_OUT_OF_BOUNDS);
+
+        if (toColumn < 0 || toColumn > this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_IS_OUT_OF_BOUNDS);
+
+        if (fromColumn > toColumn)
+            throw new IllegalArgumentException("From column index is greater than to column index");
+
+        for (int i = fromColumn; i < toColumn; i++) {
+            sort(i, ascending);
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> sort() {
+        return sort(0, this.columnNumber, true);
+    }
+
+    // Stable sort of the rows by the given column, same order as a bubble sort with row swaps
+    @Override
+    public IMatrix<T> sortWithRowSwap(int column, boolean ascending) {
+
+        checkColumnIndex(column);
+
+        if (rowNumber == 1)
+            return this;
+
+        double[] keys = new double[rowNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            int index = Arrays.binarySearch(columnIndexes, rowPointers[i], rowPointers[i + 1], column);
+
+            keys[i] = index >= 0 ? values[index] : 0d;
+        }
+
+        Integer[] order = new Integer[rowNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            order[i] = i;
+        }
+
+        Comparator<Integer> comparator = Comparator.comparingDouble(i -> keys[i]);
+
+        Arrays.sort(order, ascending ? comparator : comparator.reversed());
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount());
+
+        for (int i = 0; i < rowNumber; i++) {
+            rows.copyRow(rowPointers, columnIndexes, values, order[i]);
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(long min, long max, int column) {
+        return minMaxNormalization(min, max, column, column + 1);
+    }
+
+    // Zeros stay zeros, and only the stored values are visited, when every column minimum is 0
+    // and min is 0
+    @Override
+    public IMatrix<T> minMaxNormalization(long min, long max, int fromColumn, int toColumn) {
+
+        if (min > max)
+            throw new IllegalArgumentException("Min value is greater than max value");
+
+        if (min == max)
+            throw new IllegalArgumentException("Min value is equal to max value");
+
+        ColumnSummaries summaries = columnSummaries(fromColumn, toColumn);
+
+        double[] minOfColumns = summaries.getMin();
+        double[] scales = summaries.getRange();
+
+        boolean zerosStayZero = true;
+
+        for (int k = 0; k < scales.length; k++) {
+            if (scales[k] == 0)
+                throw new IllegalArgumentException("Min value is equal to max value");
+
+            scales[k] = (max - min) / scales[k];
+
+            if ((0d - minOfColumns[k]) * scales[k] + min != 0d)
+                zerosStayZero = false;
+        }
+
+        return mapEntries(0, rowNumber, fromColumn, toColumn, (row, column, value) ->
+                (value - minOfColumns[column - fromColumn]) * scales[column - fromColumn] + min, zerosStayZero);
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization() {
+        return minMaxNormalization(0, 1, 0, this.columnNumber);
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(int column) {
+        return minMaxNormalization(0, 1, column, column + 1);
+    }
+
+    @Override
+    public IMatrix<T> minMaxNormalization(int fromColumn, int toColumn) {
+        return minMaxNormalization(0, 1, fromColumn, toColumn);
+    }
+
+    @Override
+    public IMatrix<T> zScoreStandardization() {
+        return zScoreStandardization(0, this.columnNumber);
+    }
+
+    @Override
+    public IMatrix<T> zScoreStandardization(int column) {
+        return zScoreStandardization(column, column + 1);
+    }
+
+    // The result is dense unless every column has mean 0
+    @Override
+    public IMatrix<T> zScoreStandardization(int fromColumn, int toColumn) {
+
+        ColumnSummaries summaries = columnSummaries(fromColumn, toColumn);
+
+        double[] meanOfColumns = summaries.getMean();
+        double[] sdOfColumns = summaries.getStandardDeviation();
+
+        boolean zerosStayZero = true;
+
+        for (int k = 0; k < meanOfColumns.length; k++) {
+            if ((0d - meanOfColumns[k]) / sdOfColumns[k] != 0d)
+                zerosStayZero = false;
+        }
+
+        return mapEntries(0, rowNumber, fromColumn, toColumn, (row, column, value) ->
+                (value - meanOfColumns[column - fromColumn]) / sdOfColumns[column - fromColumn], zerosStayZero);
+    }
+
+    // O(non-zeros)
+    @Override
+    public Integer l0Norm(int column) {
+
+        checkColumnIndex(column);
+
+        int size = getNonZeroCount();
+
+        int count = 0;
+
+        for (int k = 0; k < size; k++) {
+            if (columnIndexes[k] == column && Math.abs(values[k]) >= epsilon)
+                count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public Double l1Norm(int column) {
+
+        checkColumnIndex(column);
+
+        int size = getNonZeroCount();
+
+        double absSum = 0d;
+
+        for (int k = 0; k < size; k++) {
+            if (columnIndexes[k] == column)
+                absSum += Math.abs(values[k]);
+        }
+
+        return absSum;
+    }
+
+    @Override
+    public Double l2Norm(int column) {
+
+        checkColumnIndex(column);
+
+        int size = getNonZeroCount();
+
+        double sumOfSquares = 0d;
+
+        for (int k = 0; k < size; k++) {
+            if (columnIndexes[k] == column)
+                sumOfSquares += values[k] * values[k];
+        }
+
+        return Math.sqrt(sumOfSquares);
+    }
+
+    @Override
+    public Double lInfinityNorm(int column) {
+
+        checkColumnIndex(column);
+
+        int size = getNonZeroCount();
+
+        double absMax = 0d;
+
+        for (int k = 0; k < size; k++) {
+            if (columnIndexes[k] == column) {
+                double abs = Math.abs(values[k]);
+
+                if (abs > absMax)
+                    absMax = abs;
+            }
+        }
+
+        return absMax;
+    }
+
+    @Override
+    public int getRowNumber() {
+        return this.rowNumber;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return this.columnNumber;
+    }
+
+    @Override
+    public boolean isSquare() {
+        return this.rowNumber == this.columnNumber;
+    }
+
+    // Every stored value is compared with its mirror, O(non-zeros * log)
+    @Override
+    public boolean isSymmetric() {
+        if (!isSquare())
+            return false;
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int j = columnIndexes[k];
+
+                if (j != i && Double.compare(values[k], get(j, i)) != 0)
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isIdentity() {
+        if (!isSquare())
+            return false;
+
+        for (int i = 0; i < rowNumber; i++) {
+            if (get(i, i) != 1)
+                return false;
+        }
+
+        return storedValuesApproximatelyZeroWhere((i, j) -> i != j);
+    }
+
+    @Override
+    public boolean isDiagonal() {
+        if (!isSquare())
+            return false;
+
+        return storedValuesApproximatelyZeroWhere((i, j) -> i != j);
+    }
+
+    @Override
+    public boolean isAntiDiagonal() {
+        if (!isSquare())
+            return false;
+
+        return storedValuesApproximatelyZeroWhere((i, j) -> i + j != columnNumber - 1);
+    }
+
+    @Override
+    public boolean isUpperTriangular() {
+        if (!isSquare())
+            return false;
+
+        return storedValuesApproximatelyZeroWhere((i, j) -> j < i);
+    }
+
+    @Override
+    public boolean isLowerTriangular() {
+        if (!isSquare())
+            return false;
+
+        return storedValuesApproximatelyZeroWhere((i, j) -> j > i);
+    }
+
+    @FunctionalInterface
+    private interface EntryPredicate {
+
+        boolean test(int row, int column);
+    }
+
+    private boolean storedValuesApproximatelyZeroWhere(EntryPredicate predicate) {
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                if (predicate.test(i, columnIndexes[k]) && !NumberUtils.approximatelyZero(values[k], epsilon))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Double determinant() {
+
+        if (!isSquare())
+            throw new IllegalArgumentException("Matrix must be square to have a determinant");
+
+        // The structure is checked exactly, a triangular test with epsilon would drop small entries
+        return MatrixInversion.determinantByStructure(toDoubleArray(), rowNumber);
+    }
+
+    // Inverts a dense copy, the inverse of a sparse matrix is usually dense.
+    // Throws IllegalArgumentException if the matrix is not square, singular or ill-conditioned
+    @Override
+    public IMatrix<T> inverse() {
+
+        if (!isSquare())
+            throw new IllegalArgumentException("Matrix must be square to have an inverse");
+
+        int n = rowNumber;
+
+        double[] buffer = toDoubleArray();
+
+        if (MatrixInversion.isIdentity(buffer, n))
+            return this;
+
+        double[] inverse = MatrixInversion.invertByStructure(buffer, n);
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(n, getNonZeroCount());
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                rows.add(j, inverse[i * n + j]);
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, n, n);
+
+        return this;
+    }
+
+    @Override
+    public IVector<Double> solve(IVector<T> iVector) {
+
+        if (iVector == null)
+            throw new IllegalArgumentException("Vector cannot be null");
+
+        Double[] b = iVector.toArray();
+
+        double[] values = new double[b.length];
+
+        for (int i = 0; i < b.length; i++) {
+            values[i] = b[i];
+        }
+
+        double[] x = linearSolver().solve(values, b.length, 1);
+
+        Double[] result = new Double[x.length];
+
+        for (int i = 0; i < x.length; i++) {
+            result[i] = x[i];
+        }
+
+        return new StandardVector<>(result);
+    }
+
+    @Override
+    public IMatrix<Double> solve(IMatrix<T> iMatrix) {
+
+        checkMatrix(iMatrix);
+
+        int columns = iMatrix.getColumnNumber();
+
+        double[] x = linearSolver().solve(toRowMajor(iMatrix), iMatrix.getRowNumber(), columns);
+
+        return new DenseDoubleMatrix<>(x, rowNumber, columns);
+    }
+
+    private LinearSolver linearSolver() {
+
+        double[] buffer = toDoubleArray();
+
+        if (!LinearSolver.isBuiltFrom(linearSolver, buffer))
+            linearSolver = new LinearSolver(buffer, rowNumber, columnNumber);
+
+        return linearSolver;
+    }
+
+    @Override
+    public IMatrix<T> dropColumn(int column) {
+
+        popColumn(column);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> dropColumn() {
+
+        popColumn(this.columnNumber - 1);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> setColumn(T[] column, int index) {
+
+        checkColumn(column, index);
+
+        double[] columnValues = new double[rowNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            columnValues[i] = column[i].doubleValue();
+        }
+
+        replaceColumn(index, columnValues);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> putColumn(T[] column) {
+
+        if (column.length != this.rowNumber)
+            throw new IllegalArgumentException("Matrix and column dimensions must be equal");
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount() + rowNumber);
+
+        for (int i = 0; i < rowNumber; i++) {
+            rows.copyRow(rowPointers, columnIndexes, values, i);
+            rows.add(columnNumber, column[i].doubleValue());
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber + 1);
+
+        return this;
+    }
+
+    @Override
+    public Double[] popColumn(int index) {
+
+        if (index < 0 || index >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_MUST_BE_BETWEEN_0_AND + (this.columnNumber - 1));
+
+        if (this.columnNumber < 2)
+            throw new IllegalArgumentException("Matrix must have at least two columns.");
+
+        Double[] column = new Double[rowNumber];
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount());
+
+        for (int i = 0; i < rowNumber; i++) {
+            column[i] = 0d;
+
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int storedColumn = columnIndexes[k];
+
+                if (storedColumn < index)
+                    rows.add(storedColumn, values[k]);
+                else if (storedColumn > index)
+                    rows.add(storedColumn - 1, values[k]);
+                else
+                    column[i] = values[k];
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber - 1);
+
+        return column;
+    }
+
+    @Override
+    public Double[] popColumn() {
+        return popColumn(this.columnNumber - 1);
+    }
+
+    @Override
+    public IMatrix<T> replaceRow(int index, T[] row) {
+
+        checkRow(index, index);
+
+        checkRow(row);
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount() + columnNumber);
+
+        for (int i = 0; i < rowNumber; i++) {
+            if (i == index) {
+                for (int j = 0; j < columnNumber; j++) {
+                    rows.add(j, row[j].doubleValue());
+                }
+            }
+            else {
+                rows.copyRow(rowPointers, columnIndexes, values, i);
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> putRow(T[] row) {
+
+        checkRow(row);
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber + 1, getNonZeroCount() + columnNumber);
+
+        for (int i = 0; i < rowNumber; i++) {
+            rows.copyRow(rowPointers, columnIndexes, values, i);
+            rows.endRow();
+        }
+
+        for (int j = 0; j < columnNumber; j++) {
+            rows.add(j, row[j].doubleValue());
+        }
+
+        rows.endRow();
+
+        replaceData(rows, rowNumber + 1, columnNumber);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> swapRows(int firstIndex, int secondIndex) {
+
+        checkRow(firstIndex, secondIndex);
+
+        if (firstIndex == secondIndex)
+            return this;
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount());
+
+        for (int i = 0; i < rowNumber; i++) {
+            int source = i == firstIndex ? secondIndex : i == secondIndex ? firstIndex : i;
+
+            rows.copyRow(rowPointers, columnIndexes, values, source);
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+
+        return this;
+    }
+
+    // Only the stored values are mapped when function maps 0 to 0. function is called once more
+    // with 0 to find out.
+    @Override
+    public IMatrix<T> map(Function<Double, Double> function) {
+        return map(0, this.columnNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> map(int column, Function<Double, Double> function) {
+        return map(column, column + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> map(int fromColumn, int toColumn, Function<Double, Double> function) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(function);
+
+        return mapEntries(0, rowNumber, fromColumn, toColumn, (row, column, value) -> function.apply(value),
+                function.apply(0d) == 0d);
+    }
+
+    @Override
+    public IMatrix<T> mapRow(Function<Double, Double> function) {
+        return mapRow(0, this.rowNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> mapRow(int row, Function<Double, Double> function) {
+        return mapRow(row, row + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> mapRow(int fromRow, int toRow, Function<Double, Double> function) {
+
+        checkRowFromTo(fromRow, toRow);
+
+        Objects.requireNonNull(function);
+
+        return mapEntries(fromRow, toRow, 0, columnNumber, (row, column, value) -> function.apply(value),
+                function.apply(0d) == 0d);
+    }
+
+    // Merges the two rows in O(non-zeros of both)
+    @Override
+    public IMatrix<T> addRows(int toRow, int fromRow) {
+
+        checkRow(toRow, fromRow);
+
+        return combineRows(toRow, fromRow, Double::sum);
+    }
+
+    @Override
+    public IMatrix<T> multiplyRows(int toRow, int fromRow) {
+
+        checkRow(toRow, fromRow);
+
+        return combineRows(toRow, fromRow, (a, b) -> a * b);
+    }
+
+    // Replaces toRow by operator(toRow, fromRow) applied to the columns stored in either row
+    private IMatrix<T> combineRows(int toRow, int fromRow, DoubleBinaryOperator operator) {
+
+        CompressedRowsBuilder rows = new CompressedRowsBuilder(rowNumber, getNonZeroCount() + columnNumber);
+
+        for (int i = 0; i < rowNumber; i++) {
+            if (i != toRow) {
+                rows.copyRow(rowPointers, columnIndexes, values, i);
+                rows.endRow();
+                continue;
+            }
+
+            int a = rowPointers[toRow];
+            int aEnd = rowPointers[toRow + 1];
+            int b = rowPointers[fromRow];
+            int bEnd = rowPointers[fromRow + 1];
+
+            while (a < aEnd || b < bEnd) {
+                int aColumn = a < aEnd ? columnIndexes[a] : Integer.MAX_VALUE;
+                int bColumn = b < bEnd ? columnIndexes[b] : Integer.MAX_VALUE;
+
+                if (aColumn < bColumn)
+                    rows.add(aColumn, operator.applyAsDouble(values[a++], 0d));
+                else if (bColumn < aColumn)
+                    rows.add(bColumn, operator.applyAsDouble(0d, values[b++]));
+                else
+                    rows.add(aColumn, operator.applyAsDouble(values[a++], values[b++]));
+            }
+
+            rows.endRow();
+        }
+
+        replaceData(rows, rowNumber, columnNumber);
+
+        return this;
+    }
+
+    @Override
+    public Double reduce(int column, BinaryOperator<Double> accumulator) {
+        return reduce(column, column + 1, 0d, accumulator);
+    }
+
+    @Override
+    public Double reduce(int column, Double identity, BinaryOperator<Double> accumulator) {
+        return reduce(column, column + 1, identity, accumulator);
+    }
+
+    @Override
+    public Double reduce(int fromColumn, int toColumn, BinaryOperator<Double> accumulator) {
+        return reduce(fromColumn, toColumn, 0d, accumulator);
+    }
+
+    @Override
+    public Double reduce(int fromColumn, int toColumn, Double identity, BinaryOperator<Double> accumulator) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        double[] result = {identity};
+
+        forEachRun(fromColumn, toColumn, (value, count) -> {
+            for (int n = 0; n < count; n++) {
+                result[0] = accumulator.apply(result[0], value);
+            }
+        });
+
+        return result[0];
+    }
+
+    @Override
+    public void forEach(int column, Consumer<Double> consumer) {
+
+        checkColumnIndex(column);
+
+        Objects.requireNonNull(consumer);
+
+        forEachRun(column, column + 1, (value, count) -> {
+            for (int n = 0; n < count; n++) {
+                consumer.accept(value);
+            }
+        });
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(DoubleUnaryOperator function) {
+        return mapDouble(0, this.columnNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int column, DoubleUnaryOperator function) {
+        return mapDouble(column, column + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int fromColumn, int toColumn, DoubleUnaryOperator function) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(function);
+
+        return mapEntries(0, rowNumber, fromColumn, toColumn, (row, column, value) -> function.applyAsDouble(value),
+                function.applyAsDouble(0d) == 0d);
+    }
+
+    // Visits every entry, the function may depend on the position
+    @Override
+    public IMatrix<T> mapIndexed(MatrixEntryOperator function) {
+
+        Objects.requireNonNull(function);
+
+        return mapEntries(0, rowNumber, 0, columnNumber, function, false);
+    }
+
+    @Override
+    public double reduceDouble(int column, double identity, DoubleBinaryOperator accumulator) {
+        return reduceDouble(column, column + 1, identity, accumulator);
+    }
+
+    @Override
+    public double reduceDouble(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        double[] result = {identity};
+
+        forEachRun(fromColumn, toColumn, (value, count) -> {
+            for (int n = 0; n < count; n++) {
+                result[0] = accumulator.applyAsDouble(result[0], value);
+            }
+        });
+
+        return result[0];
+    }
+
+    @Override
+    public void forEachDouble(int column, DoubleConsumer consumer) {
+
+        checkColumnIndex(column);
+
+        Objects.requireNonNull(consumer);
+
+        forEachRun(column, column + 1, (value, count) -> {
+            for (int n = 0; n < count; n++) {
+                consumer.accept(value);
+            }
+        });
+    }
+
+    @Override
+    public void forEachIndexed(MatrixEntryConsumer consumer) {
+
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < rowNumber; i++) {
+            int k = rowPointers[i];
+            int end = rowPointers[i + 1];
+
+            for (int j = 0; j < columnNumber; j++) {
+                consumer.accept(i, j, k < end && columnIndexes[k] == j ? values[k++] : 0d);
+            }
+        }
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(0, this.columnNumber, identity, accumulator, combiner);
+    }
+
+    @Override
+    public double parallelReduce(int fromColumn, int toColumn, double identity,
+                                 DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(fromColumn, toColumn, identity, accumulator, combiner, false, ForkJoinPool.commonPool());
+    }
+
+    // The values are split in the order reduce visits them, column by column
+    @Override
+    public double parallelReduce(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator,
+                                 DoubleBinaryOperator combiner, boolean deterministic, ForkJoinPool pool) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        CompressedColumns columns = toCompressedColumns();
+        int rows = rowNumber;
+
+        return ParallelReduction.reduce(rows * (toColumn - fromColumn), identity, (from, to, result) -> {
+            int column = fromColumn + from / rows;
+            int row = from % rows;
+
+            int k = Arrays.binarySearch(columns.rowIndexes, columns.columnPointers[column],
+                    columns.columnPointers[column + 1], row);
+
+            if (k < 0)
+                k = -k - 1;
+
+            for (int index = from; index < to; index++) {
+                double value = 0d;
+
+                if (k < columns.columnPointers[column + 1] && columns.rowIndexes[k] == row)
+                    value = columns.values[k++];
+
+                result = accumulator.applyAsDouble(result, value);
+
+                if (++row == rows && index + 1 < to) {
+                    row = 0;
+                    column++;
+                    k = columns.columnPointers[column];
+                }
+            }
+
+            return result;
+        }, combiner, deterministic, pool);
+    }
+
+    // Column-major copy of the given columns, the same order as toArray
+    private double[] toPrimitiveArray(int fromColumn, int toColumn) {
+
+        double[] result = new double[rowNumber * (toColumn - fromColumn)];
+
+        CompressedColumns columns = toCompressedColumns();
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            int base = (j - fromColumn) * rowNumber;
+
+            for (int k = columns.columnPointers[j]; k < columns.columnPointers[j + 1]; k++) {
+                result[base + columns.rowIndexes[k]] = columns.values[k];
+            }
+        }
+
+        return result;
+    }
+
+    // Dense copy of a row
+    private double[] toRowArray(int row) {
+
+        double[] result = new double[columnNumber];
+
+        for (int k = rowPointers[row]; k < rowPointers[row + 1]; k++) {
+            result[columnIndexes[k]] = values[k];
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Double> toList() {
+        return toList(0, this.columnNumber);
+    }
+
+    @Override
+    public List<Double> toList(int column) {
+        return toList(column, column + 1);
+    }
+
+    @Override
+    public List<Double> toList(int fromColumn, int toColumn) {
+        return Arrays.asList(toArray(fromColumn, toColumn));
+    }
+
+    @Override
+    public List<Double> distinct() {
+        return distinct(0, this.columnNumber);
+    }
+
+    @Override
+    public List<Double> distinct(int column) {
+        return distinct(column, column + 1);
+    }
+
+    @Override
+    public List<Double> distinct(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        forEachRun(fromColumn, toColumn, (value, count) -> set.add(value));
+
+        return set.toList();
+    }
+
+    @Override
+    public int distinctCount() {
+        return distinctCount(0, this.columnNumber);
+    }
+
+    @Override
+    public int distinctCount(int column) {
+        return distinctCount(column, column + 1);
+    }
+
+    // O(non-zeros)
+    @Override
+    public int distinctCount(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        double[] stored = storedValues(fromColumn, toColumn);
+
+        for (double value : stored) {
+            set.add(value);
+        }
+
+        if (stored.length < entryCount(fromColumn, toColumn))
+            set.add(0d);
+
+        return set.size();
+    }
+
+    @Override
+    public long approxDistinctCount(int precision) {
+        return approxDistinctCount(0, this.columnNumber, precision);
+    }
+
+    @Override
+    public long approxDistinctCount(int column, int precision) {
+        return approxDistinctCount(column, column + 1, precision);
+    }
+
+    @Override
+    public long approxDistinctCount(int fromColumn, int toColumn, int precision) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        HyperLogLog sketch = new HyperLogLog(precision);
+
+        double[] stored = storedValues(fromColumn, toColumn);
+
+        for (double value : stored) {
+            sketch.accept(value);
+        }
+
+        if (stored.length < entryCount(fromColumn, toColumn))
+            sketch.accept(0d);
+
+        return sketch.estimate();
+    }
+
+    // Returns a dense boxed copy, changes to it are not reflected in the matrix
+    @Override
+    public Double[][] toMatrix() {
+
+        Double[][] result = new Double[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            double[] row = toRowArray(i);
+
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = row[j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Double[] toArray(int column) {
+        return toArray(column, column + 1);
+    }
+
+    @Override
+    public Double[] toArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Double[] result = new Double[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Integer[][] toIntegerMatrix() {
+
+        Integer[][] result = new Integer[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            double[] row = toRowArray(i);
+
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (int) row[j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Integer[] toIntegerArray(int column) {
+        return toIntegerArray(column, column + 1);
+    }
+
+    @Override
+    public Integer[] toIntegerArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Integer[] result = new Integer[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (int) values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Float[][] toFloatMatrix() {
+
+        Float[][] result = new Float[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            double[] row = toRowArray(i);
+
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (float) row[j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Float[] toFloatArray(int column) {
+        return toFloatArray(column, column + 1);
+    }
+
+    @Override
+    public Float[] toFloatArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Float[] result = new Float[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Byte[][] toByteMatrix() {
+
+        Byte[][] result = new Byte[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            double[] row = toRowArray(i);
+
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (byte) row[j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Byte[] toByteArray(int column) {
+        return toByteArray(column, column + 1);
+    }
+
+    @Override
+    public Byte[] toByteArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Byte[] result = new Byte[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Short[][] toShortMatrix() {
+
+        Short[][] result = new Short[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            double[] row = toRowArray(i);
+
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (short) row[j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Short[] toShortArray(int column) {
+        return toShortArray(column, column + 1);
+    }
+
+    @Override
+    public Short[] toShortArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Short[] result = new Short[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (short) values[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long[][] toLongMatrix() {
+
+        Long[][] result = new Long[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            double[] row = toRowArray(i);
+
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = (long) row[j];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long[] toLongArray(int column) {
+        return toLongArray(column, column + 1);
+    }
+
+    @Override
+    public Long[] toLongArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        double[] values = toPrimitiveArray(fromColumn, toColumn);
+
+        Long[] result = new Long[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (long) values[i];
+        }
+
+        return result;
+    }
+
+    private String content() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("Matrix has ")
+                .append(this.rowNumber == 1 ? "1 row" : this.rowNumber + " rows")
+                .append(" and ")
+                .append(this.columnNumber == 1 ? "1 column" : this.columnNumber + " columns")
+                .append(", ")
+                .append(getNonZeroCount())
+                .append(" of the values are stored. Values:\n[\n");
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                sb.append("\t(")
+                        .append(i)
+                        .append(", ")
+                        .append(columnIndexes[k])
+                        .append(") = ")
+                        .append(values[k])
+                        .append("\n");
+            }
+        }
+
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SparseMatrix {\n" +
+                content() + "\n" +
+                '}';
+    }
+
+    public static void setEpsilon(double epsilon) {
+        SparseMatrix.epsilon = epsilon;
+    }
+
+    public static double getEpsilon() {
+        return SparseMatrix.epsilon;
+    }
+}
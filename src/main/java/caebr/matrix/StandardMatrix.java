@@ -1,13 +1,30 @@
 package caebr.matrix;
 
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.OnlineColumnStatistics;
 import caebr.statistics.Stats;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
 import caebr.util.NumberUtils;
+import caebr.util.ParallelReduction;
+import caebr.vector.IVector;
+import caebr.vector.StandardVector;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+// transpose only flips an orientation flag. While it is set the stored rows are the columns of
+// the matrix: products, element access, determinant, the is* checks and the statistics of all values
+// read them as they are, and any other method first transposes them physically, once, with a
+// cache-oblivious blocked copy. Reads can therefore change the storage, so, as before, an instance
+// must not be shared between threads without synchronization.
 public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     private static final String MATRIX_DIMENSIONS_MUST_BE_EQUAL = "Matrix dimensions must be equal";
@@ -16,10 +33,25 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     public static final String COLUMN_INDEX_MUST_BE_BETWEEN_0_AND = "Column index must be between 0 and ";
     private Double[][] currentMatrix;
 
+    // currentMatrix holds the transpose of the matrix, rowNumber and columnNumber are those of the matrix
+    private boolean transposed;
+
     private int rowNumber;
     private int columnNumber;
 
-    private static int determinantSign = 1;
+    // Blocks up to this size are copied directly by the blocked transpose
+    private static final int TRANSPOSE_BLOCK_SIZE = 16;
+
+    // Factorization reused by solve while the matrix values stay the same
+    private LinearSolver linearSolver;
+
+    // Column statistics kept up to date by putRow and replaceRow once trackColumnStatistics is called.
+    // Other changes to the values only mark them stale, they are rebuilt on the next read.
+    private OnlineColumnStatistics columnStatistics;
+    private boolean columnStatisticsStale;
+
+    // Results of statistics and checks once cacheStatistics is called
+    private StatisticsCache statisticsCache;
 
     private static final String MATRIX_CANNOT_BE_NULL = "Matrix cannot be null";
     private static final String MATRIX_CANNOT_BE_EMPTY = "Matrix cannot be empty";
@@ -39,12 +71,123 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         this.currentMatrix = transformToDoubleMatrix(matrix);
 
-        if (isMatrixJagged(this.currentMatrix))
+        if (isMatrixJagged(currentMatrix()))
             throw new IllegalArgumentException(MATRIX_CANNOT_BE_JAGGED);
 
         initializeColumnsAndRows();
     }
 
+    // Takes the given rectangular array without copying it
+    private StandardMatrix(Double[][] matrix, int rowNumber, int columnNumber) {
+        this.currentMatrix = matrix;
+        this.rowNumber = rowNumber;
+        this.columnNumber = columnNumber;
+    }
+
+    // The rows of the matrix, a pending transpose is carried out first
+    private Double[][] currentMatrix() {
+
+        if (transposed) {
+            currentMatrix = transposeBlocked(currentMatrix);
+            transposed = false;
+        }
+
+        return currentMatrix;
+    }
+
+    // Number of values in a stored row, which is a column of the matrix while transposed
+    private int storedColumnNumber() {
+        return transposed ? this.rowNumber : this.columnNumber;
+    }
+
+    public boolean isTransposed() {
+        return transposed;
+    }
+
+    // The stored rows as they are, the transpose of the matrix while isTransposed(), see StandardMatrixView
+    Double[][] storedRows() {
+        return currentMatrix;
+    }
+
+    // Called by every method that changes the values or the shape of the matrix
+    private void valuesChanged() {
+        valuesChanged(0, Integer.MAX_VALUE);
+    }
+
+    // Only the values of columns in [fromColumn, toColumn) changed, or those columns were shifted
+    void valuesChanged(int fromColumn, int toColumn) {
+
+        columnStatisticsStale = true;
+
+        if (statisticsCache != null)
+            statisticsCache.columnsChanged(fromColumn, toColumn);
+    }
+
+    // Rows or the values inside a column were reordered, every column holds the same values as before
+    void rowsReordered() {
+
+        if (statisticsCache != null)
+            statisticsCache.rowsReordered();
+    }
+
+    // Reuses the results of max, min, sum, mean, variance, standardDeviation, range, median and the
+    // norms of a column range, and of determinant and the is* checks, until the matrix changes.
+    // Every mutating method drops only the results it can affect, see StatisticsCache.
+    public StatisticsCache cacheStatistics() {
+
+        if (statisticsCache == null)
+            statisticsCache = new StatisticsCache();
+
+        return statisticsCache;
+    }
+
+    public void stopCachingStatistics() {
+        statisticsCache = null;
+    }
+
+    public boolean isCachingStatistics() {
+        return statisticsCache != null;
+    }
+
+    private <R> R cached(String operation, int fromColumn, int toColumn, Supplier<R> supplier) {
+
+        if (statisticsCache == null)
+            return supplier.get();
+
+        return statisticsCache.get(operation, fromColumn, toColumn, supplier);
+    }
+
+    private <R> R cached(String operation, Supplier<R> supplier) {
+
+        if (statisticsCache == null)
+            return supplier.get();
+
+        return statisticsCache.get(operation, supplier);
+    }
+
+    // Keeps count, sum, mean and variance of every column from now on, so sum(column), mean(column),
+    // variance(column) and standardDeviation(column) are O(1) reads. Appending rows with putRow and
+    // replacing them with replaceRow updates the statistics in O(columns), reordering rows or
+    // sorting columns leaves them as they are and any other change rebuilds them in one pass on the
+    // next read. Changes made through the array returned by toMatrix are not seen.
+    public OnlineColumnStatistics trackColumnStatistics() {
+
+        if (columnStatistics == null || columnStatisticsStale) {
+            columnStatistics = OnlineColumnStatistics.of(currentMatrix());
+            columnStatisticsStale = false;
+        }
+
+        return columnStatistics;
+    }
+
+    public void stopTrackingColumnStatistics() {
+        columnStatistics = null;
+    }
+
+    public boolean isTrackingColumnStatistics() {
+        return columnStatistics != null;
+    }
+
     private Double[][] transformToDoubleMatrix(T[][] matrix) {
         Double[][] doubleMatrix = new Double[matrix.length][matrix[0].length];
 
@@ -218,8 +361,8 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     private void initializeColumnsAndRows() {
 
-        this.rowNumber = this.currentMatrix.length;
-        this.columnNumber = this.currentMatrix[0].length;
+        this.rowNumber = currentMatrix().length;
+        this.columnNumber = currentMatrix()[0].length;
 
         if (this.rowNumber == 0 || this.columnNumber == 0)
             throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
@@ -233,22 +376,25 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         checkMatrixDimensionsForSymmetricity(matrix);
 
+        Double[][] current = currentMatrix();
         Double[][] result = new Double[this.rowNumber][this.columnNumber];
 
         for (int i = 0; i < this.rowNumber; i++) {
             for (int j = 0; j < this.columnNumber; j++) {
-                result[i][j] = this.currentMatrix[i][j] + matrix[i][j].doubleValue();
+                result[i][j] = current[i][j] + matrix[i][j].doubleValue();
             }
         }
 
         currentMatrix = result;
 
+        valuesChanged();
+
         return this;
     }
 
     private IMatrix<T> addInternal(Double[][] matrix, boolean checkMatrix) {
 
-        currentMatrix = addInternal(this.currentMatrix, matrix, checkMatrix);
+        currentMatrix = addInternal(currentMatrix(), matrix, checkMatrix);
 
         return this;
     }
@@ -285,16 +431,19 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         checkMatrixDimensionsForSymmetricity(matrix);
 
+        Double[][] current = currentMatrix();
         Double[][] result = new Double[this.rowNumber][this.columnNumber];
 
         for (int i = 0; i < this.rowNumber; i++) {
             for (int j = 0; j < this.columnNumber; j++) {
-                result[i][j] = this.currentMatrix[i][j] - matrix[i][j].doubleValue();
+                result[i][j] = current[i][j] - matrix[i][j].doubleValue();
             }
         }
 
         currentMatrix = result;
 
+        valuesChanged();
+
         return this;
     }
 
@@ -304,7 +453,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     private IMatrix<T> subtractInternal(Double[][] matrix, boolean checkMatrix) {
 
-        currentMatrix = subtractInternal(this.currentMatrix, matrix, checkMatrix);
+        currentMatrix = subtractInternal(currentMatrix(), matrix, checkMatrix);
 
         return this;
     }
@@ -337,39 +486,53 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         checkMatrixDimensionsForMultiplication(matrix);
 
-        Double[][] resultMatrix = new Double[this.rowNumber][matrix[0].length];
+        return multiplyStored(MatrixMultiplication.toRowMajor(matrix), false, matrix[0].length, null);
+    }
 
-        double sum = 0.0;
+    // The kernel reads a transposed operand through its stored rows, so neither this matrix nor a
+    // transposed StandardMatrix operand is transposed physically. Sequential without a pool.
+    private IMatrix<T> multiplyStored(IMatrix<T> iMatrix, ForkJoinPool pool) {
 
-        for (int i = 0; i < currentMatrix.length; i++) {
-            for (int j = 0; j < matrix[0].length; j++) {
-                for (int k = 0; k < currentMatrix[0].length; k++) {
-                    sum += currentMatrix[i][k] * matrix[k][j].doubleValue();
-                }
+        if (iMatrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
 
-                resultMatrix[i][j] = sum;
-                sum = 0.0;
-            }
-        }
+        checkMatrixDimensionsForMultiplication(iMatrix);
 
-        currentMatrix = resultMatrix;
+        if (iMatrix instanceof StandardMatrix<?> standard)
+            return multiplyStored(MatrixMultiplication.toRowMajor(standard.currentMatrix), standard.transposed,
+                    standard.columnNumber, pool);
 
-        return this;
-    }
+        Double[][] matrix = iMatrix.toMatrix();
 
-    public static Double[][] multiply(Double[][] matrix1, Double[][] matrix2) {
-        return multiplyInternal(matrix1, matrix2, true);
+        checkMatrixInternal(matrix);
+
+        return multiplyStored(MatrixMultiplication.toRowMajor(matrix), false, matrix[0].length, pool);
     }
 
-    private IMatrix<T> multiplyInternal(Double[][] matrix, boolean checkMatrix) {
+    private IMatrix<T> multiplyStored(double[] other, boolean otherTransposed, int otherColumnNumber, ForkJoinPool pool) {
+
+        double[] stored = MatrixMultiplication.toRowMajor(this.currentMatrix);
+
+        double[] result = pool == null
+                ? MatrixMultiplication.multiply(stored, transposed, other, otherTransposed,
+                        this.rowNumber, this.columnNumber, otherColumnNumber)
+                : MatrixMultiplication.multiplyParallel(stored, transposed, other, otherTransposed,
+                        this.rowNumber, this.columnNumber, otherColumnNumber, pool);
 
-        currentMatrix = multiplyInternal(this.currentMatrix, matrix, checkMatrix);
+        currentMatrix = MatrixMultiplication.toDoubleMatrix(result, this.rowNumber, otherColumnNumber);
+        transposed = false;
 
         initializeColumnsAndRows();
 
+        valuesChanged();
+
         return this;
     }
 
+    public static Double[][] multiply(Double[][] matrix1, Double[][] matrix2) {
+        return multiplyInternal(matrix1, matrix2, true);
+    }
+
    private static Double[][] multiplyInternal(Double[][] matrix1, Double[][] matrix2, boolean checkMatrix) {
        if (checkMatrix) {
            checkMatrixInternal(matrix1);
@@ -377,28 +540,19 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
            checkMatrixDimensionsForMultiplicationInternal(matrix1, matrix2);
        }
 
-       Double[][] resultMatrix = new Double[matrix1.length][matrix2[0].length];
-
-       double sum = 0.0;
-
-       for (int i = 0; i < matrix1.length; i++) {
-           for (int j = 0; j < matrix2[0].length; j++) {
-               for (int k = 0; k < matrix1[0].length; k++) {
-                   sum += matrix1[i][k] * matrix2[k][j];
-               }
-
-               resultMatrix[i][j] = sum;
-               sum = 0.0;
-           }
-       }
+       // The kernel works on unboxed row-major copies, see MatrixMultiplication
+       double[] result = MatrixMultiplication.multiply(MatrixMultiplication.toRowMajor(matrix1),
+               MatrixMultiplication.toRowMajor(matrix2), matrix1.length, matrix1[0].length, matrix2[0].length);
 
-       return resultMatrix;
+       return MatrixMultiplication.toDoubleMatrix(result, matrix1.length, matrix2[0].length);
    }
 
     @Override
     public IMatrix<T> add(IMatrix<T> iMatrix) {
         addInternal(iMatrix.toMatrix(), true);
 
+        valuesChanged();
+
         return this;
     }
 
@@ -406,15 +560,22 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     public IMatrix<T> subtract(IMatrix<T> iMatrix) {
         subtractInternal(iMatrix.toMatrix(), true);
 
+        valuesChanged();
+
         return this;
     }
 
+    // O(1), the stored rows are only transposed when a method needs the rows of the matrix
     @Override
     public IMatrix<T> transpose() {
 
-        currentMatrix = transpose(this.currentMatrix);
+        transposed = !transposed;
 
-        initializeColumnsAndRows();
+        int rows = this.rowNumber;
+        this.rowNumber = this.columnNumber;
+        this.columnNumber = rows;
+
+        valuesChanged();
 
         return this;
     }
@@ -426,40 +587,104 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
         if (matrix.length == 1 && matrix[0].length == 1)
             return matrix;
 
-        Double[][] resultMatrix = new Double[matrix[0].length][matrix.length];
+        return transposeBlocked(matrix);
+    }
 
-        for (int i = 0; i < matrix.length; i++) {
-            for (int j = 0; j < matrix[0].length; j++) {
-                resultMatrix[j][i] = matrix[i][j];
+    // Cache-oblivious transpose: the longer side of a block is halved until the block is small
+    // enough to copy, so the source rows read and the target rows written by the smallest blocks
+    // fit in every cache level without tuning the block size to one of them
+    private static Double[][] transposeBlocked(Double[][] matrix) {
+
+        Double[][] result = new Double[matrix[0].length][matrix.length];
+
+        transposeBlock(matrix, result, 0, matrix.length, 0, matrix[0].length);
+
+        return result;
+    }
+
+    private static void transposeBlock(Double[][] matrix, Double[][] result,
+                                       int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        int rows = toRow - fromRow;
+        int columns = toColumn - fromColumn;
+
+        if (rows <= TRANSPOSE_BLOCK_SIZE && columns <= TRANSPOSE_BLOCK_SIZE) {
+            for (int i = fromRow; i < toRow; i++) {
+                Double[] row = matrix[i];
+
+                for (int j = fromColumn; j < toColumn; j++) {
+                    result[j][i] = row[j];
+                }
             }
         }
+        else if (rows >= columns) {
+            int middle = fromRow + rows / 2;
+
+            transposeBlock(matrix, result, fromRow, middle, fromColumn, toColumn);
+            transposeBlock(matrix, result, middle, toRow, fromColumn, toColumn);
+        }
+        else {
+            int middle = fromColumn + columns / 2;
 
-        return resultMatrix;
+            transposeBlock(matrix, result, fromRow, toRow, fromColumn, middle);
+            transposeBlock(matrix, result, fromRow, toRow, middle, toColumn);
+        }
     }
 
     @Override
     public IMatrix<T> multiply(IMatrix<T> iMatrix) {
-        multiplyInternal(iMatrix.toMatrix(), true);
+        return multiplyStored(iMatrix, null);
+    }
 
-        return this;
+    @Override
+    public IMatrix<T> multiplyParallel(IMatrix<T> iMatrix) {
+        return multiplyParallel(iMatrix, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public IMatrix<T> multiplyParallel(IMatrix<T> iMatrix, ForkJoinPool pool) {
+
+        Objects.requireNonNull(pool);
+
+        return multiplyStored(iMatrix, pool);
+    }
+
+    public static Double[][] multiplyParallel(Double[][] matrix1, Double[][] matrix2) {
+        return multiplyParallel(matrix1, matrix2, ForkJoinPool.commonPool());
+    }
+
+    public static Double[][] multiplyParallel(Double[][] matrix1, Double[][] matrix2, ForkJoinPool pool) {
+
+        checkMatrixInternal(matrix1);
+        checkMatrixInternal(matrix2);
+        checkMatrixDimensionsForMultiplicationInternal(matrix1, matrix2);
+
+        Objects.requireNonNull(pool);
+
+        double[] result = MatrixMultiplication.multiplyParallel(MatrixMultiplication.toRowMajor(matrix1),
+                MatrixMultiplication.toRowMajor(matrix2), matrix1.length, matrix1[0].length, matrix2[0].length, pool);
+
+        return MatrixMultiplication.toDoubleMatrix(result, matrix1.length, matrix2[0].length);
     }
 
     @Override
     public IMatrix<T> multiply(T number) {
 
-        for (int i = 0; i < this.rowNumber; i++) {
-            for (int j = 0; j < this.columnNumber; j++) {
-                this.currentMatrix[i][j] *= number.doubleValue();
+        for (Double[] row : this.currentMatrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] *= number.doubleValue();
             }
         }
 
+        valuesChanged();
+
         return this;
     }
 
     @Override
     public Double sum() {
 
-        return sum(0, this.columnNumber);
+        return cached("sum", 0, this.columnNumber, () -> sum(this.currentMatrix, 0, storedColumnNumber()));
     }
 
     public static Double sum(Double[][] matrix) {
@@ -468,7 +693,13 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double sum(int column) {
-        return sum(column, column + 1);
+
+        if (columnStatistics != null) {
+            checkColumnIndex(currentMatrix(), column);
+            return trackColumnStatistics().getSum(column);
+        }
+
+        return cached("sum", column, column + 1, () -> sum(currentMatrix(), column, column + 1));
     }
 
     public static Double sum(Double[][] matrix, int column) {
@@ -478,7 +709,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Double sum(int fromColumn, int toColumn) {
 
-        return sum(this.currentMatrix, fromColumn, toColumn);
+        return cached("sum", fromColumn, toColumn, () -> sum(currentMatrix(), fromColumn, toColumn));
     }
 
     public static Double sum(Double[][] matrix, int fromColumn, int toColumn) {
@@ -498,7 +729,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     }
 
     private void checkColumnIndex(int column) {
-        checkColumnIndex(this.currentMatrix, column);
+        checkColumnIndex(currentMatrix(), column);
     }
 
     private static void checkColumnIndex(Double[][] matrix, int column) {
@@ -511,7 +742,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double mean() {
-        return mean(this.currentMatrix, 0, this.columnNumber);
+        return cached("mean", 0, this.columnNumber, () -> mean(this.currentMatrix, 0, storedColumnNumber()));
     }
 
     public static Double mean(Double[][] matrix) {
@@ -520,7 +751,13 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double mean(int column) {
-        return mean(this.currentMatrix, column, column + 1);
+
+        if (columnStatistics != null) {
+            checkColumnIndex(currentMatrix(), column);
+            return trackColumnStatistics().getMean(column);
+        }
+
+        return cached("mean", column, column + 1, () -> mean(currentMatrix(), column, column + 1));
     }
 
     public static Double mean(Double[][] matrix, int column) {
@@ -530,7 +767,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Double mean(int fromColumn, int toColumn) {
 
-        return mean(this.currentMatrix, fromColumn, toColumn);
+        return cached("mean", fromColumn, toColumn, () -> mean(currentMatrix(), fromColumn, toColumn));
     }
 
     public static Double mean(Double[][] matrix, int fromColumn, int toColumn) {
@@ -539,7 +776,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double max() {
-        return max(this.currentMatrix, 0, this.columnNumber);
+        return cached("max", 0, this.columnNumber, () -> max(this.currentMatrix, 0, storedColumnNumber()));
     }
 
     public static Double max(Double[][] matrix) {
@@ -548,7 +785,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double max(int column) {
-        return max(this.currentMatrix, column, column + 1);
+        return cached("max", column, column + 1, () -> max(currentMatrix(), column, column + 1));
     }
 
     public static Double max(Double[][] matrix, int column) {
@@ -557,7 +794,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double max(int fromColumn, int toColumn) {
-        return max(this.currentMatrix, fromColumn, toColumn);
+        return cached("max", fromColumn, toColumn, () -> max(currentMatrix(), fromColumn, toColumn));
     }
 
     public static Double max(Double[][] matrix, int fromColumn, int toColumn) {
@@ -566,7 +803,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double min() {
-        return min(this.currentMatrix, 0, this.columnNumber);
+        return cached("min", 0, this.columnNumber, () -> min(this.currentMatrix, 0, storedColumnNumber()));
     }
 
     public static Double min(Double[][] matrix) {
@@ -575,7 +812,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double min(int column) {
-        return min(this.currentMatrix, column, column + 1);
+        return cached("min", column, column + 1, () -> min(currentMatrix(), column, column + 1));
     }
 
     public static Double min(Double[][] matrix, int column) {
@@ -584,7 +821,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double min(int fromColumn, int toColumn) {
-        return min(this.currentMatrix, fromColumn, toColumn);
+        return cached("min", fromColumn, toColumn, () -> min(currentMatrix(), fromColumn, toColumn));
     }
 
     public static Double min(Double[][] matrix, int fromColumn, int toColumn) {
@@ -593,7 +830,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public List<Double> mode() {
-        return mode(this.currentMatrix, 0, this.columnNumber);
+        return mode(currentMatrix(), 0, this.columnNumber);
     }
 
     public static List<Double> mode(Double[][] matrix) {
@@ -602,7 +839,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public List<Double> mode(int column) {
-        return mode(this.currentMatrix, column, column + 1);
+        return mode(currentMatrix(), column, column + 1);
     }
 
     public static List<Double> mode(Double[][] matrix, int column) {
@@ -612,7 +849,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public List<Double> mode(int fromColumn, int toColumn) {
 
-        return mode(this.currentMatrix, fromColumn, toColumn);
+        return mode(currentMatrix(), fromColumn, toColumn);
     }
 
     public static List<Double> mode(Double[][] matrix, int fromColumn, int toColumn) {
@@ -621,7 +858,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double variance() {
-        return variance(this.currentMatrix, 0, this.columnNumber);
+        return cached("variance", 0, this.columnNumber, () -> variance(this.currentMatrix, 0, storedColumnNumber()));
     }
 
     public static Double variance(Double[][] matrix) {
@@ -630,7 +867,13 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double variance(int column) {
-        return variance(this.currentMatrix, column, column + 1);
+
+        if (columnStatistics != null) {
+            checkColumnIndex(currentMatrix(), column);
+            return trackColumnStatistics().getVariance(column);
+        }
+
+        return cached("variance", column, column + 1, () -> variance(currentMatrix(), column, column + 1));
     }
 
     public static Double variance(Double[][] matrix, int column) {
@@ -639,7 +882,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double variance(int fromColumn, int toColumn) {
-        return variance(this.currentMatrix, fromColumn, toColumn);
+        return cached("variance", fromColumn, toColumn, () -> variance(currentMatrix(), fromColumn, toColumn));
     }
 
     public static Double variance(Double[][] matrix, int fromColumn, int toColumn) {
@@ -649,7 +892,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Double standardDeviation() {
 
-        return standardDeviation(this.currentMatrix, 0, this.columnNumber);
+        return cached("standardDeviation", 0, this.columnNumber, () -> standardDeviation(this.currentMatrix, 0, storedColumnNumber()));
     }
 
     public static Double standardDeviation(Double[][] matrix) {
@@ -659,7 +902,12 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Double standardDeviation(int column) {
 
-        return standardDeviation(this.currentMatrix, column, column + 1);
+        if (columnStatistics != null) {
+            checkColumnIndex(currentMatrix(), column);
+            return trackColumnStatistics().getStandardDeviation(column);
+        }
+
+        return cached("standardDeviation", column, column + 1, () -> standardDeviation(currentMatrix(), column, column + 1));
     }
 
     public static Double standardDeviation(Double[][] matrix, int column) {
@@ -669,16 +917,88 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Double standardDeviation(int fromColumn, int toColumn) {
 
-        return Math.sqrt(variance(this.currentMatrix, fromColumn, toColumn));
+        return cached("standardDeviation", fromColumn, toColumn, () -> Math.sqrt(variance(currentMatrix(), fromColumn, toColumn)));
     }
 
     public static Double standardDeviation(Double[][] matrix, int fromColumn, int toColumn) {
         return Stats.standardDeviation(matrix, fromColumn, toColumn);
     }
 
+    @Override
+    public SummaryStatistics summaryStatistics() {
+        return summaryStatistics(this.currentMatrix, 0, storedColumnNumber());
+    }
+
+    public static SummaryStatistics summaryStatistics(Double[][] matrix) {
+        return Stats.summaryStatistics(matrix, 0, matrix[0].length);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int column) {
+        return summaryStatistics(currentMatrix(), column, column + 1);
+    }
+
+    public static SummaryStatistics summaryStatistics(Double[][] matrix, int column) {
+        return Stats.summaryStatistics(matrix, column, column + 1);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int fromColumn, int toColumn) {
+        return summaryStatistics(currentMatrix(), fromColumn, toColumn);
+    }
+
+    public static SummaryStatistics summaryStatistics(Double[][] matrix, int fromColumn, int toColumn) {
+        return Stats.summaryStatistics(matrix, fromColumn, toColumn);
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries() {
+        return columnSummaries(currentMatrix(), 0, this.columnNumber);
+    }
+
+    public static ColumnSummaries columnSummaries(Double[][] matrix) {
+        return Stats.columnSummaries(matrix, 0, matrix[0].length);
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries(int fromColumn, int toColumn) {
+        return columnSummaries(currentMatrix(), fromColumn, toColumn);
+    }
+
+    public static ColumnSummaries columnSummaries(Double[][] matrix, int fromColumn, int toColumn) {
+        return Stats.columnSummaries(matrix, fromColumn, toColumn);
+    }
+
+    @Override
+    public TDigest tDigest(double compression) {
+        return tDigest(currentMatrix(), 0, this.columnNumber, compression);
+    }
+
+    public static TDigest tDigest(Double[][] matrix, double compression) {
+        return Stats.tDigest(matrix, 0, matrix[0].length, compression);
+    }
+
+    @Override
+    public TDigest tDigest(int column, double compression) {
+        return tDigest(currentMatrix(), column, column + 1, compression);
+    }
+
+    public static TDigest tDigest(Double[][] matrix, int column, double compression) {
+        return Stats.tDigest(matrix, column, column + 1, compression);
+    }
+
+    @Override
+    public TDigest tDigest(int fromColumn, int toColumn, double compression) {
+        return tDigest(currentMatrix(), fromColumn, toColumn, compression);
+    }
+
+    public static TDigest tDigest(Double[][] matrix, int fromColumn, int toColumn, double compression) {
+        return Stats.tDigest(matrix, fromColumn, toColumn, compression);
+    }
+
     @Override
     public Double range() {
-        return range(this.currentMatrix, 0, this.columnNumber);
+        return cached("range", 0, this.columnNumber, () -> range(this.currentMatrix, 0, storedColumnNumber()));
     }
 
     public static Double range(Double[][] matrix) {
@@ -687,7 +1007,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double range(int column) {
-        return range(this.currentMatrix, column, column + 1);
+        return cached("range", column, column + 1, () -> range(currentMatrix(), column, column + 1));
     }
 
     public static Double range(Double[][] matrix, int column) {
@@ -696,7 +1016,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double range(int fromColumn, int toColumn) {
-        return range(this.currentMatrix, fromColumn, toColumn);
+        return cached("range", fromColumn, toColumn, () -> range(currentMatrix(), fromColumn, toColumn));
     }
 
     public static Double range(Double[][] matrix, int fromColumn, int toColumn) {
@@ -705,7 +1025,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double median() {
-        return median(this.currentMatrix, 0, this.columnNumber);
+        return cached("median", 0, this.columnNumber, () -> median(this.currentMatrix, 0, storedColumnNumber()));
     }
 
     public static Double median(Double[][] matrix) {
@@ -714,7 +1034,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double median(int column) {
-        return median(this.currentMatrix, column, column + 1);
+        return cached("median", column, column + 1, () -> median(currentMatrix(), column, column + 1));
     }
 
     public static Double median(Double[][] matrix, int column) {
@@ -723,13 +1043,40 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double median(int fromColumn, int toColumn) {
-        return Stats.median(this.currentMatrix, fromColumn, toColumn);
+        return cached("median", fromColumn, toColumn, () -> Stats.median(currentMatrix(), fromColumn, toColumn));
     }
 
     public static Double median(Double[][] matrix, int fromColumn, int toColumn) {
         return Stats.median(matrix, fromColumn, toColumn);
     }
 
+    @Override
+    public double[] quantiles(double... ps) {
+        return Stats.quantiles(currentMatrix(), 0, this.columnNumber, ps);
+    }
+
+    public static double[] quantiles(Double[][] matrix, double... ps) {
+        return Stats.quantiles(matrix, 0, matrix[0].length, ps);
+    }
+
+    @Override
+    public double[] quantiles(int column, double... ps) {
+        return Stats.quantiles(currentMatrix(), column, column + 1, ps);
+    }
+
+    public static double[] quantiles(Double[][] matrix, int column, double... ps) {
+        return Stats.quantiles(matrix, column, column + 1, ps);
+    }
+
+    @Override
+    public double[] quantiles(int fromColumn, int toColumn, double... ps) {
+        return Stats.quantiles(currentMatrix(), fromColumn, toColumn, ps);
+    }
+
+    public static double[] quantiles(Double[][] matrix, int fromColumn, int toColumn, double... ps) {
+        return Stats.quantiles(matrix, fromColumn, toColumn, ps);
+    }
+
     @Override
     public IMatrix<T> sort(int column) {
 
@@ -743,7 +1090,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public IMatrix<T> sort(int column, boolean ascending) {
 
-        sort(this.currentMatrix, column, ascending);
+        sort(currentMatrix(), column, ascending);
+
+        rowsReordered();
 
         return this;
     }
@@ -775,7 +1124,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> sort(int fromColumn, int toColumn, boolean ascending) {
-        sort(this.currentMatrix, fromColumn, toColumn, ascending);
+        sort(currentMatrix(), fromColumn, toColumn, ascending);
+
+        rowsReordered();
 
         return this;
     }
@@ -812,7 +1163,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public IMatrix<T> sortWithRowSwap(int column, boolean ascending) {
 
-        sortWithRowSwap(this.currentMatrix, column, ascending);
+        sortWithRowSwap(currentMatrix(), column, ascending);
+
+        rowsReordered();
 
         return this;
     }
@@ -853,7 +1206,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> minMaxNormalization(long min, long max, int fromColumn, int toColumn) {
-        minMaxNormalization(this.currentMatrix, min, max, fromColumn, toColumn);
+        minMaxNormalization(currentMatrix(), min, max, fromColumn, toColumn);
+
+        valuesChanged(fromColumn, toColumn);
 
         return this;
     }
@@ -864,7 +1219,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> minMaxNormalization() {
-        minMaxNormalization(this.currentMatrix, 0, 1, 0, this.columnNumber);
+        minMaxNormalization(currentMatrix(), 0, 1, 0, this.columnNumber);
+
+        valuesChanged();
 
         return this;
     }
@@ -875,7 +1232,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> minMaxNormalization(int column) {
-        minMaxNormalization(this.currentMatrix, 0, 1, column, column + 1);
+        minMaxNormalization(currentMatrix(), 0, 1, column, column + 1);
+
+        valuesChanged(column, column + 1);
 
         return this;
     }
@@ -886,7 +1245,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> minMaxNormalization(int fromColumn, int toColumn) {
-        minMaxNormalization(this.currentMatrix, 0, 1, fromColumn, toColumn);
+        minMaxNormalization(currentMatrix(), 0, 1, fromColumn, toColumn);
+
+        valuesChanged(fromColumn, toColumn);
 
         return this;
     }
@@ -912,7 +1273,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public IMatrix<T> zScoreStandardization(int fromColumn, int toColumn) {
 
-        zScoreStandardization(this.currentMatrix, fromColumn, toColumn);
+        zScoreStandardization(currentMatrix(), fromColumn, toColumn);
+
+        valuesChanged(fromColumn, toColumn);
 
         return this;
     }
@@ -923,7 +1286,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Integer l0Norm(int column) {
-        return l0Norm(this.currentMatrix, column);
+        return cached("l0Norm", column, column + 1, () -> l0Norm(currentMatrix(), column));
     }
 
     public static Integer l0Norm(Double[][] matrix, int column) {
@@ -932,7 +1295,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double l1Norm(int column) {
-        return l1Norm(this.currentMatrix, column);
+        return cached("l1Norm", column, column + 1, () -> l1Norm(currentMatrix(), column));
     }
 
     public static Double l1Norm(Double[][] matrix, int column) {
@@ -941,7 +1304,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double l2Norm(int column) {
-        return l2Norm(this.currentMatrix, column);
+        return cached("l2Norm", column, column + 1, () -> l2Norm(currentMatrix(), column));
     }
 
     public static Double l2Norm(Double[][] matrix, int column) {
@@ -950,13 +1313,43 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double lInfinityNorm(int column) {
-        return lInfinityNorm(this.currentMatrix, column);
+        return cached("lInfinityNorm", column, column + 1, () -> lInfinityNorm(currentMatrix(), column));
     }
 
     public static Double lInfinityNorm(Double[][] matrix, int column) {
         return Stats.lInfinityNorm(matrix, column);
     }
 
+    public double get(int row, int column) {
+
+        checkElement(row, column);
+
+        return transposed ? this.currentMatrix[column][row] : this.currentMatrix[row][column];
+    }
+
+    public StandardMatrix<T> set(int row, int column, double value) {
+
+        checkElement(row, column);
+
+        if (transposed)
+            this.currentMatrix[column][row] = value;
+        else
+            this.currentMatrix[row][column] = value;
+
+        valuesChanged(column, column + 1);
+
+        return this;
+    }
+
+    private void checkElement(int row, int column) {
+
+        if (row < 0 || row >= this.rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (this.rowNumber - 1));
+
+        if (column < 0 || column >= this.columnNumber)
+            throw new IllegalArgumentException(COLUMN_INDEX_MUST_BE_BETWEEN_0_AND + (this.columnNumber - 1));
+    }
+
     @Override
     public int getRowNumber() {
         return this.rowNumber;
@@ -967,6 +1360,69 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
         return this.columnNumber;
     }
 
+    // The view reads and writes the rows of this matrix in place, see StandardMatrixView
+    @Override
+    public IMatrix<T> view(int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        checkBlock(fromRow, toRow, fromColumn, toColumn);
+
+        if (fromRow == toRow || fromColumn == toColumn)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_EMPTY);
+
+        return new StandardMatrixView<>(this, fromRow, toRow, fromColumn, toColumn);
+    }
+
+    // Checked against the dimensions, so that a pending transpose stays pending
+    private void checkBlock(int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        if (fromRow > toRow)
+            throw new IllegalArgumentException("From row index cannot be greater than to row index");
+
+        if (fromRow < 0 || toRow > this.rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (this.rowNumber - 1));
+
+        if (fromColumn < 0 || toColumn < 0)
+            throw new IllegalArgumentException("Column indexes cannot be negative");
+
+        if (fromColumn > toColumn)
+            throw new IllegalArgumentException("fromColumn index cannot be greater than toColumn index");
+
+        if (toColumn > this.columnNumber)
+            throw new IllegalArgumentException("Column indexes cannot be greater than the number of columns");
+    }
+
+    // The copy shares the Double values, which are immutable
+    IMatrix<T> readBlock(int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        checkBlock(fromRow, toRow, fromColumn, toColumn);
+
+        Double[][] current = currentMatrix();
+        Double[][] block = new Double[toRow - fromRow][];
+
+        for (int i = 0; i < block.length; i++) {
+            block[i] = Arrays.copyOfRange(current[fromRow + i], fromColumn, toColumn);
+        }
+
+        return new StandardMatrix<>(block, block.length, toColumn - fromColumn);
+    }
+
+    void writeBlock(IMatrix<T> block, int fromRow, int fromColumn) {
+
+        Double[][] values = block.toMatrix();
+
+        int toColumn = fromColumn + block.getColumnNumber();
+
+        checkBlock(fromRow, fromRow + block.getRowNumber(), fromColumn, toColumn);
+
+        Double[][] current = currentMatrix();
+
+        for (int i = 0; i < values.length; i++) {
+            System.arraycopy(values[i], 0, current[fromRow + i], fromColumn, values[i].length);
+        }
+
+        valuesChanged(fromColumn, toColumn);
+    }
+
     @Override
     public boolean isSquare() {
 
@@ -980,7 +1436,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public boolean isSymmetric() {
-        return isSymmetric(this.currentMatrix);
+        return cached("isSymmetric", () -> isSymmetric(this.currentMatrix));
     }
 
     public static boolean isSymmetric(Double[][] matrix) {
@@ -999,7 +1455,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public boolean isIdentity() {
-        return isIdentity(this.currentMatrix);
+        return cached("isIdentity", () -> isIdentity(this.currentMatrix));
     }
 
     public static boolean isIdentity(Double[][] matrix) {
@@ -1019,7 +1475,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public boolean isDiagonal() {
-        return isDiagonal(this.currentMatrix);
+        return cached("isDiagonal", () -> isDiagonal(this.currentMatrix));
     }
 
     public static boolean isDiagonal(Double[][] matrix) {
@@ -1037,7 +1493,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public boolean isAntiDiagonal() {
-        return isAntiDiagonal(this.currentMatrix);
+        return cached("isAntiDiagonal", () -> isAntiDiagonal(currentMatrix()));
     }
 
     public static boolean isAntiDiagonal(Double[][] matrix) {
@@ -1056,12 +1512,14 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public boolean isUpperTriangular() {
-        return isUpperTriangular(this.currentMatrix);
+        return cached("isUpperTriangular", () -> transposed
+                ? isLowerTriangular(this.currentMatrix) : isUpperTriangular(this.currentMatrix));
     }
 
     @Override
     public boolean isLowerTriangular() {
-        return isLowerTriangular(this.currentMatrix);
+        return cached("isLowerTriangular", () -> transposed
+                ? isUpperTriangular(this.currentMatrix) : isLowerTriangular(this.currentMatrix));
     }
 
     public static boolean isUpperTriangular(Double[][] matrix) {
@@ -1092,62 +1550,34 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
         return true;
     }
 
-    // Find the determinant of a triangular matrix
-    private double multiplyDiagonalElements() {
-        return multiplyDiagonalElements(this.currentMatrix);
-    }
+    @Override
+    public Double determinant() {
 
+        return cached("determinant", () -> determinant(this.currentMatrix));
+    }
 
-    // Find the determinant of a triangular matrix
-    private static double multiplyDiagonalElements(Double[][] matrix) {
+    public static Double determinant(Double[][] matrix) {
 
         if (!isSquare(matrix))
-            throw new IllegalArgumentException("Matrix must be square");
+            throw new IllegalArgumentException("Matrix must be square to have a determinant");
+
+        // The structure is checked exactly, a triangular test with epsilon would drop small entries
+        return MatrixInversion.determinantByStructure(MatrixMultiplication.toRowMajor(matrix), matrix.length);
+    }
 
-        double result = 1.0;
+    public static Double[][] copy(Double[][] matrix) {
+        Double[][] copy = new Double[matrix.length][matrix[0].length];
 
         for (int i = 0; i < matrix.length; i++) {
-            result *= matrix[i][i];
+            copy[i] = Arrays.copyOf(matrix[i], matrix[i].length);
         }
 
-        return result;
-    }
-
-    @Override
-    public Double determinant() {
-
-        return determinant(this.currentMatrix);
-    }
-
-    public static Double determinant(Double[][] matrix) {
-
-        determinantSign = 1;
-
-        if (!isSquare(matrix))
-            throw new IllegalArgumentException("Matrix must be square to have a determinant");
-
-        if (isUpperTriangular(matrix) || isLowerTriangular(matrix))
-            return multiplyDiagonalElements(matrix);
-
-
-        Double[][] copyOfCurrentMatrix = copy(matrix);
-
-        transformToUpperTriangularMatrix(copyOfCurrentMatrix);
-
-        return multiplyDiagonalElements(copyOfCurrentMatrix) * determinantSign;
-    }
-
-    public static Double[][] copy(Double[][] matrix) {
-        Double[][] copy = new Double[matrix.length][matrix[0].length];
-
-        for (int i = 0; i < matrix.length; i++) {
-            copy[i] = Arrays.copyOf(matrix[i], matrix[i].length);
-        }
-
-        return copy;
+        return copy;
     }
 
     // Code reference from Mohsen Mousavi
+    // Only transforms the given matrix. Determinants come from LUDecomposition, which keeps the sign of
+    // its row permutation per instance, so no state is shared between calls.
     public static Double[][] transformToUpperTriangularMatrix(Double[][] matrix) {
 
         for (int columnIndex = 0; columnIndex < matrix[0].length; columnIndex++) {
@@ -1170,16 +1600,14 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
                 // currentMatrix[rowIndex - 1][columnIndex].
                 // And then we cancel the value in matrix[rowIndex - 1][columnIndex] by adding
                 // matrix[rowIndex][columnIndex] to it.
-                // But don't forget, that multiplying a row by a constant also multiplies the determinant
-                // by that constant.
-                if ((-y/x) < 0) determinantSign *= -1;
+                // Multiplying a row by a constant also multiplies the determinant by that constant,
+                // which is undone right after the addition.
                 multiplyRow(matrix, rowIndex, (-y / x));
 
                 addRows(matrix, rowIndex, rowIndex - 1);
 
                 // We return the determinant to its original value by dividing it by the constant we
                 // multiplied the row with before.
-                if ((-y/x) < 0) determinantSign *= -1;
                 multiplyRow(matrix, rowIndex, (-x / y));
             }
         }
@@ -1211,7 +1639,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     // Bubble sort algorithm with row swaps to put the biggest absolute value on the top
     private void sortColumnWithRespectToAbsoluteValue(int column) {
-        sortColumnWithRespectToAbsoluteValue(this.currentMatrix, column);
+        sortColumnWithRespectToAbsoluteValue(currentMatrix(), column);
     }
 
     // Bubble sort algorithm with row swaps to put the biggest absolute value on the top
@@ -1224,12 +1652,8 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         for (int i = matrix.length - 1; i >= column; i--) {
             for (int j = matrix.length - 1; j >= column; j--) {
-                if (Math.abs(matrix[i][column]) < Math.abs(matrix[j][column])) {
-
-                    if (i != j) determinantSign *= -1;
-
+                if (Math.abs(matrix[i][column]) < Math.abs(matrix[j][column]))
                     swapRows(matrix, i, j);
-                }
             }
         }
 
@@ -1238,8 +1662,105 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> inverse() {
-        // TODO
-        return null;
+
+        currentMatrix = inverse(currentMatrix());
+
+        valuesChanged();
+
+        return this;
+    }
+
+    // Throws IllegalArgumentException if the matrix is not square, singular or ill-conditioned
+    public static Double[][] inverse(Double[][] matrix) {
+
+        checkMatrixInternal(matrix);
+
+        if (!isSquare(matrix))
+            throw new IllegalArgumentException("Matrix must be square to have an inverse");
+
+        int n = matrix.length;
+
+        double[] buffer = MatrixMultiplication.toRowMajor(matrix);
+
+        if (MatrixInversion.isIdentity(buffer, n))
+            return copy(matrix);
+
+        double[] inverse = MatrixInversion.invertByStructure(buffer, n);
+
+        return MatrixMultiplication.toDoubleMatrix(inverse, n, n);
+    }
+
+    @Override
+    public IVector<Double> solve(IVector<T> iVector) {
+
+        if (iVector == null)
+            throw new IllegalArgumentException("Vector cannot be null");
+
+        Double[] b = iVector.toArray();
+
+        double[] x = linearSolver().solve(toPrimitive(b), b.length, 1);
+
+        return new StandardVector<>(MatrixMultiplication.toDoubleMatrix(x, 1, x.length)[0]);
+    }
+
+    @Override
+    public IMatrix<Double> solve(IMatrix<T> iMatrix) {
+
+        checkMatrix(iMatrix);
+
+        int columns = iMatrix.getColumnNumber();
+
+        double[] x = linearSolver().solve(MatrixMultiplication.toRowMajor(iMatrix.toMatrix()),
+                iMatrix.getRowNumber(), columns);
+
+        return new StandardMatrix<>(MatrixMultiplication.toDoubleMatrix(x, rowNumber, columns));
+    }
+
+    private LinearSolver linearSolver() {
+
+        double[] buffer = MatrixMultiplication.toRowMajor(currentMatrix());
+
+        if (!LinearSolver.isBuiltFrom(linearSolver, buffer))
+            linearSolver = new LinearSolver(buffer, rowNumber, columnNumber);
+
+        return linearSolver;
+    }
+
+    public static Double[] solve(Double[][] matrix, Double[] b) {
+
+        checkMatrixInternal(matrix);
+
+        if (b == null)
+            throw new IllegalArgumentException("Vector cannot be null");
+
+        double[] x = newLinearSolver(matrix).solve(toPrimitive(b), b.length, 1);
+
+        return MatrixMultiplication.toDoubleMatrix(x, 1, x.length)[0];
+    }
+
+    public static Double[][] solve(Double[][] matrix, Double[][] b) {
+
+        checkMatrixInternal(matrix);
+        checkMatrixInternal(b);
+
+        double[] x = newLinearSolver(matrix).solve(MatrixMultiplication.toRowMajor(b), b.length, b[0].length);
+
+        return MatrixMultiplication.toDoubleMatrix(x, matrix.length, b[0].length);
+    }
+
+    private static LinearSolver newLinearSolver(Double[][] matrix) {
+        return new LinearSolver(MatrixMultiplication.toRowMajor(matrix), matrix.length, matrix[0].length);
+    }
+
+    private static double[] toPrimitive(Double[] vector) {
+
+        double[] result = new double[vector.length];
+
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i];
+        }
+
+        return result;
     }
 
     @Override
@@ -1261,15 +1782,19 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     public IMatrix<T> setColumn(T[] column, int index) {
         checkColumn(column, index);
 
+        Double[][] current = currentMatrix();
+
         for (int i = 0; i < column.length; i++) {
-            this.currentMatrix[i][index] = column[i].doubleValue();
+            current[i][index] = column[i].doubleValue();
         }
 
+        valuesChanged(index, index + 1);
+
         return this;
     }
 
     private IMatrix<T> setColumn(Double[] column, int index) {
-        setColumn(this.currentMatrix, column, index);
+        setColumn(currentMatrix(), column, index);
 
         return this;
     }
@@ -1288,10 +1813,12 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     public IMatrix<T> putColumn(T[] column) {
         checkColumn(column, 0);
 
-        currentMatrix = transformToDoubleMatrixWithSpecialColumnPadding(currentMatrix, column);
+        currentMatrix = transformToDoubleMatrixWithSpecialColumnPadding(currentMatrix(), column);
 
         initializeColumnsAndRows();
 
+        valuesChanged(this.columnNumber - 1, this.columnNumber);
+
         return this;
     }
 
@@ -1331,13 +1858,60 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         checkRow(row);
 
+        Double[] stored = currentMatrix()[index];
+
+        if (columnStatistics != null && !columnStatisticsStale)
+            columnStatistics.removeRow(stored);
+
         for (int i = 0; i < row.length; i++) {
-            this.currentMatrix[index][i] = row[i].doubleValue();
+            stored[i] = row[i].doubleValue();
         }
 
+        if (columnStatistics != null && !columnStatisticsStale)
+            columnStatistics.acceptRow(stored);
+
+        if (statisticsCache != null)
+            statisticsCache.columnsChanged(0, this.columnNumber);
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<T> putRow(T[] row) {
+
+        checkRow(row);
+
+        Double[] newRow = new Double[row.length];
+
+        for (int i = 0; i < row.length; i++) {
+            newRow[i] = row[i].doubleValue();
+        }
+
+        currentMatrix = Arrays.copyOf(currentMatrix(), rowNumber + 1);
+        currentMatrix()[rowNumber] = newRow;
+
+        initializeColumnsAndRows();
+
+        if (columnStatistics != null && !columnStatisticsStale)
+            columnStatistics.acceptRow(newRow);
+
+        if (statisticsCache != null)
+            statisticsCache.columnsChanged(0, this.columnNumber);
+
         return this;
     }
 
+    // Returns a new array with the row appended, matrix is not changed
+    public static Double[][] putRow(Double[][] matrix, Double[] row) {
+
+        checkRow(matrix, row);
+
+        Double[][] result = Arrays.copyOf(matrix, matrix.length + 1);
+        result[matrix.length] = row;
+
+        return result;
+    }
+
     public static Double[][] replaceRow(Double[][] matrix, int index, Double[] row) {
 
         checkRow(matrix, index, index);
@@ -1352,7 +1926,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public IMatrix<T> swapRows(int firstIndex, int secondIndex) {
 
-        swapRows(this.currentMatrix, firstIndex, secondIndex);
+        swapRows(currentMatrix(), firstIndex, secondIndex);
+
+        rowsReordered();
 
         return this;
     }
@@ -1373,7 +1949,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     private void checkRow(int fromRow, int toRow) {
 
-        checkRow(this.currentMatrix, fromRow, toRow);
+        checkRow(currentMatrix(), fromRow, toRow);
     }
 
     private static void checkRow(Double[][] matrix, int firstRow, int secondRow) {
@@ -1416,7 +1992,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> map(Function<Double, Double> function) {
-        map(this.currentMatrix, 0, this.columnNumber, function);
+        map(currentMatrix(), 0, this.columnNumber, function);
+
+        valuesChanged();
 
         return this;
     }
@@ -1427,7 +2005,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> map(int column, Function<Double, Double> function) {
-        map(this.currentMatrix, column, column + 1, function);
+        map(currentMatrix(), column, column + 1, function);
+
+        valuesChanged(column, column + 1);
 
         return this;
     }
@@ -1438,7 +2018,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> map(int fromColumn, int toColumn, Function<Double, Double> function) {
-        map(this.currentMatrix, fromColumn, toColumn, function);
+        map(currentMatrix(), fromColumn, toColumn, function);
+
+        valuesChanged(fromColumn, toColumn);
 
         return this;
     }
@@ -1461,7 +2043,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> mapRow(Function<Double, Double> function) {
-        mapRow(this.currentMatrix, 0, this.rowNumber, function);
+        mapRow(currentMatrix(), 0, this.rowNumber, function);
+
+        valuesChanged();
 
         return this;
     }
@@ -1472,7 +2056,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public IMatrix<T> mapRow(int row, Function<Double, Double> function) {
-        mapRow(this.currentMatrix, row, row + 1, function);
+        mapRow(currentMatrix(), row, row + 1, function);
+
+        valuesChanged();
 
         return this;
     }
@@ -1484,7 +2070,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public IMatrix<T> addRows(int toRow, int fromRow) {
 
-        addRows(this.currentMatrix, toRow, fromRow);
+        addRows(currentMatrix(), toRow, fromRow);
+
+        valuesChanged();
 
         return this;
     }
@@ -1492,7 +2080,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public IMatrix<T> multiplyRows(int toRow, int fromRow) {
 
-        multiplyRows(this.currentMatrix, toRow, fromRow);
+        multiplyRows(currentMatrix(), toRow, fromRow);
+
+        valuesChanged();
 
         return this;
     }
@@ -1511,7 +2101,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public IMatrix<T> mapRow(int fromRow, int toRow, Function<Double, Double> function) {
 
-        mapRow(this.currentMatrix, fromRow, toRow, function);
+        mapRow(currentMatrix(), fromRow, toRow, function);
+
+        valuesChanged();
 
         return this;
     }
@@ -1532,7 +2124,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double reduce(int column, BinaryOperator<Double> accumulator) {
-        return reduce(this.currentMatrix, column, column + 1, 0d, accumulator);
+        return reduce(currentMatrix(), column, column + 1, 0d, accumulator);
     }
 
     public static Double reduce(Double[][] matrix, int column, BinaryOperator<Double> accumulator) {
@@ -1541,7 +2133,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double reduce(int fromColumn, int toColumn, BinaryOperator<Double> accumulator) {
-        return reduce(this.currentMatrix, fromColumn, toColumn, 0d, accumulator);
+        return reduce(currentMatrix(), fromColumn, toColumn, 0d, accumulator);
     }
 
     public static Double reduce(Double[][] matrix, int fromColumn, int toColumn,
@@ -1551,7 +2143,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double reduce(int fromColumn, int toColumn, Double identity, BinaryOperator<Double> accumulator) {
-        return reduce(this.currentMatrix, fromColumn, toColumn, identity, accumulator);
+        return reduce(currentMatrix(), fromColumn, toColumn, identity, accumulator);
     }
 
     public static Double reduce(Double[][] matrix, int fromColumn, int toColumn,
@@ -1583,7 +2175,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public void forEach(int column, Consumer<Double> consumer) {
-        forEach(this.currentMatrix, column, consumer);
+        forEach(currentMatrix(), column, consumer);
     }
 
     public static void forEach(Double[][] matrix, int column, Consumer<Double> consumer) {
@@ -1596,9 +2188,202 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
         }
     }
 
+    @Override
+    public IMatrix<T> mapDouble(DoubleUnaryOperator function) {
+        mapDouble(currentMatrix(), 0, this.columnNumber, function);
+
+        valuesChanged();
+
+        return this;
+    }
+
+    public static Double[][] mapDouble(Double[][] matrix, DoubleUnaryOperator function) {
+        return mapDouble(matrix, 0, matrix[0].length, function);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int column, DoubleUnaryOperator function) {
+        mapDouble(currentMatrix(), column, column + 1, function);
+
+        valuesChanged(column, column + 1);
+
+        return this;
+    }
+
+    public static Double[][] mapDouble(Double[][] matrix, int column, DoubleUnaryOperator function) {
+        return mapDouble(matrix, column, column + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int fromColumn, int toColumn, DoubleUnaryOperator function) {
+        mapDouble(currentMatrix(), fromColumn, toColumn, function);
+
+        valuesChanged(fromColumn, toColumn);
+
+        return this;
+    }
+
+    // Goes over the rows, so every row array is read once. The result is still boxed when stored.
+    public static Double[][] mapDouble(Double[][] matrix, int fromColumn, int toColumn,
+                                       DoubleUnaryOperator function) {
+
+        checkColumnIndexes(matrix, fromColumn, toColumn);
+
+        Objects.requireNonNull(function);
+
+        for (Double[] row : matrix) {
+            for (int j = fromColumn; j < toColumn; j++) {
+                row[j] = function.applyAsDouble(row[j]);
+            }
+        }
+
+        return matrix;
+    }
+
+    @Override
+    public IMatrix<T> mapIndexed(MatrixEntryOperator function) {
+        mapIndexed(currentMatrix(), function);
+
+        valuesChanged();
+
+        return this;
+    }
+
+    public static Double[][] mapIndexed(Double[][] matrix, MatrixEntryOperator function) {
+
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < matrix.length; i++) {
+            Double[] row = matrix[i];
+
+            for (int j = 0; j < row.length; j++) {
+                row[j] = function.applyAsDouble(i, j, row[j]);
+            }
+        }
+
+        return matrix;
+    }
+
+    @Override
+    public double reduceDouble(int column, double identity, DoubleBinaryOperator accumulator) {
+        return reduceDouble(currentMatrix(), column, column + 1, identity, accumulator);
+    }
+
+    public static double reduceDouble(Double[][] matrix, int column, double identity,
+                                      DoubleBinaryOperator accumulator) {
+        return reduceDouble(matrix, column, column + 1, identity, accumulator);
+    }
+
+    @Override
+    public double reduceDouble(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator) {
+        return reduceDouble(currentMatrix(), fromColumn, toColumn, identity, accumulator);
+    }
+
+    public static double reduceDouble(Double[][] matrix, int fromColumn, int toColumn,
+                                      double identity, DoubleBinaryOperator accumulator) {
+        checkColumnIndexes(matrix, fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        double result = identity;
+
+        for (int i = fromColumn; i < toColumn; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                result = accumulator.applyAsDouble(result, matrix[j][i]);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void forEachDouble(int column, DoubleConsumer consumer) {
+        forEachDouble(currentMatrix(), column, consumer);
+    }
+
+    public static void forEachDouble(Double[][] matrix, int column, DoubleConsumer consumer) {
+        checkColumnIndex(matrix, column);
+
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < matrix.length; i++) {
+            consumer.accept(matrix[i][column]);
+        }
+    }
+
+    @Override
+    public void forEachIndexed(MatrixEntryConsumer consumer) {
+        forEachIndexed(currentMatrix(), consumer);
+    }
+
+    public static void forEachIndexed(Double[][] matrix, MatrixEntryConsumer consumer) {
+
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < matrix.length; i++) {
+            Double[] row = matrix[i];
+
+            for (int j = 0; j < row.length; j++) {
+                consumer.accept(i, j, row[j]);
+            }
+        }
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(currentMatrix(), identity, accumulator, combiner);
+    }
+
+    public static double parallelReduce(Double[][] matrix, double identity,
+                                        DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(matrix, 0, matrix[0].length, identity, accumulator, combiner,
+                false, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public double parallelReduce(int fromColumn, int toColumn, double identity,
+                                 DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(currentMatrix(), fromColumn, toColumn, identity, accumulator, combiner,
+                false, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public double parallelReduce(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator,
+                                 DoubleBinaryOperator combiner, boolean deterministic, ForkJoinPool pool) {
+        return parallelReduce(currentMatrix(), fromColumn, toColumn, identity, accumulator, combiner,
+                deterministic, pool);
+    }
+
+    // The values are split in the order reduce visits them, column by column
+    public static double parallelReduce(Double[][] matrix, int fromColumn, int toColumn, double identity,
+                                        DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner,
+                                        boolean deterministic, ForkJoinPool pool) {
+        checkColumnIndexes(matrix, fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        int rows = matrix.length;
+
+        return ParallelReduction.reduce(rows * (toColumn - fromColumn), identity, (from, to, result) -> {
+            int column = fromColumn + from / rows;
+            int row = from % rows;
+
+            for (int k = from; k < to; k++) {
+                result = accumulator.applyAsDouble(result, matrix[row][column]);
+
+                if (++row == rows) {
+                    row = 0;
+                    column++;
+                }
+            }
+
+            return result;
+        }, combiner, deterministic, pool);
+    }
+
     @Override
     public List<Double> toList() {
-        return toList(this.currentMatrix, 0, this.columnNumber);
+        return toList(currentMatrix(), 0, this.columnNumber);
     }
 
     public static List<Double> toList(Double[][] matrix) {
@@ -1607,7 +2392,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public List<Double> toList(int column) {
-        return toList(this.currentMatrix, column, column + 1);
+        return toList(currentMatrix(), column, column + 1);
     }
 
     public static List<Double> toList(Double[][] matrix, int column) {
@@ -1616,7 +2401,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public List<Double> toList(int fromColumn, int toColumn) {
-        return toList(this.currentMatrix, fromColumn, toColumn);
+        return toList(currentMatrix(), fromColumn, toColumn);
     }
 
     public static List<Double> toList(Double[][] matrix, int fromColumn, int toColumn) {
@@ -1625,7 +2410,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public List<Double> distinct() {
-        return distinct(this.currentMatrix, 0, this.columnNumber);
+        return distinct(currentMatrix(), 0, this.columnNumber);
     }
 
     public static List<Double> distinct(Double[][] matrix) {
@@ -1634,7 +2419,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public List<Double> distinct(int column) {
-        return distinct(this.currentMatrix, column, column + 1);
+        return distinct(currentMatrix(), column, column + 1);
     }
 
     public static List<Double> distinct(Double[][] matrix, int column) {
@@ -1643,13 +2428,67 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public List<Double> distinct(int fromColumn, int toColumn) {
-        return distinct(this.currentMatrix, fromColumn, toColumn);
+        return distinct(currentMatrix(), fromColumn, toColumn);
     }
 
     public static List<Double> distinct(Double[][] matrix, int fromColumn, int toColumn) {
         return Stats.distinct(matrix, fromColumn, toColumn);
     }
 
+    @Override
+    public int distinctCount() {
+        return distinctCount(this.currentMatrix, 0, storedColumnNumber());
+    }
+
+    public static int distinctCount(Double[][] matrix) {
+        return Stats.distinctCount(matrix, 0, matrix[0].length);
+    }
+
+    @Override
+    public int distinctCount(int column) {
+        return distinctCount(currentMatrix(), column, column + 1);
+    }
+
+    public static int distinctCount(Double[][] matrix, int column) {
+        return Stats.distinctCount(matrix, column, column + 1);
+    }
+
+    @Override
+    public int distinctCount(int fromColumn, int toColumn) {
+        return distinctCount(currentMatrix(), fromColumn, toColumn);
+    }
+
+    public static int distinctCount(Double[][] matrix, int fromColumn, int toColumn) {
+        return Stats.distinctCount(matrix, fromColumn, toColumn);
+    }
+
+    @Override
+    public long approxDistinctCount(int precision) {
+        return approxDistinctCount(currentMatrix(), 0, this.columnNumber, precision);
+    }
+
+    public static long approxDistinctCount(Double[][] matrix, int precision) {
+        return Stats.approxDistinctCount(matrix, 0, matrix[0].length, precision);
+    }
+
+    @Override
+    public long approxDistinctCount(int column, int precision) {
+        return approxDistinctCount(currentMatrix(), column, column + 1, precision);
+    }
+
+    public static long approxDistinctCount(Double[][] matrix, int column, int precision) {
+        return Stats.approxDistinctCount(matrix, column, column + 1, precision);
+    }
+
+    @Override
+    public long approxDistinctCount(int fromColumn, int toColumn, int precision) {
+        return approxDistinctCount(currentMatrix(), fromColumn, toColumn, precision);
+    }
+
+    public static long approxDistinctCount(Double[][] matrix, int fromColumn, int toColumn, int precision) {
+        return Stats.approxDistinctCount(matrix, fromColumn, toColumn, precision);
+    }
+
     @Override
     public Double[] popColumn(int index) {
 
@@ -1659,16 +2498,19 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
         if (this.columnNumber < 2)
             throw new IllegalArgumentException("Matrix must have at least two columns.");
 
+        Double[][] current = currentMatrix();
         Double[] column = new Double[this.rowNumber];
 
         for (int i = 0; i < this.rowNumber; i++) {
-            column[i] = this.currentMatrix[i][index];
+            column[i] = current[i][index];
         }
 
-        currentMatrix = transformToDoubleMatrixDropExactColumn(currentMatrix, index);
+        currentMatrix = transformToDoubleMatrixDropExactColumn(current, index);
 
         initializeColumnsAndRows();
 
+        valuesChanged(index, Integer.MAX_VALUE);
+
         return column;
 
     }
@@ -1682,12 +2524,14 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
                 .append(this.columnNumber == 1 ? "1 column" : this.columnNumber + " columns")
                 .append(". Matrix:\n[\n");
 
-        for (int i = 0; i < currentMatrix.length; i++) {
+        Double[][] current = currentMatrix();
+
+        for (int i = 0; i < current.length; i++) {
             sb.append("\t[");
-            for (int j = 0; j < currentMatrix[0].length; j++) {
-                sb.append(currentMatrix[i][j]);
+            for (int j = 0; j < current[0].length; j++) {
+                sb.append(current[i][j]);
 
-                if (j < currentMatrix[0].length - 1)
+                if (j < current[0].length - 1)
                     sb.append(", ");
             }
             sb.append("]");
@@ -1702,12 +2546,12 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Double[][] toMatrix() {
 
-        return this.currentMatrix;
+        return currentMatrix();
     }
 
     @Override
     public Double[] toArray(int column) {
-        return toArray(this.currentMatrix, column, column + 1);
+        return toArray(currentMatrix(), column, column + 1);
     }
 
     public static Double[] toArray(Double[][] matrix, int column) {
@@ -1717,7 +2561,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
     @Override
     public Double[] toArray(int fromColumn, int toColumn) {
-        return toArray(this.currentMatrix, fromColumn, toColumn);
+        return toArray(currentMatrix(), fromColumn, toColumn);
     }
 
     public static Double[] toArray(Double[][] matrix, int fromColumn, int toColumn) {
@@ -1728,11 +2572,12 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Integer[][] toIntegerMatrix() {
 
+        Double[][] current = currentMatrix();
         Integer[][] result = new Integer[this.rowNumber][this.columnNumber];
 
         for (int i = 0; i < this.rowNumber; i++) {
             for (int j = 0; j < this.columnNumber; j++) {
-                result[i][j] = this.currentMatrix[i][j].intValue();
+                result[i][j] = current[i][j].intValue();
             }
         }
 
@@ -1748,7 +2593,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Integer[] toIntegerArray(int fromColumn, int toColumn) {
 
-        checkColumnIndexes(currentMatrix, fromColumn, toColumn);
+        Double[][] current = currentMatrix();
+
+        checkColumnIndexes(current, fromColumn, toColumn);
 
         Integer[] result = new Integer[this.rowNumber * (toColumn - fromColumn)];
 
@@ -1756,7 +2603,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         for (int j = fromColumn; j < toColumn; j++) {
             for (int i = 0; i < this.rowNumber; i++) {
-                result[index++] = this.currentMatrix[i][j].intValue();
+                result[index++] = current[i][j].intValue();
             }
         }
 
@@ -1766,11 +2613,12 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Float[][] toFloatMatrix() {
 
+        Double[][] current = currentMatrix();
         Float[][] result = new Float[this.rowNumber][this.columnNumber];
 
         for (int i = 0; i < this.rowNumber; i++) {
             for (int j = 0; j < this.columnNumber; j++) {
-                result[i][j] = this.currentMatrix[i][j].floatValue();
+                result[i][j] = current[i][j].floatValue();
             }
         }
 
@@ -1786,7 +2634,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Float[] toFloatArray(int fromColumn, int toColumn) {
 
-        checkColumnIndexes(currentMatrix, fromColumn, toColumn);
+        Double[][] current = currentMatrix();
+
+        checkColumnIndexes(current, fromColumn, toColumn);
 
         Float[] result = new Float[this.rowNumber * (toColumn - fromColumn)];
 
@@ -1794,7 +2644,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         for (int j = fromColumn; j < toColumn; j++) {
             for (int i = 0; i < this.rowNumber; i++) {
-                result[index++] = this.currentMatrix[i][j].floatValue();
+                result[index++] = current[i][j].floatValue();
             }
         }
 
@@ -1804,11 +2654,12 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Byte[][] toByteMatrix() {
 
+        Double[][] current = currentMatrix();
         Byte[][] result = new Byte[this.rowNumber][this.columnNumber];
 
         for (int i = 0; i < this.rowNumber; i++) {
             for (int j = 0; j < this.columnNumber; j++) {
-                result[i][j] = this.currentMatrix[i][j].byteValue();
+                result[i][j] = current[i][j].byteValue();
             }
         }
 
@@ -1823,7 +2674,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Byte[] toByteArray(int fromColumn, int toColumn) {
 
-        checkColumnIndexes(currentMatrix, fromColumn, toColumn);
+        Double[][] current = currentMatrix();
+
+        checkColumnIndexes(current, fromColumn, toColumn);
 
         Byte[] result = new Byte[this.rowNumber * (toColumn - fromColumn)];
 
@@ -1831,7 +2684,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         for (int j = fromColumn; j < toColumn; j++) {
             for (int i = 0; i < this.rowNumber; i++) {
-                result[index++] = this.currentMatrix[i][j].byteValue();
+                result[index++] = current[i][j].byteValue();
             }
         }
 
@@ -1841,11 +2694,12 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Short[][] toShortMatrix() {
 
+        Double[][] current = currentMatrix();
         Short[][] result = new Short[this.rowNumber][this.columnNumber];
 
         for (int i = 0; i < this.rowNumber; i++) {
             for (int j = 0; j < this.columnNumber; j++) {
-                result[i][j] = this.currentMatrix[i][j].shortValue();
+                result[i][j] = current[i][j].shortValue();
             }
         }
 
@@ -1861,7 +2715,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Short[] toShortArray(int fromColumn, int toColumn) {
 
-        checkColumnIndexes(currentMatrix, fromColumn, toColumn);
+        Double[][] current = currentMatrix();
+
+        checkColumnIndexes(current, fromColumn, toColumn);
 
         Short[] result = new Short[this.rowNumber * (toColumn - fromColumn)];
 
@@ -1869,7 +2725,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         for (int j = fromColumn; j < toColumn; j++) {
             for (int i = 0; i < this.rowNumber; i++) {
-                result[index++] = this.currentMatrix[i][j].shortValue();
+                result[index++] = current[i][j].shortValue();
             }
         }
 
@@ -1879,11 +2735,12 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Long[][] toLongMatrix() {
 
+        Double[][] current = currentMatrix();
         Long[][] result = new Long[this.rowNumber][this.columnNumber];
 
         for (int i = 0; i < this.rowNumber; i++) {
             for (int j = 0; j < this.columnNumber; j++) {
-                result[i][j] = this.currentMatrix[i][j].longValue();
+                result[i][j] = current[i][j].longValue();
             }
         }
 
@@ -1899,7 +2756,9 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
     @Override
     public Long[] toLongArray(int fromColumn, int toColumn) {
 
-        checkColumnIndexes(currentMatrix, fromColumn, toColumn);
+        Double[][] current = currentMatrix();
+
+        checkColumnIndexes(current, fromColumn, toColumn);
 
         Long[] result = new Long[this.rowNumber * (toColumn - fromColumn)];
 
@@ -1907,7 +2766,7 @@ public class StandardMatrix<T extends Number> implements IMatrix<T> {
 
         for (int j = fromColumn; j < toColumn; j++) {
             for (int i = 0; i < this.rowNumber; i++) {
-                result[index++] = this.currentMatrix[i][j].longValue();
+                result[index++] = current[i][j].longValue();
             }
         }
 
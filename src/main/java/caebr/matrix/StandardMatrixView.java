@@ -0,0 +1,760 @@
+package caebr.matrix;
+
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.Quantiles;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
+import caebr.util.NumberUtils;
+
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+// Live view of a block of a StandardMatrix that reads and writes the rows of the parent in place.
+//
+// Entry (i, j) of the view is stored at [fromRow + i][fromColumn + j] of the parent rows, or at
+// [fromColumn + j][fromRow + i] while the parent holds a pending transpose, which the view never
+// materializes. Reads, statistics, norms, entry-wise updates and row operations run there without
+// copying, in the same order as the Stats methods so the results match those of a copied block.
+// The other operations need the whole block at once (products, decompositions, sorting, modes)
+// and run on a copy of it through MatrixView.
+final class StandardMatrixView<T extends Number> extends MatrixView<T> {
+
+    private static final String MATRIX_CANNOT_BE_NULL = "Matrix cannot be null";
+    private static final String MATRIX_DIMENSIONS_MUST_BE_EQUAL = "Matrix dimensions must be equal";
+    private static final String VIEW_IS_OUTSIDE_OF_THE_MATRIX = "The block of the view is outside of the matrix";
+
+    private final StandardMatrix<T> parent;
+
+    private final int fromRow;
+    private final int fromColumn;
+    private final int rowNumber;
+    private final int columnNumber;
+
+    StandardMatrixView(StandardMatrix<T> parent, int fromRow, int toRow, int fromColumn, int toColumn) {
+        super(parent::readBlock, parent::writeBlock, fromRow, toRow, fromColumn, toColumn);
+
+        this.parent = parent;
+        this.fromRow = fromRow;
+        this.fromColumn = fromColumn;
+        this.rowNumber = toRow - fromRow;
+        this.columnNumber = toColumn - fromColumn;
+    }
+
+    // The rows of the parent, checked against the block since the parent can shrink after the view is made
+    private Double[][] storedRows() {
+
+        if (fromRow + rowNumber > parent.getRowNumber() || fromColumn + columnNumber > parent.getColumnNumber())
+            throw new IllegalArgumentException(VIEW_IS_OUTSIDE_OF_THE_MATRIX);
+
+        return parent.storedRows();
+    }
+
+    private double entry(Double[][] rows, int row, int column) {
+        return parent.isTransposed() ? rows[fromColumn + column][fromRow + row] : rows[fromRow + row][fromColumn + column];
+    }
+
+    // Replaces the entries of rows [fromRow, toRow) and columns [fromColumn, toColumn) of the view,
+    // walking the stored rows of the parent in order
+    private IMatrix<T> replace(int fromRow, int toRow, int fromColumn, int toColumn, MatrixEntryOperator operator) {
+
+        Double[][] rows = storedRows();
+
+        if (parent.isTransposed()) {
+            for (int j = fromColumn; j < toColumn; j++) {
+                Double[] stored = rows[this.fromColumn + j];
+
+                for (int i = fromRow; i < toRow; i++) {
+                    stored[this.fromRow + i] = operator.applyAsDouble(i, j, stored[this.fromRow + i]);
+                }
+            }
+        }
+        else {
+            for (int i = fromRow; i < toRow; i++) {
+                Double[] stored = rows[this.fromRow + i];
+
+                for (int j = fromColumn; j < toColumn; j++) {
+                    stored[this.fromColumn + j] = operator.applyAsDouble(i, j, stored[this.fromColumn + j]);
+                }
+            }
+        }
+
+        parent.valuesChanged(this.fromColumn + fromColumn, this.fromColumn + toColumn);
+
+        return this;
+    }
+
+    private IMatrix<T> replace(MatrixEntryOperator operator) {
+        return replace(0, rowNumber, 0, columnNumber, operator);
+    }
+
+    @Override
+    public IMatrix<T> view(int fromRow, int toRow, int fromColumn, int toColumn) {
+
+        if (fromRow < 0 || fromRow >= toRow || toRow > rowNumber)
+            throw new IllegalArgumentException("Row indexes must be between 0 and " + rowNumber + " and fromRow less than toRow");
+
+        if (fromColumn < 0 || fromColumn >= toColumn || toColumn > columnNumber)
+            throw new IllegalArgumentException("Column indexes must be between 0 and " + columnNumber + " and fromColumn less than toColumn");
+
+        return new StandardMatrixView<>(parent, this.fromRow + fromRow, this.fromRow + toRow,
+                this.fromColumn + fromColumn, this.fromColumn + toColumn);
+    }
+
+    @Override
+    public IMatrix<T> add(T[][] matrix) {
+
+        checkMatrix(matrix);
+
+        return replace((i, j, value) -> value + matrix[i][j].doubleValue());
+    }
+
+    @Override
+    public IMatrix<T> subtract(T[][] matrix) {
+
+        checkMatrix(matrix);
+
+        return replace((i, j, value) -> value - matrix[i][j].doubleValue());
+    }
+
+    @Override
+    public IMatrix<T> add(IMatrix<T> iMatrix) {
+
+        Double[][] matrix = checkMatrix(iMatrix);
+
+        return replace((i, j, value) -> value + matrix[i][j]);
+    }
+
+    @Override
+    public IMatrix<T> subtract(IMatrix<T> iMatrix) {
+
+        Double[][] matrix = checkMatrix(iMatrix);
+
+        return replace((i, j, value) -> value - matrix[i][j]);
+    }
+
+    private void checkMatrix(T[][] matrix) {
+
+        if (matrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (matrix.length != rowNumber)
+            throw new IllegalArgumentException(MATRIX_DIMENSIONS_MUST_BE_EQUAL);
+
+        for (T[] row : matrix) {
+            if (row == null || row.length != columnNumber)
+                throw new IllegalArgumentException(MATRIX_DIMENSIONS_MUST_BE_EQUAL);
+        }
+    }
+
+    private Double[][] checkMatrix(IMatrix<T> iMatrix) {
+
+        if (iMatrix == null)
+            throw new IllegalArgumentException(MATRIX_CANNOT_BE_NULL);
+
+        if (iMatrix.getRowNumber() != rowNumber || iMatrix.getColumnNumber() != columnNumber)
+            throw new IllegalArgumentException(MATRIX_DIMENSIONS_MUST_BE_EQUAL);
+
+        return iMatrix.toMatrix();
+    }
+
+    @Override
+    public IMatrix<T> multiply(T number) {
+
+        double factor = number.doubleValue();
+
+        return replace((i, j, value) -> value * factor);
+    }
+
+    @Override
+    public IMatrix<T> map(Function<Double, Double> function) {
+        return map(0, columnNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> map(int column, Function<Double, Double> function) {
+        return map(column, column + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> map(int fromColumn, int toColumn, Function<Double, Double> function) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(function);
+
+        return replace(0, rowNumber, fromColumn, toColumn, (i, j, value) -> function.apply(value));
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(DoubleUnaryOperator function) {
+        return mapDouble(0, columnNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int column, DoubleUnaryOperator function) {
+        return mapDouble(column, column + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> mapDouble(int fromColumn, int toColumn, DoubleUnaryOperator function) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(function);
+
+        return replace(0, rowNumber, fromColumn, toColumn, (i, j, value) -> function.applyAsDouble(value));
+    }
+
+    @Override
+    public IMatrix<T> mapIndexed(MatrixEntryOperator function) {
+
+        Objects.requireNonNull(function);
+
+        return replace(function);
+    }
+
+    @Override
+    public IMatrix<T> mapRow(Function<Double, Double> function) {
+        return mapRow(0, rowNumber, function);
+    }
+
+    @Override
+    public IMatrix<T> mapRow(int row, Function<Double, Double> function) {
+        return mapRow(row, row + 1, function);
+    }
+
+    @Override
+    public IMatrix<T> mapRow(int fromRow, int toRow, Function<Double, Double> function) {
+
+        if (fromRow > toRow)
+            throw new IllegalArgumentException("From row index cannot be greater than to row index");
+
+        checkRow(fromRow, toRow - 1);
+
+        Objects.requireNonNull(function);
+
+        return replace(fromRow, toRow, 0, columnNumber, (i, j, value) -> function.apply(value));
+    }
+
+    @Override
+    public IMatrix<T> addRows(int toRow, int fromRow) {
+
+        checkRow(toRow, fromRow);
+
+        Double[][] rows = storedRows();
+
+        return replace(toRow, toRow + 1, 0, columnNumber, (i, j, value) -> value + entry(rows, fromRow, j));
+    }
+
+    @Override
+    public IMatrix<T> multiplyRows(int toRow, int fromRow) {
+
+        checkRow(toRow, fromRow);
+
+        Double[][] rows = storedRows();
+
+        return replace(toRow, toRow + 1, 0, columnNumber, (i, j, value) -> value * entry(rows, fromRow, j));
+    }
+
+    // Swaps the entries of the two rows inside the columns of the view, every column keeps its values
+    @Override
+    public IMatrix<T> swapRows(int firstIndex, int secondIndex) {
+
+        checkRow(firstIndex, secondIndex);
+
+        Double[][] rows = storedRows();
+
+        for (int j = 0; j < columnNumber; j++) {
+            if (parent.isTransposed()) {
+                Double[] stored = rows[fromColumn + j];
+                Double temp = stored[fromRow + firstIndex];
+                stored[fromRow + firstIndex] = stored[fromRow + secondIndex];
+                stored[fromRow + secondIndex] = temp;
+            }
+            else {
+                Double temp = rows[fromRow + firstIndex][fromColumn + j];
+                rows[fromRow + firstIndex][fromColumn + j] = rows[fromRow + secondIndex][fromColumn + j];
+                rows[fromRow + secondIndex][fromColumn + j] = temp;
+            }
+        }
+
+        parent.rowsReordered();
+
+        return this;
+    }
+
+    private void checkRow(int firstRow, int secondRow) {
+
+        if (firstRow < 0 || firstRow >= rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (rowNumber - 1));
+
+        if (secondRow < 0 || secondRow >= rowNumber)
+            throw new IllegalArgumentException("Row index must be between 0 and " + (rowNumber - 1));
+    }
+
+    private void checkColumnIndexes(int fromColumn, int toColumn) {
+
+        if (fromColumn < 0 || toColumn < 0)
+            throw new IllegalArgumentException("Column indexes cannot be negative");
+
+        if (fromColumn > toColumn)
+            throw new IllegalArgumentException("fromColumn index cannot be greater than toColumn index");
+
+        if (fromColumn > columnNumber || toColumn > columnNumber)
+            throw new IllegalArgumentException("Column indexes cannot be greater than the number of columns");
+    }
+
+    private void checkColumnIndex(int column) {
+
+        if (column < 0)
+            throw new IllegalArgumentException("Column index cannot be negative");
+
+        if (column >= columnNumber)
+            throw new IllegalArgumentException("Column index cannot be greater than the number of columns");
+    }
+
+    @Override
+    public Double reduce(int column, BinaryOperator<Double> accumulator) {
+        return reduce(column, column + 1, 0d, accumulator);
+    }
+
+    @Override
+    public Double reduce(int column, Double identity, BinaryOperator<Double> accumulator) {
+        return reduce(column, column + 1, identity, accumulator);
+    }
+
+    @Override
+    public Double reduce(int fromColumn, int toColumn, BinaryOperator<Double> accumulator) {
+        return reduce(fromColumn, toColumn, 0d, accumulator);
+    }
+
+    // Column by column, like StandardMatrix.reduce
+    @Override
+    public Double reduce(int fromColumn, int toColumn, Double identity, BinaryOperator<Double> accumulator) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        Double[][] rows = storedRows();
+
+        double result = identity;
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                result = accumulator.apply(result, entry(rows, i, j));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public double reduceDouble(int column, double identity, DoubleBinaryOperator accumulator) {
+        return reduceDouble(column, column + 1, identity, accumulator);
+    }
+
+    @Override
+    public double reduceDouble(int fromColumn, int toColumn, double identity, DoubleBinaryOperator accumulator) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Objects.requireNonNull(accumulator);
+
+        Double[][] rows = storedRows();
+
+        double result = identity;
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                result = accumulator.applyAsDouble(result, entry(rows, i, j));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void forEach(int column, Consumer<Double> consumer) {
+
+        checkColumnIndex(column);
+
+        Objects.requireNonNull(consumer);
+
+        Double[][] rows = storedRows();
+
+        for (int i = 0; i < rowNumber; i++) {
+            consumer.accept(entry(rows, i, column));
+        }
+    }
+
+    @Override
+    public void forEachDouble(int column, DoubleConsumer consumer) {
+
+        checkColumnIndex(column);
+
+        Objects.requireNonNull(consumer);
+
+        Double[][] rows = storedRows();
+
+        for (int i = 0; i < rowNumber; i++) {
+            consumer.accept(entry(rows, i, column));
+        }
+    }
+
+    @Override
+    public void forEachIndexed(MatrixEntryConsumer consumer) {
+
+        Objects.requireNonNull(consumer);
+
+        Double[][] rows = storedRows();
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                consumer.accept(i, j, entry(rows, i, j));
+            }
+        }
+    }
+
+    // Entries of the columns [fromColumn, toColumn) row by row, the order of the Stats methods
+    private void forEachEntry(int fromColumn, int toColumn, DoubleConsumer consumer) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Double[][] rows = storedRows();
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = fromColumn; j < toColumn; j++) {
+                consumer.accept(entry(rows, i, j));
+            }
+        }
+    }
+
+    @Override
+    public Double sum() {
+        return sum(0, columnNumber);
+    }
+
+    @Override
+    public Double sum(int column) {
+        return sum(column, column + 1);
+    }
+
+    @Override
+    public Double sum(int fromColumn, int toColumn) {
+
+        double[] sum = new double[1];
+
+        forEachEntry(fromColumn, toColumn, value -> sum[0] += value);
+
+        return sum[0];
+    }
+
+    @Override
+    public Double mean() {
+        return mean(0, columnNumber);
+    }
+
+    @Override
+    public Double mean(int column) {
+        return mean(column, column + 1);
+    }
+
+    @Override
+    public Double mean(int fromColumn, int toColumn) {
+        return sum(fromColumn, toColumn) / (rowNumber * (toColumn - fromColumn));
+    }
+
+    @Override
+    public Double max() {
+        return max(0, columnNumber);
+    }
+
+    @Override
+    public Double max(int column) {
+        return max(column, column + 1);
+    }
+
+    // Starts at Double.MIN_VALUE like Stats.max
+    @Override
+    public Double max(int fromColumn, int toColumn) {
+
+        double[] max = {Double.MIN_VALUE};
+
+        forEachEntry(fromColumn, toColumn, value -> {
+            if (value > max[0])
+                max[0] = value;
+        });
+
+        return max[0];
+    }
+
+    @Override
+    public Double min() {
+        return min(0, columnNumber);
+    }
+
+    @Override
+    public Double min(int column) {
+        return min(column, column + 1);
+    }
+
+    @Override
+    public Double min(int fromColumn, int toColumn) {
+
+        double[] min = {Double.MAX_VALUE};
+
+        forEachEntry(fromColumn, toColumn, value -> {
+            if (value < min[0])
+                min[0] = value;
+        });
+
+        return min[0];
+    }
+
+    @Override
+    public Double range() {
+        return range(0, columnNumber);
+    }
+
+    @Override
+    public Double range(int column) {
+        return range(column, column + 1);
+    }
+
+    // One pass for both ends, with the same starting values as max and min
+    @Override
+    public Double range(int fromColumn, int toColumn) {
+
+        double[] maxAndMin = {Double.MIN_VALUE, Double.MAX_VALUE};
+
+        forEachEntry(fromColumn, toColumn, value -> {
+            if (value > maxAndMin[0])
+                maxAndMin[0] = value;
+
+            if (value < maxAndMin[1])
+                maxAndMin[1] = value;
+        });
+
+        return maxAndMin[0] - maxAndMin[1];
+    }
+
+    @Override
+    public Double median() {
+        return median(0, columnNumber);
+    }
+
+    @Override
+    public Double median(int column) {
+        return median(column, column + 1);
+    }
+
+    @Override
+    public Double median(int fromColumn, int toColumn) {
+        return quantiles(fromColumn, toColumn, 0.5)[0];
+    }
+
+    @Override
+    public double[] quantiles(double... ps) {
+        return quantiles(0, columnNumber, ps);
+    }
+
+    @Override
+    public double[] quantiles(int column, double... ps) {
+        return quantiles(column, column + 1, ps);
+    }
+
+    // The selection reorders its input, so the entries go into one primitive array as in Stats.quantiles
+    @Override
+    public double[] quantiles(int fromColumn, int toColumn, double... ps) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Double[][] rows = storedRows();
+
+        double[] values = new double[rowNumber * (toColumn - fromColumn)];
+
+        int index = 0;
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                values[index++] = entry(rows, i, j);
+            }
+        }
+
+        return Quantiles.quantiles(values, values.length, ps);
+    }
+
+    @Override
+    public Double variance() {
+        return variance(0, columnNumber);
+    }
+
+    @Override
+    public Double variance(int column) {
+        return variance(column, column + 1);
+    }
+
+    @Override
+    public Double variance(int fromColumn, int toColumn) {
+        return summaryStatistics(fromColumn, toColumn).getVariance();
+    }
+
+    @Override
+    public Double standardDeviation() {
+        return standardDeviation(0, columnNumber);
+    }
+
+    @Override
+    public Double standardDeviation(int column) {
+        return standardDeviation(column, column + 1);
+    }
+
+    @Override
+    public Double standardDeviation(int fromColumn, int toColumn) {
+        return Math.sqrt(variance(fromColumn, toColumn));
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics() {
+        return summaryStatistics(0, columnNumber);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int column) {
+        return summaryStatistics(column, column + 1);
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics(int fromColumn, int toColumn) {
+
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        forEachEntry(fromColumn, toColumn, statistics);
+
+        return statistics;
+    }
+
+    @Override
+    public ColumnSummaries columnSummaries() {
+        return columnSummaries(0, columnNumber);
+    }
+
+    // The rows of the parent are wider than the view, so every column is collected on its own
+    @Override
+    public ColumnSummaries columnSummaries(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        SummaryStatistics[] columns = new SummaryStatistics[toColumn - fromColumn];
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            columns[j - fromColumn] = new SummaryStatistics();
+            forEachDouble(j, columns[j - fromColumn]);
+        }
+
+        return ColumnSummaries.of(fromColumn, columns);
+    }
+
+    @Override
+    public TDigest tDigest(double compression) {
+        return tDigest(0, columnNumber, compression);
+    }
+
+    @Override
+    public TDigest tDigest(int column, double compression) {
+        return tDigest(column, column + 1, compression);
+    }
+
+    @Override
+    public TDigest tDigest(int fromColumn, int toColumn, double compression) {
+
+        TDigest digest = new TDigest(compression);
+
+        forEachEntry(fromColumn, toColumn, digest);
+
+        return digest;
+    }
+
+    @Override
+    public Integer l0Norm(int column) {
+
+        checkColumnIndex(column);
+
+        double epsilon = StandardMatrix.getEpsilon();
+
+        return (int) reduceDouble(column, 0d, (count, value) -> NumberUtils.approximatelyZero(value, epsilon) ? count : count + 1);
+    }
+
+    @Override
+    public Double l1Norm(int column) {
+
+        checkColumnIndex(column);
+
+        return reduceDouble(column, 0d, (sum, value) -> sum + Math.abs(value));
+    }
+
+    @Override
+    public Double l2Norm(int column) {
+
+        checkColumnIndex(column);
+
+        return Math.sqrt(reduceDouble(column, 0d, (sum, value) -> sum + Math.pow(value, 2)));
+    }
+
+    // Starts at Double.MIN_VALUE like Stats.lInfinityNorm
+    @Override
+    public Double lInfinityNorm(int column) {
+
+        checkColumnIndex(column);
+
+        return reduceDouble(column, Double.MIN_VALUE, (max, value) -> Math.abs(value) > max ? Math.abs(value) : max);
+    }
+
+    @Override
+    public Double[][] toMatrix() {
+
+        Double[][] rows = storedRows();
+
+        Double[][] result = new Double[rowNumber][columnNumber];
+
+        for (int i = 0; i < rowNumber; i++) {
+            for (int j = 0; j < columnNumber; j++) {
+                result[i][j] = entry(rows, i, j);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Double[] toArray(int column) {
+        return toArray(column, column + 1);
+    }
+
+    // Column by column, like StandardMatrix.toArray
+    @Override
+    public Double[] toArray(int fromColumn, int toColumn) {
+
+        checkColumnIndexes(fromColumn, toColumn);
+
+        Double[][] rows = storedRows();
+
+        Double[] result = new Double[rowNumber * (toColumn - fromColumn)];
+
+        int index = 0;
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (int i = 0; i < rowNumber; i++) {
+                result[index++] = entry(rows, i, j);
+            }
+        }
+
+        return result;
+    }
+}
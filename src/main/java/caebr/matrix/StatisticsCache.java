@@ -0,0 +1,152 @@
+package caebr.matrix;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// Results of statistics and checks of one StandardMatrix, reused while the matrix does not change.
+//
+// Column results (max, mean, variance, ...) are keyed by the operation and the column range they
+// were computed for. They depend only on the values of their columns, so a change of some columns
+// drops only the entries whose range overlaps them and reordering rows keeps all of them. Matrix
+// results (isSymmetric, determinant, ...) depend on the position of every value and are dropped
+// by any change. The matrix tells the cache what changed, changes made through the array
+// returned by toMatrix() are not seen. Like the matrix, the cache is not thread-safe.
+public class StatisticsCache {
+
+    private final Map<Key, Object> columnResults = new HashMap<>();
+    private final Map<String, Object> matrixResults = new HashMap<>();
+
+    private long hits;
+    private long misses;
+
+    StatisticsCache() {
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> R get(String operation, int fromColumn, int toColumn, Supplier<R> supplier) {
+
+        Key key = new Key(operation, fromColumn, toColumn);
+
+        Object result = columnResults.get(key);
+
+        if (result != null) {
+            hits++;
+            return (R) result;
+        }
+
+        misses++;
+
+        R computed = supplier.get();
+        columnResults.put(key, computed);
+
+        return computed;
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> R get(String operation, Supplier<R> supplier) {
+
+        Object result = matrixResults.get(operation);
+
+        if (result != null) {
+            hits++;
+            return (R) result;
+        }
+
+        misses++;
+
+        R computed = supplier.get();
+        matrixResults.put(operation, computed);
+
+        return computed;
+    }
+
+    // Values of columns in [fromColumn, toColumn) changed, or the columns were shifted
+    void columnsChanged(int fromColumn, int toColumn) {
+
+        Iterator<Key> iterator = columnResults.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            Key key = iterator.next();
+
+            if (key.fromColumn < toColumn && fromColumn < key.toColumn)
+                iterator.remove();
+        }
+
+        matrixResults.clear();
+    }
+
+    // Rows were reordered, every column still holds the same values
+    void rowsReordered() {
+        matrixResults.clear();
+    }
+
+    public void clear() {
+        columnResults.clear();
+        matrixResults.clear();
+    }
+
+    // Number of results answered from the cache
+    public long getHits() {
+        return hits;
+    }
+
+    // Number of results computed and stored
+    public long getMisses() {
+        return misses;
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+
+    // Number of stored results
+    public int size() {
+        return columnResults.size() + matrixResults.size();
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticsCache{" +
+                "size=" + size() +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                '}';
+    }
+
+    private static final class Key {
+
+        private final String operation;
+        private final int fromColumn;
+        private final int toColumn;
+
+        private Key(String operation, int fromColumn, int toColumn) {
+            this.operation = operation;
+            this.fromColumn = fromColumn;
+            this.toColumn = toColumn;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o)
+                return true;
+
+            if (!(o instanceof Key))
+                return false;
+
+            Key other = (Key) o;
+
+            return fromColumn == other.fromColumn && toColumn == other.toColumn
+                    && operation.equals(other.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, fromColumn, toColumn);
+        }
+    }
+}
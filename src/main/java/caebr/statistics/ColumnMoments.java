@@ -0,0 +1,115 @@
+package caebr.statistics;
+
+import java.util.Arrays;
+
+// Mean, sum of squared differences from the mean (m2) and sum of one or more columns, the numeric
+// core of SummaryStatistics, ColumnSummaries and OnlineColumnStatistics.
+//
+// The owner keeps the number of values, which is the same for every column, and passes it in.
+// Adding follows Welford's method, removing inverts it and merging is the pairwise update of
+// Chan et al. Sums are Kahan compensated. Variance follows Stats: divided by n for 30 or more
+// values and by n - 1 below that, 0.0 without values.
+final class ColumnMoments {
+
+    final double[] mean;
+    final double[] m2;
+    final double[] sum;
+    final double[] sumCompensation;
+
+    ColumnMoments(int columnNumber) {
+        this.mean = new double[columnNumber];
+        this.m2 = new double[columnNumber];
+        this.sum = new double[columnNumber];
+        this.sumCompensation = new double[columnNumber];
+    }
+
+    // count already includes the value
+    void add(int k, double value, long count) {
+
+        double delta = value - mean[k];
+        mean[k] += delta / count;
+        m2[k] += delta * (value - mean[k]);
+
+        addToSum(k, value);
+    }
+
+    // Adds value weight times in O(1), total already includes them
+    void add(int k, double value, long weight, long total) {
+
+        double delta = value - mean[k];
+
+        mean[k] += delta * weight / total;
+        m2[k] += delta * delta * ((double) (total - weight) * weight / total);
+
+        addToSum(k, value * weight);
+    }
+
+    // count already excludes the value and is not 0
+    void remove(int k, double value, long count) {
+
+        double delta = value - mean[k];
+        mean[k] -= delta / count;
+        m2[k] -= delta * (value - mean[k]);
+
+        // Rounding must not leave a negative sum of squares
+        if (m2[k] < 0)
+            m2[k] = 0;
+
+        addToSum(k, -value);
+    }
+
+    // Merges column otherK of other into column k, count and otherCount are the numbers of values
+    // before the merge
+    void combine(int k, ColumnMoments other, int otherK, long count, long otherCount) {
+
+        if (otherCount == 0)
+            return;
+
+        if (count == 0) {
+            mean[k] = other.mean[otherK];
+            m2[k] = other.m2[otherK];
+            sum[k] = other.sum[otherK];
+            sumCompensation[k] = other.sumCompensation[otherK];
+
+            return;
+        }
+
+        long total = count + otherCount;
+
+        double delta = other.mean[otherK] - mean[k];
+
+        mean[k] += delta * otherCount / total;
+        m2[k] += other.m2[otherK] + delta * delta * ((double) count * otherCount / total);
+
+        addToSum(k, other.sum[otherK]);
+        addToSum(k, -other.sumCompensation[otherK]);
+    }
+
+    void addToSum(int k, double value) {
+        double y = value - sumCompensation[k];
+        double t = sum[k] + y;
+        sumCompensation[k] = (t - sum[k]) - y;
+        sum[k] = t;
+    }
+
+    double mean(int k, long count) {
+        return count == 0 ? 0.0 : mean[k];
+    }
+
+    double variance(int k, long count) {
+
+        if (count == 0)
+            return 0.0;
+
+        long n = count >= 30 ? count : count - 1;
+
+        return m2[k] / n;
+    }
+
+    void clear() {
+        Arrays.fill(mean, 0);
+        Arrays.fill(m2, 0);
+        Arrays.fill(sum, 0);
+        Arrays.fill(sumCompensation, 0);
+    }
+}
@@ -0,0 +1,205 @@
+package caebr.statistics;
+
+import java.util.Arrays;
+
+// Count, sum, mean, variance, min and max of every column in [fromColumn, toColumn), collected
+// in one row-major pass.
+//
+// Rows are passed one at a time and each row updates the accumulators of all columns, so the
+// matrix is read in memory order once instead of once per column and per statistic. The
+// accumulators are primitive arrays indexed by column - fromColumn and updated by ColumnMoments
+// like SummaryStatistics: Welford's method for the mean and m2, Kahan compensated sums and variance
+// divided by n for 30 or more rows and by n - 1 below that. Without rows every value is 0.0.
+public class ColumnSummaries {
+
+    private final int fromColumn;
+    private final int toColumn;
+
+    private long count;
+    private final ColumnMoments moments;
+    private final double[] min;
+    private final double[] max;
+
+    public ColumnSummaries(int fromColumn, int toColumn) {
+
+        if (fromColumn < 0 || toColumn < 0)
+            throw new IllegalArgumentException("Column indexes cannot be negative");
+
+        if (fromColumn > toColumn)
+            throw new IllegalArgumentException("fromColumn index cannot be greater than toColumn index");
+
+        int width = toColumn - fromColumn;
+
+        this.fromColumn = fromColumn;
+        this.toColumn = toColumn;
+        this.moments = new ColumnMoments(width);
+        this.min = new double[width];
+        this.max = new double[width];
+
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    }
+
+    // Summaries of the columns from fromColumn on, assembled from the statistics of each column.
+    // Every column must have the same number of values.
+    public static ColumnSummaries of(int fromColumn, SummaryStatistics... columns) {
+
+        ColumnSummaries summaries = new ColumnSummaries(fromColumn, fromColumn + columns.length);
+
+        for (int k = 0; k < columns.length; k++) {
+            SummaryStatistics column = columns[k];
+
+            if (column.getCount() != columns[0].getCount())
+                throw new IllegalArgumentException("Columns must have the same number of values");
+
+            summaries.moments.mean[k] = column.getMean();
+            summaries.moments.m2[k] = column.getM2();
+            summaries.moments.sum[k] = column.getSum();
+
+            if (column.getCount() > 0) {
+                summaries.min[k] = column.getMin();
+                summaries.max[k] = column.getMax();
+            }
+        }
+
+        if (columns.length > 0)
+            summaries.count = columns[0].getCount();
+
+        return summaries;
+    }
+
+    // Adds a row of a boxed matrix, the columns are read at their own index
+    public void acceptRow(Double[] row) {
+
+        count++;
+
+        for (int k = 0; k < min.length; k++) {
+            accept(k, row[fromColumn + k]);
+        }
+    }
+
+    // Adds a row stored in values, the value of fromColumn is at offset
+    public void acceptRow(double[] values, int offset) {
+
+        count++;
+
+        for (int k = 0; k < min.length; k++) {
+            accept(k, values[offset + k]);
+        }
+    }
+
+    private void accept(int k, double value) {
+
+        moments.add(k, value, count);
+
+        if (value < min[k])
+            min[k] = value;
+
+        if (value > max[k])
+            max[k] = value;
+    }
+
+    // Merges the rows of other into this one, both must cover the same number of columns
+    public ColumnSummaries combine(ColumnSummaries other) {
+
+        if (other.min.length != min.length)
+            throw new IllegalArgumentException("Number of columns of the summaries must be equal");
+
+        if (other.count == 0)
+            return this;
+
+        for (int k = 0; k < min.length; k++) {
+            moments.combine(k, other.moments, k, count, other.count);
+
+            min[k] = Math.min(min[k], other.min[k]);
+            max[k] = Math.max(max[k], other.max[k]);
+        }
+
+        count += other.count;
+
+        return this;
+    }
+
+    public int getFromColumn() {
+        return fromColumn;
+    }
+
+    public int getToColumn() {
+        return toColumn;
+    }
+
+    // Number of rows
+    public long getCount() {
+        return count;
+    }
+
+    public double[] getSum() {
+        return moments.sum.clone();
+    }
+
+    public double[] getMean() {
+        return count == 0 ? new double[min.length] : moments.mean.clone();
+    }
+
+    public double[] getMin() {
+        return count == 0 ? new double[min.length] : min.clone();
+    }
+
+    public double[] getMax() {
+        return count == 0 ? new double[max.length] : max.clone();
+    }
+
+    public double[] getRange() {
+
+        double[] range = new double[min.length];
+
+        if (count == 0)
+            return range;
+
+        for (int k = 0; k < range.length; k++) {
+            range[k] = max[k] - min[k];
+        }
+
+        return range;
+    }
+
+    // Sums of squared differences from the mean
+    public double[] getM2() {
+        return moments.m2.clone();
+    }
+
+    public double[] getVariance() {
+
+        double[] variance = new double[min.length];
+
+        for (int k = 0; k < variance.length; k++) {
+            variance[k] = moments.variance(k, count);
+        }
+
+        return variance;
+    }
+
+    public double[] getStandardDeviation() {
+
+        double[] standardDeviation = getVariance();
+
+        for (int k = 0; k < standardDeviation.length; k++) {
+            standardDeviation[k] = Math.sqrt(standardDeviation[k]);
+        }
+
+        return standardDeviation;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnSummaries{" +
+                "fromColumn=" + fromColumn +
+                ", toColumn=" + toColumn +
+                ", count=" + count +
+                ", mean=" + Arrays.toString(getMean()) +
+                ", variance=" + Arrays.toString(getVariance()) +
+                ", min=" + Arrays.toString(getMin()) +
+                ", max=" + Arrays.toString(getMax()) +
+                '}';
+    }
+}
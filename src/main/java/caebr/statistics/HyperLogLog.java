@@ -0,0 +1,182 @@
+package caebr.statistics;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+// Approximate number of distinct values (HyperLogLog, Flajolet et al.) in constant memory.
+//
+// Every value is hashed to 64 bits, the first precision bits choose one of 2^precision registers
+// and the register keeps the longest run of leading zeros seen in the remaining bits. The
+// estimate is the bias corrected harmonic mean of the registers, with linear counting while
+// registers are still empty. The relative standard error is about 1.04 / sqrt(2^precision),
+// 0.8 % for the default precision of 14, which takes 16 KB of registers.
+// Values are compared like Double.equals (see DoubleHashSet): NaN is one value, 0.0 and -0.0
+// are two. Sketches with the same precision are merged by taking the maximum of each register.
+public class HyperLogLog implements DoubleConsumer {
+
+    static final String PRECISION_OUT_OF_RANGE = "Precision must be between 4 and 18";
+    static final String PRECISIONS_MUST_BE_EQUAL = "Precisions of merged sketches must be equal";
+    static final String INVALID_ENCODING = "Bytes are not an encoded HyperLogLog";
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+    public static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION)
+            throw new IllegalArgumentException(PRECISION_OUT_OF_RANGE);
+
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public static HyperLogLog of(double... values) {
+
+        HyperLogLog sketch = new HyperLogLog();
+
+        for (double value : values) {
+            sketch.accept(value);
+        }
+
+        return sketch;
+    }
+
+    @Override
+    public void accept(double value) {
+
+        long hash = hash(Double.doubleToLongBits(value));
+
+        int index = (int) (hash >>> (64 - precision));
+
+        // The guard bit caps the run at 64 - precision + 1
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+
+        if (rank > registers[index])
+            registers[index] = rank;
+    }
+
+    // Merges the values of other into this one
+    public HyperLogLog combine(HyperLogLog other) {
+
+        if (other.precision != precision)
+            throw new IllegalArgumentException(PRECISIONS_MUST_BE_EQUAL);
+
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i])
+                registers[i] = other.registers[i];
+        }
+
+        return this;
+    }
+
+    public long estimate() {
+
+        int m = registers.length;
+
+        double sum = 0;
+        int emptyRegisters = 0;
+
+        for (byte register : registers) {
+            sum += 1d / (1L << register);
+
+            if (register == 0)
+                emptyRegisters++;
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+
+        // Small cardinalities are counted more precisely by the share of empty registers
+        if (estimate <= 2.5 * m && emptyRegisters > 0)
+            estimate = m * Math.log((double) m / emptyRegisters);
+
+        return Math.round(estimate);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    // Precision followed by one byte per register
+    public byte[] toBytes() {
+
+        byte[] bytes = new byte[registers.length + 1];
+
+        bytes[0] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 1, registers.length);
+
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+
+        if (bytes.length == 0 || bytes[0] < MIN_PRECISION || bytes[0] > MAX_PRECISION
+                || bytes.length != (1 << bytes[0]) + 1)
+            throw new IllegalArgumentException(INVALID_ENCODING);
+
+        HyperLogLog sketch = new HyperLogLog(bytes[0]);
+
+        System.arraycopy(bytes, 1, sketch.registers, 0, sketch.registers.length);
+
+        return sketch;
+    }
+
+    private static double alpha(int m) {
+
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    // 64-bit finalizer of MurmurHash3, every input bit affects every output bit
+    private static long hash(long bits) {
+        bits ^= bits >>> 33;
+        bits *= 0xff51afd7ed558ccdL;
+        bits ^= bits >>> 33;
+        bits *= 0xc4ceb9fe1a85ec53L;
+        bits ^= bits >>> 33;
+
+        return bits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o)
+            return true;
+
+        if (!(o instanceof HyperLogLog))
+            return false;
+
+        HyperLogLog other = (HyperLogLog) o;
+
+        return precision == other.precision && Arrays.equals(registers, other.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * precision + Arrays.hashCode(registers);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog{" +
+                "precision=" + precision +
+                ", estimate=" + estimate() +
+                '}';
+    }
+}
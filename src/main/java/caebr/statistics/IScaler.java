@@ -0,0 +1,37 @@
+package caebr.statistics;
+
+import caebr.matrix.IMatrix;
+
+// Per-column scaling whose parameters are fitted once and then applied to any number of matrices
+// or rows with the same number of columns.
+//
+// fit forgets earlier data, partialFit adds a batch to the data fitted so far. transform and
+// inverseTransform change the values in place and return what they were given.
+public interface IScaler {
+
+    IScaler fit(IMatrix<?> matrix);
+
+    IScaler fit(Double[][] matrix);
+
+    IScaler partialFit(IMatrix<?> matrix);
+
+    IScaler partialFit(Double[][] matrix);
+
+    boolean isFitted();
+
+    // Number of columns the scaler was fitted on
+    int getColumnNumber();
+
+    <T extends Number> IMatrix<T> transform(IMatrix<T> matrix);
+
+    Double[][] transform(Double[][] matrix);
+
+    // Scales one row without allocating
+    double[] transform(double[] row);
+
+    <T extends Number> IMatrix<T> inverseTransform(IMatrix<T> matrix);
+
+    Double[][] inverseTransform(Double[][] matrix);
+
+    double[] inverseTransform(double[] row);
+}
@@ -0,0 +1,169 @@
+package caebr.statistics;
+
+import caebr.matrix.IMatrix;
+
+// Scaler that maps every value of column j to value * scale[j] + offset[j]. Subclasses derive
+// scale and offset from the column summaries of the data fitted so far.
+abstract class LinearScaler implements IScaler {
+
+    static final String SCALER_IS_NOT_FITTED = "Scaler is not fitted";
+    static final String NUMBER_OF_COLUMNS_DOES_NOT_MATCH = "Number of columns does not match the fitted scaler";
+
+    private ColumnSummaries summaries;
+
+    double[] scale;
+    double[] offset;
+
+    // Sets scale and offset from the summaries of all fitted rows
+    abstract void computeParameters(ColumnSummaries summaries);
+
+    @Override
+    public IScaler fit(IMatrix<?> matrix) {
+        summaries = null;
+        return partialFit(matrix);
+    }
+
+    @Override
+    public IScaler fit(Double[][] matrix) {
+        summaries = null;
+        return partialFit(matrix);
+    }
+
+    @Override
+    public IScaler partialFit(IMatrix<?> matrix) {
+        return partialFit(matrix.columnSummaries());
+    }
+
+    @Override
+    public IScaler partialFit(Double[][] matrix) {
+        return partialFit(Stats.columnSummaries(matrix));
+    }
+
+    private IScaler partialFit(ColumnSummaries batch) {
+
+        if (summaries == null)
+            summaries = batch;
+        else if (batch.getToColumn() - batch.getFromColumn() != scale.length)
+            throw new IllegalArgumentException(NUMBER_OF_COLUMNS_DOES_NOT_MATCH);
+        else
+            summaries.combine(batch);
+
+        computeParameters(summaries);
+
+        return this;
+    }
+
+    @Override
+    public boolean isFitted() {
+        return summaries != null;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        checkFitted();
+        return scale.length;
+    }
+
+    // Summaries of all fitted rows
+    public ColumnSummaries getColumnSummaries() {
+        checkFitted();
+        return summaries;
+    }
+
+    public double[] getScale() {
+        checkFitted();
+        return scale.clone();
+    }
+
+    public double[] getOffset() {
+        checkFitted();
+        return offset.clone();
+    }
+
+    @Override
+    public <T extends Number> IMatrix<T> transform(IMatrix<T> matrix) {
+
+        checkColumns(matrix.getColumnNumber());
+
+        double[] scale = this.scale;
+        double[] offset = this.offset;
+
+        return matrix.mapIndexed((i, j, value) -> value * scale[j] + offset[j]);
+    }
+
+    @Override
+    public Double[][] transform(Double[][] matrix) {
+
+        for (Double[] row : matrix) {
+            checkColumns(row.length);
+
+            for (int j = 0; j < row.length; j++) {
+                row[j] = row[j] * scale[j] + offset[j];
+            }
+        }
+
+        return matrix;
+    }
+
+    @Override
+    public double[] transform(double[] row) {
+
+        checkColumns(row.length);
+
+        for (int j = 0; j < row.length; j++) {
+            row[j] = row[j] * scale[j] + offset[j];
+        }
+
+        return row;
+    }
+
+    @Override
+    public <T extends Number> IMatrix<T> inverseTransform(IMatrix<T> matrix) {
+
+        checkColumns(matrix.getColumnNumber());
+
+        double[] scale = this.scale;
+        double[] offset = this.offset;
+
+        return matrix.mapIndexed((i, j, value) -> (value - offset[j]) / scale[j]);
+    }
+
+    @Override
+    public Double[][] inverseTransform(Double[][] matrix) {
+
+        for (Double[] row : matrix) {
+            checkColumns(row.length);
+
+            for (int j = 0; j < row.length; j++) {
+                row[j] = (row[j] - offset[j]) / scale[j];
+            }
+        }
+
+        return matrix;
+    }
+
+    @Override
+    public double[] inverseTransform(double[] row) {
+
+        checkColumns(row.length);
+
+        for (int j = 0; j < row.length; j++) {
+            row[j] = (row[j] - offset[j]) / scale[j];
+        }
+
+        return row;
+    }
+
+    private void checkFitted() {
+        if (summaries == null)
+            throw new IllegalStateException(SCALER_IS_NOT_FITTED);
+    }
+
+    private void checkColumns(int columnNumber) {
+
+        checkFitted();
+
+        if (columnNumber != scale.length)
+            throw new IllegalArgumentException(NUMBER_OF_COLUMNS_DOES_NOT_MATCH);
+    }
+}
@@ -0,0 +1,48 @@
+package caebr.statistics;
+
+// Maps the fitted min and max of every column to min and max, like Stats.minMaxNormalization.
+// A column whose fitted values are all equal is only shifted, its value is mapped to min.
+public class MinMaxScaler extends LinearScaler {
+
+    private final double min;
+    private final double max;
+
+    public MinMaxScaler() {
+        this(0, 1);
+    }
+
+    public MinMaxScaler(double min, double max) {
+
+        if (min > max)
+            throw new IllegalArgumentException("Min value is greater than max value");
+
+        if (min == max)
+            throw new IllegalArgumentException("Min value is equal to max value");
+
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    void computeParameters(ColumnSummaries summaries) {
+
+        double[] minOfColumns = summaries.getMin();
+        double[] rangeOfColumns = summaries.getRange();
+
+        scale = new double[minOfColumns.length];
+        offset = new double[minOfColumns.length];
+
+        for (int j = 0; j < scale.length; j++) {
+            scale[j] = rangeOfColumns[j] == 0 ? 1 : (max - min) / rangeOfColumns[j];
+            offset[j] = min - minOfColumns[j] * scale[j];
+        }
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
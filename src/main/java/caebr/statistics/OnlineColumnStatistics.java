@@ -0,0 +1,205 @@
+package caebr.statistics;
+
+// Count, sum, mean and variance of every column, updated row by row as rows are added, removed or
+// replaced, so the statistics of a growing or sliding window are O(1) reads.
+//
+// Adding follows Welford's method and removing inverts it: with n rows and mean m, removing x
+// gives m' = m - (x - m) / (n - 1) and m2' = m2 - (x - m) * (x - m'). Sums are Kahan compensated.
+// The updates are those of ColumnMoments, shared with SummaryStatistics and ColumnSummaries.
+// Removal is exact in exact arithmetic but rounding errors of long add/remove sequences add up,
+// so a window that lives for very long should be rebuilt now and then. Min and max cannot be
+// updated when a row is removed and are not kept, see ColumnSummaries for them.
+// Variance follows Stats: divided by n for 30 or more rows and by n - 1 below that. Without rows
+// every value is 0.0. Statistics of disjoint rows are merged with combine.
+public class OnlineColumnStatistics {
+
+    static final String ROW_LENGTH_DOES_NOT_MATCH = "Row length must be equal to the number of columns";
+    static final String NO_ROWS_TO_REMOVE = "There are no rows to remove";
+
+    private long count;
+    private final ColumnMoments moments;
+
+    public OnlineColumnStatistics(int columnNumber) {
+
+        if (columnNumber < 0)
+            throw new IllegalArgumentException("Number of columns cannot be negative");
+
+        this.moments = new ColumnMoments(columnNumber);
+    }
+
+    public static OnlineColumnStatistics of(Double[][] matrix) {
+
+        OnlineColumnStatistics statistics = new OnlineColumnStatistics(matrix.length == 0 ? 0 : matrix[0].length);
+
+        for (Double[] row : matrix) {
+            statistics.acceptRow(row);
+        }
+
+        return statistics;
+    }
+
+    public OnlineColumnStatistics acceptRow(Double[] row) {
+
+        checkRow(row.length);
+
+        count++;
+
+        for (int j = 0; j < moments.mean.length; j++) {
+            moments.add(j, row[j], count);
+        }
+
+        return this;
+    }
+
+    public OnlineColumnStatistics acceptRow(double[] row) {
+
+        checkRow(row.length);
+
+        count++;
+
+        for (int j = 0; j < moments.mean.length; j++) {
+            moments.add(j, row[j], count);
+        }
+
+        return this;
+    }
+
+    // Removes a row that was added before, e.g. the oldest row of a sliding window
+    public OnlineColumnStatistics removeRow(Double[] row) {
+
+        checkRow(row.length);
+
+        if (count == 0)
+            throw new IllegalArgumentException(NO_ROWS_TO_REMOVE);
+
+        if (--count == 0) {
+            clear();
+            return this;
+        }
+
+        for (int j = 0; j < moments.mean.length; j++) {
+            moments.remove(j, row[j], count);
+        }
+
+        return this;
+    }
+
+    public OnlineColumnStatistics removeRow(double[] row) {
+
+        checkRow(row.length);
+
+        if (count == 0)
+            throw new IllegalArgumentException(NO_ROWS_TO_REMOVE);
+
+        if (--count == 0) {
+            clear();
+            return this;
+        }
+
+        for (int j = 0; j < moments.mean.length; j++) {
+            moments.remove(j, row[j], count);
+        }
+
+        return this;
+    }
+
+    // Adds a value to statistics of a single column, without wrapping it in a row
+    public OnlineColumnStatistics accept(double value) {
+
+        checkRow(1);
+
+        count++;
+        moments.add(0, value, count);
+
+        return this;
+    }
+
+    // Removes a value from statistics of a single column
+    public OnlineColumnStatistics remove(double value) {
+
+        checkRow(1);
+
+        if (count == 0)
+            throw new IllegalArgumentException(NO_ROWS_TO_REMOVE);
+
+        if (--count == 0) {
+            clear();
+            return this;
+        }
+
+        moments.remove(0, value, count);
+
+        return this;
+    }
+
+    public OnlineColumnStatistics replaceRow(Double[] oldRow, Double[] newRow) {
+        return removeRow(oldRow).acceptRow(newRow);
+    }
+
+    // Merges the rows of other into this one (Chan et al. pairwise update)
+    public OnlineColumnStatistics combine(OnlineColumnStatistics other) {
+
+        checkRow(other.moments.mean.length);
+
+        if (other.count == 0)
+            return this;
+
+        for (int j = 0; j < moments.mean.length; j++) {
+            moments.combine(j, other.moments, j, count, other.count);
+        }
+
+        count += other.count;
+
+        return this;
+    }
+
+    public void clear() {
+
+        count = 0;
+
+        moments.clear();
+    }
+
+    private void checkRow(int length) {
+        if (length != moments.mean.length)
+            throw new IllegalArgumentException(ROW_LENGTH_DOES_NOT_MATCH);
+    }
+
+    // Number of rows
+    public long getCount() {
+        return count;
+    }
+
+    public int getColumnNumber() {
+        return moments.mean.length;
+    }
+
+    public double getSum(int column) {
+        return moments.sum[column];
+    }
+
+    public double getMean(int column) {
+        return moments.mean(column, count);
+    }
+
+    // Sum of squared differences from the mean
+    public double getM2(int column) {
+        return moments.m2[column];
+    }
+
+    public double getVariance(int column) {
+        return moments.variance(column, count);
+    }
+
+    public double getStandardDeviation(int column) {
+        return Math.sqrt(getVariance(column));
+    }
+
+    @Override
+    public String toString() {
+        return "OnlineColumnStatistics{" +
+                "columns=" + moments.mean.length +
+                ", count=" + count +
+                '}';
+    }
+}
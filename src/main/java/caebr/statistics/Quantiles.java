@@ -0,0 +1,262 @@
+package caebr.statistics;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Order statistics of primitive buffers without sorting them. The buffers are reordered in place,
+// so callers pass a scratch copy.
+//
+// select moves the k-th smallest value to index k, with smaller values before it and larger ones
+// after it: quickselect with a median-of-three pivot and a three-way partition, so repeated values
+// do not slow it down. If the range does not shrink within 2 * log2(n) partitions the rest of it
+// is sorted, which keeps the worst case at O(n log n) (introselect). The expected cost is O(n).
+// A quantile p interpolates linearly between the values of rank floor(h) and floor(h) + 1,
+// h = (n - 1) * p, which gives the usual median for p = 0.5. Several quantiles are selected in
+// ascending order, each one only searching to the right of the rank selected before it.
+// NaN values are ordered after all other values, as in Arrays.sort.
+public final class Quantiles {
+
+    static final String QUANTILE_MUST_BE_BETWEEN_0_AND_1 = "Quantile must be between 0 and 1";
+
+    // Ranges up to this size are insertion sorted
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private Quantiles() {}
+
+    public static double median(double[] values, int length) {
+        return quantile(values, length, 0.5);
+    }
+
+    public static double quantile(double[] values, int length, double p) {
+        return quantiles(values, length, p)[0];
+    }
+
+    // Returns the quantiles in the order of ps. An empty buffer gives 0.0 for every quantile.
+    public static double[] quantiles(double[] values, int length, double... ps) {
+
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(ps);
+
+        for (double p : ps) {
+            if (!(p >= 0d && p <= 1d))
+                throw new IllegalArgumentException(QUANTILE_MUST_BE_BETWEEN_0_AND_1);
+        }
+
+        double[] result = new double[ps.length];
+
+        if (length == 0)
+            return result;
+
+        int numbers = moveNaNsToEnd(values, length);
+
+        int[] order = ascendingOrder(ps);
+
+        int from = 0;
+
+        for (int index : order) {
+            double h = (length - 1) * ps[index];
+            int lower = (int) h;
+            double fraction = h - lower;
+
+            double lowerValue = select(values, from, numbers, lower);
+
+            if (fraction == 0d) {
+                result[index] = lowerValue;
+            }
+            else {
+                double upperValue = minimum(values, lower + 1, numbers);
+
+                result[index] = lowerValue + fraction * (upperValue - lowerValue);
+            }
+
+            from = Math.min(lower, numbers);
+        }
+
+        return result;
+    }
+
+    // Quantiles of length values of which only the first count of nonZeros are not 0, as stored by
+    // sparse matrices and vectors. The non-zero values are sorted in place, the zeros are counted
+    // between the negative and the positive ones without being materialized.
+    public static double[] quantilesWithZeros(double[] nonZeros, int count, long length, double... ps) {
+
+        Objects.requireNonNull(nonZeros);
+        Objects.requireNonNull(ps);
+
+        for (double p : ps) {
+            if (!(p >= 0d && p <= 1d))
+                throw new IllegalArgumentException(QUANTILE_MUST_BE_BETWEEN_0_AND_1);
+        }
+
+        double[] result = new double[ps.length];
+
+        if (length == 0)
+            return result;
+
+        Arrays.sort(nonZeros, 0, count);
+
+        long zeros = length - count;
+        int negatives = 0;
+        int nans = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (nonZeros[i] < 0)
+                negatives++;
+            else if (Double.isNaN(nonZeros[i]))
+                nans++;
+        }
+
+        long numbers = length - nans;
+
+        for (int i = 0; i < ps.length; i++) {
+            double h = (length - 1) * ps[i];
+            long lower = (long) h;
+            double fraction = h - lower;
+
+            double lowerValue = valueOfRank(nonZeros, negatives, zeros, numbers, lower);
+
+            if (fraction == 0d)
+                result[i] = lowerValue;
+            else
+                result[i] = lowerValue + fraction * (valueOfRank(nonZeros, negatives, zeros, numbers, lower + 1) - lowerValue);
+        }
+
+        return result;
+    }
+
+    // Value of the given rank among the sorted non-zero values with the zeros after the negative ones
+    private static double valueOfRank(double[] sorted, int negatives, long zeros, long numbers, long rank) {
+
+        if (rank >= numbers)
+            return Double.NaN;
+
+        if (rank < negatives)
+            return sorted[(int) rank];
+
+        if (rank < negatives + zeros)
+            return 0d;
+
+        return sorted[(int) (rank - zeros)];
+    }
+
+    // Returns the k-th smallest value of [from, to) and leaves it at index k. Ranks at or past to
+    // are the NaN values moved behind the range.
+    public static double select(double[] values, int from, int to, int k) {
+
+        if (k >= to)
+            return Double.NaN;
+
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+
+            if (depthLimit-- == 0) {
+                Arrays.sort(values, from, to);
+                return values[k];
+            }
+
+            double pivot = medianOfThree(values[from], values[(from + to) >>> 1], values[to - 1]);
+
+            // [from, lower) < pivot, [lower, i) == pivot, (upper, to) > pivot
+            int lower = from;
+            int i = from;
+            int upper = to - 1;
+
+            while (i <= upper) {
+                double value = values[i];
+
+                if (value < pivot)
+                    swap(values, lower++, i++);
+                else if (value > pivot)
+                    swap(values, i, upper--);
+                else
+                    i++;
+            }
+
+            if (k < lower)
+                to = lower;
+            else if (k > upper)
+                from = upper + 1;
+            else
+                return pivot;
+        }
+
+        insertionSort(values, from, to);
+
+        return values[k];
+    }
+
+    // Returns the number of values that are not NaN, which now come first
+    private static int moveNaNsToEnd(double[] values, int length) {
+
+        int numbers = length;
+
+        for (int i = 0; i < numbers; ) {
+            if (Double.isNaN(values[i]))
+                swap(values, i, --numbers);
+            else
+                i++;
+        }
+
+        return numbers;
+    }
+
+    private static double minimum(double[] values, int from, int to) {
+
+        if (from >= to)
+            return Double.NaN;
+
+        double min = values[from];
+
+        for (int i = from + 1; i < to; i++) {
+            if (values[i] < min)
+                min = values[i];
+        }
+
+        return min;
+    }
+
+    // Indexes of ps sorted by value, ps is usually a handful of values
+    private static int[] ascendingOrder(double[] ps) {
+
+        int[] order = new int[ps.length];
+
+        for (int i = 0; i < ps.length; i++) {
+            int j = i;
+
+            while (j > 0 && ps[order[j - 1]] > ps[i]) {
+                order[j] = order[j - 1];
+                j--;
+            }
+
+            order[j] = i;
+        }
+
+        return order;
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void insertionSort(double[] values, int from, int to) {
+
+        for (int i = from + 1; i < to; i++) {
+            double value = values[i];
+            int j = i - 1;
+
+            while (j >= from && values[j] > value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+
+            values[j + 1] = value;
+        }
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+}
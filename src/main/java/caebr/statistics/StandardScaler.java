@@ -0,0 +1,21 @@
+package caebr.statistics;
+
+// Maps every column to mean 0 and standard deviation 1 of the fitted values, like
+// Stats.zScoreStandardization. A column with a standard deviation of 0 is only centered.
+public class StandardScaler extends LinearScaler {
+
+    @Override
+    void computeParameters(ColumnSummaries summaries) {
+
+        double[] meanOfColumns = summaries.getMean();
+        double[] sdOfColumns = summaries.getStandardDeviation();
+
+        scale = new double[meanOfColumns.length];
+        offset = new double[meanOfColumns.length];
+
+        for (int j = 0; j < scale.length; j++) {
+            scale[j] = sdOfColumns[j] == 0 || Double.isNaN(sdOfColumns[j]) ? 1 : 1 / sdOfColumns[j];
+            offset[j] = -meanOfColumns[j] * scale[j];
+        }
+    }
+}
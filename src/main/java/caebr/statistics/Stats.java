@@ -1,5 +1,7 @@
 package caebr.statistics;
 
+import caebr.util.DoubleCountMap;
+import caebr.util.DoubleHashSet;
 import caebr.util.NumberUtils;
 
 import java.util.*;
@@ -107,123 +109,120 @@ public class Stats {
     }
 
     public static Double median(List<Double> currentVector) {
-        if (currentVector.isEmpty())
-            return 0.0;
+        return quantiles(currentVector, 0.5)[0];
+    }
+
+    public static Double median(Double[] vector) {
+        return quantiles(vector, 0.5)[0];
+    }
 
-        List<Double> tempList = new ArrayList<>(currentVector);
+    // Linear interpolation between the two closest ranks, see Quantiles. Each p must be in [0, 1].
+    public static double[] quantiles(List<Double> currentVector, double... ps) {
 
-        sortTemporaryList(tempList);
+        double[] values = new double[currentVector.size()];
 
-        if (tempList.size() % 2 == 0)
-            return (tempList.get(tempList.size() / 2) + tempList.get(tempList.size() / 2 - 1)) / 2;
-        else
-            return tempList.get(tempList.size() / 2);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = currentVector.get(i);
+        }
+
+        return Quantiles.quantiles(values, values.length, ps);
     }
 
-    public static Double median(Double[] vector) {
-        if (vector.length == 0)
-            return 0.0;
+    public static double[] quantiles(Double[] vector, double... ps) {
 
-        List<Double> tempList = new ArrayList<>(Arrays.asList(vector));
+        double[] values = new double[vector.length];
 
-        Collections.sort(tempList);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = vector[i];
+        }
 
-        if (tempList.size() % 2 == 0)
-            return (tempList.get(tempList.size() / 2) + tempList.get(tempList.size() / 2 - 1)) / 2;
-        else
-            return tempList.get(tempList.size() / 2);
+        return Quantiles.quantiles(values, values.length, ps);
     }
 
+    // Modes in the order of their first occurrence, empty if no value occurs twice.
+    // Values are compared like Double.equals, see DoubleHashSet.
     public static List<Double> mode(List<Double> currentVector) {
-        List<Double> listOfModes = new ArrayList<>();
-
-        HashMap<Double, Integer> map = new HashMap<>();
 
-        Integer maxCount = 0;
+        DoubleCountMap counts = new DoubleCountMap();
 
         for (Double d: currentVector) {
-            if (map.containsKey(d)) {
-                map.put(d, map.get(d) + 1);
-                if (map.get(d) > maxCount)
-                    maxCount = map.get(d);
-            }
-            else
-                map.put(d, 1);
+            counts.increment(d);
         }
 
-        if (maxCount == 1)
-            return listOfModes;
+        return modes(counts);
+    }
+
+    public static List<Double> mode(Double[] vector) {
 
-        for (Double d: map.keySet()) {
-            if (map.get(d).equals(maxCount))
-                listOfModes.add(d);
+        DoubleCountMap counts = new DoubleCountMap();
+
+        for (Double d: vector) {
+            counts.increment(d);
         }
 
-        return listOfModes;
+        return modes(counts);
     }
 
-    public static List<Double> mode(Double[] vector) {
-        List<Double> listOfModes = new ArrayList<>();
+    private static List<Double> modes(DoubleCountMap counts) {
 
-        HashMap<Double, Integer> map = new HashMap<>();
+        if (counts.getMaxCount() <= 1)
+            return new ArrayList<>();
 
-        Integer maxCount = 0;
+        return counts.keysWithMaxCount();
+    }
 
-        for (Double d: vector) {
-            if (map.containsKey(d)) {
-                map.put(d, map.get(d) + 1);
-                if (map.get(d) > maxCount)
-                    maxCount = map.get(d);
-            }
-            else
-                map.put(d, 1);
-        }
+    // Count, sum, mean, variance, min and max in one pass over the values
+    public static SummaryStatistics summaryStatistics(List<Double> currentVector) {
 
-        if (maxCount == 1)
-            return listOfModes;
+        SummaryStatistics statistics = new SummaryStatistics();
 
-        for (Double d: map.keySet()) {
-            if (map.get(d).equals(maxCount))
-                listOfModes.add(d);
+        for (Double d : currentVector) {
+            statistics.accept(d);
         }
 
-        return listOfModes;
+        return statistics;
     }
 
-    public static Double variance(List<Double> currentVector) {
+    public static SummaryStatistics summaryStatistics(Double[] vector) {
 
-        if (currentVector.isEmpty())
-            return 0.0;
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        for (Double d : vector) {
+            statistics.accept(d);
+        }
+
+        return statistics;
+    }
 
-        Double mean = mean(currentVector);
+    // Approximate quantiles with bounded memory, see TDigest
+    public static TDigest tDigest(List<Double> currentVector, double compression) {
 
-        double sumOfSquaredDifferences = 0.0;
+        TDigest digest = new TDigest(compression);
 
         for (Double d : currentVector) {
-            sumOfSquaredDifferences += Math.pow(d - mean, 2);
+            digest.accept(d);
         }
 
-        int n = currentVector.size() >= 30 ? currentVector.size() : currentVector.size() - 1;
-
-        return sumOfSquaredDifferences / n;
+        return digest;
     }
 
-    public static Double variance(Double[] vector) {
-
-        if (vector.length == 0)
-            return 0.0;
+    public static TDigest tDigest(Double[] vector, double compression) {
 
-        Double mean = mean(vector);
-
-        double sumOfSquaredDifferences = 0.0;
+        TDigest digest = new TDigest(compression);
 
         for (Double d : vector) {
-            sumOfSquaredDifferences += Math.pow(d - mean, 2);
+            digest.accept(d);
         }
 
-        int n = vector.length >= 30 ? vector.length : vector.length - 1;
+        return digest;
+    }
 
-        return sumOfSquaredDifferences / n;
+    public static Double variance(List<Double> currentVector) {
+        return summaryStatistics(currentVector).getVariance();
+    }
+
+    public static Double variance(Double[] vector) {
+        return summaryStatistics(vector).getVariance();
     }
 
     public static Double standardDeviation(List<Double> currentVector) {
@@ -234,25 +233,66 @@ public class Stats {
         return Math.sqrt(variance(vector));
     }
 
+    // Distinct values in the order of their first occurrence, compared like Double.equals
     public static List<Double> distinct(List<Double> currentVector) {
-        if (currentVector.isEmpty())
-            return new ArrayList<>();
 
-        Set<Double> set = new LinkedHashSet<>();
+        DoubleHashSet set = new DoubleHashSet();
 
-        for (int i = 0; i < currentVector.size(); i++)
-            set.add(currentVector.get(i));
+        for (Double d : currentVector)
+            set.add(d);
 
-        return new ArrayList<>(set);
+        return set.toList();
     }
 
     public static List<Double> distinct(Double[] vector) {
-        if (vector.length == 0)
-            return new ArrayList<>();
 
-        Set<Double> set = new LinkedHashSet<>(Arrays.asList(vector));
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (Double d : vector)
+            set.add(d);
+
+        return set.toList();
+    }
+
+    public static int distinctCount(List<Double> currentVector) {
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (Double d : currentVector)
+            set.add(d);
 
-        return new ArrayList<>(set);
+        return set.size();
+    }
+
+    public static int distinctCount(Double[] vector) {
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (Double d : vector)
+            set.add(d);
+
+        return set.size();
+    }
+
+    // Estimated number of distinct values in constant memory, see HyperLogLog
+    public static long approxDistinctCount(List<Double> currentVector, int precision) {
+
+        HyperLogLog sketch = new HyperLogLog(precision);
+
+        for (Double d : currentVector)
+            sketch.accept(d);
+
+        return sketch.estimate();
+    }
+
+    public static long approxDistinctCount(Double[] vector, int precision) {
+
+        HyperLogLog sketch = new HyperLogLog(precision);
+
+        for (Double d : vector)
+            sketch.accept(d);
+
+        return sketch.estimate();
     }
 
     public static Double range(List<Double> currentVector) {
@@ -398,22 +438,15 @@ public class Stats {
                 .toArray(new Double[0]);
     }
 
-    private static List<Double> sortTemporaryList(List<Double> tempList) {
-        Collections.sort(tempList);
-
-        return tempList;
-    }
-
     private static List<Double> zScoreStandardizationInternal(List<Double> vector) {
 
         if (vector.isEmpty())
             return vector;
 
-        Double[] doubleArray = vector.toArray(new Double[0]);
-
-        Double mean = Stats.mean(doubleArray);
+        SummaryStatistics statistics = summaryStatistics(vector);
 
-        Double standardDeviation = standardDeviation(doubleArray);
+        double mean = statistics.getMean();
+        double standardDeviation = statistics.getStandardDeviation();
 
         return vector
                 .stream()
@@ -548,36 +581,15 @@ public class Stats {
 
         checkColumnIndexes(matrix, fromColumn, toColumn);
 
-        List<Double> listOfModes = new ArrayList<>();
-
-        HashMap<Double, Integer> map = new HashMap<>();
-
-        Integer maxCount = 0;
+        DoubleCountMap counts = new DoubleCountMap();
 
         for (int i = fromColumn; i < toColumn; i++) {
             for (int j = 0; j < matrix.length; j++) {
-
-                Double d = matrix[j][i];
-
-                if (map.containsKey(d)) {
-                    map.put(d, map.get(d) + 1);
-                    if (map.get(d) > maxCount)
-                        maxCount = map.get(d);
-                }
-                else
-                    map.put(d, 1);
+                counts.increment(matrix[j][i]);
             }
         }
 
-        if (maxCount == 1)
-            return listOfModes;
-
-        for (Double d: map.keySet()) {
-            if (map.get(d).equals(maxCount))
-                listOfModes.add(d);
-        }
-
-        return listOfModes;
+        return modes(counts);
     }
 
     public static Double variance(Double[][] matrix) {
@@ -589,28 +601,72 @@ public class Stats {
     }
 
     public static Double variance(Double[][] matrix, int fromColumn, int toColumn) {
+        return summaryStatistics(matrix, fromColumn, toColumn).getVariance();
+    }
+
+    public static SummaryStatistics summaryStatistics(Double[][] matrix) {
+        return summaryStatistics(matrix, 0, matrix[0].length);
+    }
+
+    public static SummaryStatistics summaryStatistics(Double[][] matrix, int column) {
+        return summaryStatistics(matrix, column, column + 1);
+    }
+
+    // Count, sum, mean, variance, min and max of the columns in one pass, row by row
+    public static SummaryStatistics summaryStatistics(Double[][] matrix, int fromColumn, int toColumn) {
 
         checkColumnIndexes(matrix, fromColumn, toColumn);
 
-        if (matrix.length == 0 || matrix[0].length == 0)
-            return 0.0;
+        SummaryStatistics statistics = new SummaryStatistics();
 
-        Double mean = mean(matrix, fromColumn, toColumn);
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = fromColumn; j < toColumn; j++) {
+                statistics.accept(matrix[i][j]);
+            }
+        }
 
-        double sumOfSquaredDifferences = 0.0;
+        return statistics;
+    }
 
-        for (int i = fromColumn; i < toColumn; i++) {
-            for (int j = 0; j < matrix.length; j++) {
-                Double d = matrix[j][i];
-                sumOfSquaredDifferences += Math.pow(d - mean, 2);
+    public static TDigest tDigest(Double[][] matrix, double compression) {
+        return tDigest(matrix, 0, matrix[0].length, compression);
+    }
+
+    public static TDigest tDigest(Double[][] matrix, int column, double compression) {
+        return tDigest(matrix, column, column + 1, compression);
+    }
+
+    public static TDigest tDigest(Double[][] matrix, int fromColumn, int toColumn, double compression) {
+
+        checkColumnIndexes(matrix, fromColumn, toColumn);
+
+        TDigest digest = new TDigest(compression);
+
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = fromColumn; j < toColumn; j++) {
+                digest.accept(matrix[i][j]);
             }
         }
 
-        int n = matrix.length * (toColumn - fromColumn);
+        return digest;
+    }
+
+    public static ColumnSummaries columnSummaries(Double[][] matrix) {
+        return columnSummaries(matrix, 0, matrix[0].length);
+    }
+
+    // Statistics of every column in one row-major pass, see ColumnSummaries
+    public static ColumnSummaries columnSummaries(Double[][] matrix, int fromColumn, int toColumn) {
+
+        checkColumnIndexes(matrix, fromColumn, toColumn);
+
+        ColumnSummaries summaries = new ColumnSummaries(fromColumn, toColumn);
 
-        n = n >= 30 ? n : n - 1;
+        for (Double[] row : matrix) {
+            summaries.acceptRow(row);
+        }
 
-        return sumOfSquaredDifferences / n;
+        return summaries;
     }
 
     public static Double standardDeviation(Double[][] matrix) {
@@ -637,7 +693,26 @@ public class Stats {
 
         checkColumnIndexes(matrix, fromColumn, toColumn);
 
-        return max(matrix, fromColumn, toColumn) - min(matrix, fromColumn, toColumn);
+        if (matrix.length == 0 || matrix[0].length == 0)
+            return 0.0;
+
+        // One pass for both ends, with the same starting values as max and min
+        double max = Double.MIN_VALUE;
+        double min = Double.MAX_VALUE;
+
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = fromColumn; j < toColumn; j++) {
+                double value = matrix[i][j];
+
+                if (value > max)
+                    max = value;
+
+                if (value < min)
+                    min = value;
+            }
+        }
+
+        return max - min;
     }
 
     public static Double median(Double[][] matrix) {
@@ -649,22 +724,33 @@ public class Stats {
     }
 
     public static Double median(Double[][] matrix, int fromColumn, int toColumn) {
+        return quantiles(matrix, fromColumn, toColumn, 0.5)[0];
+    }
 
-        checkColumnIndexes(matrix, fromColumn, toColumn);
+    public static double[] quantiles(Double[][] matrix, double... ps) {
+        return quantiles(matrix, 0, matrix[0].length, ps);
+    }
 
-        if (matrix.length == 0 || matrix[0].length == 0)
-            return 0.0;
+    public static double[] quantiles(Double[][] matrix, int column, double... ps) {
+        return quantiles(matrix, column, column + 1, ps);
+    }
 
-        Double[] columnArray = toArray(matrix, fromColumn, toColumn);
+    // All quantiles come from one primitive copy of the columns
+    public static double[] quantiles(Double[][] matrix, int fromColumn, int toColumn, double... ps) {
 
-        Arrays.sort(columnArray);
+        checkColumnIndexes(matrix, fromColumn, toColumn);
 
-        if (columnArray.length % 2 == 0) {
-            return (columnArray[columnArray.length / 2] + columnArray[columnArray.length / 2 - 1]) / 2;
-        }
-        else {
-            return columnArray[columnArray.length / 2];
+        double[] values = new double[matrix.length * (toColumn - fromColumn)];
+
+        int index = 0;
+
+        for (int j = fromColumn; j < toColumn; j++) {
+            for (Double[] row : matrix) {
+                values[index++] = row[j];
+            }
         }
+
+        return Quantiles.quantiles(values, values.length, ps);
     }
 
     public static Double[][] minMaxNormalization(Double[][] matrix, long min, long max, int column) {
@@ -679,19 +765,20 @@ public class Stats {
         if (min == max)
             throw new IllegalArgumentException("Min value is equal to max value");
 
-        checkColumnIndexes(matrix, fromColumn, toColumn);
-
-        for (int i = fromColumn; i < toColumn; i++) {
+        ColumnSummaries summaries = columnSummaries(matrix, fromColumn, toColumn);
 
-            Double minDouble = min(matrix, i);
-            Double maxDouble = max(matrix, i);
+        double[] minOfColumns = summaries.getMin();
+        double[] maxOfColumns = summaries.getMax();
 
-            if (minDouble.equals(maxDouble))
+        for (int k = 0; k < minOfColumns.length; k++) {
+            if (minOfColumns[k] == maxOfColumns[k])
                 throw new IllegalArgumentException("Min value is equal to max value");
+        }
 
-            for (int j = 0; j < matrix.length; j++) {
-                Double d = matrix[j][i];
-                matrix[j][i] = (d - minDouble) / (maxDouble - minDouble) * (max - min) + min;
+        for (Double[] row : matrix) {
+            for (int i = fromColumn; i < toColumn; i++) {
+                int k = i - fromColumn;
+                row[i] = (row[i] - minOfColumns[k]) / (maxOfColumns[k] - minOfColumns[k]) * (max - min) + min;
             }
         }
 
@@ -721,14 +808,15 @@ public class Stats {
         if (matrix.length == 0 || matrix[0].length == 0)
             return matrix;
 
-        for (int i = fromColumn; i < toColumn; i++) {
+        ColumnSummaries summaries = columnSummaries(matrix, fromColumn, toColumn);
 
-            double meanOfColumn = mean(matrix, i);
-            double sd = standardDeviation(matrix, i);
+        double[] meanOfColumns = summaries.getMean();
+        double[] sdOfColumns = summaries.getStandardDeviation();
 
-            for (int j = 0; j < matrix.length; j++) {
-                double d = matrix[j][i];
-                matrix[j][i] = (d - meanOfColumn) / sd;
+        for (Double[] row : matrix) {
+            for (int i = fromColumn; i < toColumn; i++) {
+                int k = i - fromColumn;
+                row[i] = (row[i] - meanOfColumns[k]) / sdOfColumns[k];
             }
         }
 
@@ -827,7 +915,7 @@ public class Stats {
     public static List<Double> distinct(Double[][] matrix, int fromColumn, int toColumn) {
         checkColumnIndexes(matrix, fromColumn, toColumn);
 
-        Set<Double> set = new LinkedHashSet<>();
+        DoubleHashSet set = new DoubleHashSet();
 
         for (int i = fromColumn; i < toColumn; i++) {
             for (int j = 0; j < matrix.length; j++) {
@@ -835,9 +923,52 @@ public class Stats {
             }
         }
 
-        return new ArrayList<>(set);
+        return set.toList();
+    }
+
+    public static int distinctCount(Double[][] matrix) {
+        return distinctCount(matrix, 0, matrix[0].length);
     }
 
+    public static int distinctCount(Double[][] matrix, int column) {
+        return distinctCount(matrix, column, column + 1);
+    }
+
+    public static int distinctCount(Double[][] matrix, int fromColumn, int toColumn) {
+        checkColumnIndexes(matrix, fromColumn, toColumn);
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (int i = fromColumn; i < toColumn; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                set.add(matrix[j][i]);
+            }
+        }
+
+        return set.size();
+    }
+
+    public static long approxDistinctCount(Double[][] matrix, int precision) {
+        return approxDistinctCount(matrix, 0, matrix[0].length, precision);
+    }
+
+    public static long approxDistinctCount(Double[][] matrix, int column, int precision) {
+        return approxDistinctCount(matrix, column, column + 1, precision);
+    }
+
+    public static long approxDistinctCount(Double[][] matrix, int fromColumn, int toColumn, int precision) {
+        checkColumnIndexes(matrix, fromColumn, toColumn);
+
+        HyperLogLog sketch = new HyperLogLog(precision);
+
+        for (int i = fromColumn; i < toColumn; i++) {
+            for (int j = 0; j < matrix.length; j++) {
+                sketch.accept(matrix[j][i]);
+            }
+        }
+
+        return sketch.estimate();
+    }
 
     public static Double[] toArray(Double[][] matrix, int column) {
 
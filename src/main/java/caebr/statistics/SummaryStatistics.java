@@ -0,0 +1,127 @@
+package caebr.statistics;
+
+import java.util.function.DoubleConsumer;
+
+// Count, sum, mean, variance, min and max of a sequence of values, collected in one pass.
+//
+// The mean and the sum of squared differences from the mean (m2) are updated with Welford's
+// method, which does not lose precision the way sum-of-squares formulas do for large values.
+// The sum is Kahan compensated. Two statistics over disjoint values can be merged with combine.
+// Variance follows Stats: divided by n for 30 or more values and by n - 1 below that. The updates
+// are those of ColumnMoments, for a single column.
+// An empty statistics object reports 0.0 for every value, like the Stats methods.
+public class SummaryStatistics implements DoubleConsumer {
+
+    private long count;
+    private final ColumnMoments moments = new ColumnMoments(1);
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public SummaryStatistics() {}
+
+    public static SummaryStatistics of(double... values) {
+
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        for (double value : values) {
+            statistics.accept(value);
+        }
+
+        return statistics;
+    }
+
+    @Override
+    public void accept(double value) {
+
+        count++;
+
+        moments.add(0, value, count);
+
+        if (value < min)
+            min = value;
+
+        if (value > max)
+            max = value;
+    }
+
+    // Adds value count times in O(1), e.g. the zeros a sparse matrix does not store
+    public void accept(double value, long count) {
+
+        if (count <= 0)
+            return;
+
+        this.count += count;
+
+        moments.add(0, value, count, this.count);
+
+        if (value < min)
+            min = value;
+
+        if (value > max)
+            max = value;
+    }
+
+    // Merges the values of other into this one (Chan et al. pairwise update)
+    public SummaryStatistics combine(SummaryStatistics other) {
+
+        if (other.count == 0)
+            return this;
+
+        moments.combine(0, other.moments, 0, count, other.count);
+
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return moments.sum[0];
+    }
+
+    public double getMean() {
+        return moments.mean(0, count);
+    }
+
+    public double getMin() {
+        return count == 0 ? 0.0 : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? 0.0 : max;
+    }
+
+    public double getRange() {
+        return getMax() - getMin();
+    }
+
+    // Sum of squared differences from the mean
+    public double getM2() {
+        return moments.m2[0];
+    }
+
+    public double getVariance() {
+        return moments.variance(0, count);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return "SummaryStatistics{" +
+                "count=" + count +
+                ", sum=" + getSum() +
+                ", mean=" + getMean() +
+                ", variance=" + getVariance() +
+                ", min=" + getMin() +
+                ", max=" + getMax() +
+                '}';
+    }
+}
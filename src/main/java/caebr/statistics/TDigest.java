@@ -0,0 +1,376 @@
+package caebr.statistics;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+// Streaming quantile sketch (merging t-digest, Dunning and Ertl) for data that is never held in
+// memory as a whole. Values are fed one by one with accept, two digests are merged with combine,
+// and the digest can be written to and read from bytes.
+//
+// The values are summarized by centroids (mean and weight) ordered by mean. New values are
+// collected in a buffer and merged into the centroids when the buffer is full. A centroid may
+// grow while its share of the quantile scale k(q) = compression / (2 * pi) * asin(2q - 1) stays
+// below 1, so centroids near the tails stay small and tail quantiles are the most accurate.
+// Memory is bounded by the compression: at most about compression centroids plus a buffer of
+// 5 * compression values. A larger compression gives smaller errors, the error of a quantile q
+// is roughly proportional to q * (1 - q) / compression.
+// NaN values are ignored. An empty digest reports 0.0 for every value, like the Stats methods.
+public class TDigest implements DoubleConsumer {
+
+    static final String COMPRESSION_MUST_BE_AT_LEAST_1 = "Compression must be at least 1";
+    static final String INVALID_ENCODING = "Bytes are not an encoded t-digest";
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    // Unmerged values per unit of compression
+    private static final int BUFFER_FACTOR = 5;
+
+    private final double compression;
+
+    private double[] means;
+    private double[] weights;
+    private int centroidCount;
+
+    private final double[] buffer;
+    private int bufferCount;
+
+    // Weight of the merged centroids, the buffer is not included
+    private double mergedWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+
+        if (!(compression >= 1))
+            throw new IllegalArgumentException(COMPRESSION_MUST_BE_AT_LEAST_1);
+
+        this.compression = compression;
+        this.means = new double[0];
+        this.weights = new double[0];
+        this.buffer = new double[(int) Math.ceil(BUFFER_FACTOR * compression)];
+    }
+
+    public static TDigest of(double... values) {
+
+        TDigest digest = new TDigest();
+
+        for (double value : values) {
+            digest.accept(value);
+        }
+
+        return digest;
+    }
+
+    @Override
+    public void accept(double value) {
+
+        if (Double.isNaN(value))
+            return;
+
+        if (bufferCount == buffer.length)
+            flush();
+
+        buffer[bufferCount++] = value;
+
+        if (value < min)
+            min = value;
+
+        if (value > max)
+            max = value;
+    }
+
+    // Adds value count times, e.g. the zeros a sparse matrix does not store. The copies are split
+    // over centroids under the same scale limit as count separate calls to accept, so a quantile
+    // that falls among them is value itself, not an interpolation towards a neighbour.
+    public void accept(double value, long count) {
+
+        if (Double.isNaN(value) || count <= 0)
+            return;
+
+        flush();
+
+        merge(new double[] {value}, new double[] {count}, 1, true);
+
+        if (value < min)
+            min = value;
+
+        if (value > max)
+            max = value;
+    }
+
+    // Merges the values of other into this one, other is left with the same values
+    public TDigest combine(TDigest other) {
+
+        other.flush();
+        flush();
+
+        if (other.centroidCount == 0)
+            return this;
+
+        merge(other.means, other.weights, other.centroidCount, false);
+
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        return this;
+    }
+
+    public long getCount() {
+        return (long) mergedWeight + bufferCount;
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    public int getCentroidCount() {
+        flush();
+        return centroidCount;
+    }
+
+    public double getMin() {
+        return getCount() == 0 ? 0.0 : min;
+    }
+
+    public double getMax() {
+        return getCount() == 0 ? 0.0 : max;
+    }
+
+    public double median() {
+        return quantile(0.5);
+    }
+
+    public double quantile(double p) {
+
+        if (!(p >= 0d && p <= 1d))
+            throw new IllegalArgumentException(Quantiles.QUANTILE_MUST_BE_BETWEEN_0_AND_1);
+
+        flush();
+
+        if (centroidCount == 0)
+            return 0.0;
+
+        if (centroidCount == 1)
+            return p == 0d ? min : p == 1d ? max : means[0];
+
+        double index = p * mergedWeight;
+
+        if (index < 1)
+            return min;
+
+        if (index > mergedWeight - 1)
+            return max;
+
+        // Between min and the center of the first centroid, and likewise at the other end
+        if (weights[0] > 1 && index < weights[0] / 2)
+            return min + (index - 1) / (weights[0] / 2 - 1) * (means[0] - min);
+
+        int last = centroidCount - 1;
+
+        if (weights[last] > 1 && mergedWeight - index <= weights[last] / 2)
+            return max - (mergedWeight - index - 1) / (weights[last] / 2 - 1) * (max - means[last]);
+
+        // Interpolate between the centers of the two centroids around index
+        double weightSoFar = weights[0] / 2;
+
+        for (int i = 0; i < last; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+
+            if (weightSoFar + gap > index) {
+                double left = index - weightSoFar;
+                double right = weightSoFar + gap - index;
+
+                return (means[i] * right + means[i + 1] * left) / gap;
+            }
+
+            weightSoFar += gap;
+        }
+
+        return means[last];
+    }
+
+    public double[] quantiles(double... ps) {
+
+        double[] result = new double[ps.length];
+
+        for (int i = 0; i < ps.length; i++) {
+            result[i] = quantile(ps[i]);
+        }
+
+        return result;
+    }
+
+    // Compression, min, max, the number of centroids and then mean and weight of every centroid
+    public byte[] toBytes() {
+
+        flush();
+
+        ByteBuffer bytes = ByteBuffer.allocate(3 * Double.BYTES + Integer.BYTES + 2 * Double.BYTES * centroidCount);
+
+        bytes.putDouble(compression);
+        bytes.putDouble(min);
+        bytes.putDouble(max);
+        bytes.putInt(centroidCount);
+
+        for (int i = 0; i < centroidCount; i++) {
+            bytes.putDouble(means[i]);
+            bytes.putDouble(weights[i]);
+        }
+
+        return bytes.array();
+    }
+
+    public static TDigest fromBytes(byte[] encoded) {
+
+        ByteBuffer bytes = ByteBuffer.wrap(encoded);
+
+        try {
+            TDigest digest = new TDigest(bytes.getDouble());
+
+            digest.min = bytes.getDouble();
+            digest.max = bytes.getDouble();
+
+            int count = bytes.getInt();
+
+            if (count < 0 || count > bytes.remaining() / (2 * Double.BYTES))
+                throw new IllegalArgumentException(INVALID_ENCODING);
+
+            digest.means = new double[count];
+            digest.weights = new double[count];
+            digest.centroidCount = count;
+
+            for (int i = 0; i < count; i++) {
+                digest.means[i] = bytes.getDouble();
+                digest.weights[i] = bytes.getDouble();
+                digest.mergedWeight += digest.weights[i];
+            }
+
+            return digest;
+        }
+        catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException(INVALID_ENCODING, e);
+        }
+    }
+
+    // Merges the buffered values into the centroids
+    private void flush() {
+
+        if (bufferCount == 0)
+            return;
+
+        Arrays.sort(buffer, 0, bufferCount);
+
+        int count = bufferCount;
+        bufferCount = 0;
+
+        merge(buffer, null, count, false);
+    }
+
+    // Merges the sorted centroids (weight 1 if otherWeights is null) with the current ones and
+    // compresses the result from left to right. With splitOther, every centroid of other holds
+    // copies of one value and may be split into several centroids to respect the scale limit.
+    private void merge(double[] otherMeans, double[] otherWeights, int otherCount, boolean splitOther) {
+
+        double totalWeight = mergedWeight;
+
+        if (otherWeights == null) {
+            totalWeight += otherCount;
+        }
+        else {
+            for (int i = 0; i < otherCount; i++) {
+                totalWeight += otherWeights[i];
+            }
+        }
+
+        double[] newMeans = new double[centroidCount + otherCount];
+        double[] newWeights = new double[centroidCount + otherCount];
+        int newCount = 0;
+
+        double weightSoFar = 0;
+        double weightLimit = totalWeight * inverseScale(scale(0) + 1);
+
+        int i = 0;
+        int j = 0;
+
+        while (i < centroidCount || j < otherCount) {
+            double mean;
+            double weight;
+            boolean split;
+
+            if (j == otherCount || (i < centroidCount && means[i] <= otherMeans[j])) {
+                mean = means[i];
+                weight = weights[i];
+                split = false;
+                i++;
+            }
+            else {
+                mean = otherMeans[j];
+                weight = otherWeights == null ? 1 : otherWeights[j];
+                split = splitOther;
+                j++;
+            }
+
+            while (weight > 0) {
+
+                if (newCount > 0) {
+                    int last = newCount - 1;
+
+                    double room = weightLimit - weightSoFar - newWeights[last];
+                    double part = weight <= room ? weight : split ? Math.floor(room) : 0;
+
+                    if (part > 0) {
+                        newWeights[last] += part;
+                        newMeans[last] += (mean - newMeans[last]) * part / newWeights[last];
+                        weight -= part;
+                        continue;
+                    }
+
+                    weightSoFar += newWeights[last];
+                    weightLimit = totalWeight * inverseScale(scale(weightSoFar / totalWeight) + 1);
+                }
+
+                if (newCount == newMeans.length) {
+                    newMeans = Arrays.copyOf(newMeans, 2 * newCount);
+                    newWeights = Arrays.copyOf(newWeights, 2 * newCount);
+                }
+
+                double part = split ? Math.max(1, Math.min(weight, Math.floor(weightLimit - weightSoFar))) : weight;
+
+                newMeans[newCount] = mean;
+                newWeights[newCount] = part;
+                newCount++;
+                weight -= part;
+            }
+        }
+
+        means = Arrays.copyOf(newMeans, newCount);
+        weights = Arrays.copyOf(newWeights, newCount);
+        centroidCount = newCount;
+        mergedWeight = totalWeight;
+    }
+
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+    }
+
+    private double inverseScale(double k) {
+        return (Math.sin(Math.min(k * 2 * Math.PI / compression, Math.PI / 2)) + 1) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return "TDigest{" +
+                "compression=" + compression +
+                ", count=" + getCount() +
+                ", centroids=" + getCentroidCount() +
+                ", min=" + getMin() +
+                ", max=" + getMax() +
+                '}';
+    }
+}
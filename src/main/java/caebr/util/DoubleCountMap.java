@@ -0,0 +1,88 @@
+package caebr.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Number of occurrences per primitive double, without boxing the keys or the counts.
+//
+// The keys are kept in a DoubleHashSet, so they are compared like in DoubleHashSet (NaN equals
+// NaN, 0.0 and -0.0 are different keys) and remembered in the order they were first counted.
+// The counts are an int[] indexed by the position of the key, one lookup per counted value.
+public class DoubleCountMap {
+
+    private final DoubleHashSet keys;
+    private int[] counts;
+    private int maxCount;
+
+    public DoubleCountMap() {
+        this(16);
+    }
+
+    public DoubleCountMap(int expectedSize) {
+        this.keys = new DoubleHashSet(expectedSize);
+        this.counts = new int[Math.max(expectedSize, 1)];
+    }
+
+    // Counts one more occurrence of key and returns its count
+    public int increment(double key) {
+        return increment(key, 1);
+    }
+
+    // Adds occurrences to the count of key and returns its count
+    public int increment(double key, int occurrences) {
+
+        int index = keys.addIndex(key);
+
+        if (index == counts.length)
+            counts = Arrays.copyOf(counts, counts.length + (counts.length >> 1) + 1);
+
+        int count = counts[index] += occurrences;
+
+        if (count > maxCount)
+            maxCount = count;
+
+        return count;
+    }
+
+    public int get(double key) {
+
+        int index = keys.indexOf(key);
+
+        return index < 0 ? 0 : counts[index];
+    }
+
+    // Number of distinct keys
+    public int size() {
+        return keys.size();
+    }
+
+    public double key(int index) {
+        return keys.get(index);
+    }
+
+    public int count(int index) {
+
+        if (index < 0 || index >= keys.size())
+            throw new IndexOutOfBoundsException(index);
+
+        return counts[index];
+    }
+
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    // Keys counted getMaxCount() times, in the order they were first counted
+    public List<Double> keysWithMaxCount() {
+
+        List<Double> result = new ArrayList<>();
+
+        for (int i = 0; i < keys.size(); i++) {
+            if (counts[i] == maxCount)
+                result.add(keys.get(i));
+        }
+
+        return result;
+    }
+}
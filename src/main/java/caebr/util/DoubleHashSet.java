@@ -0,0 +1,167 @@
+package caebr.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Set of primitive doubles that keeps the order in which values were first added.
+//
+// Values are compared by their bit pattern (Double.doubleToLongBits), like Double.equals and so
+// like a HashSet<Double>: every NaN is the same value and NaN equals NaN, while 0.0 and -0.0 are
+// different values. The values are stored in insertion order in a long[] of bit patterns, and an
+// open-addressing table with linear probing maps a hash of the bits to the position of the value.
+// The table is at most half full, so a lookup usually reads one or two slots.
+public class DoubleHashSet {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    // Bit patterns in insertion order
+    private long[] keys;
+    private int size;
+
+    // Position of the value + 1 per slot, 0 for an empty slot
+    private int[] slots;
+    private int mask;
+
+    public DoubleHashSet() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    public DoubleHashSet(int expectedSize) {
+
+        int capacity = tableSizeFor(expectedSize);
+
+        this.keys = new long[Math.max(expectedSize, 1)];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    // Returns true if the value was not in the set
+    public boolean add(double value) {
+
+        int before = size;
+
+        addIndex(value);
+
+        return size > before;
+    }
+
+    // Position of the value in insertion order, a new value is added at position size() - 1
+    public int addIndex(double value) {
+
+        long bits = Double.doubleToLongBits(value);
+
+        int slot = hash(bits) & mask;
+
+        while (slots[slot] != 0) {
+            int index = slots[slot] - 1;
+
+            if (keys[index] == bits)
+                return index;
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == keys.length)
+            keys = Arrays.copyOf(keys, keys.length + (keys.length >> 1) + 1);
+
+        keys[size] = bits;
+        slots[slot] = ++size;
+
+        if (2 * size > slots.length)
+            rehash(2 * slots.length);
+
+        return size - 1;
+    }
+
+    // Position of the value in insertion order or -1
+    public int indexOf(double value) {
+
+        long bits = Double.doubleToLongBits(value);
+
+        int slot = hash(bits) & mask;
+
+        while (slots[slot] != 0) {
+            int index = slots[slot] - 1;
+
+            if (keys[index] == bits)
+                return index;
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    public boolean contains(double value) {
+        return indexOf(value) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double get(int index) {
+
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+
+        return Double.longBitsToDouble(keys[index]);
+    }
+
+    public double[] toArray() {
+
+        double[] result = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            result[i] = Double.longBitsToDouble(keys[i]);
+        }
+
+        return result;
+    }
+
+    public List<Double> toList() {
+
+        List<Double> result = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            result.add(Double.longBitsToDouble(keys[i]));
+        }
+
+        return result;
+    }
+
+    private void rehash(int capacity) {
+
+        slots = new int[capacity];
+        mask = capacity - 1;
+
+        for (int i = 0; i < size; i++) {
+            int slot = hash(keys[i]) & mask;
+
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = i + 1;
+        }
+    }
+
+    // Mixes all 64 bits into the low ones, doubles holding small integers differ in the high bits
+    private static int hash(long bits) {
+        bits ^= bits >>> 33;
+        bits *= 0xff51afd7ed558ccdL;
+        bits ^= bits >>> 33;
+
+        return (int) bits;
+    }
+
+    // Smallest power of two that keeps the table at most half full
+    private static int tableSizeFor(int expectedSize) {
+        return Math.max(2, Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1);
+    }
+}
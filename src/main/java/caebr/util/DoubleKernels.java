@@ -0,0 +1,141 @@
+package caebr.util;
+
+// Loops over primitive double buffers shared by the dense matrix and vector code.
+//
+// When the jdk.incubator.vector module is in the boot layer (--add-modules jdk.incubator.vector)
+// the loops run on DoubleVector lanes of the preferred species, otherwise on the scalar code below.
+// Set -Dcaebr.simd=false to force the scalar code.
+// Lane-wise sums are added in a different order, so results match the scalar code within epsilon.
+public final class DoubleKernels {
+
+    private static final boolean SIMD_ENABLED = isSimdAvailable();
+
+    // The 4 x 4 panel kernel needs 256-bit vectors in hardware to beat the scalar one
+    private static final boolean SIMD_PANELS_ENABLED = SIMD_ENABLED && SimdDoubleKernels.hasWidePanels();
+
+    private DoubleKernels() {}
+
+    private static boolean isSimdAvailable() {
+
+        if (!Boolean.parseBoolean(System.getProperty("caebr.simd", "true")))
+            return false;
+
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+            return false;
+
+        // SimdDoubleKernels is only loaded once the module is known to be present
+        try {
+            return SimdDoubleKernels.isSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    public static boolean isSimdEnabled() {
+        return SIMD_ENABLED;
+    }
+
+    public static boolean isSimdPanelsEnabled() {
+        return SIMD_PANELS_ENABLED;
+    }
+
+    // x[xOffset + i] += y[yOffset + i]
+    public static void add(double[] x, int xOffset, double[] y, int yOffset, int length) {
+
+        if (SIMD_ENABLED) {
+            SimdDoubleKernels.add(x, xOffset, y, yOffset, length);
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            x[xOffset + i] += y[yOffset + i];
+        }
+    }
+
+    // x[xOffset + i] -= y[yOffset + i]
+    public static void subtract(double[] x, int xOffset, double[] y, int yOffset, int length) {
+
+        if (SIMD_ENABLED) {
+            SimdDoubleKernels.subtract(x, xOffset, y, yOffset, length);
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            x[xOffset + i] -= y[yOffset + i];
+        }
+    }
+
+    // x[offset + i] *= factor
+    public static void scale(double[] x, int offset, int length, double factor) {
+
+        if (SIMD_ENABLED) {
+            SimdDoubleKernels.scale(x, offset, length, factor);
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            x[offset + i] *= factor;
+        }
+    }
+
+    // y[yOffset + i] += alpha * x[xOffset + i]
+    public static void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+
+        if (SIMD_ENABLED) {
+            SimdDoubleKernels.axpy(alpha, x, xOffset, y, yOffset, length);
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += alpha * x[xOffset + i];
+        }
+    }
+
+    // Sum of x[xOffset + i] * y[yOffset + i]
+    public static double dot(double[] x, int xOffset, double[] y, int yOffset, int length) {
+
+        if (SIMD_ENABLED)
+            return SimdDoubleKernels.dot(x, xOffset, y, yOffset, length);
+
+        double result = 0d;
+
+        for (int i = 0; i < length; i++) {
+            result += x[xOffset + i] * y[yOffset + i];
+        }
+
+        return result;
+    }
+
+    public static double dot(double[] x, double[] y) {
+
+        if (x.length != y.length)
+            throw new IllegalArgumentException("Arrays must have the same length");
+
+        return dot(x, 0, y, 0, x.length);
+    }
+
+    // Adds the product of a 4-row panel of a and a 4-column panel of b, both k-major with kc steps,
+    // to the 4 x 4 block of c starting at cOffset, with p values per row of c
+    public static void multiplyPanels4x4(double[] a, int aOffset, double[] b, int bOffset, int kc,
+                                         double[] c, int cOffset, int p) {
+
+        if (SIMD_PANELS_ENABLED) {
+            SimdDoubleKernels.multiplyPanels4x4(a, aOffset, b, bOffset, kc, c, cOffset, p);
+            return;
+        }
+
+        for (int k = 0; k < kc; k++) {
+            int ak = aOffset + k * 4;
+            int bk = bOffset + k * 4;
+
+            for (int i = 0; i < 4; i++) {
+                double aik = a[ak + i];
+                int row = cOffset + i * p;
+
+                for (int j = 0; j < 4; j++) {
+                    c[row + j] += aik * b[bk + j];
+                }
+            }
+        }
+    }
+}
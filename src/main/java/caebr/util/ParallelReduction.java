@@ -0,0 +1,95 @@
+package caebr.util;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.DoubleBinaryOperator;
+
+// Fork/join reduction over the index range [0, size) of a matrix or a vector.
+//
+// The range is halved into tasks, every leaf folds its part starting from identity and the
+// partial results are merged with the combiner, so identity must be neutral for the combiner and
+// the combiner must be associative (as for Stream.reduce).
+// The adaptive mode stops splitting once the pool has enough queued work, so the shape of the
+// merge tree, and with it the rounding of floating-point results, can differ between runs.
+// The deterministic mode always splits down to LEAF_SIZE elements, the tree only depends on the
+// size and the result is the same on every run and every pool.
+public final class ParallelReduction {
+
+    // Folds the elements [from, to) into result and returns it
+    @FunctionalInterface
+    public interface RangeFold {
+
+        double fold(int from, int to, double result);
+    }
+
+    // Number of elements of a leaf in the deterministic mode
+    static final int LEAF_SIZE = 8192;
+
+    // Smallest leaf in the adaptive mode, below it a task costs more than it saves
+    private static final int MIN_LEAF_SIZE = 1024;
+
+    // Adaptive splitting stops when a worker has more than this many tasks nobody has stolen
+    private static final int SURPLUS_TASKS = 3;
+
+    private ParallelReduction() {}
+
+    public static double reduce(int size, double identity, RangeFold fold, DoubleBinaryOperator combiner,
+                                boolean deterministic, ForkJoinPool pool) {
+
+        Objects.requireNonNull(fold);
+        Objects.requireNonNull(combiner);
+        Objects.requireNonNull(pool);
+
+        if (size <= (deterministic ? LEAF_SIZE : MIN_LEAF_SIZE))
+            return fold.fold(0, size, identity);
+
+        return pool.invoke(new ReduceTask(0, size, identity, fold, combiner, deterministic));
+    }
+
+    private static class ReduceTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final double identity;
+        private final RangeFold fold;
+        private final DoubleBinaryOperator combiner;
+        private final boolean deterministic;
+
+        ReduceTask(int from, int to, double identity, RangeFold fold, DoubleBinaryOperator combiner,
+                   boolean deterministic) {
+            this.from = from;
+            this.to = to;
+            this.identity = identity;
+            this.fold = fold;
+            this.combiner = combiner;
+            this.deterministic = deterministic;
+        }
+
+        @Override
+        protected Double compute() {
+
+            int size = to - from;
+
+            boolean split = deterministic
+                    ? size > LEAF_SIZE
+                    : size > MIN_LEAF_SIZE && getSurplusQueuedTaskCount() <= SURPLUS_TASKS;
+
+            if (!split)
+                return fold.fold(from, to, identity);
+
+            int middle = from + size / 2;
+
+            ReduceTask left = new ReduceTask(from, middle, identity, fold, combiner, deterministic);
+            ReduceTask right = new ReduceTask(middle, to, identity, fold, combiner, deterministic);
+
+            right.fork();
+
+            double leftResult = left.compute();
+
+            return combiner.applyAsDouble(leftResult, right.join());
+        }
+    }
+}
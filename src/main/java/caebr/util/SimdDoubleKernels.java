@@ -0,0 +1,145 @@
+package caebr.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// DoubleVector versions of the DoubleKernels loops, each with a scalar tail.
+// Only loaded through DoubleKernels, after the jdk.incubator.vector module was found.
+final class SimdDoubleKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> SPECIES_256 = DoubleVector.SPECIES_256;
+
+    private SimdDoubleKernels() {}
+
+    // One lane means there is no vector hardware and the scalar loops are faster
+    static boolean isSupported() {
+        return SPECIES.length() > 1;
+    }
+
+    static boolean hasWidePanels() {
+        return SPECIES.vectorBitSize() >= SPECIES_256.vectorBitSize();
+    }
+
+    static void add(double[] x, int xOffset, double[] y, int yOffset, int length) {
+
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + i);
+
+            vx.add(vy).intoArray(x, xOffset + i);
+        }
+
+        for (; i < length; i++) {
+            x[xOffset + i] += y[yOffset + i];
+        }
+    }
+
+    static void subtract(double[] x, int xOffset, double[] y, int yOffset, int length) {
+
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + i);
+
+            vx.sub(vy).intoArray(x, xOffset + i);
+        }
+
+        for (; i < length; i++) {
+            x[xOffset + i] -= y[yOffset + i];
+        }
+    }
+
+    static void scale(double[] x, int offset, int length, double factor) {
+
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, x, offset + i).mul(factor).intoArray(x, offset + i);
+        }
+
+        for (; i < length; i++) {
+            x[offset + i] *= factor;
+        }
+    }
+
+    static void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+
+        DoubleVector va = DoubleVector.broadcast(SPECIES, alpha);
+
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + i);
+
+            vx.fma(va, vy).intoArray(y, yOffset + i);
+        }
+
+        for (; i < length; i++) {
+            y[yOffset + i] += alpha * x[xOffset + i];
+        }
+    }
+
+    static double dot(double[] x, int xOffset, double[] y, int yOffset, int length) {
+
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+
+        int upperBound = SPECIES.loopBound(length);
+        int i = 0;
+
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + i);
+
+            sum = vx.fma(vy, sum);
+        }
+
+        double result = sum.reduceLanes(VectorOperators.ADD);
+
+        for (; i < length; i++) {
+            result += x[xOffset + i] * y[yOffset + i];
+        }
+
+        return result;
+    }
+
+    // Each row of the 4 x 4 block is one 256-bit vector, b supplies 4 values per k
+    static void multiplyPanels4x4(double[] a, int aOffset, double[] b, int bOffset, int kc,
+                                  double[] c, int cOffset, int p) {
+
+        DoubleVector c0 = DoubleVector.zero(SPECIES_256);
+        DoubleVector c1 = DoubleVector.zero(SPECIES_256);
+        DoubleVector c2 = DoubleVector.zero(SPECIES_256);
+        DoubleVector c3 = DoubleVector.zero(SPECIES_256);
+
+        for (int k = 0; k < kc; k++) {
+            int ak = aOffset + k * 4;
+
+            DoubleVector vb = DoubleVector.fromArray(SPECIES_256, b, bOffset + k * 4);
+
+            c0 = vb.fma(DoubleVector.broadcast(SPECIES_256, a[ak]), c0);
+            c1 = vb.fma(DoubleVector.broadcast(SPECIES_256, a[ak + 1]), c1);
+            c2 = vb.fma(DoubleVector.broadcast(SPECIES_256, a[ak + 2]), c2);
+            c3 = vb.fma(DoubleVector.broadcast(SPECIES_256, a[ak + 3]), c3);
+        }
+
+        int r0 = cOffset;
+        int r1 = r0 + p;
+        int r2 = r1 + p;
+        int r3 = r2 + p;
+
+        DoubleVector.fromArray(SPECIES_256, c, r0).add(c0).intoArray(c, r0);
+        DoubleVector.fromArray(SPECIES_256, c, r1).add(c1).intoArray(c, r1);
+        DoubleVector.fromArray(SPECIES_256, c, r2).add(c2).intoArray(c, r2);
+        DoubleVector.fromArray(SPECIES_256, c, r3).add(c3).intoArray(c, r3);
+    }
+}
@@ -0,0 +1,1114 @@
+package caebr.vector;
+
+import caebr.matrix.DenseDoubleMatrix;
+import caebr.matrix.IMatrix;
+import caebr.statistics.HyperLogLog;
+import caebr.statistics.Quantiles;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
+import caebr.util.DoubleCountMap;
+import caebr.util.DoubleHashSet;
+import caebr.util.DoubleKernels;
+import caebr.util.NumberUtils;
+import caebr.util.ParallelReduction;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Vector backed by a growable primitive buffer.
+// The first length elements of data are the vector, the rest is spare capacity for put.
+// Arithmetic works in place on the buffer, so no Double is boxed unless a method returns one.
+public class DenseDoubleVector<T extends Number> implements IVector<T> {
+
+    private static final String VECTOR_CANNOT_BE_NULL = "Vector cannot be null";
+    private static final String VECTOR_CANNOT_BE_EMPTY = "Vector cannot be empty";
+    private static final String CAPACITY_CANNOT_BE_NEGATIVE = "Capacity cannot be negative";
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private double[] data;
+
+    private int length;
+
+    // Default orientation is vertical
+    private boolean isVertical;
+
+    // Default epsilon value. Used for comparing doubles.
+    private static double epsilon = 0.000001;
+
+    public DenseDoubleVector(T[] vector) {
+        this(vector, true);
+    }
+
+    public DenseDoubleVector(T[] vector, boolean isVertical) {
+
+        checkVector(vector);
+
+        this.data = new double[vector.length];
+        this.length = vector.length;
+        this.isVertical = isVertical;
+
+        for (int i = 0; i < length; i++) {
+            data[i] = vector[i].doubleValue();
+        }
+    }
+
+    // Copies the given values
+    public DenseDoubleVector(double[] vector) {
+        this(vector, true);
+    }
+
+    public DenseDoubleVector(double[] vector, boolean isVertical) {
+
+        if (vector == null)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_NULL);
+
+        if (vector.length == 0)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+
+        this.data = vector.clone();
+        this.length = vector.length;
+        this.isVertical = isVertical;
+    }
+
+    private static void checkVector(Object[] vector) {
+
+        if (vector == null)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_NULL);
+
+        if (vector.length == 0)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+    }
+
+    // Grows the buffer by half its size, so that n calls to put copy O(n) elements in total
+    private void ensureCapacityInternal(int minCapacity) {
+
+        if (minCapacity <= data.length)
+            return;
+
+        int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, data.length + (data.length >> 1)));
+
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    public DenseDoubleVector<T> ensureCapacity(int capacity) {
+
+        if (capacity < 0)
+            throw new IllegalArgumentException(CAPACITY_CANNOT_BE_NEGATIVE);
+
+        ensureCapacityInternal(capacity);
+
+        return this;
+    }
+
+    // Releases the spare capacity
+    public DenseDoubleVector<T> trimToSize() {
+
+        if (data.length > length)
+            data = Arrays.copyOf(data, length);
+
+        return this;
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public int capacity() {
+        return data.length;
+    }
+
+    public double get(int index) {
+
+        checkIndexes(index, index);
+
+        return data[index];
+    }
+
+    // Returns a copy of the vector
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(data, length);
+    }
+
+    // Returns the values of any IVector without boxing when the other vector is also dense
+    private static double[] toPrimitive(IVector<?> iVector) {
+
+        if (iVector == null)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_NULL);
+
+        if (iVector instanceof DenseDoubleVector<?> dense)
+            return dense.data;
+
+        return toPrimitive(iVector.toArray());
+    }
+
+    private static double[] toPrimitive(Number[] vector) {
+
+        double[] result = new double[vector.length];
+
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i].doubleValue();
+        }
+
+        return result;
+    }
+
+    private static String orientation(boolean isVertical) {
+        return isVertical ? "vertical" : "horizontal";
+    }
+
+    private void checkSameOrientation(boolean isVertical) {
+        if (this.isVertical != isVertical)
+            throw new IllegalArgumentException(String.format(StandardVector.THE_VECTORS_ARE_NOT_THE_SAME_ORIENTATION +
+                    StandardVector.FIRST_VECTOR_ORIENTATION_S_SECOND_VECTOR_ORIENTATION_S,
+                    orientation(this.isVertical), orientation(isVertical)));
+    }
+
+    private void checkSameLength(int otherLength) {
+
+        if (length > otherLength)
+            throw new IllegalArgumentException(String.format("The first vector is longer than the second vector. " +
+                    StandardVector.FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, length, otherLength));
+
+        if (length < otherLength)
+            throw new IllegalArgumentException(String.format(StandardVector.THE_SECOND_VECTOR_IS_LONGER_THAN_THE_FIRST_VECTOR +
+                    StandardVector.FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, length, otherLength));
+    }
+
+    private void checkDimensionsForMultiplication(int otherLength, boolean isVertical) {
+
+        if (this.isVertical == isVertical)
+            throw new IllegalArgumentException(String.format("The vectors are the same orientation. " +
+                    StandardVector.FIRST_VECTOR_ORIENTATION_S_SECOND_VECTOR_ORIENTATION_S,
+                    orientation(this.isVertical), orientation(isVertical)));
+
+        if (length != otherLength)
+            throw new IllegalArgumentException(String.format(StandardVector.THE_VECTORS_ARE_NOT_THE_SAME_LENGTH +
+                    StandardVector.FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, length, otherLength));
+    }
+
+    private void checkDimensionsForDotProduct(int otherLength, boolean isVertical) {
+
+        checkSameOrientation(isVertical);
+
+        if (length != otherLength)
+            throw new IllegalArgumentException(String.format(StandardVector.THE_VECTORS_ARE_NOT_THE_SAME_LENGTH +
+                    StandardVector.FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, length, otherLength));
+    }
+
+    private void checkIndexes(int firstIndex, int secondIndex) {
+
+        if (firstIndex < 0 || secondIndex < 0)
+            throw new IllegalArgumentException(StandardVector.INDEXES_CANNOT_BE_NEGATIVE);
+
+        if (firstIndex > secondIndex)
+            throw new IllegalArgumentException("First index cannot be greater than second index");
+
+        if (firstIndex > length - 1 || secondIndex > length - 1)
+            throw new IllegalArgumentException("Indexes cannot be greater or equal to a vector size");
+    }
+
+    private void checkIndexesFromTo(int fromIndex, int toIndex) {
+
+        if (fromIndex < 0 || toIndex < 0)
+            throw new IllegalArgumentException(StandardVector.INDEXES_CANNOT_BE_NEGATIVE);
+
+        if (fromIndex > toIndex)
+            throw new IllegalArgumentException("From index cannot be greater than to index");
+
+        if (fromIndex > length - 1)
+            throw new IllegalArgumentException("From index cannot be greater or equal to a vector size");
+    }
+
+    // Removes elements [fromIndex, toIndex) by shifting the tail left
+    private void remove(int fromIndex, int toIndex) {
+
+        if (toIndex - fromIndex >= length)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+
+        System.arraycopy(data, toIndex, data, fromIndex, length - toIndex);
+
+        length -= toIndex - fromIndex;
+    }
+
+    @Override
+    public IVector<T> add(T[] vector) {
+        return add(vector, true);
+    }
+
+    @Override
+    public IVector<T> add(T[] b, boolean isVertical) {
+
+        Objects.requireNonNull(b, VECTOR_CANNOT_BE_NULL);
+
+        checkSameOrientation(isVertical);
+        checkSameLength(b.length);
+
+        for (int i = 0; i < length; i++) {
+            data[i] += b[i].doubleValue();
+        }
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> add(IVector<T> iVector) {
+
+        if (iVector instanceof SparseVector<?> sparse) {
+            checkSameOrientation(sparse.isVertical());
+            checkSameLength(sparse.size());
+
+            sparse.forEachNonZero((index, value) -> data[index] += value);
+
+            return this;
+        }
+
+        double[] other = toPrimitive(iVector);
+
+        checkSameOrientation(iVector.isVertical());
+        checkSameLength(iVector instanceof DenseDoubleVector<?> dense ? dense.length : other.length);
+
+        DoubleKernels.add(data, 0, other, 0, length);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> add(T number) {
+
+        double value = number.doubleValue();
+
+        for (int i = 0; i < length; i++) {
+            data[i] += value;
+        }
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> subtract(T[] vector) {
+        return subtract(vector, true);
+    }
+
+    @Override
+    public IVector<T> subtract(T[] b, boolean isVertical) {
+
+        Objects.requireNonNull(b, VECTOR_CANNOT_BE_NULL);
+
+        checkSameOrientation(isVertical);
+        checkSameLength(b.length);
+
+        for (int i = 0; i < length; i++) {
+            data[i] -= b[i].doubleValue();
+        }
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> subtract(IVector<T> iVector) {
+
+        if (iVector instanceof SparseVector<?> sparse) {
+            checkSameOrientation(sparse.isVertical());
+            checkSameLength(sparse.size());
+
+            sparse.forEachNonZero((index, value) -> data[index] -= value);
+
+            return this;
+        }
+
+        double[] other = toPrimitive(iVector);
+
+        checkSameOrientation(iVector.isVertical());
+        checkSameLength(iVector instanceof DenseDoubleVector<?> dense ? dense.length : other.length);
+
+        DoubleKernels.subtract(data, 0, other, 0, length);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> subtract(T number) {
+
+        double value = number.doubleValue();
+
+        for (int i = 0; i < length; i++) {
+            data[i] -= value;
+        }
+
+        return this;
+    }
+
+    @Override
+    public IMatrix<Double> multiply(T[] vector) {
+        return multiply(vector, true);
+    }
+
+    @Override
+    public IMatrix<Double> multiply(T[] vector, boolean isVertical) {
+
+        Objects.requireNonNull(vector, VECTOR_CANNOT_BE_NULL);
+
+        checkDimensionsForMultiplication(vector.length, isVertical);
+
+        return multiplyInternal(toPrimitive(vector), isVertical);
+    }
+
+    @Override
+    public IMatrix<Double> multiply(IVector<T> iVector) {
+
+        double[] other = toPrimitive(iVector);
+
+        checkDimensionsForMultiplication(iVector instanceof DenseDoubleVector<?> dense ? dense.length : other.length,
+                iVector.isVertical());
+
+        return multiplyInternal(other, iVector.isVertical());
+    }
+
+    // A horizontal vector times a vertical one is their dot product, which also replaces this vector,
+    // a vertical vector times a horizontal one is their outer product.
+    private IMatrix<Double> multiplyInternal(double[] other, boolean isVertical) {
+
+        if (!this.isVertical && isVertical) {
+            double result = DoubleKernels.dot(data, 0, other, 0, length);
+
+            data[0] = result;
+            length = 1;
+
+            return new DenseDoubleMatrix<>(new double[]{result}, 1, 1);
+        }
+
+        double[] result = new double[length * length];
+
+        for (int i = 0; i < length; i++) {
+            System.arraycopy(other, 0, result, i * length, length);
+            DoubleKernels.scale(result, i * length, length, data[i]);
+        }
+
+        return new DenseDoubleMatrix<>(result, length, length);
+    }
+
+    @Override
+    public IVector<T> multiply(T number) {
+
+        DoubleKernels.scale(data, 0, length, number.doubleValue());
+
+        return this;
+    }
+
+    @Override
+    public Double dotProduct(T[] vector) {
+        return dotProduct(vector, true);
+    }
+
+    @Override
+    public Double dotProduct(T[] vector, boolean isVertical) {
+
+        Objects.requireNonNull(vector, VECTOR_CANNOT_BE_NULL);
+
+        checkDimensionsForDotProduct(vector.length, isVertical);
+
+        return DoubleKernels.dot(data, 0, toPrimitive(vector), 0, length);
+    }
+
+    // Only the stored values of a sparse vector are read
+    @Override
+    public Double dotProduct(IVector<T> iVector) {
+
+        if (iVector instanceof SparseVector<?> sparse) {
+            checkDimensionsForDotProduct(sparse.size(), sparse.isVertical());
+
+            double[] values = data;
+
+            return sparse.dotProductDense(index -> values[index]);
+        }
+
+        double[] other = toPrimitive(iVector);
+
+        checkDimensionsForDotProduct(iVector instanceof DenseDoubleVector<?> dense ? dense.length : other.length,
+                iVector.isVertical());
+
+        return DoubleKernels.dot(data, 0, other, 0, length);
+    }
+
+    @Override
+    public IVector<T> put(T number) {
+
+        ensureCapacityInternal(length + 1);
+
+        data[length++] = number.doubleValue();
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> put(T[] numbers) {
+
+        Objects.requireNonNull(numbers, VECTOR_CANNOT_BE_NULL);
+
+        ensureCapacityInternal(length + numbers.length);
+
+        for (T number : numbers) {
+            data[length++] = number.doubleValue();
+        }
+
+        return this;
+    }
+
+    public DenseDoubleVector<T> put(double number) {
+
+        ensureCapacityInternal(length + 1);
+
+        data[length++] = number;
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> set(T number, int index) {
+
+        checkIndexes(index, index);
+
+        data[index] = number.doubleValue();
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> drop(int index) {
+
+        checkIndexes(index, index);
+
+        remove(index, index + 1);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> drop(int fromIndex, int toIndex) {
+
+        checkIndexesFromTo(fromIndex, toIndex);
+
+        remove(fromIndex, Math.min(toIndex, length));
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> drop() {
+
+        remove(length - 1, length);
+
+        return this;
+    }
+
+    @Override
+    public Double pop(int index) {
+
+        checkIndexes(index, index);
+
+        double d = data[index];
+
+        remove(index, index + 1);
+
+        return d;
+    }
+
+    @Override
+    public Double pop() {
+
+        double d = data[length - 1];
+
+        remove(length - 1, length);
+
+        return d;
+    }
+
+    @Override
+    public IVector<T> transpose() {
+
+        isVertical = !isVertical;
+
+        return this;
+    }
+
+    @Override
+    public Double sum() {
+
+        double sum = 0d;
+
+        for (int i = 0; i < length; i++) {
+            sum += data[i];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public Double mean() {
+        return sum() / length;
+    }
+
+    @Override
+    public Double max() {
+
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < length; i++) {
+            if (data[i] > max)
+                max = data[i];
+        }
+
+        return max;
+    }
+
+    @Override
+    public Double min() {
+
+        double min = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < length; i++) {
+            if (data[i] < min)
+                min = data[i];
+        }
+
+        return min;
+    }
+
+    @Override
+    public Double median() {
+        return quantiles(0.5)[0];
+    }
+
+    @Override
+    public double[] quantiles(double... ps) {
+        return Quantiles.quantiles(toDoubleArray(), length, ps);
+    }
+
+    @Override
+    public List<Double> mode() {
+
+        DoubleCountMap counts = new DoubleCountMap();
+
+        for (int i = 0; i < length; i++) {
+            counts.increment(data[i]);
+        }
+
+        if (counts.getMaxCount() <= 1)
+            return new ArrayList<>();
+
+        return counts.keysWithMaxCount();
+    }
+
+    @Override
+    public Double variance() {
+        return summaryStatistics().getVariance();
+    }
+
+    @Override
+    public Double standardDeviation() {
+        return summaryStatistics().getStandardDeviation();
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics() {
+
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        for (int i = 0; i < length; i++) {
+            statistics.accept(data[i]);
+        }
+
+        return statistics;
+    }
+
+    @Override
+    public TDigest tDigest(double compression) {
+
+        TDigest digest = new TDigest(compression);
+
+        for (int i = 0; i < length; i++) {
+            digest.accept(data[i]);
+        }
+
+        return digest;
+    }
+
+    @Override
+    public List<Double> distinct() {
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (int i = 0; i < length; i++) {
+            set.add(data[i]);
+        }
+
+        return set.toList();
+    }
+
+    @Override
+    public int distinctCount() {
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (int i = 0; i < length; i++) {
+            set.add(data[i]);
+        }
+
+        return set.size();
+    }
+
+    @Override
+    public long approxDistinctCount(int precision) {
+
+        HyperLogLog sketch = new HyperLogLog(precision);
+
+        for (int i = 0; i < length; i++) {
+            sketch.accept(data[i]);
+        }
+
+        return sketch.estimate();
+    }
+
+    @Override
+    public Double range() {
+        return max() - min();
+    }
+
+    @Override
+    public IVector<T> sort() {
+        return sort(true);
+    }
+
+    @Override
+    public IVector<T> sort(boolean ascending) {
+
+        Arrays.sort(data, 0, length);
+
+        if (!ascending)
+            reverse();
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> reverse() {
+
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            double temp = data[i];
+            data[i] = data[j];
+            data[j] = temp;
+        }
+
+        return this;
+    }
+
+    // Fisher-Yates shuffle
+    @Override
+    public IVector<T> shuffle() {
+
+        Random random = ThreadLocalRandom.current();
+
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+
+            double temp = data[i];
+            data[i] = data[j];
+            data[j] = temp;
+        }
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> slice(int start, int end) {
+
+        if (start < 0 || end < 0)
+            throw new IllegalArgumentException("Start or end index cannot be negative");
+
+        if (start > end)
+            throw new IllegalArgumentException("Start index cannot be greater than end index");
+
+        if (start > length || end > length)
+            throw new IllegalArgumentException("Start or end index cannot be greater than size of vector");
+
+        if (start == end)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+
+        System.arraycopy(data, start, data, 0, end - start);
+
+        length = end - start;
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> slice(int start) {
+        return slice(start, length);
+    }
+
+    @Override
+    public IVector<T> minMaxNormalization(long min, long max) {
+
+        if (min > max)
+            throw new IllegalArgumentException("Min cannot be greater than max");
+
+        double minDouble = min();
+        double maxDouble = max();
+
+        double scale = (max - min) / (maxDouble - minDouble);
+
+        for (int i = 0; i < length; i++) {
+            data[i] = (data[i] - minDouble) * scale + min;
+        }
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> minMaxNormalization() {
+        return minMaxNormalization(0, 1);
+    }
+
+    @Override
+    public IVector<T> zScoreStandardization() {
+
+        SummaryStatistics statistics = summaryStatistics();
+
+        double mean = statistics.getMean();
+        double sd = statistics.getStandardDeviation();
+
+        for (int i = 0; i < length; i++) {
+            data[i] = (data[i] - mean) / sd;
+        }
+
+        return this;
+    }
+
+    @Override
+    public Integer l0Norm() {
+
+        int count = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (!NumberUtils.approximatelyZero(data[i], epsilon))
+                count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public Double l1Norm() {
+
+        double absSum = 0d;
+
+        for (int i = 0; i < length; i++) {
+            absSum += Math.abs(data[i]);
+        }
+
+        return absSum;
+    }
+
+    @Override
+    public Double l2Norm() {
+        return Math.sqrt(DoubleKernels.dot(data, 0, data, 0, length));
+    }
+
+    @Override
+    public Double lInfinityNorm() {
+
+        double absMax = 0d;
+
+        for (int i = 0; i < length; i++) {
+            double abs = Math.abs(data[i]);
+
+            if (abs > absMax)
+                absMax = abs;
+        }
+
+        return absMax;
+    }
+
+    @Override
+    public IVector<T> map(Function<Double, Double> function) {
+
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < length; i++) {
+            data[i] = function.apply(data[i]);
+        }
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> filter(Predicate<Double> predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        return filterDouble(predicate::test);
+    }
+
+    @Override
+    public Double reduce(BinaryOperator<Double> accumulator) {
+        return reduce(0d, accumulator);
+    }
+
+    @Override
+    public Double reduce(Double identity, BinaryOperator<Double> accumulator) {
+
+        Objects.requireNonNull(accumulator);
+
+        double result = identity;
+
+        for (int i = 0; i < length; i++) {
+            result = accumulator.apply(result, data[i]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void forEach(Consumer<Double> consumer) {
+
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < length; i++) {
+            consumer.accept(data[i]);
+        }
+    }
+
+    @Override
+    public IVector<T> mapDouble(DoubleUnaryOperator function) {
+
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < length; i++) {
+            data[i] = function.applyAsDouble(data[i]);
+        }
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> mapIndexed(VectorEntryOperator function) {
+
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < length; i++) {
+            data[i] = function.applyAsDouble(i, data[i]);
+        }
+
+        return this;
+    }
+
+    // Compacts the kept values to the front of the buffer
+    @Override
+    public IVector<T> filterDouble(DoublePredicate predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        int kept = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (predicate.test(data[i]))
+                data[kept++] = data[i];
+        }
+
+        if (kept == 0)
+            throw new IllegalArgumentException("Vector cannot be empty after filtering");
+
+        length = kept;
+
+        return this;
+    }
+
+    @Override
+    public double reduceDouble(double identity, DoubleBinaryOperator accumulator) {
+
+        Objects.requireNonNull(accumulator);
+
+        double result = identity;
+
+        for (int i = 0; i < length; i++) {
+            result = accumulator.applyAsDouble(result, data[i]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void forEachDouble(DoubleConsumer consumer) {
+
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < length; i++) {
+            consumer.accept(data[i]);
+        }
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(identity, accumulator, combiner, false, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner,
+                                 boolean deterministic, ForkJoinPool pool) {
+
+        Objects.requireNonNull(accumulator);
+
+        double[] values = data;
+
+        return ParallelReduction.reduce(length, identity, (from, to, result) -> {
+            for (int i = from; i < to; i++) {
+                result = accumulator.applyAsDouble(result, values[i]);
+            }
+
+            return result;
+        }, combiner, deterministic, pool);
+    }
+
+    @Override
+    public int getRowNumber() {
+        return isVertical ? length : 1;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return isVertical ? 1 : length;
+    }
+
+    @Override
+    public boolean isVertical() {
+        return isVertical;
+    }
+
+    @Override
+    public Double[] toArray() {
+
+        Double[] result = new Double[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = data[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Integer[] toIntegerArray() {
+
+        Integer[] result = new Integer[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (int) data[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long[] toLongArray() {
+
+        Long[] result = new Long[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (long) data[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Short[] toShortArray() {
+
+        Short[] result = new Short[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (short) data[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Byte[] toByteArray() {
+
+        Byte[] result = new Byte[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte) data[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Float[] toFloatArray() {
+
+        Float[] result = new Float[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (float) data[i];
+        }
+
+        return result;
+    }
+
+    public String content() {
+        StringBuilder sb = new StringBuilder();
+
+        int rows = getRowNumber();
+        int columns = getColumnNumber();
+
+        sb.append("Vector has ")
+                .append(rows == 1 ? "1 row" : rows + " rows")
+                .append(" and ")
+                .append(columns == 1 ? "1 column" : columns + " columns")
+                .append(". Vector:\n[\n");
+
+        for (int i = 0; i < length; i++) {
+            if (isVertical)
+                sb.append("\t");
+
+            sb.append(data[i]);
+
+            if (i != length - 1) {
+                sb.append(", ");
+
+                if (isVertical)
+                    sb.append("\n");
+            }
+        }
+
+        sb.append("\n]");
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "DenseDoubleVector {\n" +
+                content() + "\n" +
+                '}';
+    }
+
+    public static void setEpsilon(double epsilon) {
+        DenseDoubleVector.epsilon = epsilon;
+    }
+
+    public static double getEpsilon() {
+        return DenseDoubleVector.epsilon;
+    }
+}
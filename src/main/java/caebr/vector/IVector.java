@@ -1,10 +1,17 @@
 package caebr.vector;
 
 import caebr.matrix.IMatrix;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -68,14 +75,32 @@ public interface IVector<T extends Number> {
 
     Double median();
 
+    // Quantiles in the order of ps, each p in [0, 1]. Computed by selection, without sorting.
+    double[] quantiles(double... ps);
+
+    // mode, distinct, distinctCount and approxDistinctCount compare values like Double.equals: NaN
+    // equals NaN and 0.0 and -0.0 are different values. A SparseVector does not store -0.0, it reads
+    // back as 0.0, so there -0.0 and 0.0 are one value.
     List<Double> mode();
 
     Double variance();
 
     Double standardDeviation();
 
+    // Count, sum, mean, variance, min and max in one pass
+    SummaryStatistics summaryStatistics();
+
+    // Quantile sketch of the values that can be merged with sketches of other data
+    TDigest tDigest(double compression);
+
     List<Double> distinct();
 
+    // Number of distinct values without building the list
+    int distinctCount();
+
+    // Estimated number of distinct values in constant memory, precision between 4 and 18
+    long approxDistinctCount(int precision);
+
     Double range();
 
     IVector<T> sort();
@@ -118,6 +143,27 @@ public interface IVector<T extends Number> {
 
     void forEach(Consumer<Double> consumer);
 
+    // Primitive versions of map, filter, reduce and forEach, they do not box the values passed to the function.
+    // Named apart from the boxed ones so that a lambda argument is never ambiguous.
+    IVector<T> mapDouble(DoubleUnaryOperator function);
+
+    IVector<T> mapIndexed(VectorEntryOperator function);
+
+    IVector<T> filterDouble(DoublePredicate predicate);
+
+    double reduceDouble(double identity, DoubleBinaryOperator accumulator);
+
+    void forEachDouble(DoubleConsumer consumer);
+
+    // Folds the values on the common ForkJoinPool and merges the partial results with combiner.
+    // identity must be neutral for combiner and combiner associative, as for Stream.reduce.
+    double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner);
+
+    // With deterministic set the work is always split at the same places, so floating-point
+    // results are the same on every run and every pool
+    double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner,
+                          boolean deterministic, ForkJoinPool pool);
+
     int getRowNumber();
 
     int getColumnNumber();
@@ -0,0 +1,1513 @@
+package caebr.vector;
+
+import caebr.matrix.DenseDoubleMatrix;
+import caebr.matrix.IMatrix;
+import caebr.matrix.SparseMatrix;
+import caebr.statistics.HyperLogLog;
+import caebr.statistics.Quantiles;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
+import caebr.util.DoubleCountMap;
+import caebr.util.DoubleHashSet;
+import caebr.util.NumberUtils;
+import caebr.util.ParallelReduction;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Predicate;
+
+// Vector that only stores its non-zero elements, as indexes sorted in increasing order and their
+// values. The first size entries of indexes and values are the vector, the rest is spare capacity.
+// Zeros (also -0.0) are never stored, so a bag of words with 1M dimensions and 200 words takes a
+// few KB. A stored -0.0 reads back as 0.0 and so counts as 0.0 in mode and the distinct counts.
+//
+// Dot products, adding and subtracting sparse vectors, norms, sums, means, min, max, variance,
+// summaries and distinct counts are O(non-zeros). Dot products with a StandardVector or a
+// DenseDoubleVector read only the elements at the stored indexes, and a StandardVector adds a
+// sparse vector in O(non-zeros) too. put appends in O(1), set and get at an index are binary
+// searches, set moves the entries after the index when a zero becomes a non-zero or the other way
+// round. Operations whose result is dense anyway, e.g. adding a number or a dense vector, mapping
+// 0 to something else, toArray, reduce or forEach, visit every element.
+public class SparseVector<T extends Number> implements IVector<T> {
+
+    private static final String VECTOR_CANNOT_BE_NULL = "Vector cannot be null";
+    private static final String VECTOR_CANNOT_BE_EMPTY = "Vector cannot be empty";
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int length;
+
+    private int[] indexes;
+    private double[] values;
+    private int size;
+
+    // Default orientation is vertical
+    private boolean isVertical;
+
+    // Default epsilon value. Used for comparing doubles.
+    private static double epsilon = 0.000001;
+
+    public SparseVector(T[] vector) {
+        this(vector, true);
+    }
+
+    public SparseVector(T[] vector, boolean isVertical) {
+
+        if (vector == null)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_NULL);
+
+        if (vector.length == 0)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+
+        this.length = vector.length;
+        this.indexes = new int[DEFAULT_CAPACITY];
+        this.values = new double[DEFAULT_CAPACITY];
+        this.isVertical = isVertical;
+
+        for (int i = 0; i < vector.length; i++) {
+            append(i, vector[i].doubleValue());
+        }
+    }
+
+    public SparseVector(double[] vector) {
+        this(vector, true);
+    }
+
+    public SparseVector(double[] vector, boolean isVertical) {
+
+        if (vector == null)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_NULL);
+
+        if (vector.length == 0)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+
+        this.length = vector.length;
+        this.indexes = new int[DEFAULT_CAPACITY];
+        this.values = new double[DEFAULT_CAPACITY];
+        this.isVertical = isVertical;
+
+        for (int i = 0; i < vector.length; i++) {
+            append(i, vector[i]);
+        }
+    }
+
+    // Creates a zero vector
+    public SparseVector(int length) {
+        this(length, true);
+    }
+
+    public SparseVector(int length, boolean isVertical) {
+
+        if (length <= 0)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+
+        this.length = length;
+        this.indexes = new int[DEFAULT_CAPACITY];
+        this.values = new double[DEFAULT_CAPACITY];
+        this.isVertical = isVertical;
+    }
+
+    // Vector of the given length that has values[k] at indexes[k]. The indexes can come in any
+    // order, values given more than once for an index are summed and zeros are dropped.
+    public SparseVector(int length, int[] indexes, double[] values) {
+        this(length, indexes, values, true);
+    }
+
+    public SparseVector(int length, int[] indexes, double[] values, boolean isVertical) {
+
+        this(length, isVertical);
+
+        Objects.requireNonNull(indexes);
+        Objects.requireNonNull(values);
+
+        if (indexes.length != values.length)
+            throw new IllegalArgumentException("Indexes and values must have the same length");
+
+        // Sorts positions by index with the position in the low bits, so equal indexes keep their order
+        long[] order = new long[indexes.length];
+
+        for (int k = 0; k < indexes.length; k++) {
+            if (indexes[k] < 0 || indexes[k] >= length)
+                throw new IllegalArgumentException("Index must be between 0 and " + (length - 1));
+
+            order[k] = ((long) indexes[k] << 32) | k;
+        }
+
+        Arrays.sort(order);
+
+        this.indexes = new int[Math.max(indexes.length, DEFAULT_CAPACITY)];
+        this.values = new double[Math.max(indexes.length, DEFAULT_CAPACITY)];
+
+        for (int k = 0; k < order.length; ) {
+            int index = (int) (order[k] >>> 32);
+            double sum = 0d;
+
+            while (k < order.length && (int) (order[k] >>> 32) == index) {
+                sum += values[(int) order[k]];
+                k++;
+            }
+
+            append(index, sum);
+        }
+    }
+
+    // Grows the buffers by half their size, so that n appends copy O(n) entries in total
+    private void ensureCapacityInternal(int minCapacity) {
+
+        if (minCapacity <= indexes.length)
+            return;
+
+        int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, indexes.length + (indexes.length >> 1)));
+
+        indexes = Arrays.copyOf(indexes, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    // Stores value at an index greater than every stored one, zeros are skipped
+    private void append(int index, double value) {
+
+        if (value == 0d)
+            return;
+
+        ensureCapacityInternal(size + 1);
+
+        indexes[size] = index;
+        values[size] = value;
+        size++;
+    }
+
+    // Replaces the entries with the ones collected in other
+    private void replaceData(SparseVector<?> other) {
+        this.length = other.length;
+        this.indexes = other.indexes;
+        this.values = other.values;
+        this.size = other.size;
+    }
+
+    // Empty vector of the given length with the orientation of this one, to collect new entries in
+    private SparseVector<T> emptyCopy(int length) {
+
+        SparseVector<T> result = new SparseVector<>(length, isVertical);
+
+        result.ensureCapacityInternal(size);
+
+        return result;
+    }
+
+    // Position of index in the stored entries, or -(insertion point) - 1
+    private int position(int index) {
+        return Arrays.binarySearch(indexes, 0, size, index);
+    }
+
+    public int size() {
+        return length;
+    }
+
+    // Number of stored values
+    public int getNonZeroCount() {
+        return size;
+    }
+
+    // Share of the elements that are stored
+    public double density() {
+        return (double) size / length;
+    }
+
+    public double get(int index) {
+
+        checkIndexes(index, index);
+
+        int position = position(index);
+
+        return position >= 0 ? values[position] : 0d;
+    }
+
+    public SparseVector<T> set(int index, double value) {
+
+        checkIndexes(index, index);
+
+        int position = position(index);
+
+        if (position >= 0) {
+            if (value != 0d) {
+                values[position] = value;
+            }
+            else {
+                System.arraycopy(indexes, position + 1, indexes, position, size - position - 1);
+                System.arraycopy(values, position + 1, values, position, size - position - 1);
+                size--;
+            }
+        }
+        else if (value != 0d) {
+            int insertion = -position - 1;
+
+            ensureCapacityInternal(size + 1);
+
+            System.arraycopy(indexes, insertion, indexes, insertion + 1, size - insertion);
+            System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+
+            indexes[insertion] = index;
+            values[insertion] = value;
+            size++;
+        }
+
+        return this;
+    }
+
+    // Indexes of the stored values in increasing order
+    public int[] getIndexes() {
+        return Arrays.copyOf(indexes, size);
+    }
+
+    // Stored values in the order of getIndexes
+    public double[] getValues() {
+        return Arrays.copyOf(values, size);
+    }
+
+    // Visits the stored values in increasing index order
+    public void forEachNonZero(VectorEntryConsumer consumer) {
+
+        Objects.requireNonNull(consumer);
+
+        for (int k = 0; k < size; k++) {
+            consumer.accept(indexes[k], values[k]);
+        }
+    }
+
+    // Returns a dense copy of the vector
+    public double[] toDoubleArray() {
+
+        double[] result = new double[length];
+
+        for (int k = 0; k < size; k++) {
+            result[indexes[k]] = values[k];
+        }
+
+        return result;
+    }
+
+    // Returns the values of any IVector, without boxing when the other vector is dense or sparse
+    private static double[] toPrimitive(IVector<?> iVector) {
+
+        if (iVector instanceof DenseDoubleVector<?> dense)
+            return dense.toDoubleArray();
+
+        if (iVector instanceof SparseVector<?> sparse)
+            return sparse.toDoubleArray();
+
+        return toPrimitive(iVector.toArray());
+    }
+
+    private static double[] toPrimitive(Number[] vector) {
+
+        double[] result = new double[vector.length];
+
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i].doubleValue();
+        }
+
+        return result;
+    }
+
+    // Random access to the elements of a vector that is not sparse, null if it would have to be copied
+    private static IntToDoubleFunction elementsOf(IVector<?> iVector) {
+
+        if (iVector instanceof DenseDoubleVector<?> dense)
+            return dense::get;
+
+        if (iVector instanceof StandardVector<?> standard)
+            return standard::get;
+
+        return null;
+    }
+
+    // Length of any IVector
+    private static int lengthOf(IVector<?> iVector) {
+        return iVector.isVertical() ? iVector.getRowNumber() : iVector.getColumnNumber();
+    }
+
+    private static String orientation(boolean isVertical) {
+        return isVertical ? "vertical" : "horizontal";
+    }
+
+    private void checkSameOrientation(boolean isVertical) {
+        if (this.isVertical != isVertical)
+            throw new IllegalArgumentException(String.format(StandardVector.THE_VECTORS_ARE_NOT_THE_SAME_ORIENTATION +
+                    StandardVector.FIRST_VECTOR_ORIENTATION_S_SECOND_VECTOR_ORIENTATION_S,
+                    orientation(this.isVertical), orientation(isVertical)));
+    }
+
+    private void checkSameLength(int otherLength) {
+
+        if (length > otherLength)
+            throw new IllegalArgumentException(String.format("The first vector is longer than the second vector. " +
+                    StandardVector.FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, length, otherLength));
+
+        if (length < otherLength)
+            throw new IllegalArgumentException(String.format(StandardVector.THE_SECOND_VECTOR_IS_LONGER_THAN_THE_FIRST_VECTOR +
+                    StandardVector.FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, length, otherLength));
+    }
+
+    private void checkDimensionsForMultiplication(int otherLength, boolean isVertical) {
+
+        if (this.isVertical == isVertical)
+            throw new IllegalArgumentException(String.format("The vectors are the same orientation. " +
+                    StandardVector.FIRST_VECTOR_ORIENTATION_S_SECOND_VECTOR_ORIENTATION_S,
+                    orientation(this.isVertical), orientation(isVertical)));
+
+        if (length != otherLength)
+            throw new IllegalArgumentException(String.format(StandardVector.THE_VECTORS_ARE_NOT_THE_SAME_LENGTH +
+                    StandardVector.FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, length, otherLength));
+    }
+
+    private void checkDimensionsForDotProduct(int otherLength, boolean isVertical) {
+
+        checkSameOrientation(isVertical);
+
+        if (length != otherLength)
+            throw new IllegalArgumentException(String.format(StandardVector.THE_VECTORS_ARE_NOT_THE_SAME_LENGTH +
+                    StandardVector.FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, length, otherLength));
+    }
+
+    private void checkIndexes(int firstIndex, int secondIndex) {
+
+        if (firstIndex < 0 || secondIndex < 0)
+            throw new IllegalArgumentException(StandardVector.INDEXES_CANNOT_BE_NEGATIVE);
+
+        if (firstIndex > secondIndex)
+            throw new IllegalArgumentException("First index cannot be greater than second index");
+
+        if (firstIndex > length - 1 || secondIndex > length - 1)
+            throw new IllegalArgumentException("Indexes cannot be greater or equal to a vector size");
+    }
+
+    private void checkIndexesFromTo(int fromIndex, int toIndex) {
+
+        if (fromIndex < 0 || toIndex < 0)
+            throw new IllegalArgumentException(StandardVector.INDEXES_CANNOT_BE_NEGATIVE);
+
+        if (fromIndex > toIndex)
+            throw new IllegalArgumentException("From index cannot be greater than to index");
+
+        if (fromIndex > length - 1)
+            throw new IllegalArgumentException("From index cannot be greater or equal to a vector size");
+    }
+
+    // Removes elements [fromIndex, toIndex), the stored ones after them move to the left
+    private void remove(int fromIndex, int toIndex) {
+
+        if (toIndex - fromIndex >= length)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+
+        int from = position(fromIndex);
+        int to = position(toIndex);
+
+        if (from < 0)
+            from = -from - 1;
+
+        if (to < 0)
+            to = -to - 1;
+
+        int removed = toIndex - fromIndex;
+
+        for (int k = to; k < size; k++) {
+            indexes[k - (to - from)] = indexes[k] - removed;
+            values[k - (to - from)] = values[k];
+        }
+
+        size -= to - from;
+        length -= removed;
+    }
+
+    @Override
+    public IVector<T> add(T[] vector) {
+        return add(vector, true);
+    }
+
+    @Override
+    public IVector<T> add(T[] b, boolean isVertical) {
+
+        Objects.requireNonNull(b, VECTOR_CANNOT_BE_NULL);
+
+        checkSameOrientation(isVertical);
+        checkSameLength(b.length);
+
+        addDense(toPrimitive(b), 1d);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> add(IVector<T> iVector) {
+
+        Objects.requireNonNull(iVector, VECTOR_CANNOT_BE_NULL);
+
+        checkSameOrientation(iVector.isVertical());
+        checkSameLength(lengthOf(iVector));
+
+        if (iVector instanceof SparseVector<?> sparse)
+            addSparse(sparse, 1d);
+        else
+            addDense(toPrimitive(iVector), 1d);
+
+        return this;
+    }
+
+    // Every element changes, so the vector is rebuilt from all of them
+    @Override
+    public IVector<T> add(T number) {
+
+        double value = number.doubleValue();
+
+        return mapValues((index, x) -> x + value, 0d + value == 0d);
+    }
+
+    @Override
+    public IVector<T> subtract(T[] vector) {
+        return subtract(vector, true);
+    }
+
+    @Override
+    public IVector<T> subtract(T[] b, boolean isVertical) {
+
+        Objects.requireNonNull(b, VECTOR_CANNOT_BE_NULL);
+
+        checkSameOrientation(isVertical);
+        checkSameLength(b.length);
+
+        addDense(toPrimitive(b), -1d);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> subtract(IVector<T> iVector) {
+
+        Objects.requireNonNull(iVector, VECTOR_CANNOT_BE_NULL);
+
+        checkSameOrientation(iVector.isVertical());
+        checkSameLength(lengthOf(iVector));
+
+        if (iVector instanceof SparseVector<?> sparse)
+            addSparse(sparse, -1d);
+        else
+            addDense(toPrimitive(iVector), -1d);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> subtract(T number) {
+
+        double value = number.doubleValue();
+
+        return mapValues((index, x) -> x - value, 0d - value == 0d);
+    }
+
+    // this + sign * other, visits every element
+    private void addDense(double[] other, double sign) {
+
+        SparseVector<T> result = emptyCopy(length);
+
+        int k = 0;
+
+        for (int i = 0; i < length; i++) {
+            double value = k < size && indexes[k] == i ? values[k++] : 0d;
+
+            result.append(i, value + sign * other[i]);
+        }
+
+        replaceData(result);
+    }
+
+    // this + sign * other, merges the stored entries of both in O(non-zeros of both)
+    private void addSparse(SparseVector<?> other, double sign) {
+
+        SparseVector<T> result = emptyCopy(length);
+
+        result.ensureCapacityInternal(size + other.size);
+
+        int a = 0;
+        int b = 0;
+
+        while (a < size || b < other.size) {
+            int aIndex = a < size ? indexes[a] : Integer.MAX_VALUE;
+            int bIndex = b < other.size ? other.indexes[b] : Integer.MAX_VALUE;
+
+            if (aIndex < bIndex)
+                result.append(aIndex, values[a++]);
+            else if (bIndex < aIndex)
+                result.append(bIndex, 0d + sign * other.values[b++]);
+            else
+                result.append(aIndex, values[a++] + sign * other.values[b++]);
+        }
+
+        replaceData(result);
+    }
+
+    @Override
+    public IMatrix<Double> multiply(T[] vector) {
+        return multiply(vector, true);
+    }
+
+    @Override
+    public IMatrix<Double> multiply(T[] vector, boolean isVertical) {
+
+        Objects.requireNonNull(vector, VECTOR_CANNOT_BE_NULL);
+
+        checkDimensionsForMultiplication(vector.length, isVertical);
+
+        return multiplyInternal(new SparseVector<>(toPrimitive(vector), isVertical), isVertical);
+    }
+
+    @Override
+    public IMatrix<Double> multiply(IVector<T> iVector) {
+
+        Objects.requireNonNull(iVector, VECTOR_CANNOT_BE_NULL);
+
+        checkDimensionsForMultiplication(lengthOf(iVector), iVector.isVertical());
+
+        SparseVector<?> other = iVector instanceof SparseVector<?> sparse
+                ? sparse
+                : new SparseVector<>(toPrimitive(iVector), iVector.isVertical());
+
+        return multiplyInternal(other, iVector.isVertical());
+    }
+
+    // A horizontal vector times a vertical one is their dot product, which also replaces this vector,
+    // a vertical vector times a horizontal one is their outer product, a sparse matrix with an
+    // entry for every pair of stored values.
+    private IMatrix<Double> multiplyInternal(SparseVector<?> other, boolean isVertical) {
+
+        if (!this.isVertical && isVertical) {
+            double result = dotProductSparse(other);
+
+            size = 0;
+            length = 1;
+            append(0, result);
+
+            return new DenseDoubleMatrix<>(new double[]{result}, 1, 1);
+        }
+
+        SparseMatrix.Builder<Double> builder = SparseMatrix.builder(length, length);
+
+        for (int a = 0; a < size; a++) {
+            for (int b = 0; b < other.size; b++) {
+                builder.add(indexes[a], other.indexes[b], values[a] * other.values[b]);
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public IVector<T> multiply(T number) {
+
+        double factor = number.doubleValue();
+
+        return mapValues((index, x) -> x * factor, 0d * factor == 0d);
+    }
+
+    @Override
+    public Double dotProduct(T[] vector) {
+        return dotProduct(vector, true);
+    }
+
+    @Override
+    public Double dotProduct(T[] vector, boolean isVertical) {
+
+        Objects.requireNonNull(vector, VECTOR_CANNOT_BE_NULL);
+
+        checkDimensionsForDotProduct(vector.length, isVertical);
+
+        double sum = 0d;
+
+        for (int k = 0; k < size; k++) {
+            sum += values[k] * vector[indexes[k]].doubleValue();
+        }
+
+        return sum;
+    }
+
+    // O(non-zeros) against sparse, standard and dense vectors
+    @Override
+    public Double dotProduct(IVector<T> iVector) {
+
+        Objects.requireNonNull(iVector, VECTOR_CANNOT_BE_NULL);
+
+        checkDimensionsForDotProduct(lengthOf(iVector), iVector.isVertical());
+
+        if (iVector instanceof SparseVector<?> sparse)
+            return dotProductSparse(sparse);
+
+        IntToDoubleFunction other = elementsOf(iVector);
+
+        if (other == null) {
+            double[] vector = toPrimitive(iVector);
+            other = index -> vector[index];
+        }
+
+        return dotProductDense(other);
+    }
+
+    // Sums the products of the stored values of both vectors with the same index
+    private double dotProductSparse(SparseVector<?> other) {
+
+        double sum = 0d;
+
+        int a = 0;
+        int b = 0;
+
+        while (a < size && b < other.size) {
+            int aIndex = indexes[a];
+            int bIndex = other.indexes[b];
+
+            if (aIndex < bIndex)
+                a++;
+            else if (bIndex < aIndex)
+                b++;
+            else
+                sum += values[a++] * other.values[b++];
+        }
+
+        return sum;
+    }
+
+    // Reads the other vector only at the stored indexes
+    double dotProductDense(IntToDoubleFunction other) {
+
+        double sum = 0d;
+
+        for (int k = 0; k < size; k++) {
+            sum += values[k] * other.applyAsDouble(indexes[k]);
+        }
+
+        return sum;
+    }
+
+    @Override
+    public IVector<T> put(T number) {
+
+        length++;
+        append(length - 1, number.doubleValue());
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> put(T[] numbers) {
+
+        Objects.requireNonNull(numbers, VECTOR_CANNOT_BE_NULL);
+
+        for (T number : numbers) {
+            length++;
+            append(length - 1, number.doubleValue());
+        }
+
+        return this;
+    }
+
+    public SparseVector<T> put(double number) {
+
+        length++;
+        append(length - 1, number);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> set(T number, int index) {
+        return set(index, number.doubleValue());
+    }
+
+    @Override
+    public IVector<T> drop(int index) {
+
+        checkIndexes(index, index);
+
+        remove(index, index + 1);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> drop(int fromIndex, int toIndex) {
+
+        checkIndexesFromTo(fromIndex, toIndex);
+
+        remove(fromIndex, Math.min(toIndex, length));
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> drop() {
+
+        remove(length - 1, length);
+
+        return this;
+    }
+
+    @Override
+    public Double pop(int index) {
+
+        double d = get(index);
+
+        remove(index, index + 1);
+
+        return d;
+    }
+
+    @Override
+    public Double pop() {
+
+        double d = get(length - 1);
+
+        remove(length - 1, length);
+
+        return d;
+    }
+
+    @Override
+    public IVector<T> transpose() {
+
+        isVertical = !isVertical;
+
+        return this;
+    }
+
+    @Override
+    public Double sum() {
+
+        double sum = 0d;
+
+        for (int k = 0; k < size; k++) {
+            sum += values[k];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public Double mean() {
+        return sum() / length;
+    }
+
+    @Override
+    public Double max() {
+
+        double max = size < length ? 0d : Double.NEGATIVE_INFINITY;
+
+        for (int k = 0; k < size; k++) {
+            if (values[k] > max)
+                max = values[k];
+        }
+
+        return max;
+    }
+
+    @Override
+    public Double min() {
+
+        double min = size < length ? 0d : Double.POSITIVE_INFINITY;
+
+        for (int k = 0; k < size; k++) {
+            if (values[k] < min)
+                min = values[k];
+        }
+
+        return min;
+    }
+
+    @Override
+    public Double median() {
+        return quantiles(0.5)[0];
+    }
+
+    // Only the stored values are sorted, see Quantiles.quantilesWithZeros
+    @Override
+    public double[] quantiles(double... ps) {
+        return Quantiles.quantilesWithZeros(getValues(), size, length, ps);
+    }
+
+    @FunctionalInterface
+    private interface RunConsumer {
+
+        void accept(double value, int count);
+    }
+
+    // Visits the elements in index order, every run of zeros that are not stored is passed once
+    // with its length
+    private void forEachRun(RunConsumer consumer) {
+
+        int next = 0;
+
+        for (int k = 0; k < size; k++) {
+            if (indexes[k] > next)
+                consumer.accept(0d, indexes[k] - next);
+
+            consumer.accept(values[k], 1);
+
+            next = indexes[k] + 1;
+        }
+
+        if (next < length)
+            consumer.accept(0d, length - next);
+    }
+
+    @Override
+    public List<Double> mode() {
+
+        DoubleCountMap counts = new DoubleCountMap();
+
+        forEachRun(counts::increment);
+
+        if (counts.getMaxCount() <= 1)
+            return new ArrayList<>();
+
+        return counts.keysWithMaxCount();
+    }
+
+    @Override
+    public Double variance() {
+        return summaryStatistics().getVariance();
+    }
+
+    @Override
+    public Double standardDeviation() {
+        return summaryStatistics().getStandardDeviation();
+    }
+
+    @Override
+    public SummaryStatistics summaryStatistics() {
+
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        for (int k = 0; k < size; k++) {
+            statistics.accept(values[k]);
+        }
+
+        statistics.accept(0d, length - size);
+
+        return statistics;
+    }
+
+    // The zeros are added as one centroid
+    @Override
+    public TDigest tDigest(double compression) {
+
+        TDigest digest = new TDigest(compression);
+
+        for (int k = 0; k < size; k++) {
+            digest.accept(values[k]);
+        }
+
+        digest.accept(0d, length - size);
+
+        return digest;
+    }
+
+    @Override
+    public List<Double> distinct() {
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        forEachRun((value, count) -> set.add(value));
+
+        return set.toList();
+    }
+
+    @Override
+    public int distinctCount() {
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        for (int k = 0; k < size; k++) {
+            set.add(values[k]);
+        }
+
+        if (size < length)
+            set.add(0d);
+
+        return set.size();
+    }
+
+    @Override
+    public long approxDistinctCount(int precision) {
+
+        HyperLogLog sketch = new HyperLogLog(precision);
+
+        for (int k = 0; k < size; k++) {
+            sketch.accept(values[k]);
+        }
+
+        if (size < length)
+            sketch.accept(0d);
+
+        return sketch.estimate();
+    }
+
+    @Override
+    public Double range() {
+        return max() - min();
+    }
+
+    @Override
+    public IVector<T> sort() {
+        return sort(true);
+    }
+
+    // The negative values go to the front, the positive ones to the back and the zeros in between
+    @Override
+    public IVector<T> sort(boolean ascending) {
+
+        Arrays.sort(values, 0, size);
+
+        int negatives = 0;
+
+        while (negatives < size && values[negatives] < 0)
+            negatives++;
+
+        for (int k = 0; k < size; k++) {
+            indexes[k] = k < negatives ? k : length - size + k;
+        }
+
+        if (!ascending)
+            reverse();
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> reverse() {
+
+        for (int a = 0, b = size - 1; a < b; a++, b--) {
+            double temp = values[a];
+            values[a] = values[b];
+            values[b] = temp;
+
+            int index = indexes[a];
+            indexes[a] = indexes[b];
+            indexes[b] = index;
+        }
+
+        for (int k = 0; k < size; k++) {
+            indexes[k] = length - 1 - indexes[k];
+        }
+
+        return this;
+    }
+
+    // Same distribution as a Fisher-Yates shuffle of all elements: the stored values are shuffled
+    // and moved to a uniformly chosen set of indexes (Floyd's sampling), in O(non-zeros)
+    @Override
+    public IVector<T> shuffle() {
+
+        Random random = ThreadLocalRandom.current();
+
+        for (int k = size - 1; k > 0; k--) {
+            int j = random.nextInt(k + 1);
+
+            double temp = values[k];
+            values[k] = values[j];
+            values[j] = temp;
+        }
+
+        Set<Integer> chosen = new HashSet<>();
+
+        for (int i = length - size; i < length; i++) {
+            int index = random.nextInt(i + 1);
+
+            chosen.add(chosen.contains(index) ? i : index);
+        }
+
+        int k = 0;
+
+        for (int index : chosen) {
+            indexes[k++] = index;
+        }
+
+        // The values are in random order already, so sorting only the indexes keeps it random
+        Arrays.sort(indexes, 0, size);
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> slice(int start, int end) {
+
+        if (start < 0 || end < 0)
+            throw new IllegalArgumentException("Start or end index cannot be negative");
+
+        if (start > end)
+            throw new IllegalArgumentException("Start index cannot be greater than end index");
+
+        if (start > length || end > length)
+            throw new IllegalArgumentException("Start or end index cannot be greater than size of vector");
+
+        if (start == end)
+            throw new IllegalArgumentException(VECTOR_CANNOT_BE_EMPTY);
+
+        int from = position(start);
+        int to = position(end);
+
+        if (from < 0)
+            from = -from - 1;
+
+        if (to < 0)
+            to = -to - 1;
+
+        for (int k = from; k < to; k++) {
+            indexes[k - from] = indexes[k] - start;
+            values[k - from] = values[k];
+        }
+
+        size = to - from;
+        length = end - start;
+
+        return this;
+    }
+
+    @Override
+    public IVector<T> slice(int start) {
+        return slice(start, length);
+    }
+
+    // Zeros stay zeros, and only the stored values are visited, when the minimum is 0 and min is 0
+    @Override
+    public IVector<T> minMaxNormalization(long min, long max) {
+
+        if (min > max)
+            throw new IllegalArgumentException("Min cannot be greater than max");
+
+        double minDouble = min();
+        double maxDouble = max();
+
+        double scale = (max - min) / (maxDouble - minDouble);
+
+        return mapValues((index, x) -> (x - minDouble) * scale + min, (0d - minDouble) * scale + min == 0d);
+    }
+
+    @Override
+    public IVector<T> minMaxNormalization() {
+        return minMaxNormalization(0, 1);
+    }
+
+    @Override
+    public IVector<T> zScoreStandardization() {
+
+        SummaryStatistics statistics = summaryStatistics();
+
+        double mean = statistics.getMean();
+        double sd = statistics.getStandardDeviation();
+
+        return mapValues((index, x) -> (x - mean) / sd, (0d - mean) / sd == 0d);
+    }
+
+    // Applies function to the elements. With zerosStayZero only the stored values are visited,
+    // otherwise every element.
+    private IVector<T> mapValues(VectorEntryOperator function, boolean zerosStayZero) {
+
+        if (zerosStayZero) {
+            int kept = 0;
+
+            for (int k = 0; k < size; k++) {
+                double value = function.applyAsDouble(indexes[k], values[k]);
+
+                if (value != 0d) {
+                    indexes[kept] = indexes[k];
+                    values[kept] = value;
+                    kept++;
+                }
+            }
+
+            size = kept;
+
+            return this;
+        }
+
+        SparseVector<T> result = emptyCopy(length);
+
+        int k = 0;
+
+        for (int i = 0; i < length; i++) {
+            double value = k < size && indexes[k] == i ? values[k++] : 0d;
+
+            result.append(i, function.applyAsDouble(i, value));
+        }
+
+        replaceData(result);
+
+        return this;
+    }
+
+    @Override
+    public Integer l0Norm() {
+
+        int count = 0;
+
+        for (int k = 0; k < size; k++) {
+            if (!NumberUtils.approximatelyZero(values[k], epsilon))
+                count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public Double l1Norm() {
+
+        double absSum = 0d;
+
+        for (int k = 0; k < size; k++) {
+            absSum += Math.abs(values[k]);
+        }
+
+        return absSum;
+    }
+
+    @Override
+    public Double l2Norm() {
+
+        double sumOfSquares = 0d;
+
+        for (int k = 0; k < size; k++) {
+            sumOfSquares += values[k] * values[k];
+        }
+
+        return Math.sqrt(sumOfSquares);
+    }
+
+    @Override
+    public Double lInfinityNorm() {
+
+        double absMax = 0d;
+
+        for (int k = 0; k < size; k++) {
+            double abs = Math.abs(values[k]);
+
+            if (abs > absMax)
+                absMax = abs;
+        }
+
+        return absMax;
+    }
+
+    // Only the stored values are mapped when function maps 0 to 0. function is called once more
+    // with 0 to find out.
+    @Override
+    public IVector<T> map(Function<Double, Double> function) {
+
+        Objects.requireNonNull(function);
+
+        return mapValues((index, x) -> function.apply(x), function.apply(0d) == 0d);
+    }
+
+    @Override
+    public IVector<T> filter(Predicate<Double> predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        return filterDouble(predicate::test);
+    }
+
+    @Override
+    public Double reduce(BinaryOperator<Double> accumulator) {
+        return reduce(0d, accumulator);
+    }
+
+    @Override
+    public Double reduce(Double identity, BinaryOperator<Double> accumulator) {
+
+        Objects.requireNonNull(accumulator);
+
+        double[] result = {identity};
+
+        forEachRun((value, count) -> {
+            for (int n = 0; n < count; n++) {
+                result[0] = accumulator.apply(result[0], value);
+            }
+        });
+
+        return result[0];
+    }
+
+    @Override
+    public void forEach(Consumer<Double> consumer) {
+
+        Objects.requireNonNull(consumer);
+
+        forEachRun((value, count) -> {
+            for (int n = 0; n < count; n++) {
+                consumer.accept(value);
+            }
+        });
+    }
+
+    @Override
+    public IVector<T> mapDouble(DoubleUnaryOperator function) {
+
+        Objects.requireNonNull(function);
+
+        return mapValues((index, x) -> function.applyAsDouble(x), function.applyAsDouble(0d) == 0d);
+    }
+
+    // Visits every element, the function may depend on the index
+    @Override
+    public IVector<T> mapIndexed(VectorEntryOperator function) {
+
+        Objects.requireNonNull(function);
+
+        return mapValues(function, false);
+    }
+
+    // The kept elements move to the front, runs of zeros are kept or dropped as a whole
+    @Override
+    public IVector<T> filterDouble(DoublePredicate predicate) {
+
+        Objects.requireNonNull(predicate);
+
+        boolean keepZeros = predicate.test(0d);
+
+        int kept = 0;
+        int newLength = 0;
+        int next = 0;
+
+        for (int k = 0; k < size; k++) {
+            if (keepZeros)
+                newLength += indexes[k] - next;
+
+            next = indexes[k] + 1;
+
+            if (predicate.test(values[k])) {
+                indexes[kept] = newLength;
+                values[kept] = values[k];
+                kept++;
+                newLength++;
+            }
+        }
+
+        if (keepZeros)
+            newLength += length - next;
+
+        if (newLength == 0)
+            throw new IllegalArgumentException("Vector cannot be empty after filtering");
+
+        size = kept;
+        length = newLength;
+
+        return this;
+    }
+
+    @Override
+    public double reduceDouble(double identity, DoubleBinaryOperator accumulator) {
+
+        Objects.requireNonNull(accumulator);
+
+        double[] result = {identity};
+
+        forEachRun((value, count) -> {
+            for (int n = 0; n < count; n++) {
+                result[0] = accumulator.applyAsDouble(result[0], value);
+            }
+        });
+
+        return result[0];
+    }
+
+    @Override
+    public void forEachDouble(DoubleConsumer consumer) {
+
+        Objects.requireNonNull(consumer);
+
+        forEachRun((value, count) -> {
+            for (int n = 0; n < count; n++) {
+                consumer.accept(value);
+            }
+        });
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(identity, accumulator, combiner, false, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner,
+                                 boolean deterministic, ForkJoinPool pool) {
+
+        Objects.requireNonNull(accumulator);
+
+        int[] storedIndexes = indexes;
+        double[] storedValues = values;
+        int storedSize = size;
+
+        return ParallelReduction.reduce(length, identity, (from, to, result) -> {
+            int k = Arrays.binarySearch(storedIndexes, 0, storedSize, from);
+
+            if (k < 0)
+                k = -k - 1;
+
+            for (int i = from; i < to; i++) {
+                double value = 0d;
+
+                if (k < storedSize && storedIndexes[k] == i)
+                    value = storedValues[k++];
+
+                result = accumulator.applyAsDouble(result, value);
+            }
+
+            return result;
+        }, combiner, deterministic, pool);
+    }
+
+    @Override
+    public int getRowNumber() {
+        return isVertical ? length : 1;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return isVertical ? 1 : length;
+    }
+
+    @Override
+    public boolean isVertical() {
+        return isVertical;
+    }
+
+    @Override
+    public Double[] toArray() {
+
+        double[] vector = toDoubleArray();
+
+        Double[] result = new Double[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = vector[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Integer[] toIntegerArray() {
+
+        double[] vector = toDoubleArray();
+
+        Integer[] result = new Integer[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (int) vector[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Long[] toLongArray() {
+
+        double[] vector = toDoubleArray();
+
+        Long[] result = new Long[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (long) vector[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Short[] toShortArray() {
+
+        double[] vector = toDoubleArray();
+
+        Short[] result = new Short[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (short) vector[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Byte[] toByteArray() {
+
+        double[] vector = toDoubleArray();
+
+        Byte[] result = new Byte[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte) vector[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Float[] toFloatArray() {
+
+        double[] vector = toDoubleArray();
+
+        Float[] result = new Float[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = (float) vector[i];
+        }
+
+        return result;
+    }
+
+    public String content() {
+        StringBuilder sb = new StringBuilder();
+
+        int rows = getRowNumber();
+        int columns = getColumnNumber();
+
+        sb.append("Vector has ")
+                .append(rows == 1 ? "1 row" : rows + " rows")
+                .append(" and ")
+                .append(columns == 1 ? "1 column" : columns + " columns")
+                .append(", ")
+                .append(size)
+                .append(" of the values are stored. Values:\n[\n");
+
+        for (int k = 0; k < size; k++) {
+            sb.append("\t(")
+                    .append(indexes[k])
+                    .append(") = ")
+                    .append(values[k])
+                    .append("\n");
+        }
+
+        sb.append("]");
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SparseVector {\n" +
+                content() + "\n" +
+                '}';
+    }
+
+    public static void setEpsilon(double epsilon) {
+        SparseVector.epsilon = epsilon;
+    }
+
+    public static double getEpsilon() {
+        return SparseVector.epsilon;
+    }
+}
@@ -2,12 +2,22 @@ package caebr.vector;
 
 import caebr.matrix.IMatrix;
 import caebr.matrix.StandardMatrix;
+import caebr.statistics.OnlineColumnStatistics;
 import caebr.statistics.Stats;
+import caebr.statistics.SummaryStatistics;
+import caebr.statistics.TDigest;
+import caebr.util.DoubleKernels;
 import caebr.util.NumberUtils;
+import caebr.util.ParallelReduction;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -25,6 +35,11 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     private List<Double> currentVector = new ArrayList<>();
 
+    // Statistics kept up to date by put, set, drop and pop once trackStatistics is called.
+    // Other changes to the values only mark them stale, they are rebuilt on the next read.
+    private OnlineColumnStatistics statistics;
+    private boolean statisticsStale;
+
     private int rows;
 
     private int columns;
@@ -51,6 +66,41 @@ public class StandardVector<T extends Number> implements IVector<T> {
         initializeColumnsAndRows(currentVector, isVertical);
     }
 
+    // Called by every method that changes the values, except the ones that update the statistics
+    private void valuesChanged() {
+        statisticsStale = true;
+    }
+
+    // Keeps count, sum, mean and variance of the vector from now on, so sum(), mean(), variance()
+    // and standardDeviation() are O(1) reads. Appending with put, replacing with set and removing
+    // with drop or pop updates the statistics in O(1) per value, reordering leaves them as they are
+    // and any other change rebuilds them in one pass on the next read.
+    public OnlineColumnStatistics trackStatistics() {
+
+        if (statistics == null || statisticsStale) {
+            statistics = new OnlineColumnStatistics(1);
+
+            for (Double d : currentVector)
+                statistics.accept(d);
+
+            statisticsStale = false;
+        }
+
+        return statistics;
+    }
+
+    public void stopTrackingStatistics() {
+        statistics = null;
+    }
+
+    public boolean isTrackingStatistics() {
+        return statistics != null;
+    }
+
+    private boolean isStatisticsUpToDate() {
+        return statistics != null && !statisticsStale;
+    }
+
     private Double[] transformToDoubleVector(T[] tVector) {
         Double[] doubleVector = new Double[tVector.length];
         for (int i = 0; i < tVector.length; i++) {
@@ -91,6 +141,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
             result.add(currentVector.get(i) + b[i].doubleValue());
         }
 
+        valuesChanged();
         currentVector = result;
 
         return this;
@@ -119,6 +170,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
             result.add(currentVector.get(i) + b[i]);
         }
 
+        valuesChanged();
         currentVector = result;
 
         return this;
@@ -166,6 +218,26 @@ public class StandardVector<T extends Number> implements IVector<T> {
         }
     }
 
+    private void checkDimensionsForAdditionOrSubtraction(int length, boolean isVertical) {
+
+        if (this.isVertical != isVertical) {
+            throw new IllegalArgumentException(String.format(THE_VECTORS_ARE_NOT_THE_SAME_ORIENTATION +
+                            FIRST_VECTOR_ORIENTATION_S_SECOND_VECTOR_ORIENTATION_S, this.isVertical ? "vertical" : "horizontal",
+                    isVertical ? "vertical" : "horizontal"));
+        }
+
+        if (currentVector.size() > length) {
+            throw new IllegalArgumentException(String
+                    .format("The first vector is longer than the second vector. First vector length: %d, " +
+                            "Second vector length: %d", currentVector.size(), length));
+        }
+
+        if (currentVector.size() < length) {
+            throw new IllegalArgumentException(String.format(THE_SECOND_VECTOR_IS_LONGER_THAN_THE_FIRST_VECTOR +
+                    FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, currentVector.size(), length));
+        }
+    }
+
     private void checkVectorForAdditionOrSubtractionInternal(Double[] vector, boolean isVertical) {
 
         Objects.requireNonNull(vector, VECTOR_CANNOT_BE_NULL);
@@ -212,6 +284,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
             result.add(currentVector.get(i) - b[i].doubleValue());
         }
 
+        valuesChanged();
         currentVector = result;
 
         return this;
@@ -240,6 +313,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
             result.add(currentVector.get(i) - b[i]);
         }
 
+        valuesChanged();
         currentVector = result;
 
         return this;
@@ -284,6 +358,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
                 result += currentVector.get(i) * vector[i];
             }
 
+            valuesChanged();
             currentVector.clear();
             currentVector.add(result);
             initializeColumnsAndRows(currentVector, this.isVertical);
@@ -334,6 +409,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
     @Override
     public IVector<T> multiply(T number) {
 
+        valuesChanged();
         currentVector.replaceAll(x -> x * number.doubleValue());
 
         return this;
@@ -362,8 +438,16 @@ public class StandardVector<T extends Number> implements IVector<T> {
         return dotProductInternal(transformToDoubleVector(vector), isVertical, false);
     }
 
+    // Only the stored values of a sparse vector are read, O(non-zeros)
     @Override
     public Double dotProduct(IVector<T> iVector) {
+
+        if (iVector instanceof SparseVector<?> sparse) {
+            checkDimensionsForDotProduct(sparse.size(), sparse.isVertical());
+
+            return sparse.dotProductDense(currentVector::get);
+        }
+
         return dotProductInternal(iVector.toArray(), iVector.isVertical(), true);
     }
 
@@ -372,22 +456,31 @@ public class StandardVector<T extends Number> implements IVector<T> {
         if (checkDimensions)
             checkDimensionsForDotProductInternal(vector, isVertical);
 
-        double result = 0d;
+        int size = currentVector.size();
 
-        for (int i = 0; i < currentVector.size(); i++) {
-            result += currentVector.get(i) * vector[i];
+        double[] current = new double[size];
+        double[] other = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            current[i] = currentVector.get(i);
+            other[i] = vector[i];
         }
 
-        return result;
+        return DoubleKernels.dot(current, 0, other, 0, size);
     }
 
     public static Double dotProduct(Double[] a, Double[] b) {
         checkVectorForAdditionSubtractionMultiplication(a, b);
 
-        double result = 0d;
+        return DoubleKernels.dot(toPrimitive(a), toPrimitive(b));
+    }
 
-        for (int i = 0; i < a.length; i++) {
-            result += a[i] * b[i];
+    private static double[] toPrimitive(Double[] vector) {
+
+        double[] result = new double[vector.length];
+
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i];
         }
 
         return result;
@@ -406,6 +499,9 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
         currentVector.add(number.doubleValue());
 
+        if (isStatisticsUpToDate())
+            statistics.accept(number.doubleValue());
+
         initializeColumnsAndRows(currentVector, isVertical);
 
         return this;
@@ -414,9 +510,15 @@ public class StandardVector<T extends Number> implements IVector<T> {
     @Override
     public IVector<T> put(T[] numbers) {
 
-        for (T number : numbers)
+        boolean track = isStatisticsUpToDate();
+
+        for (T number : numbers) {
             currentVector.add(number.doubleValue());
 
+            if (track)
+                statistics.accept(number.doubleValue());
+        }
+
         initializeColumnsAndRows(currentVector, isVertical);
 
         return this;
@@ -432,12 +534,22 @@ public class StandardVector<T extends Number> implements IVector<T> {
     }
 
 
+    public double get(int index) {
+
+        checkIndexes(index, index);
+
+        return currentVector.get(index);
+    }
+
     @Override
     public IVector<T> set(T number, int index) {
 
         checkIndexes(index, index);
 
-        currentVector.set(index, number.doubleValue());
+        double old = currentVector.set(index, number.doubleValue());
+
+        if (isStatisticsUpToDate())
+            statistics.remove(old).accept(number.doubleValue());
 
         return this;
     }
@@ -497,7 +609,10 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
         checkIndexes(index, index);
 
-        currentVector.remove(index);
+        double removed = currentVector.remove(index);
+
+        if (isStatisticsUpToDate())
+            statistics.remove(removed);
 
         initializeColumnsAndRows(currentVector, isVertical);
 
@@ -514,8 +629,14 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
         checkIndexesFromTo(fromIndex, toIndex);
 
-        currentVector.subList(fromIndex, toIndex)
-                .clear();
+        List<Double> removed = currentVector.subList(fromIndex, toIndex);
+
+        if (isStatisticsUpToDate()) {
+            for (Double d : removed)
+                statistics.remove(d);
+        }
+
+        removed.clear();
 
         initializeColumnsAndRows(currentVector, isVertical);
 
@@ -540,7 +661,10 @@ public class StandardVector<T extends Number> implements IVector<T> {
         if (currentVector.isEmpty())
             throw new IllegalArgumentException(VECTOR_IS_EMPTY);
 
-        currentVector.remove(currentVector.size() - 1);
+        double removed = currentVector.remove(currentVector.size() - 1);
+
+        if (isStatisticsUpToDate())
+            statistics.remove(removed);
 
         initializeColumnsAndRows(currentVector, isVertical);
 
@@ -565,6 +689,10 @@ public class StandardVector<T extends Number> implements IVector<T> {
         checkIndexes(index, index);
 
         double d = currentVector.remove(index);
+
+        if (isStatisticsUpToDate())
+            statistics.remove(d);
+
         initializeColumnsAndRows(currentVector, isVertical);
         return d;
     }
@@ -576,6 +704,10 @@ public class StandardVector<T extends Number> implements IVector<T> {
             throw new IllegalArgumentException(VECTOR_IS_EMPTY);
 
         double d = currentVector.remove(currentVector.size() - 1);
+
+        if (isStatisticsUpToDate())
+            statistics.remove(d);
+
         initializeColumnsAndRows(currentVector, isVertical);
         return d;
     }
@@ -641,6 +773,20 @@ public class StandardVector<T extends Number> implements IVector<T> {
         }
     }
 
+    private void checkDimensionsForDotProduct(int length, boolean isVertical) {
+
+        if (this.isVertical != isVertical) {
+            throw new IllegalArgumentException(String.format(THE_VECTORS_ARE_NOT_THE_SAME_ORIENTATION +
+                            FIRST_VECTOR_ORIENTATION_S_SECOND_VECTOR_ORIENTATION_S, this.isVertical ? "vertical" : "horizontal",
+                    isVertical ? "vertical" : "horizontal"));
+        }
+
+        if (currentVector.size() != length) {
+            throw new IllegalArgumentException(String.format(THE_VECTORS_ARE_NOT_THE_SAME_LENGTH +
+                    FIRST_VECTOR_LENGTH_D_SECOND_VECTOR_LENGTH_D, currentVector.size(), length));
+        }
+    }
+
     private void checkDimensionsForDotProductInternal(Double[] vector, boolean isVertical) {
 
         Objects.requireNonNull(vector, VECTOR_CANNOT_BE_NULL);
@@ -657,13 +803,25 @@ public class StandardVector<T extends Number> implements IVector<T> {
         }
     }
 
+    // Only the elements at the stored indexes of a sparse vector change, O(non-zeros)
     @Override
     public IVector<T> add(IVector<T> iVector) {
+
+        if (iVector instanceof SparseVector<?> sparse) {
+            checkDimensionsForAdditionOrSubtraction(sparse.size(), sparse.isVertical());
+
+            valuesChanged();
+            sparse.forEachNonZero((index, value) -> currentVector.set(index, currentVector.get(index) + value));
+
+            return this;
+        }
+
         return addInternal(iVector.toArray(), iVector.isVertical(), true);
     }
 
     @Override
     public IVector<T> add(T number) {
+        valuesChanged();
         currentVector.replaceAll(x -> x + number.doubleValue());
 
         return this;
@@ -671,11 +829,22 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     @Override
     public IVector<T> subtract(IVector<T> iVector) {
+
+        if (iVector instanceof SparseVector<?> sparse) {
+            checkDimensionsForAdditionOrSubtraction(sparse.size(), sparse.isVertical());
+
+            valuesChanged();
+            sparse.forEachNonZero((index, value) -> currentVector.set(index, currentVector.get(index) - value));
+
+            return this;
+        }
+
         return subtractInternal(iVector.toArray(), iVector.isVertical(), true);
     }
 
     @Override
     public IVector<T> subtract(T number) {
+        valuesChanged();
         currentVector.replaceAll(x -> x - number.doubleValue());
 
         return this;
@@ -690,6 +859,10 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     @Override
     public Double sum() {
+
+        if (statistics != null)
+            return trackStatistics().getSum(0);
+
         return Stats.sum(currentVector);
     }
 
@@ -699,6 +872,10 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     @Override
     public Double mean() {
+
+        if (statistics != null)
+            return trackStatistics().getMean(0);
+
         return Stats.mean(currentVector);
     }
 
@@ -733,6 +910,15 @@ public class StandardVector<T extends Number> implements IVector<T> {
         return Stats.median(vector);
     }
 
+    @Override
+    public double[] quantiles(double... ps) {
+        return Stats.quantiles(currentVector, ps);
+    }
+
+    public static double[] quantiles(Double[] vector, double... ps) {
+        return Stats.quantiles(vector, ps);
+    }
+
     @Override
     public List<Double> mode() {
         return Stats.mode(currentVector);
@@ -744,6 +930,10 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     @Override
     public Double variance() {
+
+        if (statistics != null)
+            return trackStatistics().getVariance(0);
+
         return Stats.variance(currentVector);
     }
 
@@ -753,6 +943,10 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     @Override
     public Double standardDeviation() {
+
+        if (statistics != null)
+            return trackStatistics().getStandardDeviation(0);
+
         return Stats.standardDeviation(currentVector);
     }
 
@@ -760,6 +954,24 @@ public class StandardVector<T extends Number> implements IVector<T> {
         return Stats.standardDeviation(vector);
     }
 
+    @Override
+    public SummaryStatistics summaryStatistics() {
+        return Stats.summaryStatistics(currentVector);
+    }
+
+    public static SummaryStatistics summaryStatistics(Double[] vector) {
+        return Stats.summaryStatistics(vector);
+    }
+
+    @Override
+    public TDigest tDigest(double compression) {
+        return Stats.tDigest(currentVector, compression);
+    }
+
+    public static TDigest tDigest(Double[] vector, double compression) {
+        return Stats.tDigest(vector, compression);
+    }
+
     @Override
     public List<Double> distinct() {
         return Stats.distinct(currentVector);
@@ -769,6 +981,24 @@ public class StandardVector<T extends Number> implements IVector<T> {
         return Stats.distinct(vector);
     }
 
+    @Override
+    public int distinctCount() {
+        return Stats.distinctCount(currentVector);
+    }
+
+    public static int distinctCount(Double[] vector) {
+        return Stats.distinctCount(vector);
+    }
+
+    @Override
+    public long approxDistinctCount(int precision) {
+        return Stats.approxDistinctCount(currentVector, precision);
+    }
+
+    public static long approxDistinctCount(Double[] vector, int precision) {
+        return Stats.approxDistinctCount(vector, precision);
+    }
+
     @Override
     public Double range() {
         return Stats.range(currentVector);
@@ -889,6 +1119,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
         if (start > size || end > size)
             throw new IllegalArgumentException("Start or end index cannot be greater than size of vector");
 
+        valuesChanged();
         currentVector = currentVector.subList(start, end);
 
         initializeColumnsAndRows(currentVector, isVertical);
@@ -896,6 +1127,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     @Override
     public IVector<T> minMaxNormalization(long min, long max) {
+        valuesChanged();
         currentVector = minMaxNormalization(min, max, currentVector);
 
         return this;
@@ -907,6 +1139,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     @Override
     public IVector<T> minMaxNormalization() {
+        valuesChanged();
         currentVector = minMaxNormalization(0, 1, currentVector);
 
         return this;
@@ -918,6 +1151,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
 
     @Override
     public IVector<T> zScoreStandardization() {
+        valuesChanged();
         currentVector = zScoreStandardizationInternal();
 
         return this;
@@ -988,6 +1222,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
     public IVector<T> map(Function<Double, Double> function) {
         Objects.requireNonNull(function);
 
+        valuesChanged();
         for (int i = 0; i < currentVector.size(); i++) {
             currentVector.set(i, function.apply(currentVector.get(i)));
         }
@@ -1009,6 +1244,7 @@ public class StandardVector<T extends Number> implements IVector<T> {
     public IVector<T> filter(Predicate<Double> predicate) {
         Objects.requireNonNull(predicate);
 
+        valuesChanged();
         currentVector = currentVector
                 .stream()
                 .filter(predicate)
@@ -1083,6 +1319,172 @@ public class StandardVector<T extends Number> implements IVector<T> {
             consumer.accept(d);
     }
 
+    // The result is still boxed when it is stored in the list
+    @Override
+    public IVector<T> mapDouble(DoubleUnaryOperator function) {
+        Objects.requireNonNull(function);
+
+        valuesChanged();
+        currentVector.replaceAll(d -> function.applyAsDouble(d));
+
+        return this;
+    }
+
+    public static Double[] mapDouble(Double[] vector, DoubleUnaryOperator function) {
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = function.applyAsDouble(vector[i]);
+        }
+
+        return vector;
+    }
+
+    @Override
+    public IVector<T> mapIndexed(VectorEntryOperator function) {
+        Objects.requireNonNull(function);
+
+        valuesChanged();
+        for (int i = 0; i < currentVector.size(); i++) {
+            currentVector.set(i, function.applyAsDouble(i, currentVector.get(i)));
+        }
+
+        return this;
+    }
+
+    public static Double[] mapIndexed(Double[] vector, VectorEntryOperator function) {
+        Objects.requireNonNull(function);
+
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = function.applyAsDouble(i, vector[i]);
+        }
+
+        return vector;
+    }
+
+    // Removes the rejected values in place instead of collecting a new list
+    @Override
+    public IVector<T> filterDouble(DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        int kept = 0;
+
+        valuesChanged();
+        for (int i = 0; i < currentVector.size(); i++) {
+            Double d = currentVector.get(i);
+
+            if (predicate.test(d))
+                currentVector.set(kept++, d);
+        }
+
+        if (kept == 0)
+            throw new IllegalArgumentException("Vector cannot be empty after filtering");
+
+        currentVector.subList(kept, currentVector.size())
+                .clear();
+
+        initializeColumnsAndRows(currentVector, isVertical());
+
+        return this;
+    }
+
+    public static Double[] filterDouble(Double[] vector, DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        Double[] result = new Double[vector.length];
+
+        int kept = 0;
+
+        for (Double d: vector) {
+            if (predicate.test(d))
+                result[kept++] = d;
+        }
+
+        if (kept == 0)
+            throw new IllegalArgumentException("Vector cannot be empty after filtering");
+
+        return Arrays.copyOf(result, kept);
+    }
+
+    @Override
+    public double reduceDouble(double identity, DoubleBinaryOperator accumulator) {
+
+        Objects.requireNonNull(accumulator);
+
+        double result = identity;
+
+        for (int i = 0; i < currentVector.size(); i++)
+            result = accumulator.applyAsDouble(result, currentVector.get(i));
+
+        return result;
+    }
+
+    public static double reduceDouble(Double[] vector, double identity, DoubleBinaryOperator accumulator) {
+
+        Objects.requireNonNull(accumulator);
+
+        double result = identity;
+
+        for (Double d: vector)
+            result = accumulator.applyAsDouble(result, d);
+
+        return result;
+    }
+
+    @Override
+    public void forEachDouble(DoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+
+        for (int i = 0; i < currentVector.size(); i++)
+            consumer.accept(currentVector.get(i));
+    }
+
+    public static void forEachDouble(Double[] vector, DoubleConsumer consumer) {
+        Objects.requireNonNull(consumer);
+
+        for (Double d: vector)
+            consumer.accept(d);
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(identity, accumulator, combiner, false, ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public double parallelReduce(double identity, DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner,
+                                 boolean deterministic, ForkJoinPool pool) {
+
+        Objects.requireNonNull(accumulator);
+
+        List<Double> vector = currentVector;
+
+        return ParallelReduction.reduce(vector.size(), identity, (from, to, result) -> {
+            for (int i = from; i < to; i++)
+                result = accumulator.applyAsDouble(result, vector.get(i));
+
+            return result;
+        }, combiner, deterministic, pool);
+    }
+
+    public static double parallelReduce(Double[] vector, double identity,
+                                        DoubleBinaryOperator accumulator, DoubleBinaryOperator combiner) {
+        return parallelReduce(vector, identity, accumulator, combiner, false, ForkJoinPool.commonPool());
+    }
+
+    public static double parallelReduce(Double[] vector, double identity, DoubleBinaryOperator accumulator,
+                                        DoubleBinaryOperator combiner, boolean deterministic, ForkJoinPool pool) {
+
+        Objects.requireNonNull(accumulator);
+
+        return ParallelReduction.reduce(vector.length, identity, (from, to, result) -> {
+            for (int i = from; i < to; i++)
+                result = accumulator.applyAsDouble(result, vector[i]);
+
+            return result;
+        }, combiner, deterministic, pool);
+    }
+
     public Double[] toArray() {
         Double[] doubleArray = new Double[currentVector.size()];
 
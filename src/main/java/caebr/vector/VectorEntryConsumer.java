@@ -0,0 +1,8 @@
+package caebr.vector;
+
+// Receives an element of a vector and its index, without boxing
+@FunctionalInterface
+public interface VectorEntryConsumer {
+
+    void accept(int index, double value);
+}
@@ -0,0 +1,8 @@
+package caebr.vector;
+
+// Computes a new value for the element at index of a vector, without boxing
+@FunctionalInterface
+public interface VectorEntryOperator {
+
+    double applyAsDouble(int index, double value);
+}
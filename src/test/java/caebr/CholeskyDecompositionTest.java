@@ -0,0 +1,167 @@
+package caebr;
+
+import caebr.matrix.CholeskyDecomposition;
+import caebr.matrix.DenseDoubleMatrix;
+import caebr.matrix.LUDecomposition;
+import caebr.matrix.StandardMatrix;
+import caebr.util.NumberUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CholeskyDecompositionTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testDecomposition1() {
+
+        CholeskyDecomposition cholesky = new CholeskyDecomposition(new Double[][]{
+                {4d, 12d, -16d},
+                {12d, 37d, -43d},
+                {-16d, -43d, 98d}
+        });
+
+        assertTrue(cholesky.isPositiveDefinite());
+
+        assertArrayEquals(new Double[][]{
+                {2d, 0d, 0d},
+                {6d, 1d, 0d},
+                {-8d, 5d, 3d}
+        }, cholesky.getLower());
+
+        assertEquals(36d, cholesky.determinant(), epsilon);
+    }
+
+    @Test
+    void testDecomposition2() {
+
+        // Larger than one block of columns
+        Double[][] matrix = randomSymmetricPositiveDefinite(150, 1);
+
+        CholeskyDecomposition cholesky = new CholeskyDecomposition(matrix);
+
+        Double[][] lower = cholesky.getLower();
+        Double[][] product = StandardMatrix.multiply(lower, StandardMatrix.transpose(StandardMatrix.copy(lower)));
+
+        assertTrue(StandardMatrix.isLowerTriangular(lower));
+        assertTrue(NumberUtils.approximatelyEqual(matrix, product, epsilon));
+    }
+
+    @Test
+    void testDeterminant1() {
+
+        Double[][] matrix = randomSymmetricPositiveDefinite(30, 2);
+
+        double expected = new LUDecomposition(matrix).determinant();
+
+        assertTrue(NumberUtils.approximatelyEqual(1d, new CholeskyDecomposition(matrix).determinant() / expected, epsilon));
+        assertTrue(NumberUtils.approximatelyEqual(1d, StandardMatrix.determinant(matrix) / expected, epsilon));
+        assertTrue(NumberUtils.approximatelyEqual(1d, new DenseDoubleMatrix<>(matrix).determinant() / expected, epsilon));
+    }
+
+    @Test
+    void testSolve1() {
+
+        Double[][] matrix = randomSymmetricPositiveDefinite(100, 3);
+
+        double[] b = new double[100];
+
+        for (int i = 0; i < 100; i++) {
+            b[i] = i % 7 - 3;
+        }
+
+        assertArrayEquals(new LUDecomposition(matrix).solve(b), new CholeskyDecomposition(matrix).solve(b), epsilon);
+        assertThrows(IllegalArgumentException.class, () -> new CholeskyDecomposition(matrix).solve(new double[99]));
+    }
+
+    @Test
+    void testInverse1() {
+
+        Double[][] matrix = randomSymmetricPositiveDefinite(80, 4);
+
+        double[] inverse = new CholeskyDecomposition(matrix).inverse();
+
+        assertArrayEquals(new LUDecomposition(matrix).inverse(), inverse, epsilon);
+
+        for (int i = 0; i < 80; i++) {
+            for (int j = 0; j < 80; j++) {
+                assertEquals(inverse[i * 80 + j], inverse[j * 80 + i]);
+            }
+        }
+
+        assertTrue(NumberUtils.approximatelyEqual(toMatrix(inverse, 80),
+                StandardMatrix.inverse(matrix), epsilon));
+    }
+
+    @Test
+    void testNotPositiveDefinite1() {
+
+        CholeskyDecomposition cholesky = new CholeskyDecomposition(new Double[][]{
+                {1d, 2d},
+                {2d, 1d}
+        });
+
+        assertFalse(cholesky.isPositiveDefinite());
+        assertThrows(IllegalArgumentException.class, cholesky::determinant);
+        assertThrows(IllegalArgumentException.class, cholesky::inverse);
+        assertThrows(IllegalArgumentException.class, () -> cholesky.solve(new double[]{1d, 1d}));
+
+        // Symmetric but indefinite matrices still get an inverse and a determinant through LU
+        assertEquals(-3d, StandardMatrix.determinant(new Double[][]{{1d, 2d}, {2d, 1d}}), epsilon);
+        assertTrue(NumberUtils.approximatelyEqual(new Double[][]{
+                {-1d / 3, 2d / 3},
+                {2d / 3, -1d / 3}
+        }, StandardMatrix.inverse(new Double[][]{{1d, 2d}, {2d, 1d}}), epsilon));
+    }
+
+    @Test
+    void testConstructor1() {
+
+        assertThrows(IllegalArgumentException.class, () -> new CholeskyDecomposition((Double[][]) null));
+        assertThrows(IllegalArgumentException.class, () -> new CholeskyDecomposition(new Double[][]{{1d, 2d}}));
+        assertThrows(IllegalArgumentException.class, () -> new CholeskyDecomposition(new double[3], 2));
+    }
+
+    private static Double[][] toMatrix(double[] values, int n) {
+
+        Double[][] result = new Double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                result[i][j] = values[i * n + j];
+            }
+        }
+
+        return result;
+    }
+
+    // A * A^T + n * I
+    private static Double[][] randomSymmetricPositiveDefinite(int n, long seed) {
+
+        Random random = new Random(seed);
+
+        Double[][] matrix = new Double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                matrix[i][j] = random.nextDouble() * 2 - 1;
+            }
+        }
+
+        Double[][] result = StandardMatrix.multiply(matrix, StandardMatrix.transpose(StandardMatrix.copy(matrix)));
+
+        for (int i = 0; i < n; i++) {
+            result[i][i] += n;
+
+            // Make the product exactly symmetric, so that isSymmetric picks Cholesky
+            for (int j = 0; j < i; j++) {
+                result[i][j] = result[j][i];
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,904 @@
+package caebr;
+
+import caebr.matrix.DenseDoubleMatrix;
+import caebr.matrix.IMatrix;
+import caebr.matrix.StandardMatrix;
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.SummaryStatistics;
+import caebr.util.NumberUtils;
+import caebr.vector.StandardVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DenseDoubleMatrixTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testConstructor1() {
+
+        DenseDoubleMatrix<Integer> matrix1 = new DenseDoubleMatrix<>(new Integer[][]{
+                {1, 2, 3},
+                {4, 5, 6}
+        });
+
+        assertEquals(2, matrix1.getRowNumber());
+        assertEquals(3, matrix1.getColumnNumber());
+        assertEquals(6d, matrix1.get(1, 2));
+    }
+
+    @Test
+    void testConstructor2() {
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new DenseDoubleMatrix<>(new Double[][]{
+                        {1d, 2d, 3d},
+                        {4d, 5d}
+                }));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new DenseDoubleMatrix<Double>(new double[]{1d, 2d, 3d}, 2, 2));
+    }
+
+    @Test
+    void testConstructor3() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new double[]{1d, 2d, 3d, 4d, 5d, 6d}, 3, 2);
+
+        assertArrayEquals(new Double[][]{
+                {1d, 2d},
+                {3d, 4d},
+                {5d, 6d}
+        }, matrix1.toMatrix());
+
+        assertArrayEquals(new double[]{1d, 2d, 3d, 4d, 5d, 6d}, matrix1.toDoubleArray());
+    }
+
+    @Test
+    void testMultiplication1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d, 3d},
+                {4d, 5d, 6d}
+        });
+
+        DenseDoubleMatrix<Double> matrix2 = new DenseDoubleMatrix<>(new Double[][]{
+                {10d, 11d},
+                {20d, 21d},
+                {30d, 31d}
+        });
+
+        matrix1.multiply(matrix2);
+
+        assertArrayEquals(new Double[][]{
+                {140d, 146d},
+                {320d, 335d}
+        }, matrix1.toMatrix());
+
+        assertEquals(2, matrix1.getRowNumber());
+        assertEquals(2, matrix1.getColumnNumber());
+    }
+
+    @Test
+    void testMultiplication2() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d},
+                {3d, 4d}
+        });
+
+        StandardMatrix<Double> matrix2 = new StandardMatrix<>(new Double[][]{
+                {5d, 6d},
+                {0d, 7d}
+        });
+
+        IMatrix<Double> matrix3 = matrix1.multiply(matrix2);
+
+        assertArrayEquals(new Double[][]{
+                {5d, 20d},
+                {15d, 46d}
+        }, matrix3.toMatrix());
+    }
+
+    @Test
+    void testMultiplicationParallel1() {
+
+        double[][] values1 = new double[260][310];
+        double[][] values2 = new double[310][140];
+
+        Random random = new Random(9);
+
+        for (double[] row : values1)
+            for (int j = 0; j < row.length; j++)
+                row[j] = random.nextDouble() * 2 - 1;
+
+        for (double[] row : values2)
+            for (int j = 0; j < row.length; j++)
+                row[j] = random.nextDouble() * 2 - 1;
+
+        DenseDoubleMatrix<Double> sequential = new DenseDoubleMatrix<>(values1);
+        DenseDoubleMatrix<Double> parallel = new DenseDoubleMatrix<>(values1);
+
+        sequential.multiply(new DenseDoubleMatrix<>(values2));
+        parallel.multiplyParallel(new DenseDoubleMatrix<Double>(values2));
+
+        assertEquals(260, parallel.getRowNumber());
+        assertEquals(140, parallel.getColumnNumber());
+        assertArrayEquals(sequential.toDoubleArray(), parallel.toDoubleArray(), 1e-9);
+    }
+
+    @Test
+    void testMultiplication3() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d},
+                {3d, 4d},
+                {5d, 6d}
+        });
+
+        DenseDoubleMatrix<Double> matrix2 = new DenseDoubleMatrix<>(new Double[][]{
+                {5d, 6d},
+                {0d, 7d},
+                {8d, 9d}
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> matrix1.multiply(matrix2));
+    }
+
+    @Test
+    void testMultiplication4() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d},
+                {3d, 4d}
+        });
+
+        matrix1.multiply(matrix1);
+
+        assertArrayEquals(new Double[][]{
+                {7d, 10d},
+                {15d, 22d}
+        }, matrix1.toMatrix());
+
+        matrix1.multiply(2d);
+
+        assertArrayEquals(new Double[][]{
+                {14d, 20d},
+                {30d, 44d}
+        }, matrix1.toMatrix());
+    }
+
+    @Test
+    void testAddition1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d, 3d},
+                {4d, 5d, 6d}
+        });
+
+        matrix1.add(new Double[][]{
+                {1d, 1d, 1d},
+                {2d, 2d, 2d}
+        });
+
+        assertArrayEquals(new Double[][]{
+                {2d, 3d, 4d},
+                {6d, 7d, 8d}
+        }, matrix1.toMatrix());
+
+        matrix1.subtract(new StandardMatrix<>(new Double[][]{
+                {1d, 1d, 1d},
+                {2d, 2d, 2d}
+        }));
+
+        assertArrayEquals(new Double[][]{
+                {1d, 2d, 3d},
+                {4d, 5d, 6d}
+        }, matrix1.toMatrix());
+    }
+
+    @Test
+    void testAddition2() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d, 3d},
+                {4d, 5d, 6d}
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> matrix1.add(new Double[][]{
+                {1d, 1d},
+                {2d, 2d}
+        }));
+    }
+
+    @Test
+    void testTranspose1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d, 3d},
+                {4d, 5d, 6d}
+        });
+
+        matrix1.transpose();
+
+        assertArrayEquals(new Double[][]{
+                {1d, 4d},
+                {2d, 5d},
+                {3d, 6d}
+        }, matrix1.toMatrix());
+
+        assertEquals(3, matrix1.getRowNumber());
+        assertEquals(2, matrix1.getColumnNumber());
+    }
+
+    @Test
+    void testStatistics1() {
+
+        Double[][] values = {
+                {1d, -2d, 3d},
+                {4d, 5d, -6d},
+                {7d, 8d, 9d},
+                {4d, 0d, 1d}
+        };
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(values);
+        StandardMatrix<Double> matrix2 = new StandardMatrix<>(StandardMatrix.copy(values));
+
+        assertEquals(matrix2.sum(), matrix1.sum(), epsilon);
+        assertEquals(matrix2.sum(1), matrix1.sum(1), epsilon);
+        assertEquals(matrix2.mean(0, 2), matrix1.mean(0, 2), epsilon);
+        assertEquals(matrix2.median(), matrix1.median(), epsilon);
+        assertEquals(matrix2.median(0), matrix1.median(0), epsilon);
+        assertArrayEquals(matrix2.quantiles(0.1, 0.75), matrix1.quantiles(0.1, 0.75), epsilon);
+        assertArrayEquals(matrix2.quantiles(1, 3, 0.3), matrix1.quantiles(1, 3, 0.3), epsilon);
+        assertEquals(matrix2.variance(), matrix1.variance(), epsilon);
+        assertEquals(matrix2.standardDeviation(2), matrix1.standardDeviation(2), epsilon);
+        assertEquals(matrix2.range(0), matrix1.range(0), epsilon);
+        assertEquals(matrix2.l1Norm(1), matrix1.l1Norm(1), epsilon);
+        assertEquals(matrix2.l2Norm(2), matrix1.l2Norm(2), epsilon);
+        assertEquals(matrix2.l0Norm(1), matrix1.l0Norm(1));
+        assertIterableEquals(matrix2.mode(), matrix1.mode());
+        assertIterableEquals(matrix2.distinct(), matrix1.distinct());
+        assertEquals(matrix2.distinctCount(1, 3), matrix1.distinctCount(1, 3));
+        assertEquals(matrix2.approxDistinctCount(10), matrix1.approxDistinctCount(10));
+        assertIterableEquals(matrix2.toList(1, 3), matrix1.toList(1, 3));
+    }
+
+    @Test
+    void testMax1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {-1d, -2d},
+                {-4d, -5d}
+        });
+
+        assertEquals(-1d, matrix1.max());
+        assertEquals(-2d, matrix1.max(1));
+        assertEquals(-5d, matrix1.min());
+        assertEquals(5d, matrix1.lInfinityNorm(1));
+    }
+
+    @Test
+    void testMinMaxNormalization1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 10d},
+                {3d, 20d},
+                {5d, 30d}
+        });
+
+        matrix1.minMaxNormalization();
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[][]{
+                {0d, 0d},
+                {0.5d, 0.5d},
+                {1d, 1d}
+        }, matrix1.toMatrix(), epsilon));
+    }
+
+    @Test
+    void testZScoreStandardization1() {
+
+        Double[][] values = {
+                {1d, 10d},
+                {3d, 25d},
+                {8d, 30d}
+        };
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(values);
+
+        matrix1.zScoreStandardization();
+
+        assertTrue(NumberUtils.approximatelyEqual(
+                StandardMatrix.zScoreStandardization(StandardMatrix.copy(values)),
+                matrix1.toMatrix(), epsilon));
+    }
+
+    @Test
+    void testSort1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {3d, 1d},
+                {1d, 2d},
+                {2d, 0d}
+        });
+
+        matrix1.sort(0, false);
+
+        assertArrayEquals(new Double[][]{
+                {3d, 1d},
+                {2d, 2d},
+                {1d, 0d}
+        }, matrix1.toMatrix());
+
+        matrix1.sort();
+
+        assertArrayEquals(new Double[][]{
+                {1d, 0d},
+                {2d, 1d},
+                {3d, 2d}
+        }, matrix1.toMatrix());
+    }
+
+    @Test
+    void testSortWithRowSwap1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {3d, 1d},
+                {1d, 2d},
+                {2d, 0d},
+                {1d, 5d}
+        });
+
+        matrix1.sortWithRowSwap(0, true);
+
+        assertArrayEquals(new Double[][]{
+                {1d, 2d},
+                {1d, 5d},
+                {2d, 0d},
+                {3d, 1d}
+        }, matrix1.toMatrix());
+
+        matrix1.sortWithRowSwap(1, false);
+
+        assertArrayEquals(new Double[][]{
+                {1d, 5d},
+                {1d, 2d},
+                {3d, 1d},
+                {2d, 0d}
+        }, matrix1.toMatrix());
+    }
+
+    @Test
+    void testStructurePredicates1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 0d, 0d},
+                {0d, 1d, 0d},
+                {0d, 0d, 1d}
+        });
+
+        assertTrue(matrix1.isSquare());
+        assertTrue(matrix1.isIdentity());
+        assertTrue(matrix1.isDiagonal());
+        assertTrue(matrix1.isSymmetric());
+        assertTrue(matrix1.isUpperTriangular());
+        assertTrue(matrix1.isLowerTriangular());
+        assertFalse(matrix1.isAntiDiagonal());
+
+        matrix1.set(0, 2, 4d);
+
+        assertFalse(matrix1.isSymmetric());
+        assertTrue(matrix1.isUpperTriangular());
+        assertFalse(matrix1.isLowerTriangular());
+    }
+
+    @Test
+    void testDeterminant1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {4d, 3d, 2d, 2d},
+                {0d, 1d, -3d, 3d},
+                {0d, -1d, 3d, 3d},
+                {0d, 3d, 1d, 1d}
+        });
+
+        assertEquals(-240d, matrix1.determinant(), epsilon);
+    }
+
+    @Test
+    void testDeterminant2() {
+
+        DenseDoubleMatrix<Integer> matrix1 = new DenseDoubleMatrix<>(new Integer[][]{
+                {4, 2, 3, 9, 9},
+                {-2, 4, 7, -7, -7},
+                {2, 3, 11, 1, 1},
+                {1, 1, 2, -3, -1},
+                {1, 1, 2, 0, 1}
+        });
+
+        assertEquals(-142d, matrix1.determinant(), epsilon);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new DenseDoubleMatrix<>(new Double[][]{{1d, 2d}}).determinant());
+    }
+
+    @Test
+    void testDeterminant3() {
+
+        // Within epsilon of both triangular forms, but the determinant is -1, not the product of the zero diagonal
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {0d, 1e7},
+                {1e-7, 0d}
+        });
+
+        assertEquals(-1d, matrix1.determinant(), epsilon);
+        assertEquals(-1d, new DenseDoubleMatrix<>(new Double[][]{{5d, 0d, 1e7}, {6d, 1e-7, 0d}}).view(0, 2, 1, 3).determinant(), epsilon);
+    }
+
+    @Test
+    void testPopColumn1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d, 3d},
+                {4d, 5d, 6d}
+        });
+
+        assertArrayEquals(new Double[]{2d, 5d}, matrix1.popColumn(1));
+
+        assertArrayEquals(new Double[][]{
+                {1d, 3d},
+                {4d, 6d}
+        }, matrix1.toMatrix());
+
+        matrix1.putColumn(new Double[]{7d, 8d});
+
+        assertArrayEquals(new Double[][]{
+                {1d, 3d, 7d},
+                {4d, 6d, 8d}
+        }, matrix1.toMatrix());
+
+        matrix1.setColumn(new Double[]{0d, 0d}, 0);
+
+        assertArrayEquals(new Double[][]{
+                {0d, 3d, 7d},
+                {0d, 6d, 8d}
+        }, matrix1.toMatrix());
+
+        matrix1.dropColumn();
+
+        assertEquals(2, matrix1.getColumnNumber());
+    }
+
+    @Test
+    void testRowOperations1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 2d},
+                {3d, 4d},
+                {5d, 6d}
+        });
+
+        matrix1.swapRows(0, 2);
+        matrix1.addRows(1, 0);
+        matrix1.multiplyRows(2, 0);
+        matrix1.replaceRow(0, new Double[]{9d, 9d});
+
+        assertArrayEquals(new Double[][]{
+                {9d, 9d},
+                {8d, 10d},
+                {5d, 12d}
+        }, matrix1.toMatrix());
+
+        assertThrows(IllegalArgumentException.class, () -> matrix1.swapRows(0, 3));
+    }
+
+    @Test
+    void testMap1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {2d, 4d, 1d},
+                {0d, -2d, 0d},
+                {10d, 0d, 3d}
+        });
+
+        matrix1.map(1, x -> x * x);
+        matrix1.mapRow(2, x -> x + 1);
+
+        assertArrayEquals(new Double[][]{
+                {2d, 16d, 1d},
+                {0d, 4d, 0d},
+                {11d, 1d, 4d}
+        }, matrix1.toMatrix());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> matrix1.mapRow(0, matrix1.getRowNumber() + 1, x -> x * x));
+    }
+
+    @Test
+    void testReduce1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {0d, 0d, 1d},
+                {2d, -2d, 0d},
+                {10d, 0d, 0d}
+        });
+
+        assertEquals(12d, matrix1.reduce(0, Double::sum));
+        assertEquals(11d, matrix1.reduce(0, matrix1.getColumnNumber(), Double::sum));
+        assertEquals(20d, matrix1.reduce(0, 1d, (x, y) -> x * (y == 0 ? 1 : y)));
+    }
+
+    @Test
+    void testConversions1() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1.5d, 2d},
+                {3d, 4.7d}
+        });
+
+        assertArrayEquals(new Integer[][]{{1, 2}, {3, 4}}, matrix1.toIntegerMatrix());
+        assertArrayEquals(new Long[]{1L, 3L, 2L, 4L}, matrix1.toLongArray(0, 2));
+        assertArrayEquals(new Double[]{2d, 4.7d}, matrix1.toArray(1));
+        assertEquals(Arrays.asList(1.5d, 3d), matrix1.toList(0));
+    }
+
+    @Test
+    void testInverse1() {
+
+        Double[][] values = {
+                {2d, -1d, 0d},
+                {-1d, 2d, -1d},
+                {0d, -1d, 2d}
+        };
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(values);
+
+        matrix1.inverse();
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[][]{
+                {0.75d, 0.5d, 0.25d},
+                {0.5d, 1d, 0.5d},
+                {0.25d, 0.5d, 0.75d}
+        }, matrix1.toMatrix(), epsilon));
+
+        assertTrue(NumberUtils.approximatelyEqual(StandardMatrix.inverse(values), matrix1.toMatrix(), epsilon));
+    }
+
+    @Test
+    void testInverse2() {
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {2d, 0d},
+                {3d, 4d}
+        });
+
+        matrix1.inverse();
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[][]{
+                {0.5d, 0d},
+                {-0.375d, 0.25d}
+        }, matrix1.toMatrix(), epsilon));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new DenseDoubleMatrix<>(new Double[][]{{1d, 2d}, {2d, 4d}}).inverse());
+        assertThrows(IllegalArgumentException.class,
+                () -> new DenseDoubleMatrix<>(new Double[][]{{1d, 2d}}).inverse());
+    }
+
+    @Test
+    void testInverse3() {
+
+        // Entries below the predicate epsilon are still structure, none of them may be dropped
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1e-7d, 5e-7d},
+                {3e-7d, 1e-7d}
+        });
+
+        matrix1.inverse();
+
+        assertEquals(-1e7d / 14d, matrix1.get(0, 0), 1e-3d);
+        assertEquals(5e7d / 14d, matrix1.get(0, 1), 1e-3d);
+        assertEquals(3e7d / 14d, matrix1.get(1, 0), 1e-3d);
+
+        DenseDoubleMatrix<Double> matrix2 = new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 1e-7d},
+                {0d, 1d}
+        });
+
+        matrix2.inverse();
+
+        assertEquals(-1e-7d, matrix2.get(0, 1), 1e-12d);
+    }
+
+    @Test
+    void testSolve1() {
+
+        Double[][] values = {
+                {2d, -1d, 0d},
+                {-1d, 2d, -1d},
+                {0d, -1d, 2d}
+        };
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(values);
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[]{1d, 1d, 1d},
+                matrix1.solve(new StandardVector<>(new Double[]{1d, 0d, 1d})).toArray(), epsilon));
+
+        IMatrix<Double> x = matrix1.solve(new DenseDoubleMatrix<>(new Double[][]{
+                {1d, 0d},
+                {0d, 0d},
+                {1d, 4d}
+        }));
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[][]{
+                {1d, 1d},
+                {1d, 2d},
+                {1d, 3d}
+        }, x.toMatrix(), epsilon));
+
+        matrix1.set(0, 0, 3d);
+
+        assertTrue(NumberUtils.approximatelyEqual(StandardMatrix.solve(matrix1.toMatrix(), new Double[]{1d, 0d, 1d}),
+                matrix1.solve(new StandardVector<>(new Double[]{1d, 0d, 1d})).toArray(), epsilon));
+    }
+
+    @Test
+    void testSolve2() {
+
+        // Not triangular, the small entries must not send it to substitution
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][]{
+                {1e-7d, 5e-7d},
+                {3e-7d, 1e-7d}
+        });
+
+        Double[] x = matrix1.solve(new StandardVector<>(new Double[]{1d, 1d})).toArray();
+
+        assertEquals(4e7d / 14d, x[0], 1e-3d);
+        assertEquals(2e7d / 14d, x[1], 1e-3d);
+    }
+
+    @Test
+    void testSummaryStatistics1() {
+
+        Double[][] values = {
+                {1d, -2d, 3d},
+                {4d, 5d, -6d},
+                {7d, 8d, 9d},
+                {-10d, 11d, 12d}
+        };
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(values);
+
+        for (int column = 0; column < 3; column++) {
+            SummaryStatistics expected = StandardMatrix.summaryStatistics(values, column);
+            SummaryStatistics actual = matrix1.summaryStatistics(column);
+
+            assertEquals(expected.getCount(), actual.getCount());
+            assertEquals(expected.getMean(), actual.getMean(), epsilon);
+            assertEquals(expected.getVariance(), actual.getVariance(), epsilon);
+            assertEquals(expected.getMin(), actual.getMin(), epsilon);
+            assertEquals(expected.getMax(), actual.getMax(), epsilon);
+        }
+
+        assertEquals(12, matrix1.summaryStatistics().getCount());
+        assertEquals(-10d, matrix1.summaryStatistics(0, 2).getMin(), epsilon);
+
+        ColumnSummaries expected = StandardMatrix.columnSummaries(values, 1, 3);
+        ColumnSummaries actual = matrix1.columnSummaries(1, 3);
+
+        assertArrayEquals(expected.getSum(), actual.getSum(), epsilon);
+        assertArrayEquals(expected.getVariance(), actual.getVariance(), epsilon);
+        assertArrayEquals(expected.getMin(), actual.getMin(), epsilon);
+        assertArrayEquals(expected.getMax(), actual.getMax(), epsilon);
+    }
+
+    @Test
+    void testPrimitiveFunctions1() {
+
+        Double[][] values = {
+                {1d, 2d, 3d},
+                {4d, 5d, 6d},
+                {7d, 8d, 9d}
+        };
+
+        DenseDoubleMatrix<Double> dense = new DenseDoubleMatrix<>(values);
+        StandardMatrix<Double> standard = new StandardMatrix<>(StandardMatrix.copy(values));
+
+        assertArrayEquals(standard.mapDouble(0, 2, x -> x * 3 - 1).toMatrix(),
+                dense.mapDouble(0, 2, x -> x * 3 - 1).toMatrix());
+
+        assertArrayEquals(standard.mapIndexed((row, column, value) -> value + row - column).toMatrix(),
+                dense.mapIndexed((row, column, value) -> value + row - column).toMatrix());
+
+        assertEquals(standard.reduceDouble(0, 3, 1d, (a, b) -> a * 0.5 + b),
+                dense.reduceDouble(0, 3, 1d, (a, b) -> a * 0.5 + b), epsilon);
+
+        double[] sum = new double[2];
+
+        standard.forEachDouble(2, x -> sum[0] += x);
+        dense.forEachDouble(2, x -> sum[1] += x);
+
+        assertEquals(sum[0], sum[1], epsilon);
+    }
+
+    @Test
+    void testParallelReduce1() {
+
+        Random random = new Random(9);
+
+        double[] values = new double[400 * 250];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() - 0.5;
+        }
+
+        DenseDoubleMatrix<Double> dense = new DenseDoubleMatrix<>(values, 400, 250);
+        StandardMatrix<Double> standard = new StandardMatrix<>(dense.toMatrix());
+
+        assertEquals(dense.reduceDouble(0, 250, 0d, Double::sum),
+                dense.parallelReduce(0d, Double::sum, Double::sum), epsilon);
+
+        // Both implementations split the same column-major order at the same places
+        assertEquals(standard.parallelReduce(3, 200, 0d, Double::sum, Double::sum, true, ForkJoinPool.commonPool()),
+                dense.parallelReduce(3, 200, 0d, Double::sum, Double::sum, true, ForkJoinPool.commonPool()));
+
+        assertEquals(-0.5, dense.parallelReduce(0, 250, Double.POSITIVE_INFINITY, Math::min, Math::min), 0.01);
+    }
+
+    @Test
+    void testView1() {
+
+        Random random = new Random(11);
+
+        double[] values = new double[30 * 20];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 10 - 5;
+        }
+
+        DenseDoubleMatrix<Double> matrix = new DenseDoubleMatrix<>(values, 30, 20);
+
+        DenseDoubleMatrix<Double> view = matrix.view(5, 25, 3, 15);
+
+        double[] block = new double[20 * 12];
+
+        for (int i = 0; i < 20; i++) {
+            System.arraycopy(values, (i + 5) * 20 + 3, block, i * 12, 12);
+        }
+
+        DenseDoubleMatrix<Double> copy = new DenseDoubleMatrix<>(block, 20, 12);
+
+        assertTrue(view.isView());
+        assertEquals(20, view.getRowNumber());
+        assertEquals(12, view.getColumnNumber());
+        assertArrayEquals(block, view.toDoubleArray());
+
+        assertEquals(copy.sum(), view.sum(), epsilon);
+        assertEquals(copy.mean(2, 7), view.mean(2, 7), epsilon);
+        assertEquals(copy.max(), view.max(), epsilon);
+        assertEquals(copy.min(4), view.min(4), epsilon);
+        assertEquals(copy.median(1, 9), view.median(1, 9), epsilon);
+        assertEquals(copy.variance(), view.variance(), epsilon);
+        assertEquals(copy.l2Norm(11), view.l2Norm(11), epsilon);
+        assertArrayEquals(copy.columnSummaries().getMean(), view.columnSummaries().getMean(), epsilon);
+        assertEquals(copy.reduceDouble(0, 12, 0d, Double::sum),
+                view.parallelReduce(0, 12, 0d, Double::sum, Double::sum, true, ForkJoinPool.commonPool()), epsilon);
+        assertArrayEquals(copy.toMatrix()[19], view.toMatrix()[19]);
+
+        // A view as an operand of another matrix
+        DenseDoubleMatrix<Double> left = new DenseDoubleMatrix<>(copy.toMatrix());
+        left.transpose().multiply(view);
+        copy.transpose().multiply(new DenseDoubleMatrix<>(block, 20, 12));
+
+        assertArrayEquals(copy.toDoubleArray(), left.toDoubleArray(), epsilon);
+    }
+
+    @Test
+    void testView2() {
+
+        DenseDoubleMatrix<Integer> matrix = new DenseDoubleMatrix<>(new Integer[][]{
+                {1, 2, 3, 4},
+                {5, 6, 7, 8},
+                {9, 10, 11, 12}
+        });
+
+        IMatrix<Integer> view = matrix.view(1, 3, 1, 3);
+
+        // Writes through the view change the parent and the other way around
+        view.mapDouble(x -> x * 10);
+
+        assertArrayEquals(new double[]{1, 2, 3, 4, 5, 60, 70, 8, 9, 100, 110, 12}, matrix.toDoubleArray(), epsilon);
+
+        matrix.set(2, 2, -1);
+
+        assertEquals(-1d, view.toMatrix()[1][1], epsilon);
+
+        // Operations that keep the dimensions write their result back
+        view.transpose();
+
+        assertArrayEquals(new double[]{1, 2, 3, 4, 5, 60, 100, 8, 9, 70, -1, 12}, matrix.toDoubleArray(), epsilon);
+
+        view.sortWithRowSwap(0, false);
+
+        assertArrayEquals(new double[]{1, 2, 3, 4, 5, 70, -1, 8, 9, 60, 100, 12}, matrix.toDoubleArray(), epsilon);
+
+        // A view of a view
+        matrix.view(0, 3, 1, 4).view(1, 3, 2, 3).multiply(2);
+
+        assertArrayEquals(new double[]{1, 2, 3, 4, 5, 70, -1, 16, 9, 60, 100, 24}, matrix.toDoubleArray(), epsilon);
+
+        assertThrows(IllegalArgumentException.class, () -> view.putColumn(new Integer[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> view.popColumn());
+        assertThrows(IllegalArgumentException.class, () -> matrix.view(1, 3, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> matrix.view(0, 4, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> matrix.view(0, 1, 0, 5));
+
+        assertEquals(12, matrix.toDoubleArray().length);
+        assertFalse(matrix.isView());
+    }
+
+    @Test
+    void testView3() {
+
+        Double[][] values = {
+                {4d, 1d},
+                {2d, 3d}
+        };
+
+        // Operations of the parent that keep its dimensions write into the buffer the views share
+        DenseDoubleMatrix<Double> matrix = new DenseDoubleMatrix<>(values);
+        IMatrix<Double> view = matrix.view(0, 2, 0, 2);
+
+        matrix.inverse();
+
+        assertArrayEquals(matrix.toMatrix()[0], view.toMatrix()[0]);
+
+        view.multiply(10d);
+
+        assertEquals(3d, matrix.get(0, 0), epsilon);
+
+        matrix = new DenseDoubleMatrix<>(values);
+        view = matrix.view(1, 2, 0, 2);
+
+        matrix.multiply(new DenseDoubleMatrix<>(new Double[][]{{0d, 1d}, {1d, 0d}}));
+        matrix.transpose();
+
+        assertArrayEquals(new Double[]{4d, 2d}, view.toMatrix()[0]);
+
+        // The others give the parent a new buffer, and the views created before refuse to be used
+        DenseDoubleMatrix<Double> parent = new DenseDoubleMatrix<>(values);
+        IMatrix<Double> stale = parent.view(0, 1, 0, 1);
+
+        parent.multiply(new DenseDoubleMatrix<>(new Double[][]{{1d, 0d, 1d}, {0d, 1d, 1d}}));
+
+        assertThrows(IllegalArgumentException.class, stale::sum);
+
+        IMatrix<Double> stale1 = parent.view(0, 1, 0, 1);
+        parent.transpose();
+
+        assertThrows(IllegalArgumentException.class, () -> stale1.multiply(10d));
+
+        IMatrix<Double> stale2 = parent.view(0, 1, 0, 1);
+        parent.popColumn();
+
+        assertThrows(IllegalArgumentException.class, stale2::toMatrix);
+
+        IMatrix<Double> stale3 = parent.view(0, 1, 0, 1).view(0, 1, 0, 1);
+        parent.putColumn(new Double[]{1d, 1d, 1d});
+
+        assertThrows(IllegalArgumentException.class, () -> stale3.view(0, 1, 0, 1));
+
+        IMatrix<Double> stale4 = parent.view(0, 1, 0, 1);
+        parent.putRow(new Double[]{1d, 1d});
+
+        assertThrows(IllegalArgumentException.class, () -> stale4.mapDouble(x -> x + 1));
+        assertEquals(4, parent.getRowNumber());
+        assertEquals(5d, parent.view(0, 1, 0, 2).sum(), epsilon);
+    }
+}
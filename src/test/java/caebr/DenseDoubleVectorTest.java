@@ -0,0 +1,201 @@
+package caebr;
+
+import caebr.statistics.SummaryStatistics;
+import caebr.util.NumberUtils;
+import caebr.vector.DenseDoubleVector;
+import caebr.vector.StandardVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DenseDoubleVectorTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testConstructor1() {
+
+        DenseDoubleVector<Integer> vector1 = new DenseDoubleVector<>(new Integer[] {1, 2, 3}, false);
+
+        assertEquals(1, vector1.getRowNumber());
+        assertEquals(3, vector1.getColumnNumber());
+        assertEquals(3d, vector1.get(2));
+
+        assertThrows(IllegalArgumentException.class, () -> new DenseDoubleVector<>(new Integer[0]));
+        assertThrows(IllegalArgumentException.class, () -> new DenseDoubleVector<Double>((double[]) null));
+    }
+
+    @Test
+    void testPut1() {
+
+        DenseDoubleVector<Double> vector1 = new DenseDoubleVector<>(new double[] {1d});
+
+        for (int i = 2; i <= 1000; i++) {
+            vector1.put((double) i);
+        }
+
+        assertEquals(1000, vector1.size());
+        assertEquals(1000, vector1.getRowNumber());
+        assertTrue(vector1.capacity() >= 1000);
+        assertEquals(500500d, vector1.sum(), epsilon);
+
+        vector1.trimToSize();
+
+        assertEquals(1000, vector1.capacity());
+
+        vector1.put(new Double[] {1d, 2d});
+
+        assertEquals(1002, vector1.size());
+        assertEquals(2d, vector1.get(1001));
+    }
+
+    @Test
+    void testAddition1() {
+
+        DenseDoubleVector<Integer> vector1 = new DenseDoubleVector<>(new Integer[] {1, 2, 3, 4, 5, 6});
+
+        DenseDoubleVector<Integer> vector2 = new DenseDoubleVector<>(new Integer[] {1, 2, 3, 4, 5, 6});
+
+        StandardVector<Integer> vector3 = new StandardVector<>(new Integer[] {1, 1, 1, 1, 1, 1});
+
+        assertArrayEquals(new Integer[] {2, 4, 6, 8, 10, 12}, vector1.add(vector2).toIntegerArray());
+        assertArrayEquals(new Integer[] {1, 3, 5, 7, 9, 11}, vector1.subtract(vector3).toIntegerArray());
+        assertArrayEquals(new Integer[] {3, 5, 7, 9, 11, 13}, vector1.add(2).toIntegerArray());
+        assertArrayEquals(new Integer[] {6, 10, 14, 18, 22, 26}, vector1.multiply(2).toIntegerArray());
+
+        assertThrows(IllegalArgumentException.class, () -> vector1.add(new Integer[] {1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> vector1.add(vector2.transpose()));
+    }
+
+    @Test
+    void testMultiplication1() {
+
+        DenseDoubleVector<Integer> vector1 = new DenseDoubleVector<>(new Integer[] {1, 2, 3, 4, 5, 6}, false);
+
+        DenseDoubleVector<Integer> vector2 = new DenseDoubleVector<>(new Integer[] {1, 2, 3, 4, 5, 6}, true);
+
+        assertEquals(91d, vector1.dotProduct(new Integer[] {1, 2, 3, 4, 5, 6}, false), epsilon);
+        assertArrayEquals(new Double[][] {{91d}}, vector1.multiply(vector2).toMatrix());
+        assertArrayEquals(new Double[] {91d}, vector1.toArray());
+    }
+
+    @Test
+    void testMultiplication2() {
+
+        DenseDoubleVector<Integer> vector1 = new DenseDoubleVector<>(new Integer[] {1, 2, 3}, true);
+
+        StandardVector<Integer> vector2 = new StandardVector<>(new Integer[] {1, 2, 3}, false);
+
+        assertArrayEquals(new Double[][] {
+                {1d, 2d, 3d},
+                {2d, 4d, 6d},
+                {3d, 6d, 9d}
+        }, vector1.multiply(vector2).toMatrix());
+    }
+
+    @Test
+    void testDrop1() {
+
+        DenseDoubleVector<Integer> vector1 = new DenseDoubleVector<>(new Integer[] {1, 2, 3, 4, 5, 6});
+
+        assertArrayEquals(new Integer[] {1, 2, 4, 5, 6}, vector1.drop(2).toIntegerArray());
+        assertArrayEquals(new Integer[] {1, 5, 6}, vector1.drop(1, 3).toIntegerArray());
+        assertArrayEquals(new Integer[] {1, 5}, vector1.drop().toIntegerArray());
+        assertEquals(5d, vector1.pop());
+        assertThrows(IllegalArgumentException.class, vector1::pop);
+        assertArrayEquals(new Integer[] {1}, vector1.toIntegerArray());
+    }
+
+    @Test
+    void testSliceFilterSort1() {
+
+        DenseDoubleVector<Integer> vector1 = new DenseDoubleVector<>(new Integer[] {5, 3, 8, 1, 9, 2});
+
+        assertArrayEquals(new Integer[] {3, 8, 1, 9}, vector1.slice(1, 5).toIntegerArray());
+        assertArrayEquals(new Integer[] {8, 9}, vector1.filter(d -> d > 5).toIntegerArray());
+        assertArrayEquals(new Integer[] {9, 8}, vector1.sort(false).toIntegerArray());
+        assertThrows(IllegalArgumentException.class, () -> vector1.filter(d -> d > 100));
+    }
+
+    @Test
+    void testStatistics1() {
+
+        Double[] values = {3d, 1d, 4d, 1d, 5d, 9d, 2d, 6d, 5d, 3d, 5d};
+
+        DenseDoubleVector<Double> dense = new DenseDoubleVector<>(values);
+        StandardVector<Double> standard = new StandardVector<>(values);
+
+        assertEquals(standard.sum(), dense.sum(), epsilon);
+        assertEquals(standard.mean(), dense.mean(), epsilon);
+        assertEquals(standard.median(), dense.median(), epsilon);
+        assertArrayEquals(standard.quantiles(0.9, 0.1), dense.quantiles(0.9, 0.1), epsilon);
+        assertEquals(standard.variance(), dense.variance(), epsilon);
+        assertEquals(standard.standardDeviation(), dense.standardDeviation(), epsilon);
+        assertEquals(standard.range(), dense.range(), epsilon);
+        assertEquals(standard.l0Norm(), dense.l0Norm());
+        assertEquals(standard.l1Norm(), dense.l1Norm(), epsilon);
+        assertEquals(standard.l2Norm(), dense.l2Norm(), epsilon);
+        assertEquals(standard.lInfinityNorm(), dense.lInfinityNorm(), epsilon);
+        assertEquals(List.of(5d), dense.mode());
+        assertEquals(standard.distinct(), dense.distinct());
+        assertEquals(standard.distinctCount(), dense.distinctCount());
+        assertEquals(standard.approxDistinctCount(10), dense.approxDistinctCount(10));
+
+        SummaryStatistics statistics = dense.summaryStatistics();
+
+        assertEquals(11, statistics.getCount());
+        assertEquals(1d, statistics.getMin());
+        assertEquals(9d, statistics.getMax());
+    }
+
+    @Test
+    void testNormalization1() {
+
+        Double[] values = {2d, 4d, 6d, 8d, 10d};
+
+        assertTrue(NumberUtils.approximatelyEqual(new StandardVector<>(values.clone()).minMaxNormalization().toArray(),
+                new DenseDoubleVector<>(values).minMaxNormalization().toArray(), epsilon));
+
+        assertTrue(NumberUtils.approximatelyEqual(new StandardVector<>(values.clone()).zScoreStandardization().toArray(),
+                new DenseDoubleVector<>(values).zScoreStandardization().toArray(), epsilon));
+    }
+
+    @Test
+    void testPrimitiveFunctions1() {
+
+        DenseDoubleVector<Integer> vector1 = new DenseDoubleVector<>(new Integer[] {1, 2, 3, 4, 5, 6});
+
+        assertArrayEquals(new Integer[] {1, 4, 9, 16, 25, 36}, vector1.mapDouble(x -> x * x).toIntegerArray());
+        assertArrayEquals(new Integer[] {1, 5, 11, 19, 29, 41}, vector1.mapIndexed((i, x) -> x + i).toIntegerArray());
+        assertArrayEquals(new Integer[] {11, 19, 29, 41}, vector1.filterDouble(x -> x > 10).toIntegerArray());
+        assertEquals(100d, vector1.reduceDouble(0d, Double::sum), epsilon);
+
+        double[] sum = new double[1];
+
+        vector1.forEachDouble(x -> sum[0] += x);
+
+        assertEquals(100d, sum[0], epsilon);
+    }
+
+    @Test
+    void testParallelReduce1() {
+
+        double[] values = new double[100_000];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.sin(i);
+        }
+
+        DenseDoubleVector<Double> vector1 = new DenseDoubleVector<>(values);
+
+        double expected = vector1.reduceDouble(0d, Double::sum);
+
+        assertEquals(expected, vector1.parallelReduce(0d, Double::sum, Double::sum), epsilon);
+        assertEquals(vector1.parallelReduce(0d, Double::sum, Double::sum, true, ForkJoinPool.commonPool()),
+                new StandardVector<>(vector1.toArray()).parallelReduce(0d, Double::sum, Double::sum, true,
+                        ForkJoinPool.commonPool()));
+    }
+}
@@ -0,0 +1,31 @@
+package caebr;
+
+import caebr.util.DoubleCountMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleCountMapTest {
+
+    @Test
+    void testIncrement1() {
+
+        DoubleCountMap counts = new DoubleCountMap(1);
+
+        for (double d : new double[] {4d, 1d, 4d, Double.NaN, 1d, Double.NaN, 2d, 0d, -0d}) {
+            counts.increment(d);
+        }
+
+        assertEquals(6, counts.size());
+        assertEquals(2, counts.get(4d));
+        assertEquals(2, counts.get(Double.NaN));
+        assertEquals(1, counts.get(-0d));
+        assertEquals(0, counts.get(3d));
+        assertEquals(2, counts.getMaxCount());
+        assertIterableEquals(Arrays.asList(4d, 1d, Double.NaN), counts.keysWithMaxCount());
+        assertEquals(1d, counts.key(1));
+        assertEquals(2, counts.count(1));
+    }
+}
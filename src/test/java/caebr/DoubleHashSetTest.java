@@ -0,0 +1,67 @@
+package caebr;
+
+import caebr.util.DoubleHashSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleHashSetTest {
+
+    @Test
+    void testAdd1() {
+
+        DoubleHashSet set = new DoubleHashSet(2);
+
+        assertTrue(set.add(3d));
+        assertTrue(set.add(1d));
+        assertFalse(set.add(3d));
+        assertTrue(set.add(2d));
+
+        assertEquals(3, set.size());
+        assertArrayEquals(new double[] {3d, 1d, 2d}, set.toArray());
+        assertEquals(1, set.indexOf(1d));
+        assertEquals(-1, set.indexOf(4d));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(3));
+    }
+
+    @Test
+    void testAdd2() {
+
+        DoubleHashSet set = new DoubleHashSet();
+
+        // Same rules as Double.equals
+        assertTrue(set.add(Double.NaN));
+        assertFalse(set.add(0d / 0d));
+        assertTrue(set.add(0d));
+        assertTrue(set.add(-0d));
+        assertFalse(set.add(-0d));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(Double.NaN));
+        assertEquals(Double.doubleToLongBits(-0d), Double.doubleToLongBits(set.get(2)));
+    }
+
+    @Test
+    void testAdd3() {
+
+        Random random = new Random(16);
+
+        DoubleHashSet set = new DoubleHashSet();
+        Set<Double> expected = new LinkedHashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            // Whole numbers only differ in the high bits of their bit pattern
+            double value = random.nextInt(20_000);
+
+            assertEquals(expected.add(value), set.add(value));
+        }
+
+        assertEquals(new ArrayList<>(expected), set.toList());
+    }
+}
@@ -0,0 +1,151 @@
+package caebr;
+
+import caebr.util.DoubleKernels;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleKernelsTest {
+
+    double epsilon = 0.000000001d;
+
+    // Lengths below, at and past the lane count, so that both the vector loop and the tail are hit
+    private static final int MAX_LENGTH = 37;
+
+    @Test
+    void testAdd1() {
+
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            double[] x = randomArray(length + 3, length);
+            double[] y = randomArray(length + 1, length + 100);
+
+            double[] expected = x.clone();
+
+            for (int i = 0; i < length; i++) {
+                expected[3 + i] += y[1 + i];
+            }
+
+            DoubleKernels.add(x, 3, y, 1, length);
+
+            assertArrayEquals(expected, x, epsilon);
+        }
+    }
+
+    @Test
+    void testSubtract1() {
+
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            double[] x = randomArray(length, length);
+            double[] y = randomArray(length + 2, length + 100);
+
+            double[] expected = x.clone();
+
+            for (int i = 0; i < length; i++) {
+                expected[i] -= y[2 + i];
+            }
+
+            DoubleKernels.subtract(x, 0, y, 2, length);
+
+            assertArrayEquals(expected, x, epsilon);
+        }
+    }
+
+    @Test
+    void testScale1() {
+
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            double[] x = randomArray(length + 5, length);
+
+            double[] expected = x.clone();
+
+            for (int i = 0; i < length; i++) {
+                expected[5 + i] *= -2.5;
+            }
+
+            DoubleKernels.scale(x, 5, length, -2.5);
+
+            assertArrayEquals(expected, x, epsilon);
+        }
+    }
+
+    @Test
+    void testAxpy1() {
+
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            double[] x = randomArray(length + 1, length);
+            double[] y = randomArray(length + 4, length + 100);
+
+            double[] expected = y.clone();
+
+            for (int i = 0; i < length; i++) {
+                expected[4 + i] += 0.75 * x[1 + i];
+            }
+
+            DoubleKernels.axpy(0.75, x, 1, y, 4, length);
+
+            assertArrayEquals(expected, y, epsilon);
+        }
+    }
+
+    @Test
+    void testDot1() {
+
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            double[] x = randomArray(length, length);
+            double[] y = randomArray(length, length + 100);
+
+            double expected = 0d;
+
+            for (int i = 0; i < length; i++) {
+                expected += x[i] * y[i];
+            }
+
+            assertEquals(expected, DoubleKernels.dot(x, y), epsilon);
+        }
+    }
+
+    @Test
+    void testDot2() {
+        assertThrows(IllegalArgumentException.class, () -> DoubleKernels.dot(new double[3], new double[4]));
+    }
+
+    @Test
+    void testMultiplyPanels4x4() {
+
+        int kc = 19;
+        int p = 7;
+
+        double[] a = randomArray(4 * kc + 2, 1);
+        double[] b = randomArray(4 * kc + 3, 2);
+        double[] c = randomArray(4 * p, 3);
+
+        double[] expected = c.clone();
+
+        for (int k = 0; k < kc; k++) {
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 4; j++) {
+                    expected[i * p + 2 + j] += a[2 + k * 4 + i] * b[3 + k * 4 + j];
+                }
+            }
+        }
+
+        DoubleKernels.multiplyPanels4x4(a, 2, b, 3, kc, c, 2, p);
+
+        assertArrayEquals(expected, c, epsilon);
+    }
+
+    private static double[] randomArray(int length, long seed) {
+
+        Random random = new Random(seed);
+
+        double[] result = new double[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = random.nextDouble() * 2 - 1;
+        }
+
+        return result;
+    }
+}
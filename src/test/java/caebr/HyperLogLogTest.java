@@ -0,0 +1,56 @@
+package caebr;
+
+import caebr.statistics.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimate1() {
+
+        HyperLogLog sketch = new HyperLogLog();
+
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.accept(i % 250_000);
+        }
+
+        // 1.04 / sqrt(2^14) is about 0.8 %, allow three standard errors
+        assertEquals(250_000, sketch.estimate(), 250_000 * 0.025);
+    }
+
+    @Test
+    void testEstimate2() {
+
+        HyperLogLog sketch = HyperLogLog.of(1d, 2d, 2d, 3d, Double.NaN, Double.NaN, 0d, -0d);
+
+        // Linear counting is exact for a handful of values
+        assertEquals(6, sketch.estimate());
+        assertEquals(0, new HyperLogLog(4).estimate());
+    }
+
+    @Test
+    void testCombine1() {
+
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        HyperLogLog whole = new HyperLogLog(12);
+
+        for (int i = 0; i < 100_000; i++) {
+            whole.accept(i);
+
+            if (i < 60_000)
+                left.accept(i);
+
+            if (i >= 40_000)
+                right.accept(i);
+        }
+
+        assertEquals(whole, left.combine(right));
+        assertEquals(whole, HyperLogLog.fromBytes(whole.toBytes()));
+        assertThrows(IllegalArgumentException.class, () -> left.combine(new HyperLogLog(14)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {12, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+    }
+}
@@ -0,0 +1,218 @@
+package caebr;
+
+import caebr.matrix.DenseDoubleMatrix;
+import caebr.matrix.LUDecomposition;
+import caebr.matrix.StandardMatrix;
+import caebr.util.NumberUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LUDecompositionTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testDecomposition1() {
+
+        Double[][] matrix = {
+                {2d, 1d, 1d},
+                {4d, -6d, 0d},
+                {-2d, 7d, 2d}
+        };
+
+        LUDecomposition lu = new LUDecomposition(matrix);
+
+        Double[][] lower = lu.getLower();
+        Double[][] upper = lu.getUpper();
+        int[] pivot = lu.getPivot();
+
+        Double[][] product = StandardMatrix.multiply(lower, upper);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1d, lower[i][i], epsilon);
+
+            for (int j = 0; j < 3; j++) {
+                assertEquals(matrix[pivot[i]][j], product[i][j], epsilon);
+            }
+        }
+
+        assertTrue(StandardMatrix.isLowerTriangular(lower));
+        assertTrue(StandardMatrix.isUpperTriangular(upper));
+        assertFalse(lu.isSingular());
+    }
+
+    @Test
+    void testDecomposition2() {
+
+        Double[][] matrix = randomMatrix(60, 1);
+
+        LUDecomposition lu = new LUDecomposition(matrix);
+
+        Double[][] product = StandardMatrix.multiply(lu.getLower(), lu.getUpper());
+        int[] pivot = lu.getPivot();
+
+        for (int i = 0; i < 60; i++) {
+            for (int j = 0; j < 60; j++) {
+                assertEquals(matrix[pivot[i]][j], product[i][j], epsilon);
+            }
+        }
+
+        // Partial pivoting keeps every multiplier at most 1 in absolute value
+        Double[][] lower = lu.getLower();
+
+        for (Double[] row : lower) {
+            for (Double value : row) {
+                assertTrue(Math.abs(value) <= 1d + epsilon);
+            }
+        }
+    }
+
+    @Test
+    void testDeterminant1() {
+
+        LUDecomposition lu = new LUDecomposition(new Double[][]{
+                {0d, 1d},
+                {1d, 0d}
+        });
+
+        assertEquals(-1, lu.getPivotSign());
+        assertEquals(-1d, lu.determinant(), epsilon);
+    }
+
+    @Test
+    void testDeterminant2() {
+
+        Double[][] matrix = {
+                {2d, -3d, 1d},
+                {2d, 0d, -1d},
+                {1d, 4d, 5d}
+        };
+
+        assertEquals(49d, new LUDecomposition(matrix).determinant(), epsilon);
+        assertEquals(49d, StandardMatrix.determinant(matrix), epsilon);
+        assertEquals(49d, new DenseDoubleMatrix<>(matrix).determinant(), epsilon);
+    }
+
+    @Test
+    void testDeterminant3() {
+
+        // det(A * B) = det(A) * det(B)
+        Double[][] matrix1 = randomMatrix(40, 2);
+        Double[][] matrix2 = randomMatrix(40, 3);
+
+        double expected = StandardMatrix.determinant(matrix1) * StandardMatrix.determinant(matrix2);
+        double actual = StandardMatrix.determinant(StandardMatrix.multiply(matrix1, matrix2));
+
+        assertTrue(NumberUtils.approximatelyEqual(1d, actual / expected, epsilon));
+    }
+
+    @Test
+    void testSingular1() {
+
+        LUDecomposition lu = new LUDecomposition(new Double[][]{
+                {1d, 2d, 3d},
+                {2d, 4d, 6d},
+                {1d, 0d, 1d}
+        });
+
+        assertTrue(lu.isSingular());
+        assertEquals(0d, lu.determinant(), epsilon);
+        assertThrows(IllegalArgumentException.class, () -> lu.solve(new double[]{1d, 2d, 3d}));
+    }
+
+    @Test
+    void testSingular2() {
+
+        LUDecomposition lu = new LUDecomposition(new double[4], 2);
+
+        assertTrue(lu.isSingular());
+        assertEquals(0d, lu.determinant(), epsilon);
+    }
+
+    @Test
+    void testSolve1() {
+
+        LUDecomposition lu = new LUDecomposition(new Double[][]{
+                {2d, 1d, -1d},
+                {-3d, -1d, 2d},
+                {-2d, 1d, 2d}
+        });
+
+        assertArrayEquals(new double[]{2d, 3d, -1d}, lu.solve(new double[]{8d, -11d, -3d}), epsilon);
+    }
+
+    @Test
+    void testSolve2() {
+
+        Double[][] matrix = randomMatrix(30, 4);
+        Double[][] solution = new Double[30][3];
+
+        Random random = new Random(5);
+
+        for (Double[] row : solution) {
+            for (int j = 0; j < 3; j++) {
+                row[j] = random.nextDouble();
+            }
+        }
+
+        Double[][] rightHandSide = StandardMatrix.multiply(matrix, solution);
+
+        double[] b = new double[30 * 3];
+
+        for (int i = 0; i < 30; i++) {
+            for (int j = 0; j < 3; j++) {
+                b[i * 3 + j] = rightHandSide[i][j];
+            }
+        }
+
+        double[] x = new LUDecomposition(matrix).solve(b, 3);
+
+        for (int i = 0; i < 30; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertEquals(solution[i][j], x[i * 3 + j], epsilon);
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new LUDecomposition(matrix).solve(new double[29]));
+    }
+
+    @Test
+    void testInverse1() {
+
+        LUDecomposition lu = new LUDecomposition(new Double[][]{
+                {4d, 7d},
+                {2d, 6d}
+        });
+
+        assertArrayEquals(new double[]{0.6d, -0.7d, -0.2d, 0.4d}, lu.inverse(), epsilon);
+    }
+
+    @Test
+    void testConstructor1() {
+
+        assertThrows(IllegalArgumentException.class, () -> new LUDecomposition((Double[][]) null));
+        assertThrows(IllegalArgumentException.class, () -> new LUDecomposition(new Double[0][0]));
+        assertThrows(IllegalArgumentException.class, () -> new LUDecomposition(new Double[][]{{1d, 2d}}));
+        assertThrows(IllegalArgumentException.class, () -> new LUDecomposition(new double[5], 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LUDecomposition(new StandardMatrix<>(new Double[][]{{1d, 2d}})));
+    }
+
+    private static Double[][] randomMatrix(int n, long seed) {
+
+        Random random = new Random(seed);
+
+        Double[][] result = new Double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                result[i][j] = random.nextDouble() * 2 - 1;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package caebr;
+
+import caebr.matrix.DenseDoubleMatrix;
+import caebr.matrix.StandardMatrix;
+import caebr.statistics.MinMaxScaler;
+import caebr.util.NumberUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinMaxScalerTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testTransform1() {
+
+        Double[][] values = {
+                {1d, -2d, 3d},
+                {4d, 5d, -6d},
+                {7d, 8d, 9d},
+                {4d, 0d, 1d}
+        };
+
+        MinMaxScaler scaler = new MinMaxScaler();
+
+        scaler.fit(values);
+
+        // The same result as normalizing the fitted matrix in place
+        Double[][] expected = StandardMatrix.minMaxNormalization(StandardMatrix.copy(values));
+        Double[][] actual = scaler.transform(StandardMatrix.copy(values));
+
+        assertTrue(NumberUtils.approximatelyEqual(expected, actual, epsilon));
+
+        // New rows are scaled with the fitted parameters, also outside of [0, 1]
+        double[] row = {10d, -2d, 3d};
+
+        assertSame(row, scaler.transform(row));
+        assertArrayEquals(new double[] {1.5d, 0d, 0.6d}, row, epsilon);
+        assertArrayEquals(new double[] {10d, -2d, 3d}, scaler.inverseTransform(row), epsilon);
+    }
+
+    @Test
+    void testPartialFit1() {
+
+        Double[][] first = {
+                {0d, 10d},
+                {2d, 10d}
+        };
+
+        Double[][] second = {
+                {4d, 10d}
+        };
+
+        MinMaxScaler scaler = new MinMaxScaler(-1, 1);
+
+        scaler.partialFit(first).partialFit(second);
+
+        DenseDoubleMatrix<Double> matrix1 = new DenseDoubleMatrix<>(new Double[][] {{2d, 10d}, {4d, 12d}});
+
+        scaler.transform(matrix1);
+
+        // The second column has no range and is only shifted to min
+        assertArrayEquals(new Double[] {0d, 1d}, matrix1.toArray(0));
+        assertArrayEquals(new Double[] {-1d, 1d}, matrix1.toArray(1));
+
+        scaler.inverseTransform(matrix1);
+
+        assertArrayEquals(new Double[] {2d, 4d}, matrix1.toArray(0));
+        assertEquals(3, scaler.getColumnSummaries().getCount());
+    }
+
+    @Test
+    void testExceptions1() {
+
+        MinMaxScaler scaler = new MinMaxScaler();
+
+        assertFalse(scaler.isFitted());
+        assertThrows(IllegalStateException.class, () -> scaler.transform(new double[] {1d}));
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxScaler(1, 0));
+
+        scaler.fit(new Double[][] {{1d, 2d}, {3d, 4d}});
+
+        assertThrows(IllegalArgumentException.class, () -> scaler.transform(new double[] {1d}));
+        assertThrows(IllegalArgumentException.class, () -> scaler.partialFit(new Double[][] {{1d}}));
+    }
+}
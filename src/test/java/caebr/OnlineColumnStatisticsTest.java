@@ -0,0 +1,146 @@
+package caebr;
+
+import caebr.matrix.StandardMatrix;
+import caebr.statistics.OnlineColumnStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OnlineColumnStatisticsTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testAcceptRow1() {
+
+        Double[][] values = randomMatrix(40, 3, 5);
+
+        OnlineColumnStatistics statistics = new OnlineColumnStatistics(3);
+
+        for (Double[] row : values) {
+            statistics.acceptRow(row);
+        }
+
+        assertEquals(40, statistics.getCount());
+        assertEquals(3, statistics.getColumnNumber());
+
+        for (int column = 0; column < 3; column++) {
+            assertEquals(StandardMatrix.sum(values, column), statistics.getSum(column), epsilon);
+            assertEquals(StandardMatrix.mean(values, column), statistics.getMean(column), epsilon);
+            assertEquals(StandardMatrix.variance(values, column), statistics.getVariance(column), epsilon);
+            assertEquals(StandardMatrix.standardDeviation(values, column), statistics.getStandardDeviation(column), epsilon);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> statistics.acceptRow(new Double[] {1d, 2d}));
+    }
+
+    @Test
+    void testRemoveRow1() {
+
+        Double[][] values = randomMatrix(200, 2, 9);
+
+        int window = 20;
+
+        OnlineColumnStatistics statistics = new OnlineColumnStatistics(2);
+
+        for (int i = 0; i < values.length; i++) {
+            statistics.acceptRow(values[i]);
+
+            if (i >= window)
+                statistics.removeRow(values[i - window]);
+
+            // The window recomputed from scratch
+            Double[][] current = Arrays.copyOfRange(values, Math.max(0, i - window + 1), i + 1);
+
+            assertEquals(current.length, statistics.getCount());
+
+            for (int column = 0; column < 2; column++) {
+                assertEquals(StandardMatrix.mean(current, column), statistics.getMean(column), epsilon);
+                assertEquals(StandardMatrix.variance(current, column), statistics.getVariance(column), epsilon);
+            }
+        }
+
+        for (int i = values.length - window; i < values.length; i++) {
+            statistics.removeRow(values[i]);
+        }
+
+        assertEquals(0, statistics.getCount());
+        assertEquals(0.0, statistics.getMean(0));
+        assertEquals(0.0, statistics.getVariance(1));
+        assertThrows(IllegalArgumentException.class, () -> statistics.removeRow(values[0]));
+    }
+
+    @Test
+    void testReplaceRow1() {
+
+        Double[][] values = {
+                {1d, 10d},
+                {2d, 20d},
+                {3d, 30d}
+        };
+
+        OnlineColumnStatistics statistics = OnlineColumnStatistics.of(values);
+
+        statistics.replaceRow(values[1], new Double[] {8d, -40d});
+
+        assertEquals(3, statistics.getCount());
+        assertEquals(4d, statistics.getMean(0), epsilon);
+        assertEquals(0d, statistics.getMean(1), epsilon);
+        assertEquals(13d, statistics.getVariance(0), epsilon);
+        assertEquals(12d, statistics.getSum(0), epsilon);
+    }
+
+    @Test
+    void testCombine1() {
+
+        Double[][] values = randomMatrix(90, 4, 13);
+
+        OnlineColumnStatistics first = OnlineColumnStatistics.of(Arrays.copyOfRange(values, 0, 35));
+        OnlineColumnStatistics second = OnlineColumnStatistics.of(Arrays.copyOfRange(values, 35, 90));
+
+        first.combine(second).combine(new OnlineColumnStatistics(4));
+
+        OnlineColumnStatistics all = OnlineColumnStatistics.of(values);
+
+        assertEquals(90, first.getCount());
+
+        for (int column = 0; column < 4; column++) {
+            assertEquals(all.getSum(column), first.getSum(column), epsilon);
+            assertEquals(all.getMean(column), first.getMean(column), epsilon);
+            assertEquals(all.getVariance(column), first.getVariance(column), epsilon);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> first.combine(new OnlineColumnStatistics(3)));
+    }
+
+    @Test
+    void testAccept1() {
+
+        OnlineColumnStatistics statistics = new OnlineColumnStatistics(1);
+
+        statistics.accept(2d).accept(4d).accept(9d).remove(4d);
+
+        assertEquals(2, statistics.getCount());
+        assertEquals(5.5d, statistics.getMean(0), epsilon);
+        assertEquals(24.5d, statistics.getVariance(0), epsilon);
+
+        assertThrows(IllegalArgumentException.class, () -> new OnlineColumnStatistics(2).accept(1d));
+    }
+
+    private static Double[][] randomMatrix(int rows, int columns, long seed) {
+        Random random = new Random(seed);
+
+        Double[][] matrix = new Double[rows][columns];
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix[i][j] = random.nextDouble() * 10 - 5;
+            }
+        }
+
+        return matrix;
+    }
+}
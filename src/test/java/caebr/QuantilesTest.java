@@ -0,0 +1,72 @@
+package caebr;
+
+import caebr.statistics.Quantiles;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantilesTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testSelect1() {
+
+        Random random = new Random(7);
+
+        double[] values = new double[10_001];
+
+        for (int i = 0; i < values.length; i++)
+            values[i] = random.nextGaussian();
+
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (int k : new int[] {0, 1, 17, 5000, 9999, 10_000}) {
+            double[] scratch = values.clone();
+
+            assertEquals(sorted[k], Quantiles.select(scratch, 0, scratch.length, k));
+
+            for (int i = 0; i < k; i++)
+                assertTrue(scratch[i] <= scratch[k]);
+            for (int i = k + 1; i < scratch.length; i++)
+                assertTrue(scratch[i] >= scratch[k]);
+        }
+    }
+
+    @Test
+    void testSelect2() {
+
+        // Sorted, reversed and constant inputs
+        double[] ascending = new double[1000];
+        double[] descending = new double[1000];
+        double[] constant = new double[1000];
+
+        for (int i = 0; i < 1000; i++) {
+            ascending[i] = i;
+            descending[i] = 999 - i;
+            constant[i] = 3d;
+        }
+
+        assertEquals(500d, Quantiles.select(ascending, 0, 1000, 500));
+        assertEquals(500d, Quantiles.select(descending, 0, 1000, 500));
+        assertEquals(3d, Quantiles.select(constant, 0, 1000, 500));
+    }
+
+    @Test
+    void testQuantiles1() {
+
+        double[] values = {Double.NaN, 4d, 1d, Double.NaN, 3d, 2d};
+
+        // NaN values are ordered last, as by Arrays.sort
+        assertArrayEquals(new double[] {1d, 3.5d}, Quantiles.quantiles(values.clone(), values.length, 0d, 0.5),
+                epsilon);
+        assertTrue(Double.isNaN(Quantiles.quantile(values.clone(), values.length, 1d)));
+        assertEquals(2.5d, Quantiles.median(new double[] {4d, 1d, 3d, 2d, 99d}, 4), epsilon);
+        assertArrayEquals(new double[] {0d, 0d}, Quantiles.quantiles(new double[0], 0, 0.1, 0.9));
+        assertThrows(IllegalArgumentException.class, () -> Quantiles.quantile(values, values.length, Double.NaN));
+    }
+}
@@ -0,0 +1,460 @@
+package caebr;
+
+import caebr.matrix.CompressedColumns;
+import caebr.matrix.DenseDoubleMatrix;
+import caebr.matrix.IMatrix;
+import caebr.matrix.SparseMatrix;
+import caebr.matrix.StandardMatrix;
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.SummaryStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseMatrixTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testConstructor1() {
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(new Double[][]{
+                {0d, 2d, 0d},
+                {-0d, 0d, 6d}
+        });
+
+        assertEquals(2, matrix1.getRowNumber());
+        assertEquals(3, matrix1.getColumnNumber());
+        assertEquals(2, matrix1.getNonZeroCount());
+        assertEquals(6d, matrix1.get(1, 2));
+        assertEquals(0d, matrix1.get(1, 1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new SparseMatrix<>(new Double[][]{
+                        {1d, 2d, 3d},
+                        {4d, 5d}
+                }));
+
+        assertThrows(IllegalArgumentException.class, () -> new SparseMatrix<Double>(0, 3));
+    }
+
+    @Test
+    void testBuilder1() {
+
+        SparseMatrix<Double> matrix1 = SparseMatrix.<Double>builder(3, 4)
+                .add(2, 3, 1d)
+                .add(0, 1, 2d)
+                .add(2, 0, 5d)
+                .add(0, 1, 3d)
+                .add(1, 2, 4d)
+                .add(1, 2, -4d)
+                .build();
+
+        assertArrayEquals(new Double[][]{
+                {0d, 5d, 0d, 0d},
+                {0d, 0d, 0d, 0d},
+                {5d, 0d, 0d, 1d}
+        }, matrix1.toMatrix());
+
+        // Duplicates are summed and the zero sum is dropped
+        assertEquals(3, matrix1.getNonZeroCount());
+
+        assertThrows(IllegalArgumentException.class, () -> SparseMatrix.builder(2, 2).add(2, 0, 1d));
+        assertThrows(IllegalArgumentException.class, () -> SparseMatrix.builder(2, 2).add(0, -1, 1d));
+    }
+
+    @Test
+    void testSet1() {
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(3, 3);
+
+        matrix1.set(1, 1, 4d).set(0, 2, 1d).set(2, 0, 3d).set(1, 1, 0d).set(0, 2, 7d);
+
+        assertArrayEquals(new double[]{
+                0d, 0d, 7d,
+                0d, 0d, 0d,
+                3d, 0d, 0d
+        }, matrix1.toDoubleArray());
+
+        assertEquals(2, matrix1.getNonZeroCount());
+        assertEquals(2d / 9, matrix1.density(), epsilon);
+    }
+
+    @Test
+    void testCompressedColumns1() {
+
+        double[][] values = randomSparse(30, 20, 0.1, 3);
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(values);
+
+        CompressedColumns columns = matrix1.toCompressedColumns();
+
+        assertEquals(matrix1.getNonZeroCount(), columns.getNonZeroCount());
+
+        for (int i = 0; i < 30; i++) {
+            for (int j = 0; j < 20; j++) {
+                assertEquals(values[i][j], columns.get(i, j));
+            }
+        }
+
+        SparseMatrix<Double> matrix2 = new SparseMatrix<>(columns);
+
+        assertArrayEquals(matrix1.toDoubleArray(), matrix2.toDoubleArray());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompressedColumns(2, 2, new int[]{0, 2, 2}, new int[]{1, 0}, new double[]{1d, 2d}));
+    }
+
+    @Test
+    void testMultiplication1() {
+
+        double[][] values1 = randomSparse(40, 30, 0.1, 5);
+        double[][] values2 = randomSparse(30, 25, 0.15, 6);
+
+        DenseDoubleMatrix<Double> expected = new DenseDoubleMatrix<>(values1);
+        expected.multiply(new DenseDoubleMatrix<Double>(values2));
+
+        // Sparse * sparse
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(values1);
+        matrix1.multiply(new SparseMatrix<Double>(values2));
+
+        assertEquals(40, matrix1.getRowNumber());
+        assertEquals(25, matrix1.getColumnNumber());
+        assertArrayEquals(expected.toDoubleArray(), matrix1.toDoubleArray(), 1e-9);
+
+        // Sparse * dense
+        SparseMatrix<Double> matrix2 = new SparseMatrix<>(values1);
+        matrix2.multiply(new DenseDoubleMatrix<Double>(values2));
+
+        assertArrayEquals(expected.toDoubleArray(), matrix2.toDoubleArray(), 1e-9);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new SparseMatrix<Double>(values1).multiply(new SparseMatrix<Double>(values1)));
+    }
+
+    @Test
+    void testMultiplicationParallel1() {
+
+        double[][] values1 = randomSparse(600, 500, 0.05, 7);
+        double[][] values2 = randomSparse(500, 400, 0.05, 8);
+
+        SparseMatrix<Double> sequential = new SparseMatrix<>(values1);
+        SparseMatrix<Double> parallel = new SparseMatrix<>(values1);
+
+        sequential.multiply(new SparseMatrix<Double>(values2));
+        parallel.multiplyParallel(new SparseMatrix<Double>(values2));
+
+        assertArrayEquals(sequential.toDoubleArray(), parallel.toDoubleArray());
+
+        SparseMatrix<Double> denseParallel = new SparseMatrix<>(values1);
+        denseParallel.multiplyParallel(new DenseDoubleMatrix<Double>(values2));
+
+        assertArrayEquals(sequential.toDoubleArray(), denseParallel.toDoubleArray(), 1e-9);
+    }
+
+    @Test
+    void testMultiplyVector1() {
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(new Double[][]{
+                {1d, 0d, 2d},
+                {0d, 0d, 0d},
+                {0d, 3d, 0d}
+        });
+
+        assertArrayEquals(new double[]{7d, 0d, 6d}, matrix1.multiplyVector(new double[]{1d, 2d, 3d}), epsilon);
+        assertThrows(IllegalArgumentException.class, () -> matrix1.multiplyVector(new double[]{1d}));
+    }
+
+    @Test
+    void testAdditionAndTranspose1() {
+
+        double[][] values1 = randomSparse(12, 9, 0.2, 11);
+        double[][] values2 = randomSparse(12, 9, 0.2, 12);
+
+        DenseDoubleMatrix<Double> expected = new DenseDoubleMatrix<>(values1);
+        expected.add(new DenseDoubleMatrix<Double>(values2)).transpose();
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(values1);
+        matrix1.add(new SparseMatrix<Double>(values2)).transpose();
+
+        assertEquals(9, matrix1.getRowNumber());
+        assertEquals(12, matrix1.getColumnNumber());
+        assertArrayEquals(expected.toDoubleArray(), matrix1.toDoubleArray(), 1e-12);
+
+        // Subtracting itself leaves nothing stored
+        SparseMatrix<Double> matrix2 = new SparseMatrix<>(values1);
+        matrix2.subtract(new SparseMatrix<Double>(values1));
+
+        assertEquals(0, matrix2.getNonZeroCount());
+    }
+
+    @Test
+    void testStatistics1() {
+
+        double[][] values = randomSparse(50, 6, 0.2, 13);
+        values[3][2] = -4d;
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(values);
+        DenseDoubleMatrix<Double> matrix2 = new DenseDoubleMatrix<>(values);
+
+        assertEquals(matrix2.sum(), matrix1.sum(), epsilon);
+        assertEquals(matrix2.sum(1), matrix1.sum(1), epsilon);
+        assertEquals(matrix2.mean(0, 2), matrix1.mean(0, 2), epsilon);
+        assertEquals(matrix2.max(), matrix1.max(), epsilon);
+        assertEquals(matrix2.min(2), matrix1.min(2), epsilon);
+        assertEquals(matrix2.median(), matrix1.median(), epsilon);
+        assertArrayEquals(matrix2.quantiles(0.1, 0.5, 0.95, 1), matrix1.quantiles(0.1, 0.5, 0.95, 1), epsilon);
+        assertArrayEquals(matrix2.quantiles(1, 3, 0.3), matrix1.quantiles(1, 3, 0.3), epsilon);
+        assertEquals(matrix2.variance(), matrix1.variance(), epsilon);
+        assertEquals(matrix2.standardDeviation(2), matrix1.standardDeviation(2), epsilon);
+        assertEquals(matrix2.range(0), matrix1.range(0), epsilon);
+        assertEquals(matrix2.l0Norm(1), matrix1.l0Norm(1));
+        assertEquals(matrix2.l1Norm(1), matrix1.l1Norm(1), epsilon);
+        assertEquals(matrix2.l2Norm(2), matrix1.l2Norm(2), epsilon);
+        assertEquals(matrix2.lInfinityNorm(2), matrix1.lInfinityNorm(2), epsilon);
+        assertIterableEquals(matrix2.mode(), matrix1.mode());
+        assertIterableEquals(matrix2.distinct(1, 4), matrix1.distinct(1, 4));
+        assertEquals(matrix2.distinctCount(), matrix1.distinctCount());
+        assertEquals(matrix2.approxDistinctCount(10), matrix1.approxDistinctCount(10));
+        assertIterableEquals(matrix2.toList(1, 3), matrix1.toList(1, 3));
+        assertEquals(matrix2.reduce(2, Double::sum), matrix1.reduce(2, Double::sum), epsilon);
+        assertEquals(matrix2.parallelReduce(0d, Double::sum, Double::sum),
+                matrix1.parallelReduce(0d, Double::sum, Double::sum), epsilon);
+
+        SummaryStatistics statistics = matrix1.summaryStatistics(1, 4);
+
+        assertEquals(150, statistics.getCount());
+        assertEquals(matrix2.variance(1, 4), statistics.getVariance(), epsilon);
+        assertEquals(matrix2.min(1, 4), statistics.getMin(), epsilon);
+
+        ColumnSummaries summaries1 = matrix1.columnSummaries();
+        ColumnSummaries summaries2 = matrix2.columnSummaries();
+
+        assertArrayEquals(summaries2.getMean(), summaries1.getMean(), epsilon);
+        assertArrayEquals(summaries2.getMin(), summaries1.getMin(), epsilon);
+        assertArrayEquals(summaries2.getMax(), summaries1.getMax(), epsilon);
+        assertArrayEquals(summaries2.getVariance(), summaries1.getVariance(), epsilon);
+
+        assertEquals(matrix2.tDigest(100).quantile(0.5), matrix1.tDigest(100).quantile(0.5), 0.1);
+    }
+
+    @Test
+    void testMaxMin1() {
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(new Double[][]{
+                {-1d, -2d},
+                {-4d, -5d}
+        });
+
+        assertEquals(-1d, matrix1.max());
+        assertEquals(-5d, matrix1.min());
+
+        SparseMatrix<Double> matrix2 = new SparseMatrix<>(new Double[][]{
+                {-1d, 2d},
+                {0d, 0d}
+        });
+
+        // The zero that is not stored counts
+        assertEquals(0d, matrix2.max(0));
+        assertEquals(0d, matrix2.min(1));
+    }
+
+    @Test
+    void testMap1() {
+
+        double[][] values = randomSparse(10, 8, 0.3, 17);
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(values);
+        DenseDoubleMatrix<Double> matrix2 = new DenseDoubleMatrix<>(values);
+
+        int stored = matrix1.getNonZeroCount();
+
+        // Zeros stay zeros
+        matrix1.map(x -> x * 3);
+        matrix2.map(x -> x * 3);
+
+        assertEquals(stored, matrix1.getNonZeroCount());
+        assertArrayEquals(matrix2.toDoubleArray(), matrix1.toDoubleArray(), 1e-12);
+
+        // Zeros become ones in the mapped columns only
+        matrix1.mapDouble(2, 4, x -> x + 1);
+        matrix2.mapDouble(2, 4, x -> x + 1);
+
+        assertArrayEquals(matrix2.toDoubleArray(), matrix1.toDoubleArray(), 1e-12);
+
+        matrix1.mapIndexed((i, j, v) -> i == j ? 1d : v);
+        matrix2.mapIndexed((i, j, v) -> i == j ? 1d : v);
+
+        assertArrayEquals(matrix2.toDoubleArray(), matrix1.toDoubleArray(), 1e-12);
+
+        matrix1.multiply(0d);
+
+        assertEquals(0, matrix1.getNonZeroCount());
+    }
+
+    @Test
+    void testRowAndColumnOperations1() {
+
+        Double[][] values = {
+                {0d, 2d, 1d},
+                {1d, 0d, 0d},
+                {0d, 0d, 3d},
+                {0d, 4d, -1d}
+        };
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(values);
+        StandardMatrix<Double> matrix2 = new StandardMatrix<>(StandardMatrix.copy(values));
+
+        matrix1.swapRows(0, 3).addRows(1, 2).multiplyRows(0, 3);
+        matrix2.swapRows(0, 3).addRows(1, 2).multiplyRows(0, 3);
+
+        assertArrayEquals(matrix2.toMatrix(), matrix1.toMatrix());
+
+        assertArrayEquals(matrix2.popColumn(1), matrix1.popColumn(1));
+        assertArrayEquals(matrix2.toMatrix(), matrix1.toMatrix());
+
+        matrix1.putColumn(new Double[]{0d, 5d, 0d, 6d}).setColumn(new Double[]{7d, 0d, 0d, 0d}, 0);
+        matrix2.putColumn(new Double[]{0d, 5d, 0d, 6d}).setColumn(new Double[]{7d, 0d, 0d, 0d}, 0);
+
+        assertArrayEquals(matrix2.toMatrix(), matrix1.toMatrix());
+
+        matrix1.replaceRow(2, new Double[]{0d, 9d, 0d}).putRow(new Double[]{1d, 0d, 1d});
+        matrix2.replaceRow(2, new Double[]{0d, 9d, 0d}).putRow(new Double[]{1d, 0d, 1d});
+
+        assertArrayEquals(matrix2.toMatrix(), matrix1.toMatrix());
+        assertEquals(5, matrix1.getRowNumber());
+    }
+
+    @Test
+    void testSort1() {
+
+        Double[][] values = {
+                {3d, 0d},
+                {0d, -1d},
+                {-2d, 4d},
+                {0d, 0d},
+                {5d, 2d}
+        };
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(values);
+        StandardMatrix<Double> matrix2 = new StandardMatrix<>(StandardMatrix.copy(values));
+
+        matrix1.sort(0, false);
+        matrix2.sort(0, false);
+
+        assertArrayEquals(matrix2.toMatrix(), matrix1.toMatrix());
+
+        SparseMatrix<Double> matrix3 = new SparseMatrix<>(values);
+        StandardMatrix<Double> matrix4 = new StandardMatrix<>(StandardMatrix.copy(values));
+
+        matrix3.sortWithRowSwap(1, true);
+        matrix4.sortWithRowSwap(1, true);
+
+        assertArrayEquals(matrix4.toMatrix(), matrix3.toMatrix());
+    }
+
+    @Test
+    void testStructurePredicates1() {
+
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(new Double[][]{
+                {2d, 0d, 0d},
+                {1d, 3d, 0d},
+                {0d, 4d, 5d}
+        });
+
+        assertTrue(matrix1.isLowerTriangular());
+        assertFalse(matrix1.isUpperTriangular());
+        assertFalse(matrix1.isSymmetric());
+        assertEquals(30d, matrix1.determinant(), epsilon);
+
+        SparseMatrix<Double> matrix2 = new SparseMatrix<>(new Double[][]{
+                {4d, 1d, 0d},
+                {1d, 3d, 0d},
+                {0d, 0d, 2d}
+        });
+
+        assertTrue(matrix2.isSymmetric());
+        assertEquals(22d, matrix2.determinant(), epsilon);
+
+        IMatrix<Double> product = new SparseMatrix<>(new Double[][]{
+                {4d, 1d, 0d},
+                {1d, 3d, 0d},
+                {0d, 0d, 2d}
+        }).inverse().multiply(matrix2);
+
+        assertArrayEquals(new double[]{
+                1d, 0d, 0d,
+                0d, 1d, 0d,
+                0d, 0d, 1d
+        }, ((SparseMatrix<Double>) product).toDoubleArray(), epsilon);
+    }
+
+    // Every entry is non-zero with the given probability
+    private static double[][] randomSparse(int rows, int columns, double density, long seed) {
+        Random random = new Random(seed);
+
+        double[][] matrix = new double[rows][columns];
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (random.nextDouble() < density)
+                    matrix[i][j] = Math.round((random.nextDouble() * 10 - 5) * 4) / 4d;
+            }
+        }
+
+        return matrix;
+    }
+
+    @Test
+    void testDeterminant1() {
+
+        // Within epsilon of both triangular forms, but the determinant is -1, not the product of the zero diagonal
+        SparseMatrix<Double> matrix1 = new SparseMatrix<>(new Double[][]{
+                {0d, 1e7},
+                {1e-7, 0d}
+        });
+
+        assertEquals(-1d, matrix1.determinant(), epsilon);
+    }
+
+    @Test
+    void testView1() {
+
+        SparseMatrix<Double> matrix = new SparseMatrix<>(new double[][]{
+                {1d, 0d, 0d, 2d},
+                {0d, 3d, 0d, 0d},
+                {0d, 0d, 4d, 0d},
+                {5d, 0d, 0d, 6d}
+        });
+
+        IMatrix<Double> view = matrix.view(1, 4, 0, 3);
+
+        assertEquals(3, view.getRowNumber());
+        assertEquals(3, view.getColumnNumber());
+        assertEquals(12d, view.sum(), epsilon);
+        assertEquals(0d, view.median(1), epsilon);
+        assertEquals(2, view.l0Norm(0) + view.l0Norm(2));
+
+        view.mapIndexed((row, column, value) -> row == column ? 7d : value);
+
+        assertEquals(7d, matrix.get(1, 0), epsilon);
+        assertEquals(7d, matrix.get(2, 1), epsilon);
+        assertEquals(7d, matrix.get(3, 2), epsilon);
+        assertEquals(3d, matrix.get(1, 1), epsilon);
+        assertEquals(4d, matrix.get(2, 2), epsilon);
+        assertEquals(5d, matrix.get(3, 0), epsilon);
+        assertEquals(6d, matrix.get(3, 3), epsilon);
+        assertEquals(2d, matrix.get(0, 3), epsilon);
+        assertEquals(9, matrix.getNonZeroCount());
+
+        matrix.set(2, 2, 9d);
+
+        assertEquals(9d, view.toMatrix()[1][2], epsilon);
+
+        assertThrows(IllegalArgumentException.class, () -> view.popColumn(0));
+        assertEquals(9, matrix.getNonZeroCount());
+        assertEquals(4, matrix.getColumnNumber());
+    }
+}
@@ -0,0 +1,354 @@
+package caebr;
+
+import caebr.matrix.IMatrix;
+import caebr.matrix.SparseMatrix;
+import caebr.statistics.TDigest;
+import caebr.vector.DenseDoubleVector;
+import caebr.vector.SparseVector;
+import caebr.vector.StandardVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseVectorTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testConstructor1() {
+
+        SparseVector<Double> vector1 = new SparseVector<>(new Double[]{0d, 2d, -0d, 0d, 5d});
+
+        assertEquals(5, vector1.size());
+        assertEquals(2, vector1.getNonZeroCount());
+        assertArrayEquals(new int[]{1, 4}, vector1.getIndexes());
+        assertArrayEquals(new double[]{2d, 5d}, vector1.getValues());
+        assertEquals(0d, vector1.get(3));
+
+        // Any order, duplicates summed, zero sums dropped
+        SparseVector<Double> vector2 = new SparseVector<>(10,
+                new int[]{7, 2, 7, 5, 5},
+                new double[]{1d, 3d, 4d, 2d, -2d});
+
+        assertArrayEquals(new int[]{2, 7}, vector2.getIndexes());
+        assertArrayEquals(new double[]{3d, 5d}, vector2.getValues());
+
+        assertThrows(IllegalArgumentException.class, () -> new SparseVector<Double>(new Double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new SparseVector<Double>(3, new int[]{3}, new double[]{1d}));
+    }
+
+    @Test
+    void testSetAndPut1() {
+
+        SparseVector<Double> vector1 = new SparseVector<>(6);
+
+        vector1.set(4, 2d).set(1, 3d).set(2, 1d).set(1, 0d).set(4, 7d);
+        vector1.put(0d).put(9d);
+
+        assertArrayEquals(new double[]{0d, 0d, 1d, 0d, 7d, 0d, 0d, 9d}, vector1.toDoubleArray());
+        assertEquals(3, vector1.getNonZeroCount());
+        assertEquals(3d / 8, vector1.density(), epsilon);
+
+        assertThrows(IllegalArgumentException.class, () -> vector1.set(8, 1d));
+    }
+
+    @Test
+    void testDotProduct1() {
+
+        double[] values1 = randomSparse(1000, 0.05, 3);
+        double[] values2 = randomSparse(1000, 0.05, 4);
+
+        SparseVector<Double> sparse1 = new SparseVector<>(values1);
+        SparseVector<Double> sparse2 = new SparseVector<>(values2);
+        DenseDoubleVector<Double> dense2 = new DenseDoubleVector<>(values2);
+        StandardVector<Double> standard2 = new StandardVector<>(boxed(values2));
+
+        double expected = new DenseDoubleVector<Double>(values1).dotProduct(dense2);
+
+        assertEquals(expected, sparse1.dotProduct(sparse2), epsilon);
+        assertEquals(expected, sparse1.dotProduct(dense2), epsilon);
+        assertEquals(expected, sparse1.dotProduct(standard2), epsilon);
+        assertEquals(expected, sparse1.dotProduct(boxed(values2)), epsilon);
+        assertEquals(expected, standard2.dotProduct(sparse1), epsilon);
+        assertEquals(expected, dense2.dotProduct(sparse1), epsilon);
+
+        assertThrows(IllegalArgumentException.class, () -> sparse1.dotProduct(new SparseVector<Double>(999)));
+        assertThrows(IllegalArgumentException.class, () -> sparse1.dotProduct(new SparseVector<Double>(1000, false)));
+    }
+
+    @Test
+    void testAddition1() {
+
+        double[] values1 = randomSparse(200, 0.1, 5);
+        double[] values2 = randomSparse(200, 0.1, 6);
+
+        DenseDoubleVector<Double> expected = new DenseDoubleVector<>(values1);
+        expected.add(new DenseDoubleVector<Double>(values2));
+
+        SparseVector<Double> sparse1 = new SparseVector<>(values1);
+        sparse1.add(new SparseVector<Double>(values2));
+
+        assertArrayEquals(expected.toDoubleArray(), sparse1.toDoubleArray(), 1e-12);
+
+        SparseVector<Double> sparse2 = new SparseVector<>(values1);
+        sparse2.add(new StandardVector<>(boxed(values2)));
+
+        assertArrayEquals(expected.toDoubleArray(), sparse2.toDoubleArray(), 1e-12);
+
+        // A dense vector adds a sparse one only at the stored indexes
+        StandardVector<Double> standard = new StandardVector<>(boxed(values2));
+        standard.add(new SparseVector<Double>(values1));
+
+        assertArrayEquals(boxed(expected.toDoubleArray()), standard.toArray());
+
+        DenseDoubleVector<Double> dense = new DenseDoubleVector<>(values2);
+        dense.subtract(new SparseVector<Double>(values1));
+
+        SparseVector<Double> sparse3 = new SparseVector<>(values2);
+        sparse3.subtract(new SparseVector<Double>(values1));
+
+        assertArrayEquals(dense.toDoubleArray(), sparse3.toDoubleArray(), 1e-12);
+
+        // Subtracting itself leaves nothing stored
+        SparseVector<Double> sparse4 = new SparseVector<>(values1);
+        sparse4.subtract(new SparseVector<Double>(values1));
+
+        assertEquals(0, sparse4.getNonZeroCount());
+
+        SparseVector<Double> sparse5 = new SparseVector<>(new double[]{0d, 2d, 0d});
+        sparse5.add(1d);
+
+        assertArrayEquals(new double[]{1d, 3d, 1d}, sparse5.toDoubleArray());
+    }
+
+    @Test
+    void testMultiply1() {
+
+        SparseVector<Double> vector1 = new SparseVector<>(new double[]{0d, 2d, 0d, 3d});
+        SparseVector<Double> vector2 = new SparseVector<>(new double[]{1d, 0d, 0d, 4d}, false);
+
+        IMatrix<Double> outer = vector1.multiply(vector2);
+
+        assertInstanceOf(SparseMatrix.class, outer);
+        assertEquals(4, ((SparseMatrix<Double>) outer).getNonZeroCount());
+        assertArrayEquals(new Double[][]{
+                {0d, 0d, 0d, 0d},
+                {2d, 0d, 0d, 8d},
+                {0d, 0d, 0d, 0d},
+                {3d, 0d, 0d, 12d}
+        }, outer.toMatrix());
+
+        vector2.multiply(vector1);
+
+        assertEquals(1, vector2.size());
+        assertEquals(12d, vector2.get(0), epsilon);
+
+        vector1.multiply(2d);
+
+        assertArrayEquals(new double[]{0d, 4d, 0d, 6d}, vector1.toDoubleArray());
+        assertEquals(2, vector1.getNonZeroCount());
+    }
+
+    @Test
+    void testStatistics1() {
+
+        double[] values = randomSparse(300, 0.1, 7);
+        values[10] = -3d;
+
+        SparseVector<Double> vector1 = new SparseVector<>(values);
+        DenseDoubleVector<Double> vector2 = new DenseDoubleVector<>(values);
+
+        assertEquals(vector2.sum(), vector1.sum(), epsilon);
+        assertEquals(vector2.mean(), vector1.mean(), epsilon);
+        assertEquals(vector2.max(), vector1.max(), epsilon);
+        assertEquals(vector2.min(), vector1.min(), epsilon);
+        assertEquals(vector2.median(), vector1.median(), epsilon);
+        assertArrayEquals(vector2.quantiles(0.05, 0.5, 0.97, 1), vector1.quantiles(0.05, 0.5, 0.97, 1), epsilon);
+        assertEquals(vector2.variance(), vector1.variance(), epsilon);
+        assertEquals(vector2.standardDeviation(), vector1.standardDeviation(), epsilon);
+        assertEquals(vector2.range(), vector1.range(), epsilon);
+        assertEquals(vector2.l0Norm(), vector1.l0Norm());
+        assertEquals(vector2.l1Norm(), vector1.l1Norm(), epsilon);
+        assertEquals(vector2.l2Norm(), vector1.l2Norm(), epsilon);
+        assertEquals(vector2.lInfinityNorm(), vector1.lInfinityNorm(), epsilon);
+        assertIterableEquals(vector2.mode(), vector1.mode());
+        assertIterableEquals(vector2.distinct(), vector1.distinct());
+        assertEquals(vector2.distinctCount(), vector1.distinctCount());
+        assertEquals(vector2.approxDistinctCount(10), vector1.approxDistinctCount(10));
+        assertEquals(vector2.summaryStatistics().getCount(), vector1.summaryStatistics().getCount());
+        assertEquals(vector2.reduce(Double::sum), vector1.reduce(Double::sum), epsilon);
+        assertEquals(vector2.parallelReduce(0d, Double::sum, Double::sum),
+                vector1.parallelReduce(0d, Double::sum, Double::sum), epsilon);
+        assertEquals(vector2.tDigest(100).quantile(0.5), vector1.tDigest(100).quantile(0.5), 0.1);
+
+        SparseVector<Double> vector3 = new SparseVector<>(new double[]{-1d, -2d});
+
+        assertEquals(-1d, vector3.max());
+        assertEquals(0d, new SparseVector<Double>(new double[]{-1d, 0d}).max());
+    }
+
+    @Test
+    void testStatistics2() {
+
+        // Mostly zeros, the implicit zeros reach the digest as one weighted value
+        double[] values = new double[1000];
+
+        for (int i = 0; i < 10; i++) {
+            values[i * 100] = 5d;
+        }
+
+        SparseVector<Double> vector1 = new SparseVector<>(values);
+        DenseDoubleVector<Double> vector2 = new DenseDoubleVector<>(values);
+
+        TDigest digest1 = vector1.tDigest(100);
+        TDigest digest2 = vector2.tDigest(100);
+
+        assertEquals(0d, digest1.median(), epsilon);
+        assertEquals(0d, digest1.quantile(0.9), epsilon);
+        assertEquals(digest2.quantile(0.95), digest1.quantile(0.95), epsilon);
+        assertEquals(5d, digest1.quantile(1), epsilon);
+        assertEquals(1000, digest1.getCount());
+    }
+
+    @Test
+    void testStatistics3() {
+
+        // -0.0 is not stored and reads back as 0.0, dense vectors keep it as its own value
+        double[] values = {0d, -0d, -0d, 1d};
+
+        SparseVector<Double> vector1 = new SparseVector<>(values);
+        DenseDoubleVector<Double> vector2 = new DenseDoubleVector<>(values);
+
+        assertEquals(2, vector1.distinctCount());
+        assertIterableEquals(Arrays.asList(0d, 1d), vector1.distinct());
+        assertIterableEquals(Arrays.asList(0d), vector1.mode());
+        assertEquals(3, vector2.distinctCount());
+        assertIterableEquals(Arrays.asList(-0d), vector2.mode());
+    }
+
+    @Test
+    void testDropAndSlice1() {
+
+        double[] values = {0d, 1d, 0d, 0d, 2d, 3d, 0d, 4d};
+
+        SparseVector<Double> vector1 = new SparseVector<>(values);
+        StandardVector<Double> vector2 = new StandardVector<>(boxed(values));
+
+        vector1.drop(1).drop(2, 4);
+        vector2.drop(1).drop(2, 4);
+
+        assertArrayEquals(vector2.toArray(), vector1.toArray());
+        assertEquals(vector2.pop(), vector1.pop());
+        assertEquals(vector2.pop(0), vector1.pop(0));
+        assertArrayEquals(vector2.toArray(), vector1.toArray());
+
+        SparseVector<Double> vector3 = new SparseVector<>(values);
+        DenseDoubleVector<Double> vector4 = new DenseDoubleVector<>(values);
+
+        vector3.slice(2, 7);
+        vector4.slice(2, 7);
+
+        assertArrayEquals(vector4.toDoubleArray(), vector3.toDoubleArray());
+
+        assertThrows(IllegalArgumentException.class, () -> new SparseVector<Double>(new double[]{1d}).drop());
+    }
+
+    @Test
+    void testSortAndReverse1() {
+
+        double[] values = {0d, 3d, -1d, 0d, 5d, 0d, -4d};
+
+        SparseVector<Double> vector1 = new SparseVector<>(values);
+        DenseDoubleVector<Double> vector2 = new DenseDoubleVector<>(values);
+
+        vector1.sort();
+        vector2.sort();
+
+        assertArrayEquals(vector2.toDoubleArray(), vector1.toDoubleArray());
+
+        vector1.sort(false);
+        vector2.sort(false);
+
+        assertArrayEquals(vector2.toDoubleArray(), vector1.toDoubleArray());
+
+        vector1.reverse();
+        vector2.reverse();
+
+        assertArrayEquals(vector2.toDoubleArray(), vector1.toDoubleArray());
+
+        SparseVector<Double> vector3 = new SparseVector<>(values);
+        vector3.shuffle();
+
+        double[] shuffled = vector3.toDoubleArray();
+        double[] sorted = values.clone();
+
+        Arrays.sort(shuffled);
+        Arrays.sort(sorted);
+
+        assertArrayEquals(sorted, shuffled);
+        assertEquals(4, vector3.getNonZeroCount());
+    }
+
+    @Test
+    void testMapAndFilter1() {
+
+        double[] values = {0d, 3d, -1d, 0d, 5d, 0d, -4d};
+
+        SparseVector<Double> vector1 = new SparseVector<>(values);
+        DenseDoubleVector<Double> vector2 = new DenseDoubleVector<>(values);
+
+        vector1.map(x -> x * x);
+        vector2.map(x -> x * x);
+
+        assertArrayEquals(vector2.toDoubleArray(), vector1.toDoubleArray());
+        assertEquals(4, vector1.getNonZeroCount());
+
+        vector1.mapDouble(x -> x - 1);
+        vector2.mapDouble(x -> x - 1);
+
+        assertArrayEquals(vector2.toDoubleArray(), vector1.toDoubleArray());
+
+        vector1.mapIndexed((i, x) -> i % 2 == 0 ? 0d : x);
+        vector2.mapIndexed((i, x) -> i % 2 == 0 ? 0d : x);
+
+        assertArrayEquals(vector2.toDoubleArray(), vector1.toDoubleArray());
+
+        SparseVector<Double> vector3 = new SparseVector<>(values);
+        DenseDoubleVector<Double> vector4 = new DenseDoubleVector<>(values);
+
+        vector3.filterDouble(x -> x >= 0);
+        vector4.filterDouble(x -> x >= 0);
+
+        assertArrayEquals(vector4.toDoubleArray(), vector3.toDoubleArray());
+
+        SparseVector<Double> vector5 = new SparseVector<>(values);
+        vector5.filter(x -> x != 0);
+
+        assertArrayEquals(new double[]{3d, -1d, 5d, -4d}, vector5.toDoubleArray());
+
+        vector5.minMaxNormalization();
+
+        assertArrayEquals(new double[]{7d / 9, 3d / 9, 1d, 0d}, vector5.toDoubleArray(), epsilon);
+    }
+
+    // Every element is non-zero with the given probability
+    private static double[] randomSparse(int length, double density, long seed) {
+        Random random = new Random(seed);
+
+        double[] vector = new double[length];
+
+        for (int i = 0; i < length; i++) {
+            if (random.nextDouble() < density)
+                vector[i] = Math.round((random.nextDouble() * 10 - 5) * 4) / 4d;
+        }
+
+        return vector;
+    }
+
+    private static Double[] boxed(double[] vector) {
+        return Arrays.stream(vector).boxed().toArray(Double[]::new);
+    }
+}
@@ -2,10 +2,25 @@ package caebr;
 
 import caebr.matrix.StandardMatrix;
 import caebr.matrix.IMatrix;
+import caebr.matrix.StatisticsCache;
+import caebr.statistics.ColumnSummaries;
+import caebr.statistics.OnlineColumnStatistics;
+import caebr.statistics.SummaryStatistics;
 import caebr.util.NumberUtils;
+import caebr.vector.IVector;
+import caebr.vector.StandardVector;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -121,6 +136,648 @@ class StandardMatrixTest {
                 StandardMatrix.multiply(matrix1, matrix2));
     }
 
+    @Test
+    void testMultiplication6() {
+
+        // Large enough for the blocked kernel, with sizes that are not multiples of the tile sizes
+        Double[][] matrix1 = randomMatrix(131, 263, 1);
+        Double[][] matrix2 = randomMatrix(263, 70, 2);
+
+        assertTrue(NumberUtils.approximatelyEqual(naiveMultiply(matrix1, matrix2),
+                StandardMatrix.multiply(matrix1, matrix2), epsilon));
+    }
+
+    @Test
+    void testMultiplication7() {
+
+        Double[][] values1 = randomMatrix(90, 40, 3);
+        Double[][] values2 = randomMatrix(40, 50, 4);
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(StandardMatrix.copy(values1));
+
+        matrix1.multiply(values2);
+
+        assertEquals(90, matrix1.getRowNumber());
+        assertEquals(50, matrix1.getColumnNumber());
+        assertTrue(NumberUtils.approximatelyEqual(naiveMultiply(values1, values2), matrix1.toMatrix(), epsilon));
+    }
+
+    @Test
+    void testMultiplication8() {
+
+        // 0 * Infinity is NaN, a zero in the first matrix must not hide it
+        Double[][] product = StandardMatrix.multiply(new Double[][]{
+                {0d, 1d}
+        }, new Double[][]{
+                {Double.POSITIVE_INFINITY},
+                {1d}
+        });
+
+        assertTrue(Double.isNaN(product[0][0]));
+    }
+
+    @Test
+    void testMultiplicationParallel1() {
+
+        Double[][] values1 = randomMatrix(300, 210, 5);
+        Double[][] values2 = randomMatrix(210, 1100, 6);
+
+        assertTrue(NumberUtils.approximatelyEqual(naiveMultiply(values1, values2),
+                StandardMatrix.multiplyParallel(values1, values2), epsilon));
+    }
+
+    @Test
+    void testMultiplicationParallel2() {
+
+        Double[][] values1 = randomMatrix(257, 300, 7);
+        Double[][] values2 = randomMatrix(300, 129, 8);
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(StandardMatrix.copy(values1));
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        try {
+            matrix1.multiplyParallel(new StandardMatrix<>(values2), pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(257, matrix1.getRowNumber());
+        assertEquals(129, matrix1.getColumnNumber());
+        assertTrue(NumberUtils.approximatelyEqual(naiveMultiply(values1, values2), matrix1.toMatrix(), epsilon));
+    }
+
+    @Test
+    void testMultiplicationParallel3() {
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][]{
+                {1d, 2d},
+                {3d, 4d}
+        });
+
+        matrix1.multiplyParallel(new StandardMatrix<>(new Double[][]{{5d, 6d}, {0d, 7d}}));
+
+        assertArrayEquals(new Double[][]{
+                {5d, 20d},
+                {15d, 46d}
+        }, matrix1.toMatrix());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> matrix1.multiplyParallel(new StandardMatrix<>(new Double[][]{{1d, 2d}})));
+    }
+
+    @Test
+    void testDeterminantConcurrent1() throws Exception {
+
+        int matrixCount = 16;
+        int taskCount = 400;
+
+        List<Double[][]> matrices = new ArrayList<>();
+        double[] expected = new double[matrixCount];
+        Double[][][] expectedTriangular = new Double[matrixCount][][];
+
+        for (int i = 0; i < matrixCount; i++) {
+            Double[][] matrix = randomMatrix(10 + i, 10 + i, 100 + i);
+
+            matrices.add(matrix);
+            expected[i] = StandardMatrix.determinant(matrix);
+            expectedTriangular[i] = StandardMatrix.transformToUpperTriangularMatrix(StandardMatrix.copy(matrix));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+
+            for (int task = 0; task < taskCount; task++) {
+                int index = task % matrixCount;
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+
+                    Double[][] matrix = matrices.get(index);
+
+                    boolean determinantMatches = expected[index] == StandardMatrix.determinant(matrix)
+                            && expected[index] == new StandardMatrix<>(matrix).determinant();
+
+                    boolean triangularMatches = Arrays.deepEquals(expectedTriangular[index],
+                            StandardMatrix.transformToUpperTriangularMatrix(StandardMatrix.copy(matrix)));
+
+                    return determinantMatches && triangularMatches;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInverse1() {
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][]{
+                {4d, 7d},
+                {2d, 6d}
+        });
+
+        matrix1.inverse();
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[][]{
+                {0.6d, -0.7d},
+                {-0.2d, 0.4d}
+        }, matrix1.toMatrix(), epsilon));
+    }
+
+    @Test
+    void testInverse2() {
+
+        Double[][] values = randomMatrix(50, 50, 11);
+
+        Double[][] inverse = StandardMatrix.inverse(values);
+
+        assertTrue(StandardMatrix.isIdentity(roundToIdentity(StandardMatrix.multiply(values, inverse))));
+        assertTrue(StandardMatrix.isIdentity(roundToIdentity(StandardMatrix.multiply(inverse, values))));
+    }
+
+    @Test
+    void testInverse3() {
+
+        // Diagonal
+        assertTrue(NumberUtils.approximatelyEqual(new Double[][]{
+                {0.5d, 0d, 0d},
+                {0d, -0.25d, 0d},
+                {0d, 0d, 10d}
+        }, StandardMatrix.inverse(new Double[][]{
+                {2d, 0d, 0d},
+                {0d, -4d, 0d},
+                {0d, 0d, 0.1d}
+        }), epsilon));
+
+        // Identity
+        Double[][] identity = {
+                {1d, 0d},
+                {0d, 1d}
+        };
+
+        assertArrayEquals(identity, StandardMatrix.inverse(identity));
+    }
+
+    @Test
+    void testInverse4() {
+
+        Double[][] upper = {
+                {2d, 1d, -3d, 4d},
+                {0d, 5d, 2d, 1d},
+                {0d, 0d, -1d, 7d},
+                {0d, 0d, 0d, 3d}
+        };
+
+        Double[][] lower = StandardMatrix.transpose(StandardMatrix.copy(upper));
+
+        Double[][] upperInverse = StandardMatrix.inverse(upper);
+        Double[][] lowerInverse = StandardMatrix.inverse(lower);
+
+        assertTrue(StandardMatrix.isUpperTriangular(upperInverse));
+        assertTrue(StandardMatrix.isLowerTriangular(lowerInverse));
+
+        assertTrue(StandardMatrix.isIdentity(roundToIdentity(StandardMatrix.multiply(upper, upperInverse))));
+        assertTrue(StandardMatrix.isIdentity(roundToIdentity(StandardMatrix.multiply(lower, lowerInverse))));
+    }
+
+    @Test
+    void testInverse5() {
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][]{
+                {1d, 2d, 3d},
+                {2d, 4d, 6d},
+                {1d, 0d, 1d}
+        });
+
+        assertThrows(IllegalArgumentException.class, matrix1::inverse);
+
+        assertThrows(IllegalArgumentException.class, () -> StandardMatrix.inverse(new Double[][]{
+                {1d, 0d},
+                {0d, 0d}
+        }));
+
+        assertThrows(IllegalArgumentException.class, () -> StandardMatrix.inverse(new Double[][]{
+                {1d, 2d, 3d}
+        }));
+    }
+
+    @Test
+    void testInverse6() {
+
+        // Hilbert matrices are invertible in exact arithmetic but hopelessly ill-conditioned in doubles
+        int n = 20;
+
+        Double[][] hilbert = new Double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                hilbert[i][j] = 1d / (i + j + 1);
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> StandardMatrix.inverse(hilbert));
+    }
+
+    @Test
+    void testInverse7() {
+
+        // Entries below the predicate epsilon are still structure, none of them may be dropped
+        Double[][] values = {
+                {1e-7d, 5e-7d},
+                {3e-7d, 1e-7d}
+        };
+
+        Double[][] product = StandardMatrix.multiply(StandardMatrix.inverse(values), values);
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[][]{
+                {1d, 0d},
+                {0d, 1d}
+        }, product, epsilon));
+
+        Double[][] inverse = StandardMatrix.inverse(new Double[][]{
+                {1d, 1e-7d},
+                {0d, 1d}
+        });
+
+        assertEquals(-1e-7d, inverse[0][1], 1e-12d);
+        assertEquals(1d, inverse[1][1], epsilon);
+    }
+
+    @Test
+    void testSolve1() {
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][]{
+                {2d, 1d, -1d},
+                {-3d, -1d, 2d},
+                {-2d, 1d, 2d}
+        });
+
+        IVector<Double> x = matrix1.solve(new StandardVector<>(new Double[]{8d, -11d, -3d}));
+
+        assertTrue(x.isVertical());
+        assertTrue(NumberUtils.approximatelyEqual(new Double[]{2d, 3d, -1d}, x.toArray(), epsilon));
+    }
+
+    @Test
+    void testSolve2() {
+
+        // Symmetric positive definite, solved with Cholesky
+        Double[][] values = {
+                {4d, 12d, -16d},
+                {12d, 37d, -43d},
+                {-16d, -43d, 98d}
+        };
+
+        Double[][] b = {
+                {1d, 0d},
+                {2d, 1d},
+                {3d, 0d}
+        };
+
+        IMatrix<Double> x = new StandardMatrix<>(values).solve(new StandardMatrix<>(b));
+
+        assertEquals(3, x.getRowNumber());
+        assertEquals(2, x.getColumnNumber());
+        assertTrue(NumberUtils.approximatelyEqual(b, StandardMatrix.multiply(values, x.toMatrix()), epsilon));
+    }
+
+    @Test
+    void testSolve3() {
+
+        Double[][] upper = {
+                {2d, 1d, -3d},
+                {0d, 5d, 2d},
+                {0d, 0d, -1d}
+        };
+
+        Double[] b = {1d, 2d, 3d};
+
+        Double[] x = StandardMatrix.solve(upper, b);
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[]{-4.8d, 1.6d, -3d}, x, epsilon));
+
+        Double[][] lower = StandardMatrix.transpose(StandardMatrix.copy(upper));
+
+        Double[] y = StandardMatrix.solve(lower, b);
+
+        assertTrue(NumberUtils.approximatelyEqual(new Double[]{0.5d, 0.3d, -3.9d}, y, epsilon));
+    }
+
+    @Test
+    void testSolve4() {
+
+        Double[][] values = randomMatrix(40, 40, 21);
+        Double[][] b = randomMatrix(40, 5, 22);
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(StandardMatrix.copy(values));
+
+        // Repeated solves reuse the factorization
+        IMatrix<Double> x1 = matrix1.solve(new StandardMatrix<>(b));
+        IMatrix<Double> x2 = matrix1.solve(new StandardMatrix<>(b));
+
+        assertTrue(NumberUtils.approximatelyEqual(b, StandardMatrix.multiply(values, x1.toMatrix()), epsilon));
+        assertTrue(NumberUtils.approximatelyEqual(x1.toMatrix(), x2.toMatrix(), epsilon));
+
+        // A changed matrix is factorized again
+        matrix1.multiply(2d);
+
+        IMatrix<Double> x3 = matrix1.solve(new StandardMatrix<>(b));
+
+        assertTrue(NumberUtils.approximatelyEqual(new StandardMatrix<>(x1.toMatrix()).multiply(0.5d).toMatrix(),
+                x3.toMatrix(), epsilon));
+
+        // Including changes made through the array returned by toMatrix
+        matrix1.toMatrix()[0][0] += 1d;
+
+        IMatrix<Double> x4 = matrix1.solve(new StandardMatrix<>(b));
+
+        assertTrue(NumberUtils.approximatelyEqual(b, StandardMatrix.multiply(matrix1.toMatrix(), x4.toMatrix()), epsilon));
+    }
+
+    @Test
+    void testSolve5() {
+
+        StandardMatrix<Double> singular = new StandardMatrix<>(new Double[][]{
+                {1d, 2d},
+                {2d, 4d}
+        });
+
+        assertThrows(IllegalArgumentException.class,
+                () -> singular.solve(new StandardVector<>(new Double[]{1d, 2d})));
+
+        StandardMatrix<Double> rectangular = new StandardMatrix<>(new Double[][]{
+                {1d, 2d, 3d},
+                {2d, 4d, 5d}
+        });
+
+        assertThrows(IllegalArgumentException.class,
+                () -> rectangular.solve(new StandardVector<>(new Double[]{1d, 2d})));
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][]{
+                {1d, 2d},
+                {3d, 4d}
+        });
+
+        assertThrows(IllegalArgumentException.class,
+                () -> matrix1.solve(new StandardVector<>(new Double[]{1d, 2d, 3d})));
+        assertThrows(IllegalArgumentException.class,
+                () -> matrix1.solve((IVector<Double>) null));
+    }
+
+    @Test
+    void testSolve6() {
+
+        // Not triangular, the small entries must not send it to substitution
+        Double[][] values = {
+                {1e-7d, 5e-7d},
+                {3e-7d, 1e-7d}
+        };
+
+        Double[] x = new StandardMatrix<>(values).solve(new StandardVector<>(new Double[]{1d, 1d})).toArray();
+
+        assertEquals(4e7d / 14d, x[0], 1e-3d);
+        assertEquals(2e7d / 14d, x[1], 1e-3d);
+
+        x = StandardMatrix.solve(values, new Double[]{1d, 1d});
+
+        assertEquals(4e7d / 14d, x[0], 1e-3d);
+        assertEquals(2e7d / 14d, x[1], 1e-3d);
+    }
+
+    @Test
+    void testSummaryStatistics1() {
+
+        Double[][] values = randomMatrix(45, 6, 31);
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(values);
+
+        for (int column = 0; column < 6; column++) {
+            SummaryStatistics statistics = matrix1.summaryStatistics(column);
+
+            assertEquals(45, statistics.getCount());
+            assertEquals(matrix1.sum(column), statistics.getSum(), epsilon);
+            assertEquals(matrix1.mean(column), statistics.getMean(), epsilon);
+            assertEquals(matrix1.min(column), statistics.getMin(), epsilon);
+            assertEquals(matrix1.variance(column), statistics.getVariance(), epsilon);
+        }
+
+        SummaryStatistics all = StandardMatrix.summaryStatistics(values);
+
+        assertEquals(270, all.getCount());
+        assertEquals(matrix1.mean(), all.getMean(), epsilon);
+        assertEquals(matrix1.standardDeviation(), all.getStandardDeviation(), epsilon);
+    }
+
+    @Test
+    void testColumnSummaries1() {
+
+        Double[][] values = randomMatrix(45, 6, 18);
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(values);
+
+        ColumnSummaries summaries = matrix1.columnSummaries(1, 5);
+
+        assertEquals(45, summaries.getCount());
+
+        for (int column = 1; column < 5; column++) {
+            int k = column - 1;
+
+            assertEquals(matrix1.sum(column), summaries.getSum()[k], epsilon);
+            assertEquals(matrix1.mean(column), summaries.getMean()[k], epsilon);
+            assertEquals(matrix1.min(column), summaries.getMin()[k], epsilon);
+            assertEquals(matrix1.max(column), summaries.getMax()[k], epsilon);
+            assertEquals(matrix1.range(column), summaries.getRange()[k], epsilon);
+            assertEquals(matrix1.variance(column), summaries.getVariance()[k], epsilon);
+            assertEquals(matrix1.standardDeviation(column), summaries.getStandardDeviation()[k], epsilon);
+        }
+
+        assertEquals(6, StandardMatrix.columnSummaries(values).getMean().length);
+        assertArrayEquals(new double[0], matrix1.columnSummaries(2, 2).getMean());
+        assertThrows(IllegalArgumentException.class, () -> matrix1.columnSummaries(3, 2));
+    }
+
+    @Test
+    void testTrackColumnStatistics1() {
+
+        Double[][] values = randomMatrix(30, 3, 21);
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(StandardMatrix.copy(values));
+
+        OnlineColumnStatistics statistics = matrix1.trackColumnStatistics();
+
+        assertTrue(matrix1.isTrackingColumnStatistics());
+
+        // Appended and replaced rows update the attached statistics
+        matrix1.putRow(new Double[] {100d, -3d, 0d});
+        matrix1.replaceRow(4, new Double[] {1d, 2d, 3d});
+
+        assertSame(statistics, matrix1.trackColumnStatistics());
+        assertEquals(31, statistics.getCount());
+
+        Double[][] expected = StandardMatrix.putRow(StandardMatrix.copy(values), new Double[] {100d, -3d, 0d});
+        expected[4] = new Double[] {1d, 2d, 3d};
+
+        for (int column = 0; column < 3; column++) {
+            assertEquals(StandardMatrix.sum(expected, column), matrix1.sum(column), epsilon);
+            assertEquals(StandardMatrix.mean(expected, column), matrix1.mean(column), epsilon);
+            assertEquals(StandardMatrix.variance(expected, column), matrix1.variance(column), epsilon);
+            assertEquals(StandardMatrix.standardDeviation(expected, column), matrix1.standardDeviation(column), epsilon);
+        }
+
+        // Any other change rebuilds them on the next read
+        matrix1.mapDouble(x -> x * 2);
+
+        assertEquals(2 * StandardMatrix.mean(expected, 0), matrix1.mean(0), epsilon);
+        assertNotSame(statistics, matrix1.trackColumnStatistics());
+
+        matrix1.popColumn(0);
+
+        assertEquals(StandardMatrix.mean(expected, 2) * 2, matrix1.mean(1), epsilon);
+        assertThrows(IllegalArgumentException.class, () -> matrix1.mean(2));
+
+        matrix1.stopTrackingColumnStatistics();
+
+        assertFalse(matrix1.isTrackingColumnStatistics());
+        assertEquals(StandardMatrix.mean(expected, 1) * 2, matrix1.mean(0), epsilon);
+    }
+
+    @Test
+    void testPutRow1() {
+
+        StandardMatrix<Integer> matrix1 = new StandardMatrix<>(new Integer[][] {{1, 2}, {3, 4}});
+
+        matrix1.putRow(new Integer[] {5, 6});
+
+        assertEquals(3, matrix1.getRowNumber());
+        assertArrayEquals(new Double[][] {{1d, 2d}, {3d, 4d}, {5d, 6d}}, matrix1.toMatrix());
+        assertThrows(IllegalArgumentException.class, () -> matrix1.putRow(new Integer[] {1}));
+
+        Double[][] values = {{1d, 2d}};
+
+        assertEquals(2, StandardMatrix.putRow(values, new Double[] {3d, 4d}).length);
+        assertEquals(1, values.length);
+    }
+
+    @Test
+    void testCacheStatistics1() {
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][] {
+                {1d, 2d, 3d},
+                {2d, 5d, 6d},
+                {3d, 6d, 9d}
+        });
+
+        StatisticsCache cache = matrix1.cacheStatistics();
+
+        assertEquals(3d, matrix1.max(0), epsilon);
+        assertEquals(3d, matrix1.max(0), epsilon);
+        assertEquals(4.333d, matrix1.mean(1), epsilon);
+        assertEquals(8d, matrix1.range(), epsilon);
+        assertTrue(matrix1.isSymmetric());
+        assertTrue(matrix1.isSymmetric());
+
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(4, cache.size());
+
+        // Only the results of the changed column are dropped
+        matrix1.map(1, x -> x * 10);
+
+        assertEquals(3d, matrix1.max(0), epsilon);
+        assertEquals(43.333d, matrix1.mean(1), epsilon);
+        assertEquals(59d, matrix1.range(), epsilon);
+        assertFalse(matrix1.isSymmetric());
+
+        assertEquals(3, cache.getHits());
+        assertEquals(7, cache.getMisses());
+
+        // Reordering rows keeps column results, but not the matrix checks
+        matrix1.isLowerTriangular();
+        matrix1.swapRows(0, 2);
+        cache.resetCounters();
+
+        assertEquals(3d, matrix1.max(0), epsilon);
+        assertFalse(matrix1.isLowerTriangular());
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // Dropping a column shifts the following ones
+        matrix1.popColumn(0);
+
+        assertEquals(9d, matrix1.max(1), epsilon);
+        assertEquals(60d, matrix1.max(0), epsilon);
+
+        matrix1.replaceRow(0, new Double[] {100d, 0d});
+
+        assertEquals(100d, matrix1.max(0), epsilon);
+        assertEquals(4, cache.getMisses());
+
+        matrix1.stopCachingStatistics();
+
+        assertFalse(matrix1.isCachingStatistics());
+        assertEquals(100d, matrix1.max(0), epsilon);
+    }
+
+    // Rounds values within epsilon of 0 or 1, so that isIdentity accepts a numerically computed identity
+    private Double[][] roundToIdentity(Double[][] matrix) {
+
+        Double[][] result = StandardMatrix.copy(matrix);
+
+        for (Double[] row : result) {
+            for (int j = 0; j < row.length; j++) {
+                if (NumberUtils.approximatelyEqual(row[j], 1d, epsilon))
+                    row[j] = 1d;
+                else if (NumberUtils.approximatelyZero(row[j], epsilon))
+                    row[j] = 0d;
+            }
+        }
+
+        return result;
+    }
+
+    private static Double[][] randomMatrix(int rows, int columns, long seed) {
+        java.util.Random random = new java.util.Random(seed);
+
+        Double[][] matrix = new Double[rows][columns];
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix[i][j] = random.nextDouble() * 10 - 5;
+            }
+        }
+
+        return matrix;
+    }
+
+    private static Double[][] naiveMultiply(Double[][] matrix1, Double[][] matrix2) {
+        Double[][] result = new Double[matrix1.length][matrix2[0].length];
+
+        for (int i = 0; i < matrix1.length; i++) {
+            for (int j = 0; j < matrix2[0].length; j++) {
+                double sum = 0d;
+
+                for (int k = 0; k < matrix2.length; k++) {
+                    sum += matrix1[i][k] * matrix2[k][j];
+                }
+
+                result[i][j] = sum;
+            }
+        }
+
+        return result;
+    }
+
     @Test
     void testAddition1() {
 
@@ -474,6 +1131,55 @@ class StandardMatrixTest {
         assertEquals(4.5d, StandardMatrix.median(matrix1, 1, 4));
     }
 
+    @Test
+    void testQuantiles1() {
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][]{
+                {1d, 2d, -3d},
+                {4d, 5d, 6d},
+                {7d, 8d, 9d},
+                {10d, 11d, 12d}
+        });
+
+        double[] quantiles = matrix1.quantiles(0.9, 0d, 0.5, 1d, 0.25);
+
+        assertEquals(10.9d, quantiles[0], epsilon);
+        assertEquals(-3d, quantiles[1], epsilon);
+        assertEquals(6.5d, quantiles[2], epsilon);
+        assertEquals(12d, quantiles[3], epsilon);
+        assertEquals(3.5d, quantiles[4], epsilon);
+
+        assertArrayEquals(new double[] {1d, 10d}, matrix1.quantiles(0, 0d, 1d), epsilon);
+        assertArrayEquals(new double[] {7d}, matrix1.quantiles(1, 3, 0.5), epsilon);
+        assertArrayEquals(new double[] {7d}, StandardMatrix.quantiles(matrix1.toMatrix(), 1, 3, 0.5), epsilon);
+        assertThrows(IllegalArgumentException.class, () -> matrix1.quantiles(1.5));
+    }
+
+    @Test
+    void testQuantiles2() {
+
+        Random random = new Random(14);
+
+        Double[][] matrix1 = new Double[1000][3];
+        double[] sorted = new double[matrix1.length * 3];
+
+        for (int i = 0; i < matrix1.length; i++) {
+            for (int j = 0; j < 3; j++) {
+                // Few distinct values, so the partitions see many duplicates
+                matrix1[i][j] = (double) random.nextInt(50);
+                sorted[j * matrix1.length + i] = matrix1[i][j];
+            }
+        }
+
+        Arrays.sort(sorted);
+
+        double[] quantiles = StandardMatrix.quantiles(matrix1, 0.5, 0.9, 0.99);
+
+        assertEquals((sorted[1499] + sorted[1500]) / 2, quantiles[0], epsilon);
+        assertEquals(sorted[2699] + 0.1 * (sorted[2700] - sorted[2699]), quantiles[1], epsilon);
+        assertEquals(sorted[2969] + 0.01 * (sorted[2970] - sorted[2969]), quantiles[2], epsilon);
+    }
+
     @Test
     void testMode1() {
 
@@ -1478,6 +2184,37 @@ class StandardMatrixTest {
         assertIterableEquals(Arrays.asList(0d, 2d, 10d, -2d, 1d), StandardMatrix.distinct(matrix1));
     }
 
+    @Test
+    void testDistinctCount1() {
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][]{
+                {0d,  0d, 1d},
+                {2d,  -2d, 0d},
+                {10d,  0d, 0d}
+        });
+
+        assertEquals(5, matrix1.distinctCount());
+        assertEquals(3, matrix1.distinctCount(0));
+        assertEquals(3, StandardMatrix.distinctCount(matrix1.toMatrix(), 1, 3));
+        assertEquals(5, matrix1.approxDistinctCount(14));
+        assertEquals(2, matrix1.approxDistinctCount(1, 4));
+    }
+
+    @Test
+    void testApproxDistinctCount1() {
+
+        Double[][] matrix1 = new Double[50_000][2];
+
+        for (int i = 0; i < matrix1.length; i++) {
+            matrix1[i][0] = (double) i;
+            matrix1[i][1] = (double) (i % 1000);
+        }
+
+        assertEquals(50_000, StandardMatrix.approxDistinctCount(matrix1, 0, 14), 50_000 * 0.025);
+        assertEquals(1000, StandardMatrix.approxDistinctCount(matrix1, 1, 14), 1000 * 0.025);
+        assertEquals(50_000, StandardMatrix.distinctCount(matrix1));
+    }
+
     @Test
     void testToList1() {
 
@@ -1758,6 +2495,25 @@ class StandardMatrixTest {
         assertTrue(NumberUtils.approximatelyEqual(-142d, matrix1.determinant(), epsilon));
     }
 
+    @Test
+    void testDeterminant8() {
+
+        // Within epsilon of both triangular forms, but the determinant is -1, not the product of the zero diagonal
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(new Double[][]{
+                {0d, 1e7},
+                {1e-7, 0d}
+        });
+
+        assertEquals(-1d, matrix1.determinant(), epsilon);
+
+        StandardMatrix<Double> matrix2 = new StandardMatrix<>(new Double[][]{
+                {2d, 1e-7},
+                {0d, 3d}
+        });
+
+        assertEquals(6d, matrix2.determinant(), epsilon);
+    }
+
     @Test
     void testAddRows1() {
 
@@ -1925,5 +2681,381 @@ class StandardMatrixTest {
         assertThrows(IllegalArgumentException.class,
                 () -> StandardMatrix.subtract(matrix1, matrix2));
     }
-}
 
+    @Test
+    void testMapDouble1() {
+
+        StandardMatrix<Integer> matrix1 = new StandardMatrix<>(new Integer[][]{
+                {1, 2, 3},
+                {4, 5, 6}
+        });
+
+        matrix1.mapDouble(x -> x * x);
+
+        assertArrayEquals(new Double[][]{
+                {1d, 4d, 9d},
+                {16d, 25d, 36d}
+        }, matrix1.toMatrix());
+
+        matrix1.mapDouble(1, 3, x -> -x);
+
+        assertArrayEquals(new Double[][]{
+                {1d, -4d, -9d},
+                {16d, -25d, -36d}
+        }, matrix1.toMatrix());
+
+        assertThrows(IllegalArgumentException.class, () -> matrix1.mapDouble(3, 4, x -> x));
+    }
+
+    @Test
+    void testMapIndexed1() {
+
+        Double[][] matrix1 = {
+                {0d, 0d, 0d},
+                {0d, 0d, 0d}
+        };
+
+        assertArrayEquals(new Double[][]{
+                {0d, 1d, 2d},
+                {10d, 11d, 12d}
+        }, StandardMatrix.mapIndexed(matrix1, (row, column, value) -> row * 10 + column + value));
+    }
+
+    @Test
+    void testReduceDouble1() {
+
+        StandardMatrix<Integer> matrix1 = new StandardMatrix<>(new Integer[][]{
+                {1, 2, 3},
+                {4, 5, 6}
+        });
+
+        assertEquals(21d, matrix1.reduceDouble(0, 3, 0d, Double::sum), epsilon);
+        assertEquals(matrix1.reduce(0, 3, 1d, (a, b) -> a * 2 - b),
+                matrix1.reduceDouble(0, 3, 1d, (a, b) -> a * 2 - b), epsilon);
+        assertEquals(9d, matrix1.reduceDouble(2, 0d, Double::sum), epsilon);
+    }
+
+    @Test
+    void testForEachDouble1() {
+
+        StandardMatrix<Integer> matrix1 = new StandardMatrix<>(new Integer[][]{
+                {1, 2, 3},
+                {4, 5, 6}
+        });
+
+        double[] sum = new double[1];
+
+        matrix1.forEachDouble(1, x -> sum[0] += x);
+
+        assertEquals(7d, sum[0], epsilon);
+
+        List<String> visited = new ArrayList<>();
+
+        matrix1.forEachIndexed((row, column, value) -> visited.add(row + "," + column + "=" + value));
+
+        assertEquals(List.of("0,0=1.0", "0,1=2.0", "0,2=3.0", "1,0=4.0", "1,1=5.0", "1,2=6.0"), visited);
+    }
+
+    @Test
+    void testParallelReduce1() {
+
+        Double[][] matrix = randomMatrix(300, 200, 7);
+
+        double expected = StandardMatrix.reduce(matrix, 0, 200, 0d, Double::sum);
+
+        assertEquals(expected, StandardMatrix.parallelReduce(matrix, 0d, Double::sum, Double::sum), epsilon);
+        assertEquals(StandardMatrix.sum(matrix, 10, 20),
+                new StandardMatrix<>(matrix).parallelReduce(10, 20, 0d, Double::sum, Double::sum), epsilon);
+    }
+
+    @Test
+    void testParallelReduce2() {
+
+        Double[][] matrix = randomMatrix(500, 300, 8);
+
+        ForkJoinPool pool1 = new ForkJoinPool(1);
+        ForkJoinPool pool2 = new ForkJoinPool(4);
+
+        try {
+            double result1 = StandardMatrix.parallelReduce(matrix, 0, 300, 0d,
+                    (a, b) -> a + b * b, Double::sum, true, pool1);
+
+            // The same merge tree on any pool gives bit-identical results
+            for (int i = 0; i < 5; i++) {
+                assertEquals(result1, StandardMatrix.parallelReduce(matrix, 0, 300, 0d,
+                        (a, b) -> a + b * b, Double::sum, true, pool2));
+            }
+
+            assertEquals(StandardMatrix.reduce(matrix, 0, 300, 0d, (a, b) -> a + b * b), result1, epsilon);
+        } finally {
+            pool1.shutdown();
+            pool2.shutdown();
+        }
+    }
+
+    @Test
+    void testView1() {
+
+        StandardMatrix<Integer> matrix = new StandardMatrix<>(new Integer[][]{
+                {1, 2, 3, 4},
+                {5, 6, 7, 8},
+                {9, 10, 11, 12}
+        });
+
+        IMatrix<Integer> view = matrix.view(1, 3, 1, 3);
+
+        assertEquals(2, view.getRowNumber());
+        assertEquals(2, view.getColumnNumber());
+        assertEquals(34d, view.sum(), epsilon);
+        assertEquals(8.5d, view.mean(), epsilon);
+        assertEquals(11d, view.max(1), epsilon);
+        assertEquals(Math.sqrt(6 * 6 + 10 * 10), view.l2Norm(0), epsilon);
+        assertEquals(-4d, view.determinant(), epsilon);
+
+        StatisticsCache cache = matrix.cacheStatistics();
+
+        assertEquals(78d, matrix.sum(), epsilon);
+
+        // Writes through the view change the parent and drop its cached results
+        view.mapDouble(x -> x * 10);
+
+        assertEquals(78d + 9 * 34, matrix.sum(), epsilon);
+        assertArrayEquals(new Double[]{5d, 60d, 70d, 8d}, matrix.toMatrix()[1]);
+        assertArrayEquals(new Double[]{9d, 100d, 110d, 12d}, matrix.toMatrix()[2]);
+
+        // Changes to the parent are seen by the view
+        matrix.replaceRow(2, new Integer[]{0, 0, 1, 0});
+
+        assertArrayEquals(new Double[]{0d, 1d}, view.toMatrix()[1]);
+
+        view.view(0, 2, 1, 2).sort(0);
+
+        assertArrayEquals(new Double[]{5d, 60d, 1d, 8d}, matrix.toMatrix()[1]);
+        assertArrayEquals(new Double[]{0d, 0d, 70d, 0d}, matrix.toMatrix()[2]);
+
+        // A view as an operand of another matrix
+        StandardMatrix<Integer> left = new StandardMatrix<>(new Integer[][]{{1, 1}});
+        left.multiply(view);
+
+        assertArrayEquals(new Double[]{60d, 71d}, left.toMatrix()[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> view.putRow(new Integer[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> view.dropColumn());
+        assertThrows(IllegalArgumentException.class, () -> matrix.view(2, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> view.view(0, 3, 0, 1));
+
+        assertEquals(3, matrix.getRowNumber());
+        assertEquals(4, matrix.getColumnNumber());
+        assertSame(cache, matrix.cacheStatistics());
+    }
+
+    @Test
+    void testView2() {
+
+        StandardMatrix<Integer> matrix = new StandardMatrix<>(new Integer[][]{
+                {1, 2, 3},
+                {4, 5, 6}
+        });
+
+        // Views of a transposed matrix index the stored rows without materializing the transpose
+        matrix.transpose();
+
+        IMatrix<Integer> view = matrix.view(1, 3, 0, 2);
+
+        assertArrayEquals(new Double[]{2d, 5d}, view.toMatrix()[0]);
+        assertArrayEquals(new Double[]{2d, 3d, 5d, 6d}, view.toArray(0, 2));
+
+        view.mapIndexed((i, j, value) -> value + 10 * i);
+        view.swapRows(0, 1);
+
+        assertTrue(matrix.isTransposed());
+        assertArrayEquals(new Double[]{13d, 16d}, view.toMatrix()[0]);
+        assertEquals(16d, matrix.get(1, 1), epsilon);
+        assertEquals(2d, matrix.get(2, 0), epsilon);
+
+        matrix.set(2, 1, 0d);
+
+        assertEquals(31d, view.reduceDouble(0, 2, 0d, Double::sum), epsilon);
+
+        view.add(new Integer[][]{{1, 1}, {1, 1}});
+
+        assertArrayEquals(new Double[][]{
+                {1d, 4d},
+                {14d, 17d},
+                {3d, 1d}
+        }, matrix.toMatrix());
+    }
+
+    @Test
+    void testView3() {
+
+        Double[][] values = new Double[6][5];
+        Random random = new Random(3);
+
+        for (Double[] row : values) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = (double) random.nextInt(21) - 10;
+            }
+        }
+
+        StandardMatrix<Double> plain = new StandardMatrix<>(values);
+        StandardMatrix<Double> transposed = new StandardMatrix<>(values);
+        transposed.transpose().transpose().transpose();
+
+        // Statistics of a view are read in place and equal those of a copy of the block
+        for (IMatrix<Double> view : List.of(plain.view(1, 5, 1, 4), transposed.view(1, 4, 2, 6))) {
+            StandardMatrix<Double> copy = new StandardMatrix<>(view.toMatrix());
+
+            assertEquals(copy.sum(), view.sum(), epsilon);
+            assertEquals(copy.sum(1), view.sum(1), epsilon);
+            assertEquals(copy.mean(1, 3), view.mean(1, 3), epsilon);
+            assertEquals(copy.max(), view.max(), epsilon);
+            assertEquals(copy.min(0), view.min(0), epsilon);
+            assertEquals(copy.range(0, 2), view.range(0, 2), epsilon);
+            assertEquals(copy.median(), view.median(), epsilon);
+            assertArrayEquals(copy.quantiles(2, 0.1, 0.9), view.quantiles(2, 0.1, 0.9), epsilon);
+            assertEquals(copy.variance(), view.variance(), epsilon);
+            assertEquals(copy.standardDeviation(1, 3), view.standardDeviation(1, 3), epsilon);
+            assertEquals(copy.summaryStatistics().getMin(), view.summaryStatistics().getMin(), epsilon);
+            assertEquals(copy.tDigest(100).quantile(0.5), view.tDigest(100).quantile(0.5), epsilon);
+            assertArrayEquals(copy.columnSummaries().getMean(), view.columnSummaries().getMean(), epsilon);
+            assertArrayEquals(copy.columnSummaries(1, 3).getVariance(), view.columnSummaries(1, 3).getVariance(), epsilon);
+            assertEquals(copy.l0Norm(0), view.l0Norm(0));
+            assertEquals(copy.l1Norm(1), view.l1Norm(1), epsilon);
+            assertEquals(copy.l2Norm(2), view.l2Norm(2), epsilon);
+            assertEquals(copy.lInfinityNorm(0), view.lInfinityNorm(0), epsilon);
+
+            assertThrows(IllegalArgumentException.class, () -> view.sum(0, 5));
+            assertThrows(IllegalArgumentException.class, () -> view.l1Norm(4));
+        }
+
+        assertTrue(transposed.isTransposed());
+    }
+
+    @Test
+    void testTranspose1() {
+
+        StandardMatrix<Integer> matrix = new StandardMatrix<>(new Integer[][]{
+                {1, 2, 3},
+                {4, 5, 6}
+        });
+
+        matrix.transpose();
+
+        assertTrue(matrix.isTransposed());
+        assertEquals(3, matrix.getRowNumber());
+        assertEquals(2, matrix.getColumnNumber());
+        assertEquals(6d, matrix.get(2, 1), epsilon);
+        assertEquals(2d, matrix.get(1, 0), epsilon);
+
+        // Statistics of all values, checks and element writes keep the flag
+        assertEquals(21d, matrix.sum(), epsilon);
+        assertEquals(3.5d, matrix.mean(), epsilon);
+        assertEquals(6d, matrix.max(), epsilon);
+        assertEquals(3.5d, matrix.median(), epsilon);
+        assertFalse(matrix.isSquare());
+
+        matrix.set(0, 1, 10d);
+        matrix.multiply(2);
+
+        assertTrue(matrix.isTransposed());
+        assertEquals(20d, matrix.get(0, 1), epsilon);
+
+        // Twice is the identity
+        matrix.transpose().transpose();
+
+        assertTrue(matrix.isTransposed());
+
+        // Column operations transpose the stored rows once
+        assertEquals(12d, matrix.sum(0), epsilon);
+        assertFalse(matrix.isTransposed());
+        assertArrayEquals(new Double[]{2d, 20d}, matrix.toMatrix()[0]);
+        assertArrayEquals(new Double[]{6d, 12d}, matrix.toMatrix()[2]);
+
+        assertThrows(IllegalArgumentException.class, () -> matrix.get(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> matrix.set(0, 2, 1d));
+    }
+
+    @Test
+    void testTranspose2() {
+
+        StandardMatrix<Integer> matrix = new StandardMatrix<>(new Integer[][]{
+                {1, 2, 0},
+                {0, 3, 4},
+                {0, 0, 5}
+        });
+
+        matrix.transpose();
+
+        assertTrue(matrix.isLowerTriangular());
+        assertFalse(matrix.isUpperTriangular());
+        assertEquals(15d, matrix.determinant(), epsilon);
+        assertTrue(matrix.isTransposed());
+
+        // A transposed operand is read in place as well
+        StandardMatrix<Integer> other = new StandardMatrix<>(new Integer[][]{{1, 0, 0}, {1, 1, 0}, {1, 1, 1}});
+        other.transpose();
+
+        matrix.multiply(other);
+
+        assertFalse(matrix.isTransposed());
+        assertTrue(other.isTransposed());
+        assertArrayEquals(new Double[]{1d, 1d, 1d}, matrix.toMatrix()[0]);
+        assertArrayEquals(new Double[]{2d, 5d, 5d}, matrix.toMatrix()[1]);
+        assertArrayEquals(new Double[]{0d, 4d, 9d}, matrix.toMatrix()[2]);
+
+        StandardMatrix<Integer> row = new StandardMatrix<>(new Integer[][]{{1, 2}});
+        StandardMatrix<Integer> columns = new StandardMatrix<>(new Integer[][]{{3, 4}, {5, 6}, {7, 8}});
+
+        row.multiply(columns.transpose());
+
+        assertArrayEquals(new Double[]{11d, 17d, 23d}, row.toMatrix()[0]);
+    }
+
+    @Test
+    void testTranspose3() {
+
+        Double[][] a = randomMatrix(150, 40, 21);
+        Double[][] b = randomMatrix(150, 70, 22);
+        Double[][] c = randomMatrix(70, 150, 23);
+
+        Double[][] transposedA = StandardMatrix.transpose(a);
+
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                assertEquals(a[i][j], transposedA[j][i]);
+            }
+        }
+
+        // A^T B, A^T C^T and (A^T B)^T A^T through the blocked kernel, against explicit copies
+        Double[][] expected1 = StandardMatrix.multiply(transposedA, b);
+        Double[][] expected2 = StandardMatrix.multiply(transposedA, StandardMatrix.transpose(c));
+        Double[][] expected3 = StandardMatrix.multiply(StandardMatrix.transpose(expected1), transposedA);
+
+        StandardMatrix<Double> matrix1 = new StandardMatrix<>(a);
+        matrix1.transpose().multiply(new StandardMatrix<>(b));
+
+        StandardMatrix<Double> matrix2 = new StandardMatrix<>(a);
+        matrix2.transpose().multiplyParallel(new StandardMatrix<>(c).transpose(), ForkJoinPool.commonPool());
+
+        StandardMatrix<Double> matrix3 = new StandardMatrix<>(a);
+        StandardMatrix<Double> product = new StandardMatrix<>(transposedA);
+        product.multiply(b).transpose().multiply(matrix3.transpose());
+
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 70; j++) {
+                assertEquals(expected1[i][j], matrix1.get(i, j), epsilon);
+            }
+
+            for (int j = 0; j < 70; j++) {
+                assertEquals(expected2[i][j], matrix2.get(i, j), epsilon);
+            }
+        }
+
+        for (int i = 0; i < 70; i++) {
+            for (int j = 0; j < 150; j++) {
+                assertEquals(expected3[i][j], product.get(i, j), epsilon);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package caebr;
+
+import caebr.matrix.DenseDoubleMatrix;
+import caebr.matrix.IMatrix;
+import caebr.matrix.StandardMatrix;
+import caebr.statistics.StandardScaler;
+import caebr.util.NumberUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandardScalerTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testTransform1() {
+
+        Random random = new Random(19);
+
+        Double[][] values = new Double[40][3];
+
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < 3; j++) {
+                values[i][j] = random.nextGaussian() * (j + 1) + 10 * j;
+            }
+        }
+
+        StandardScaler scaler = new StandardScaler();
+
+        scaler.fit(new StandardMatrix<>(StandardMatrix.copy(values)));
+
+        Double[][] expected = StandardMatrix.zScoreStandardization(StandardMatrix.copy(values));
+
+        IMatrix<Double> actual = scaler.transform(new DenseDoubleMatrix<>(values));
+
+        assertTrue(NumberUtils.approximatelyEqual(expected, actual.toMatrix(), epsilon));
+        assertTrue(NumberUtils.approximatelyEqual(values, scaler.inverseTransform(actual).toMatrix(), epsilon));
+    }
+
+    @Test
+    void testPartialFit1() {
+
+        Random random = new Random(20);
+
+        Double[][] values = new Double[100][2];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i][0] = random.nextDouble() * 50;
+            values[i][1] = random.nextDouble() - 3;
+        }
+
+        StandardScaler whole = new StandardScaler();
+        StandardScaler batches = new StandardScaler();
+
+        whole.fit(values);
+
+        for (int i = 0; i < values.length; i += 25) {
+            Double[][] batch = new Double[25][];
+
+            System.arraycopy(values, i, batch, 0, 25);
+
+            batches.partialFit(batch);
+        }
+
+        assertArrayEquals(whole.getScale(), batches.getScale(), epsilon);
+        assertArrayEquals(whole.getOffset(), batches.getOffset(), epsilon);
+        assertEquals(100, batches.getColumnSummaries().getCount());
+
+        // Fitting again forgets the batches
+        batches.fit(new Double[][] {{1d, 5d}, {3d, 5d}});
+
+        assertArrayEquals(new double[] {0d, 0d}, batches.transform(new double[] {2d, 5d}), epsilon);
+    }
+}
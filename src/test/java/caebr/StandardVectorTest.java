@@ -1,10 +1,12 @@
 package caebr;
 
+import caebr.statistics.SummaryStatistics;
 import caebr.util.NumberUtils;
 import caebr.vector.StandardVector;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -230,6 +232,16 @@ class StandardVectorTest {
         assertEquals(3d, StandardVector.median(vector1));
     }
 
+    @Test
+    void testQuantiles1() {
+
+        StandardVector<Integer> vector1 = new StandardVector<>(new Integer[] {5, 1, 4, 2, 3, 2, 0}, true);
+
+        assertArrayEquals(new double[] {5d, 2d, 0d, 1.2d}, vector1.quantiles(1d, 0.5, 0d, 0.2), epsilon);
+        assertArrayEquals(new double[] {2.5d}, StandardVector.quantiles(new Double[] {4d, 1d, 3d, 2d}, 0.5), epsilon);
+        assertThrows(IllegalArgumentException.class, () -> vector1.quantiles(-0.1));
+    }
+
     @Test
     void testDrop1() {
 
@@ -422,6 +434,33 @@ class StandardVectorTest {
         assertTrue(NumberUtils.approximatelyEqual(2.5, StandardVector.variance(vector1), epsilon));
     }
 
+    @Test
+    void testSummaryStatistics1() {
+
+        StandardVector<Integer> vector1 = new StandardVector<>(new Integer[] {4, 1, 5, 2, 3}, true);
+
+        SummaryStatistics statistics = vector1.summaryStatistics();
+
+        assertEquals(5, statistics.getCount());
+        assertEquals(15d, statistics.getSum(), epsilon);
+        assertEquals(3d, statistics.getMean(), epsilon);
+        assertEquals(2.5d, statistics.getVariance(), epsilon);
+        assertEquals(1d, statistics.getMin(), epsilon);
+        assertEquals(5d, statistics.getMax(), epsilon);
+        assertEquals(4d, statistics.getRange(), epsilon);
+    }
+
+    @Test
+    void testSummaryStatistics2() {
+        Double[] vector1 = {-1d, -2d, -3d};
+
+        SummaryStatistics statistics = StandardVector.summaryStatistics(vector1);
+
+        assertEquals(-1d, statistics.getMax(), epsilon);
+        assertEquals(-3d, statistics.getMin(), epsilon);
+        assertEquals(StandardVector.variance(vector1), statistics.getVariance(), epsilon);
+    }
+
     @Test
     void testMinMaxNormalization1() {
 
@@ -493,6 +532,17 @@ class StandardVectorTest {
         assertArrayEquals(new Double[] {1d, 2d, 3d, 4d, 5d}, StandardVector.distinct(vector1).toArray());
     }
 
+    @Test
+    void testDistinctCount1() {
+
+        StandardVector<Integer> vector1 = new StandardVector<>(new Integer[] {1, 2, 3, 4, 5, 5, 5, 5, 1}, true);
+
+        assertEquals(5, vector1.distinctCount());
+        assertEquals(5, vector1.approxDistinctCount(14));
+        assertEquals(2, StandardVector.distinctCount(new Double[] {0d, -0d, 0d}));
+        assertEquals(2, StandardVector.approxDistinctCount(new Double[] {0d, -0d, 0d}, 4));
+    }
+
     @Test
     void testRange1() {
 
@@ -605,4 +655,88 @@ class StandardVectorTest {
 
         assertEquals(11, vector1.transpose().getColumnNumber());
     }
+
+    @Test
+    void testPrimitiveFunctions1() {
+
+        StandardVector<Integer> vector1 = new StandardVector<>(new Integer[] {1, 2, 3, 4, 5, 6}, true);
+
+        assertArrayEquals(new Integer[] {1, 4, 9, 16, 25, 36}, vector1.mapDouble(x -> x * x).toIntegerArray());
+        assertArrayEquals(new Integer[] {1, 5, 11, 19, 29, 41}, vector1.mapIndexed((i, x) -> x + i).toIntegerArray());
+        assertArrayEquals(new Integer[] {11, 19, 29, 41}, vector1.filterDouble(x -> x > 10).toIntegerArray());
+        assertEquals(4, vector1.getRowNumber());
+        assertEquals(100d, vector1.reduceDouble(0d, Double::sum), epsilon);
+
+        double[] max = {Double.NEGATIVE_INFINITY};
+
+        vector1.forEachDouble(x -> max[0] = Math.max(max[0], x));
+
+        assertEquals(41d, max[0], epsilon);
+        assertThrows(IllegalArgumentException.class, () -> vector1.filterDouble(x -> x > 100));
+    }
+
+    @Test
+    void testPrimitiveFunctions2() {
+        Double[] vector1 = {1d, 2d, 3d, 4d};
+
+        assertArrayEquals(new Double[] {3d, 4d}, StandardVector.filterDouble(vector1, x -> x > 2));
+        assertEquals(24d, StandardVector.reduceDouble(vector1, 1d, (a, b) -> a * b), epsilon);
+        assertArrayEquals(new Double[] {2d, 4d, 6d, 8d}, StandardVector.mapDouble(vector1, x -> x * 2));
+        assertArrayEquals(new Double[] {2d, 5d, 8d, 11d}, StandardVector.mapIndexed(vector1, (i, x) -> x + i));
+    }
+
+    @Test
+    void testParallelReduce1() {
+
+        Double[] vector1 = new Double[50_000];
+
+        for (int i = 0; i < vector1.length; i++) {
+            vector1[i] = i % 100 / 10d;
+        }
+
+        StandardVector<Double> vector2 = new StandardVector<>(vector1);
+
+        assertEquals(StandardVector.sum(vector1), vector2.parallelReduce(0d, Double::sum, Double::sum), epsilon);
+        assertEquals(9.9d, StandardVector.parallelReduce(vector1, Double.NEGATIVE_INFINITY, Math::max, Math::max), epsilon);
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        try {
+            assertEquals(StandardVector.parallelReduce(vector1, 0d, Double::sum, Double::sum, true, ForkJoinPool.commonPool()),
+                    vector2.parallelReduce(0d, Double::sum, Double::sum, true, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testTrackStatistics1() {
+
+        StandardVector<Double> vector1 = new StandardVector<>(new Double[] {1d, 2d, 3d});
+
+        vector1.trackStatistics();
+
+        vector1.put(4d).put(new Double[] {10d, 6d});
+        vector1.set(5d, 0);
+        vector1.drop(1);
+        vector1.pop();
+
+        // 5, 3, 4, 10
+        assertEquals(4, vector1.trackStatistics().getCount());
+        assertEquals(22d, vector1.sum(), epsilon);
+        assertEquals(5.5d, vector1.mean(), epsilon);
+        assertEquals(9.667d, vector1.variance(), epsilon);
+        assertEquals(Math.sqrt(29d / 3), vector1.standardDeviation(), epsilon);
+
+        vector1.drop(1, 3).multiply(2d);
+
+        // 10, 20
+        assertEquals(15d, vector1.mean(), epsilon);
+        assertEquals(50d, vector1.variance(), epsilon);
+
+        vector1.stopTrackingStatistics();
+
+        assertFalse(vector1.isTrackingStatistics());
+        assertEquals(15d, vector1.mean(), epsilon);
+    }
 }
@@ -0,0 +1,85 @@
+package caebr;
+
+import caebr.statistics.SummaryStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SummaryStatisticsTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testAccept1() {
+
+        SummaryStatistics statistics = SummaryStatistics.of(2d, 4d, 4d, 4d, 5d, 5d, 7d, 9d);
+
+        assertEquals(8, statistics.getCount());
+        assertEquals(40d, statistics.getSum(), epsilon);
+        assertEquals(5d, statistics.getMean(), epsilon);
+        assertEquals(32d, statistics.getM2(), epsilon);
+        assertEquals(32d / 7, statistics.getVariance(), epsilon);
+        assertEquals(2d, statistics.getMin(), epsilon);
+        assertEquals(9d, statistics.getMax(), epsilon);
+    }
+
+    @Test
+    void testAccept2() {
+
+        // Large offset, where sum of squares formulas lose every significant digit
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        for (int i = 0; i < 1000; i++) {
+            statistics.accept(1e9 + (i % 2 == 0 ? 1d : -1d));
+        }
+
+        assertEquals(1e9, statistics.getMean(), epsilon);
+        assertEquals(1d, statistics.getVariance(), epsilon);
+    }
+
+    @Test
+    void testEmpty1() {
+
+        SummaryStatistics statistics = new SummaryStatistics();
+
+        assertEquals(0, statistics.getCount());
+        assertEquals(0d, statistics.getMean());
+        assertEquals(0d, statistics.getVariance());
+        assertEquals(0d, statistics.getMin());
+        assertEquals(0d, statistics.getMax());
+    }
+
+    @Test
+    void testCombine1() {
+
+        Random random = new Random(7);
+
+        SummaryStatistics all = new SummaryStatistics();
+        SummaryStatistics first = new SummaryStatistics();
+        SummaryStatistics second = new SummaryStatistics();
+
+        for (int i = 0; i < 500; i++) {
+            double value = random.nextGaussian() * 3 + 10;
+
+            all.accept(value);
+
+            if (i < 120)
+                first.accept(value);
+            else
+                second.accept(value);
+        }
+
+        first.combine(second);
+
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getSum(), first.getSum(), epsilon);
+        assertEquals(all.getMean(), first.getMean(), epsilon);
+        assertEquals(all.getVariance(), first.getVariance(), epsilon);
+        assertEquals(all.getMin(), first.getMin());
+        assertEquals(all.getMax(), first.getMax());
+
+        assertEquals(all.getMean(), new SummaryStatistics().combine(all).getMean());
+    }
+}
@@ -0,0 +1,140 @@
+package caebr;
+
+import caebr.matrix.StandardMatrix;
+import caebr.statistics.Quantiles;
+import caebr.statistics.TDigest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDigestTest {
+
+    double epsilon = 0.001d;
+
+    @Test
+    void testQuantile1() {
+
+        Random random = new Random(15);
+
+        TDigest digest = new TDigest();
+        double[] values = new double[100_000];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+            digest.accept(values[i]);
+        }
+
+        double[] ps = {0.001, 0.01, 0.25, 0.5, 0.75, 0.99, 0.999};
+        double[] approximate = digest.quantiles(ps);
+
+        // The error is measured in rank, the share of values at or below the estimate
+        for (int i = 0; i < ps.length; i++) {
+            int rank = 0;
+
+            for (double value : values) {
+                if (value <= approximate[i])
+                    rank++;
+            }
+
+            assertEquals(ps[i], (double) rank / values.length, 0.002);
+        }
+
+        assertEquals(100_000, digest.getCount());
+        assertTrue(digest.getCentroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION);
+        assertEquals(Quantiles.quantile(values.clone(), values.length, 0d), digest.quantile(0d), epsilon);
+        assertEquals(Quantiles.quantile(values.clone(), values.length, 1d), digest.quantile(1d), epsilon);
+    }
+
+    @Test
+    void testCombine1() {
+
+        Random random = new Random(16);
+
+        TDigest whole = new TDigest(200);
+        TDigest left = new TDigest(200);
+        TDigest right = new TDigest(200);
+
+        for (int i = 0; i < 50_000; i++) {
+            double value = random.nextDouble() * 100;
+
+            whole.accept(value);
+
+            if (i % 2 == 0)
+                left.accept(value);
+            else
+                right.accept(value);
+        }
+
+        TDigest combined = left.combine(right);
+
+        assertEquals(50_000, combined.getCount());
+        assertEquals(50d, combined.median(), 0.5);
+        assertEquals(whole.quantile(0.9), combined.quantile(0.9), 0.5);
+        assertEquals(whole.getMin(), combined.getMin(), epsilon);
+        assertEquals(whole.getMax(), combined.getMax(), epsilon);
+    }
+
+    @Test
+    void testToBytes1() {
+
+        TDigest digest = TDigest.of(5d, 1d, 4d, 2d, 3d, Double.NaN);
+
+        TDigest copy = TDigest.fromBytes(digest.toBytes());
+
+        assertEquals(5, copy.getCount());
+        assertEquals(digest.median(), copy.median(), epsilon);
+        assertEquals(3d, copy.median(), epsilon);
+        assertEquals(1d, copy.getMin(), epsilon);
+        assertEquals(5d, copy.getMax(), epsilon);
+        assertThrows(IllegalArgumentException.class, () -> TDigest.fromBytes(new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    void testAcceptCount1() {
+
+        TDigest digest1 = new TDigest(50);
+        TDigest digest2 = new TDigest(50);
+
+        digest1.accept(0d, 9900);
+
+        for (int i = 0; i < 9900; i++) {
+            digest2.accept(0d);
+        }
+
+        for (int i = 1; i <= 100; i++) {
+            digest1.accept(i);
+            digest2.accept(i);
+        }
+
+        // The weighted zeros are split like single values, quantiles among them are exactly 0
+        for (double q : new double[]{0.01, 0.5, 0.9, 0.95}) {
+            assertEquals(0d, digest1.quantile(q), epsilon);
+            assertEquals(digest2.quantile(q), digest1.quantile(q), epsilon);
+        }
+
+        assertTrue(digest1.getCentroidCount() > 1);
+        assertEquals(10000, digest1.getCount());
+        assertEquals(100d, digest1.quantile(1), epsilon);
+    }
+
+    @Test
+    void testTDigest1() {
+
+        Double[][] matrix1 = new Double[2000][2];
+
+        for (int i = 0; i < matrix1.length; i++) {
+            matrix1[i][0] = (double) i;
+            matrix1[i][1] = (double) -i;
+        }
+
+        StandardMatrix<Double> matrix2 = new StandardMatrix<>(matrix1);
+
+        assertEquals(matrix2.median(0), matrix2.tDigest(0, 100).median(), 5);
+        assertEquals(matrix2.median(), StandardMatrix.tDigest(matrix1, 100).median(), 5);
+        assertEquals(0d, new TDigest().median());
+        assertThrows(IllegalArgumentException.class, () -> new TDigest(0.5));
+        assertThrows(IllegalArgumentException.class, () -> new TDigest().quantile(2));
+    }
+}